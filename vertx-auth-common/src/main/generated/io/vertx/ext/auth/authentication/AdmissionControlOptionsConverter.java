@@ -0,0 +1,49 @@
+package io.vertx.ext.auth.authentication;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.authentication.AdmissionControlOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.authentication.AdmissionControlOptions} original class using Vert.x codegen.
+ */
+public class AdmissionControlOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, AdmissionControlOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "maxConcurrency":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxConcurrency(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "minConcurrency":
+          if (member.getValue() instanceof Number) {
+            obj.setMinConcurrency(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "targetLatency":
+          if (member.getValue() instanceof Number) {
+            obj.setTargetLatency(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "backoffRatio":
+          if (member.getValue() instanceof Number) {
+            obj.setBackoffRatio(((Number)member.getValue()).doubleValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(AdmissionControlOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(AdmissionControlOptions obj, java.util.Map<String, Object> json) {
+    json.put("maxConcurrency", obj.getMaxConcurrency());
+    json.put("minConcurrency", obj.getMinConcurrency());
+    json.put("targetLatency", obj.getTargetLatency());
+    json.put("backoffRatio", obj.getBackoffRatio());
+  }
+}
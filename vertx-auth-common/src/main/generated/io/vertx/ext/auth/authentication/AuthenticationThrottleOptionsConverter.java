@@ -0,0 +1,79 @@
+package io.vertx.ext.auth.authentication;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.authentication.AuthenticationThrottleOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.authentication.AuthenticationThrottleOptions} original class using Vert.x codegen.
+ */
+public class AuthenticationThrottleOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, AuthenticationThrottleOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "window":
+          if (member.getValue() instanceof Number) {
+            obj.setWindow(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "maxUsernameFailures":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxUsernameFailures(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "maxClientFailures":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxClientFailures(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "lockoutDuration":
+          if (member.getValue() instanceof Number) {
+            obj.setLockoutDuration(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "freeFailures":
+          if (member.getValue() instanceof Number) {
+            obj.setFreeFailures(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "initialDelay":
+          if (member.getValue() instanceof Number) {
+            obj.setInitialDelay(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "maxDelay":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxDelay(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "maxEntries":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxEntries(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "ignoreUsernameCase":
+          if (member.getValue() instanceof Boolean) {
+            obj.setIgnoreUsernameCase((Boolean)member.getValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(AuthenticationThrottleOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(AuthenticationThrottleOptions obj, java.util.Map<String, Object> json) {
+    json.put("window", obj.getWindow());
+    json.put("maxUsernameFailures", obj.getMaxUsernameFailures());
+    json.put("maxClientFailures", obj.getMaxClientFailures());
+    json.put("lockoutDuration", obj.getLockoutDuration());
+    json.put("freeFailures", obj.getFreeFailures());
+    json.put("initialDelay", obj.getInitialDelay());
+    json.put("maxDelay", obj.getMaxDelay());
+    json.put("maxEntries", obj.getMaxEntries());
+    json.put("ignoreUsernameCase", obj.isIgnoreUsernameCase());
+  }
+}
@@ -17,6 +17,8 @@
 package examples;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.*;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
 import io.vertx.ext.auth.authentication.Credentials;
@@ -24,6 +26,7 @@ import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
 import io.vertx.ext.auth.authorization.AuthorizationProvider;
 import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
 import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
+import io.vertx.ext.auth.authorization.RoleHierarchy;
 import io.vertx.ext.auth.prng.VertxContextPRNG;
 
 /**
@@ -122,4 +125,21 @@ public class AuthCommonExamples {
       String sub = user.get("sub");
     }
   }
+
+  public void example10(User user) {
+    RoleHierarchy hierarchy = RoleHierarchy.create(new JsonObject()
+      .put("admin", new JsonObject()
+        .put("roles", new JsonArray().add("editor")))
+      .put("editor", new JsonObject()
+        .put("roles", new JsonArray().add("viewer"))
+        .put("permissions", new JsonArray().add("doc:write")))
+      .put("viewer", new JsonObject()
+        .put("permissions", new JsonArray().add("doc:read"))));
+
+    // a user granted the role "admin" will match,
+    // as "admin" inherits "viewer"
+    if (hierarchy.authorization(PermissionBasedAuthorization.create("doc:read")).match(user)) {
+      System.out.println("User has the authority");
+    }
+  }
 }
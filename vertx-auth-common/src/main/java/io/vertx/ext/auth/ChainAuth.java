@@ -45,6 +45,32 @@ public interface ChainAuth extends AuthenticationProvider {
     return new ChainAuthImpl(false);
   }
 
+  /**
+   * Create a Chainable Auth Provider auth provider that will resolve if all auth providers are successful.
+   * <p>
+   * When {@code parallel}, all the providers are called at once instead of one after the other. The users are still
+   * merged in the order the providers were added, and the first failure fails the authentication.
+   *
+   * @param parallel call the providers concurrently
+   * @return the auth provider
+   */
+  static ChainAuth all(boolean parallel) {
+    return new ChainAuthImpl(true, parallel);
+  }
+
+  /**
+   * Create a Chainable Auth Provider auth provider that will resolve on the first success.
+   * <p>
+   * When {@code parallel}, all the providers are called at once instead of one after the other and the first one to
+   * succeed wins, so a slow provider doesn't delay the others. The results of the other providers are ignored.
+   *
+   * @param parallel call the providers concurrently
+   * @return the auth provider
+   */
+  static ChainAuth any(boolean parallel) {
+    return new ChainAuthImpl(false, parallel);
+  }
+
   /**
    * Appends a auth provider to the chain.
    *
@@ -53,4 +79,15 @@ public interface ChainAuth extends AuthenticationProvider {
    */
   @Fluent
   ChainAuth add(AuthenticationProvider other);
+
+  /**
+   * Appends a auth provider to the chain, an authentication taking longer than the timeout is a failure of this
+   * provider.
+   *
+   * @param other   auth provider
+   * @param timeout the timeout in milliseconds, 0 for none
+   * @return self
+   */
+  @Fluent
+  ChainAuth add(AuthenticationProvider other, long timeout);
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.authentication;
+
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.ext.auth.impl.AdmissionControlImpl;
+
+/**
+ * Limits the number of authentications in flight of a provider with expensive credential checks, such as password
+ * hashing. Authentications above the limit fail immediately with an {@link AdmissionRejectedException} instead of
+ * queuing behind a flood of attempts, so legitimate traffic keeps a bounded latency.
+ * <p>
+ * The limit is fixed, or adapts to the observed latency when {@link AdmissionControlOptions#setTargetLatency(long)}
+ * is set.
+ */
+@VertxGen
+public interface AdmissionControl extends AuthenticationProvider {
+
+  /**
+   * Wraps a provider.
+   *
+   * @param delegate the provider performing the authentication
+   * @param options  the limits
+   * @return the auth provider
+   */
+  static AdmissionControl create(AuthenticationProvider delegate, AdmissionControlOptions options) {
+    return new AdmissionControlImpl(delegate, options);
+  }
+
+  /**
+   * @return the number of authentications in flight.
+   */
+  int inFlight();
+
+  /**
+   * @return the current limit of authentications in flight.
+   */
+  int limit();
+
+  /**
+   * @return the number of authentications rejected so far.
+   */
+  long rejected();
+}
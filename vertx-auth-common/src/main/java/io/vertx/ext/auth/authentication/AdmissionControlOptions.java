@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.authentication;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring {@link AdmissionControl}.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class AdmissionControlOptions {
+
+  /**
+   * The default maximum number of authentications in flight = 2 * available processors
+   */
+  public static final int DEFAULT_MAX_CONCURRENCY = 2 * Runtime.getRuntime().availableProcessors();
+
+  /**
+   * The default minimum the adaptive limit can shrink to = 1
+   */
+  public static final int DEFAULT_MIN_CONCURRENCY = 1;
+
+  /**
+   * The default target latency = 0, the limit is fixed
+   */
+  public static final long DEFAULT_TARGET_LATENCY = 0;
+
+  /**
+   * The default factor applied to the limit when the target latency is missed = 0.9
+   */
+  public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+  private int maxConcurrency;
+  private int minConcurrency;
+  private long targetLatency;
+  private double backoffRatio;
+
+  public AdmissionControlOptions() {
+    maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    minConcurrency = DEFAULT_MIN_CONCURRENCY;
+    targetLatency = DEFAULT_TARGET_LATENCY;
+    backoffRatio = DEFAULT_BACKOFF_RATIO;
+  }
+
+  public AdmissionControlOptions(AdmissionControlOptions other) {
+    maxConcurrency = other.maxConcurrency;
+    minConcurrency = other.minConcurrency;
+    targetLatency = other.targetLatency;
+    backoffRatio = other.backoffRatio;
+  }
+
+  public AdmissionControlOptions(JsonObject json) {
+    this();
+    AdmissionControlOptionsConverter.fromJson(json, this);
+  }
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  /**
+   * Set the maximum number of authentications in flight, above it authentications are rejected. When adaptive,
+   * this is the initial and the highest limit.
+   *
+   * @param maxConcurrency the limit
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  public AdmissionControlOptions setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+    return this;
+  }
+
+  public int getMinConcurrency() {
+    return minConcurrency;
+  }
+
+  /**
+   * Set the lowest limit the adaptive limiter can shrink to.
+   *
+   * @param minConcurrency the limit
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  public AdmissionControlOptions setMinConcurrency(int minConcurrency) {
+    this.minConcurrency = minConcurrency;
+    return this;
+  }
+
+  public long getTargetLatency() {
+    return targetLatency;
+  }
+
+  /**
+   * Set the target latency of an authentication in milliseconds. When greater than 0 the limit adapts (AIMD): it is
+   * multiplied by the backoff ratio when an authentication takes longer or the hashing pool is saturated, at most once
+   * for the authentications in flight at that time, and increased by {@code 1 / limit} each time a successful
+   * authentication is within the target while the limit is in use.
+   *
+   * @param targetLatency the latency in milliseconds, 0 keeps the limit fixed
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  public AdmissionControlOptions setTargetLatency(long targetLatency) {
+    this.targetLatency = targetLatency;
+    return this;
+  }
+
+  public double getBackoffRatio() {
+    return backoffRatio;
+  }
+
+  /**
+   * Set the factor applied to the adaptive limit when the target latency is missed.
+   *
+   * @param backoffRatio a ratio between 0 and 1 (exclusive)
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  public AdmissionControlOptions setBackoffRatio(double backoffRatio) {
+    this.backoffRatio = backoffRatio;
+    return this;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    AdmissionControlOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
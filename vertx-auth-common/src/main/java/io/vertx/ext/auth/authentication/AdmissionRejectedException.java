@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.authentication;
+
+/**
+ * Signals that an authentication was not attempted because the provider is over capacity. Unlike a failed
+ * authentication, the credentials were not checked and the request can be retried later (e.g. HTTP 503).
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+  public AdmissionRejectedException(String message) {
+    // no stack trace, rejections are expected under load and must stay cheap
+    super(message, null, false, false);
+  }
+}
@@ -16,10 +16,14 @@
 
 package io.vertx.ext.auth.authentication;
 
+import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Future;
 import io.vertx.ext.auth.User;
 
+import java.util.Collections;
+import java.util.Set;
+
 /**
  * User-facing interface for authenticating users.
  *
@@ -38,4 +42,15 @@ public interface AuthenticationProvider {
    * @return The result future
    */
   Future<User> authenticate(Credentials credentials);
+
+  /**
+   * The types of credentials this provider can authenticate, subtypes included. {@link io.vertx.ext.auth.ChainAuth}
+   * uses them to only call the providers able to handle the given credentials.
+   *
+   * @return the accepted types, an empty set (the default) means any type.
+   */
+  @GenIgnore
+  default Set<Class<? extends Credentials>> credentialTypes() {
+    return Collections.emptySet();
+  }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.authentication;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.impl.AuthenticationThrottleImpl;
+
+/**
+ * Protects a provider against brute force attacks. Failures are counted over a sliding window per username and per
+ * client key (e.g. the remote address of the request). Once a username failed too often, each new attempt must
+ * wait longer (the delay doubles with each failure), and past a threshold the username, or the client, is locked
+ * out. Throttled attempts fail with an {@link AuthenticationThrottledException} before the provider is called, so no
+ * query is run and no hash is computed.
+ * <p>
+ * The username is read from {@link UsernamePasswordCredentials}, or from the {@code username} or {@code identifier}
+ * (OTP) property of the credentials JSON. Any provider can be wrapped, including a {@link io.vertx.ext.auth.ChainAuth}.
+ * The state is kept in memory, bounded by {@link AuthenticationThrottleOptions#setMaxEntries(int)}.
+ */
+@VertxGen
+public interface AuthenticationThrottle extends AuthenticationProvider {
+
+  /**
+   * Wraps a provider.
+   *
+   * @param delegate the provider performing the authentication
+   * @param options  the thresholds
+   * @return the auth provider
+   */
+  static AuthenticationThrottle create(AuthenticationProvider delegate, AuthenticationThrottleOptions options) {
+    return new AuthenticationThrottleImpl(delegate, options);
+  }
+
+  /**
+   * Authenticate a user, only failures of the username are tracked.
+   *
+   * @param credentials The credentials
+   * @return The result future
+   */
+  @Override
+  default Future<User> authenticate(Credentials credentials) {
+    return authenticate(credentials, null);
+  }
+
+  /**
+   * Authenticate a user on behalf of a client.
+   *
+   * @param credentials The credentials
+   * @param clientKey   identifies the client, e.g. its remote address, can be {@code null}
+   * @return The result future
+   */
+  Future<User> authenticate(Credentials credentials, @Nullable String clientKey);
+
+  /**
+   * @return the number of usernames and clients currently tracked.
+   */
+  int size();
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.authentication;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring {@link AuthenticationThrottle}. Durations are in milliseconds.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class AuthenticationThrottleOptions {
+
+  /**
+   * The default window failures are counted over = 15 minutes
+   */
+  public static final long DEFAULT_WINDOW = 15 * 60 * 1000;
+
+  /**
+   * The default number of failures of a username before its lockout = 10
+   */
+  public static final int DEFAULT_MAX_USERNAME_FAILURES = 10;
+
+  /**
+   * The default number of failures of a client before its lockout = 100
+   */
+  public static final int DEFAULT_MAX_CLIENT_FAILURES = 100;
+
+  /**
+   * The default lockout duration = 15 minutes
+   */
+  public static final long DEFAULT_LOCKOUT_DURATION = 15 * 60 * 1000;
+
+  /**
+   * The default number of failures of a username tolerated without delay = 3
+   */
+  public static final int DEFAULT_FREE_FAILURES = 3;
+
+  /**
+   * The default first delay, doubled at each new failure = 1 second
+   */
+  public static final long DEFAULT_INITIAL_DELAY = 1000;
+
+  /**
+   * The default maximum delay = 1 minute
+   */
+  public static final long DEFAULT_MAX_DELAY = 60 * 1000;
+
+  /**
+   * The default maximum number of usernames and clients tracked = 100000
+   */
+  public static final int DEFAULT_MAX_ENTRIES = 100_000;
+
+  /**
+   * Whether usernames differing only by case are counted together by default = true
+   */
+  public static final boolean DEFAULT_IGNORE_USERNAME_CASE = true;
+
+  private long window;
+  private int maxUsernameFailures;
+  private int maxClientFailures;
+  private long lockoutDuration;
+  private int freeFailures;
+  private long initialDelay;
+  private long maxDelay;
+  private int maxEntries;
+  private boolean ignoreUsernameCase;
+
+  public AuthenticationThrottleOptions() {
+    window = DEFAULT_WINDOW;
+    maxUsernameFailures = DEFAULT_MAX_USERNAME_FAILURES;
+    maxClientFailures = DEFAULT_MAX_CLIENT_FAILURES;
+    lockoutDuration = DEFAULT_LOCKOUT_DURATION;
+    freeFailures = DEFAULT_FREE_FAILURES;
+    initialDelay = DEFAULT_INITIAL_DELAY;
+    maxDelay = DEFAULT_MAX_DELAY;
+    maxEntries = DEFAULT_MAX_ENTRIES;
+    ignoreUsernameCase = DEFAULT_IGNORE_USERNAME_CASE;
+  }
+
+  public AuthenticationThrottleOptions(AuthenticationThrottleOptions other) {
+    window = other.window;
+    maxUsernameFailures = other.maxUsernameFailures;
+    maxClientFailures = other.maxClientFailures;
+    lockoutDuration = other.lockoutDuration;
+    freeFailures = other.freeFailures;
+    initialDelay = other.initialDelay;
+    maxDelay = other.maxDelay;
+    maxEntries = other.maxEntries;
+    ignoreUsernameCase = other.ignoreUsernameCase;
+  }
+
+  public AuthenticationThrottleOptions(JsonObject json) {
+    this();
+    AuthenticationThrottleOptionsConverter.fromJson(json, this);
+  }
+
+  public long getWindow() {
+    return window;
+  }
+
+  /**
+   * Set the sliding window failures are counted over.
+   *
+   * @param window the window in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  public AuthenticationThrottleOptions setWindow(long window) {
+    this.window = window;
+    return this;
+  }
+
+  public int getMaxUsernameFailures() {
+    return maxUsernameFailures;
+  }
+
+  /**
+   * Set the number of failures within the window after which a username is locked out.
+   *
+   * @param maxUsernameFailures the threshold
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  public AuthenticationThrottleOptions setMaxUsernameFailures(int maxUsernameFailures) {
+    this.maxUsernameFailures = maxUsernameFailures;
+    return this;
+  }
+
+  public int getMaxClientFailures() {
+    return maxClientFailures;
+  }
+
+  /**
+   * Set the number of failures within the window after which a client key (e.g. a remote address) is locked out,
+   * regardless of the usernames it tried.
+   *
+   * @param maxClientFailures the threshold
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  public AuthenticationThrottleOptions setMaxClientFailures(int maxClientFailures) {
+    this.maxClientFailures = maxClientFailures;
+    return this;
+  }
+
+  public long getLockoutDuration() {
+    return lockoutDuration;
+  }
+
+  /**
+   * Set how long a username or client stays locked out.
+   *
+   * @param lockoutDuration the duration in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  public AuthenticationThrottleOptions setLockoutDuration(long lockoutDuration) {
+    this.lockoutDuration = lockoutDuration;
+    return this;
+  }
+
+  public int getFreeFailures() {
+    return freeFailures;
+  }
+
+  /**
+   * Set the number of failures of a username within the window that do not delay the next attempt.
+   *
+   * @param freeFailures the number of failures
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  public AuthenticationThrottleOptions setFreeFailures(int freeFailures) {
+    this.freeFailures = freeFailures;
+    return this;
+  }
+
+  public long getInitialDelay() {
+    return initialDelay;
+  }
+
+  /**
+   * Set the delay imposed after the first failure above the free ones, each new failure doubles it.
+   *
+   * @param initialDelay the delay in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  public AuthenticationThrottleOptions setInitialDelay(long initialDelay) {
+    this.initialDelay = initialDelay;
+    return this;
+  }
+
+  public long getMaxDelay() {
+    return maxDelay;
+  }
+
+  /**
+   * Set the maximum delay between two attempts of a username.
+   *
+   * @param maxDelay the delay in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  public AuthenticationThrottleOptions setMaxDelay(long maxDelay) {
+    this.maxDelay = maxDelay;
+    return this;
+  }
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  /**
+   * Set the maximum number of usernames and of clients tracked, the least recently seen are forgotten first. Locked
+   * out entries are kept until their lockout ends, even above the maximum.
+   *
+   * @param maxEntries the number of entries
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  public AuthenticationThrottleOptions setMaxEntries(int maxEntries) {
+    this.maxEntries = maxEntries;
+    return this;
+  }
+
+  public boolean isIgnoreUsernameCase() {
+    return ignoreUsernameCase;
+  }
+
+  /**
+   * Set whether usernames differing only by case share their failures. Keep it enabled when the underlying provider
+   * matches usernames case insensitively, otherwise {@code Paulo}, {@code PAULO}, ... each get their own budget of
+   * guesses for the same account.
+   *
+   * @param ignoreUsernameCase {@code true} to count the failures of a username in lower case
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  public AuthenticationThrottleOptions setIgnoreUsernameCase(boolean ignoreUsernameCase) {
+    this.ignoreUsernameCase = ignoreUsernameCase;
+    return this;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    AuthenticationThrottleOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
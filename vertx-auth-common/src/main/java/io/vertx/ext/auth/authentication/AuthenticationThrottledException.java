@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.authentication;
+
+/**
+ * Signals that an authentication was not attempted because of too many recent failures of the same username or
+ * client. The credentials were not checked.
+ */
+public class AuthenticationThrottledException extends RuntimeException {
+
+  private final long retryAfter;
+
+  public AuthenticationThrottledException(String message, long retryAfter) {
+    // no stack trace, rejections are expected under attack and must stay cheap
+    super(message, null, false, false);
+    this.retryAfter = retryAfter;
+  }
+
+  /**
+   * @return the number of milliseconds before a new attempt can be made.
+   */
+  public long retryAfter() {
+    return retryAfter;
+  }
+}
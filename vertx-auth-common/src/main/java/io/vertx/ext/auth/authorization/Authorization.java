@@ -16,8 +16,12 @@ import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authorization.impl.AuthorizationBatch;
 import io.vertx.ext.auth.authorization.impl.AuthorizationConverter;
 
+import java.util.BitSet;
+import java.util.List;
+
 import static io.vertx.codegen.annotations.GenIgnore.PERMITTED_TYPE;
 
 /**
@@ -68,6 +72,22 @@ public interface Authorization {
     return match(AuthorizationContext.create(user));
   }
 
+  /**
+   * this methods verifies which of the given authorizations match the specified
+   * context. The result is the same as calling {@link #match(AuthorizationContext)}
+   * on each authorization, however the user authorizations are only walked once
+   * for the whole list, and authorizations repeated in the list (or nested in
+   * logical authorizations) are resolved and verified once.
+   *
+   * @param context the context.
+   * @param authorizations the authorizations to match.
+   * @return a bitset where bit {@code i} is set when the authorization at index {@code i} matches.
+   */
+  @GenIgnore
+  static BitSet matchAll(AuthorizationContext context, List<Authorization> authorizations) {
+    return AuthorizationBatch.matchAll(context, authorizations);
+  }
+
   /**
    * this method verifies whether or not the authorization implies the specified
    * authorization.
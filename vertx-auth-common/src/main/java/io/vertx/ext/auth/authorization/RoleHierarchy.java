@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.authorization;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.authorization.impl.RoleHierarchyImpl;
+
+/**
+ * A role hierarchy describes roles that inherit other roles and the permissions granted to each role, for example:
+ *
+ * <pre>
+ * {
+ *   "admin": { "roles": ["editor"], "permissions": ["users:manage"] },
+ *   "editor": { "roles": ["viewer"], "permissions": ["doc:write"] },
+ *   "viewer": { "permissions": ["doc:read"] }
+ * }
+ * </pre>
+ *
+ * The transitive closure of the graph is computed once, when the hierarchy is loaded, so a user only needs to be
+ * granted the role {@code admin} to match {@code doc:read}, instead of having every inherited role and permission
+ * copied into its authorizations.
+ */
+@VertxGen
+public interface RoleHierarchy {
+
+  /**
+   * Create an empty role hierarchy.
+   *
+   * @return the hierarchy.
+   */
+  static RoleHierarchy create() {
+    return new RoleHierarchyImpl(new JsonObject());
+  }
+
+  /**
+   * Create a role hierarchy from the given graph.
+   *
+   * @param graph the JSON description of the graph, keyed by role name.
+   * @return the hierarchy.
+   */
+  static RoleHierarchy create(JsonObject graph) {
+    return new RoleHierarchyImpl(graph);
+  }
+
+  /**
+   * Replaces the graph. The closure is computed before the swap, so concurrent checks either see the previous graph
+   * or the new one, never a partially loaded graph.
+   *
+   * @param graph the JSON description of the graph, keyed by role name.
+   * @return fluent self.
+   */
+  @Fluent
+  RoleHierarchy reload(JsonObject graph);
+
+  /**
+   * Verifies if the given role, directly or through inheritance, grants the given authorization. Only
+   * {@link RoleBasedAuthorization} and {@link PermissionBasedAuthorization} without a resource can be inherited.
+   *
+   * @param role the granted role.
+   * @param authorization the authorization to check.
+   * @return {@code true} if the role implies the authorization.
+   */
+  boolean verify(String role, Authorization authorization);
+
+  /**
+   * Wraps the given authorization so it also matches users that hold a role that inherits it. The graph is read on
+   * each match, so reloads are visible to authorizations created before them.
+   *
+   * @param authorization the authorization to wrap.
+   * @return an authorization aware of this hierarchy.
+   */
+  Authorization authorization(Authorization authorization);
+}
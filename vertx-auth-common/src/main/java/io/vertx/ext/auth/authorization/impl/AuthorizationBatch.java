@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.authorization.impl;
+
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.AuthorizationContext;
+import io.vertx.ext.auth.authorization.Authorizations;
+
+import java.util.*;
+
+/**
+ * Evaluates a list of authorizations against the same context.
+ * <p>
+ * The role and permission leaves of all the authorizations (including the ones nested in logical authorizations) are
+ * deduplicated and resolved once, then verified in a single walk of the user authorizations. Logical authorizations
+ * are finally evaluated from the leaf results. Any other authorization is matched as usual.
+ */
+public final class AuthorizationBatch {
+
+  private final AuthorizationContext context;
+  // distinct leaves and their index in the resolved list
+  private final Map<Authorization, Integer> leaves = new HashMap<>();
+  private final List<Authorization> resolved = new ArrayList<>();
+  private final BitSet verified = new BitSet();
+
+  private AuthorizationBatch(AuthorizationContext context) {
+    this.context = context;
+  }
+
+  public static BitSet matchAll(AuthorizationContext context, List<Authorization> authorizations) {
+    Objects.requireNonNull(context);
+    Objects.requireNonNull(authorizations);
+
+    final AuthorizationBatch batch = new AuthorizationBatch(context);
+    for (Authorization authorization : authorizations) {
+      batch.collect(authorization);
+    }
+    batch.verify();
+
+    final BitSet result = new BitSet(authorizations.size());
+    for (int i = 0; i < authorizations.size(); i++) {
+      if (batch.evaluate(authorizations.get(i))) {
+        result.set(i);
+      }
+    }
+    return result;
+  }
+
+  private void collect(Authorization authorization) {
+    final Class<?> type = authorization.getClass();
+    if (type == AndAuthorizationImpl.class) {
+      for (Authorization child : ((AndAuthorizationImpl) authorization).getAuthorizations()) {
+        collect(child);
+      }
+    } else if (type == OrAuthorizationImpl.class) {
+      for (Authorization child : ((OrAuthorizationImpl) authorization).getAuthorizations()) {
+        collect(child);
+      }
+    } else if (type == NotAuthorizationImpl.class) {
+      collect(((NotAuthorizationImpl) authorization).getAuthorization());
+    } else if (!leaves.containsKey(authorization)) {
+      if (!(authorization instanceof LeafAuthorization)) {
+        // unknown behavior, will be matched directly
+        return;
+      }
+      leaves.put(authorization, resolved.size());
+      resolved.add(((LeafAuthorization) authorization).getResolvedAuthorization(context));
+    }
+  }
+
+  private void verify() {
+    final User user = context.user();
+    if (user == null || resolved.isEmpty()) {
+      return;
+    }
+    final Authorizations authorizations = user.authorizations();
+    if (authorizations instanceof AuthorizationsImpl) {
+      ((AuthorizationsImpl) authorizations)
+        .verify(resolved.toArray(new Authorization[0]), verified);
+    } else {
+      for (int i = 0; i < resolved.size(); i++) {
+        if (authorizations.verify(resolved.get(i))) {
+          verified.set(i);
+        }
+      }
+    }
+  }
+
+  private boolean evaluate(Authorization authorization) {
+    final Class<?> type = authorization.getClass();
+    if (type == AndAuthorizationImpl.class) {
+      for (Authorization child : ((AndAuthorizationImpl) authorization).getAuthorizations()) {
+        if (!evaluate(child)) {
+          return false;
+        }
+      }
+      return true;
+    } else if (type == OrAuthorizationImpl.class) {
+      for (Authorization child : ((OrAuthorizationImpl) authorization).getAuthorizations()) {
+        if (evaluate(child)) {
+          return true;
+        }
+      }
+      return false;
+    } else if (type == NotAuthorizationImpl.class) {
+      return !evaluate(((NotAuthorizationImpl) authorization).getAuthorization());
+    }
+    final Integer idx = leaves.get(authorization);
+    if (idx != null) {
+      return verified.get(idx);
+    }
+    return authorization.match(context);
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.authorization.impl;
+
+import io.vertx.core.internal.logging.Logger;
+import io.vertx.core.internal.logging.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process wide dictionary mapping role or permission names to dense ints. Ids are never reused or released, so the
+ * number of names is bounded: names can come from tokens (e.g.: a permission per resource) and are not limited to a
+ * configured vocabulary. Once full, a warning is logged once, new names are not assigned an id and callers keep them as
+ * regular authorizations: the checks give the same results, without the compact representation.
+ * <p>
+ * The roles and the permissions have their own dictionary, sized with the {@value #ROLES_SIZE_PROPERTY} and
+ * {@value #PERMISSIONS_SIZE_PROPERTY} system properties.
+ * <p>
+ * Lookups are lock free, only the assignment of a new id is synchronized.
+ */
+public final class AuthorizationDictionary {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AuthorizationDictionary.class);
+
+  private static final int DEFAULT_MAX_SIZE = 16384;
+
+  public static final String ROLES_SIZE_PROPERTY = "io.vertx.ext.auth.authorization.roles.dictionary.size";
+  public static final String PERMISSIONS_SIZE_PROPERTY = "io.vertx.ext.auth.authorization.permissions.dictionary.size";
+
+  public static final AuthorizationDictionary ROLES = new AuthorizationDictionary(
+    "roles", ROLES_SIZE_PROPERTY, Integer.getInteger(ROLES_SIZE_PROPERTY, DEFAULT_MAX_SIZE));
+  public static final AuthorizationDictionary PERMISSIONS = new AuthorizationDictionary(
+    "permissions", PERMISSIONS_SIZE_PROPERTY, Integer.getInteger(PERMISSIONS_SIZE_PROPERTY, DEFAULT_MAX_SIZE));
+
+  private final String kind;
+  private final String property;
+  private final int maxSize;
+  private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+  private volatile String[] names = new String[64];
+  // written under the instance lock, once the id is published
+  private volatile int size;
+  // guarded by the instance lock
+  private boolean full;
+
+  /**
+   * @param maxSize the maximum number of names
+   */
+  public AuthorizationDictionary(int maxSize) {
+    this("authorization", null, maxSize);
+  }
+
+  private AuthorizationDictionary(String kind, String property, int maxSize) {
+    this.kind = kind;
+    this.property = property;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * @return the id of the given name, assigning a new one if needed, or {@code -1} if the dictionary is full.
+   */
+  public int intern(String name) {
+    Integer id = ids.get(Objects.requireNonNull(name));
+    if (id != null) {
+      return id;
+    }
+    synchronized (this) {
+      id = ids.get(name);
+      if (id == null) {
+        if (ids.size() >= maxSize) {
+          if (!full) {
+            full = true;
+            LOG.warn("The " + kind + " dictionary is full (" + maxSize + " names), " +
+              "new names are kept as regular authorizations" +
+              (property == null ? "" : ", the size is set with -D" + property));
+          }
+          return -1;
+        }
+        id = ids.size();
+        String[] names = this.names;
+        if (id == names.length) {
+          names = Arrays.copyOf(names, names.length << 1);
+        }
+        names[id] = name;
+        // publish the name before the id
+        this.names = names;
+        ids.put(name, id);
+        size = id + 1;
+      }
+      return id;
+    }
+  }
+
+  /**
+   * @return the id of the given name or {@code -1} if the name was never interned.
+   */
+  public int id(String name) {
+    final Integer id = ids.get(name);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * @return the number of names interned so far, it only grows.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return the name of an id previously returned by {@link #intern(String)}.
+   */
+  public String name(int id) {
+    return names[id];
+  }
+}
@@ -18,6 +18,7 @@ import io.vertx.ext.auth.authorization.Authorizations;
 import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class AuthorizationsImpl implements Authorizations {
 
@@ -39,7 +40,7 @@ public class AuthorizationsImpl implements Authorizations {
     }
     if (_authorizations != null) {
       authorizations
-        .put(providerId, Collections.unmodifiableSet(_authorizations));
+        .put(providerId, CompactAuthorizationSet.create(_authorizations));
     }
 
     // swap
@@ -103,8 +104,15 @@ public class AuthorizationsImpl implements Authorizations {
     }
 
     for (Map.Entry<String, Set<Authorization>> kv : authorizations.entrySet()) {
-      for (Authorization authorization : kv.getValue()) {
-        if (authorization.verify(resolvedAuthorization)) {
+      final Set<Authorization> set = kv.getValue();
+      if (set instanceof CompactAuthorizationSet) {
+        if (((CompactAuthorizationSet) set).verify(resolvedAuthorization)) {
+          return true;
+        }
+        continue;
+      }
+      for (Authorization authorization : set) {
+        if (LeafAuthorization.verify(authorization, resolvedAuthorization)) {
           return true;
         }
       }
@@ -112,6 +120,82 @@ public class AuthorizationsImpl implements Authorizations {
     return false;
   }
 
+  /**
+   * Verifies that at least one of the granted authorizations satisfies the given predicates. This allows callers to
+   * compare against a template (e.g. a resource with variables) without resolving it into a new authorization first.
+   * <p>
+   * The plain roles and permissions of a {@link CompactAuthorizationSet} are only tested with {@code bits}, no
+   * authorization object is created for them, {@code predicate} tests all the other granted authorizations.
+   *
+   * @param bits the test to apply to the bitmaps of a compact set.
+   * @param predicate the test to apply to each other granted authorization.
+   * @return {@code true} if any granted authorization satisfies the predicates.
+   */
+  public boolean verify(Predicate<CompactAuthorizationSet> bits, Predicate<Authorization> predicate) {
+    final Map<String, Set<Authorization>> authorizations = this.authorizations;
+
+    if (authorizations == null) {
+      return false;
+    }
+
+    for (Map.Entry<String, Set<Authorization>> kv : authorizations.entrySet()) {
+      Set<Authorization> set = kv.getValue();
+      if (set instanceof CompactAuthorizationSet) {
+        final CompactAuthorizationSet compact = (CompactAuthorizationSet) set;
+        if (bits.test(compact)) {
+          return true;
+        }
+        set = compact.others();
+      }
+      for (Authorization authorization : set) {
+        if (predicate.test(authorization)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Batch version of {@link #verify(Authorization)}, the granted authorizations are walked once for all the given
+   * authorizations. On return, bit {@code i} of the result is set when {@code resolvedAuthorizations[i]} is verified.
+   *
+   * @param resolvedAuthorizations the authorizations to verify.
+   * @param result the bits already set are not verified again.
+   */
+  public void verify(Authorization[] resolvedAuthorizations, BitSet result) {
+    final Map<String, Set<Authorization>> authorizations = this.authorizations;
+
+    if (authorizations == null) {
+      return;
+    }
+
+    final int length = resolvedAuthorizations.length;
+    for (Map.Entry<String, Set<Authorization>> kv : authorizations.entrySet()) {
+      Set<Authorization> set = kv.getValue();
+      if (set instanceof CompactAuthorizationSet) {
+        final CompactAuthorizationSet compact = (CompactAuthorizationSet) set;
+        for (int i = result.nextClearBit(0); i < length; i = result.nextClearBit(i + 1)) {
+          if (compact.verifyBits(resolvedAuthorizations[i])) {
+            result.set(i);
+          }
+        }
+        set = compact.others();
+      }
+      for (Authorization authorization : set) {
+        if (result.nextClearBit(0) >= length) {
+          // all verified
+          return;
+        }
+        for (int i = result.nextClearBit(0); i < length; i = result.nextClearBit(i + 1)) {
+          if (LeafAuthorization.verify(authorization, resolvedAuthorizations[i])) {
+            result.set(i);
+          }
+        }
+      }
+    }
+  }
+
   @Override
   public Authorizations forEach(BiConsumer<String, Authorization> consumer) {
     final Map<String, Set<Authorization>> authorizations = this.authorizations;
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.authorization.impl;
+
+import io.vertx.ext.auth.authorization.*;
+
+import java.util.*;
+
+/**
+ * Immutable set of authorizations where plain roles and permissions (no resource) are stored as ids of the
+ * {@link AuthorizationDictionary} in {@link IntBitmap}s, and any other authorization is kept as is.
+ * <p>
+ * Iterating the set creates the role and permission objects on the fly, checks should use {@link #verify(Authorization)}
+ * which is a bit test for plain roles and permissions, or test {@link #roles()}, {@link #permissions()} and
+ * {@link #others()} directly.
+ */
+public final class CompactAuthorizationSet extends AbstractSet<Authorization> {
+
+  private final IntBitmap roles;
+  private final IntBitmap permissions;
+  private final Set<Authorization> others;
+
+  private CompactAuthorizationSet(IntBitmap roles, IntBitmap permissions, Set<Authorization> others) {
+    this.roles = roles;
+    this.permissions = permissions;
+    this.others = others;
+  }
+
+  public static CompactAuthorizationSet create(Set<Authorization> authorizations) {
+    if (authorizations instanceof CompactAuthorizationSet) {
+      return (CompactAuthorizationSet) authorizations;
+    }
+
+    int[] roles = new int[authorizations.size()];
+    int rolesLength = 0;
+    int[] permissions = new int[authorizations.size()];
+    int permissionsLength = 0;
+    Set<Authorization> others = null;
+
+    for (Authorization authorization : authorizations) {
+      // only the exact implementations have a known verify behavior
+      int id = -1;
+      if (authorization.getClass() == PermissionBasedAuthorizationImpl.class && ((PermissionBasedAuthorization) authorization).getResource() == null) {
+        id = AuthorizationDictionary.PERMISSIONS.intern(((PermissionBasedAuthorization) authorization).getPermission());
+        if (id != -1) {
+          permissions[permissionsLength++] = id;
+        }
+      } else if (authorization.getClass() == RoleBasedAuthorizationImpl.class && ((RoleBasedAuthorization) authorization).getResource() == null) {
+        id = AuthorizationDictionary.ROLES.intern(((RoleBasedAuthorization) authorization).getRole());
+        if (id != -1) {
+          roles[rolesLength++] = id;
+        }
+      }
+      if (id == -1) {
+        // not a plain role or permission, or the dictionary is full
+        if (others == null) {
+          others = new HashSet<>();
+        }
+        others.add(authorization);
+      }
+    }
+
+    return new CompactAuthorizationSet(
+      IntBitmap.of(roles, rolesLength),
+      IntBitmap.of(permissions, permissionsLength),
+      others == null ? Collections.emptySet() : Collections.unmodifiableSet(others));
+  }
+
+  /**
+   * Same as testing {@link Authorization#verify(Authorization)} on each element of the set.
+   */
+  public boolean verify(Authorization resolvedAuthorization) {
+    if (verifyBits(resolvedAuthorization)) {
+      return true;
+    }
+    for (Authorization authorization : others) {
+      if (LeafAuthorization.verify(authorization, resolvedAuthorization)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Same as testing {@link Authorization#verify(Authorization)} on the plain roles and permissions of the set only,
+   * {@link #others()} must be checked by the caller.
+   */
+  public boolean verifyBits(Authorization resolvedAuthorization) {
+    if (resolvedAuthorization instanceof LeafAuthorization) {
+      final LeafAuthorization leaf = (LeafAuthorization) resolvedAuthorization;
+      if (leaf.resource != null) {
+        return false;
+      }
+      switch (leaf.kind) {
+        case LeafAuthorization.ROLE:
+          return roles.contains(AuthorizationDictionary.ROLES.id(leaf.value));
+        case LeafAuthorization.PERMISSION:
+        case LeafAuthorization.WILDCARD_PERMISSION:
+          // a plain permission verifies a wildcard with the exact same value
+          return permissions.contains(AuthorizationDictionary.PERMISSIONS.id(leaf.value));
+        default:
+          return false;
+      }
+    }
+    // other implementations of the public interfaces
+    if (resolvedAuthorization instanceof PermissionBasedAuthorization) {
+      final PermissionBasedAuthorization permission = (PermissionBasedAuthorization) resolvedAuthorization;
+      return permission.getResource() == null && permissions.contains(AuthorizationDictionary.PERMISSIONS.id(permission.getPermission()));
+    } else if (resolvedAuthorization instanceof WildcardPermissionBasedAuthorization) {
+      // a plain permission verifies a wildcard with the exact same value
+      final WildcardPermissionBasedAuthorization permission = (WildcardPermissionBasedAuthorization) resolvedAuthorization;
+      return permission.getResource() == null && permissions.contains(AuthorizationDictionary.PERMISSIONS.id(permission.getPermission()));
+    } else if (resolvedAuthorization instanceof RoleBasedAuthorization) {
+      final RoleBasedAuthorization role = (RoleBasedAuthorization) resolvedAuthorization;
+      return role.getResource() == null && roles.contains(AuthorizationDictionary.ROLES.id(role.getRole()));
+    }
+    return false;
+  }
+
+  public IntBitmap roles() {
+    return roles;
+  }
+
+  public IntBitmap permissions() {
+    return permissions;
+  }
+
+  public Set<Authorization> others() {
+    return others;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    if (o != null && o.getClass() == PermissionBasedAuthorizationImpl.class) {
+      final PermissionBasedAuthorization permission = (PermissionBasedAuthorization) o;
+      if (permission.getResource() == null && permissions.contains(AuthorizationDictionary.PERMISSIONS.id(permission.getPermission()))) {
+        return true;
+      }
+    } else if (o != null && o.getClass() == RoleBasedAuthorizationImpl.class) {
+      final RoleBasedAuthorization role = (RoleBasedAuthorization) o;
+      if (role.getResource() == null && roles.contains(AuthorizationDictionary.ROLES.id(role.getRole()))) {
+        return true;
+      }
+    }
+    // the names without an id are kept as is
+    return others.contains(o);
+  }
+
+  @Override
+  public int size() {
+    return roles.size() + permissions.size() + others.size();
+  }
+
+  @Override
+  public Iterator<Authorization> iterator() {
+    final int[] roles = this.roles.toArray();
+    final int[] permissions = this.permissions.toArray();
+    final Iterator<Authorization> others = this.others.iterator();
+
+    return new Iterator<Authorization>() {
+      private int idx;
+
+      @Override
+      public boolean hasNext() {
+        return idx < roles.length + permissions.length || others.hasNext();
+      }
+
+      @Override
+      public Authorization next() {
+        if (idx < roles.length) {
+          return new RoleBasedAuthorizationImpl(AuthorizationDictionary.ROLES.name(roles[idx++]));
+        }
+        if (idx < roles.length + permissions.length) {
+          return new PermissionBasedAuthorizationImpl(AuthorizationDictionary.PERMISSIONS.name(permissions[idx++ - roles.length]));
+        }
+        return others.next();
+      }
+    };
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.authorization.impl;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable set of non negative ints, organized like a roaring bitmap: values are grouped by their high 16 bits, and
+ * each group is stored either as a sorted {@code char[]} when sparse or as a 65536 bit {@code long[]} when dense.
+ */
+public final class IntBitmap {
+
+  public static final IntBitmap EMPTY = new IntBitmap(new char[0], new Object[0], 0);
+
+  // above this cardinality a bitmap container is smaller than an array container
+  private static final int ARRAY_CONTAINER_MAX = 4096;
+
+  private final char[] keys;
+  private final Object[] containers;
+  private final int cardinality;
+
+  private IntBitmap(char[] keys, Object[] containers, int cardinality) {
+    this.keys = keys;
+    this.containers = containers;
+    this.cardinality = cardinality;
+  }
+
+  /**
+   * Create a bitmap from the given values, the array is sorted in place and may contain duplicates.
+   */
+  public static IntBitmap of(int[] values, int length) {
+    if (length == 0) {
+      return EMPTY;
+    }
+    Arrays.sort(values, 0, length);
+    if (values[0] < 0) {
+      throw new IllegalArgumentException("Negative values are not allowed");
+    }
+
+    char[] keys = new char[4];
+    Object[] containers = new Object[4];
+    int size = 0;
+    int cardinality = 0;
+
+    int start = 0;
+    while (start < length) {
+      final int key = values[start] >>> 16;
+      // collect the distinct low bits of this key
+      char[] low = new char[Math.min(length - start, 65536)];
+      int count = 0;
+      int end = start;
+      while (end < length && (values[end] >>> 16) == key) {
+        final char value = (char) values[end];
+        if (count == 0 || low[count - 1] != value) {
+          low[count++] = value;
+        }
+        end++;
+      }
+
+      final Object container;
+      if (count > ARRAY_CONTAINER_MAX) {
+        final long[] bitmap = new long[1024];
+        for (int i = 0; i < count; i++) {
+          bitmap[low[i] >>> 6] |= 1L << low[i];
+        }
+        container = bitmap;
+      } else {
+        container = Arrays.copyOf(low, count);
+      }
+
+      if (size == keys.length) {
+        keys = Arrays.copyOf(keys, size << 1);
+        containers = Arrays.copyOf(containers, size << 1);
+      }
+      keys[size] = (char) key;
+      containers[size] = container;
+      size++;
+      cardinality += count;
+      start = end;
+    }
+
+    return new IntBitmap(Arrays.copyOf(keys, size), Arrays.copyOf(containers, size), cardinality);
+  }
+
+  public boolean contains(int value) {
+    if (value < 0) {
+      return false;
+    }
+    final int idx = Arrays.binarySearch(keys, (char) (value >>> 16));
+    if (idx < 0) {
+      return false;
+    }
+    final Object container = containers[idx];
+    final char low = (char) value;
+    if (container instanceof long[]) {
+      return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+    }
+    return Arrays.binarySearch((char[]) container, low) >= 0;
+  }
+
+  /**
+   * @return {@code true} when both bitmaps have at least one value in common, only the groups present in both are
+   * compared.
+   */
+  public boolean intersects(IntBitmap other) {
+    int i = 0;
+    int j = 0;
+    while (i < keys.length && j < other.keys.length) {
+      if (keys[i] < other.keys[j]) {
+        i++;
+      } else if (keys[i] > other.keys[j]) {
+        j++;
+      } else {
+        if (intersects(containers[i], other.containers[j])) {
+          return true;
+        }
+        i++;
+        j++;
+      }
+    }
+    return false;
+  }
+
+  private static boolean intersects(Object a, Object b) {
+    if (a instanceof long[] && b instanceof long[]) {
+      final long[] x = (long[]) a;
+      final long[] y = (long[]) b;
+      for (int w = 0; w < x.length; w++) {
+        if ((x[w] & y[w]) != 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+    if (a instanceof long[] || b instanceof long[]) {
+      final long[] bitmap = (long[]) (a instanceof long[] ? a : b);
+      for (char low : (char[]) (a instanceof long[] ? b : a)) {
+        if ((bitmap[low >>> 6] & (1L << low)) != 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+    // both sorted, merge
+    final char[] x = (char[]) a;
+    final char[] y = (char[]) b;
+    int i = 0;
+    int j = 0;
+    while (i < x.length && j < y.length) {
+      if (x[i] < y[j]) {
+        i++;
+      } else if (x[i] > y[j]) {
+        j++;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public int size() {
+    return cardinality;
+  }
+
+  public boolean isEmpty() {
+    return cardinality == 0;
+  }
+
+  public void forEach(IntConsumer consumer) {
+    for (int i = 0; i < keys.length; i++) {
+      final int high = keys[i] << 16;
+      final Object container = containers[i];
+      if (container instanceof long[]) {
+        final long[] bitmap = (long[]) container;
+        for (int w = 0; w < bitmap.length; w++) {
+          long word = bitmap[w];
+          while (word != 0) {
+            consumer.accept(high | (w << 6) | Long.numberOfTrailingZeros(word));
+            word &= word - 1;
+          }
+        }
+      } else {
+        for (char low : (char[]) container) {
+          consumer.accept(high | low);
+        }
+      }
+    }
+  }
+
+  public int[] toArray() {
+    final int[] result = new int[cardinality];
+    final int[] idx = new int[1];
+    forEach(value -> result[idx[0]++] = value);
+    return result;
+  }
+}
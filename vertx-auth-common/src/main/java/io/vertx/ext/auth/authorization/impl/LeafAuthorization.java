@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.authorization.impl;
+
+import io.vertx.core.MultiMap;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.AuthorizationContext;
+import io.vertx.ext.auth.authorization.Authorizations;
+
+import java.util.Objects;
+
+/**
+ * Common state of the role, permission and wildcard permission implementations. The implementations are tagged with
+ * a {@link #kind}, so comparing two of them is a switch over plain field reads instead of a chain of
+ * {@code instanceof} checks and interface calls, which keeps the verification loops monomorphic. Subclasses may
+ * override {@link #verify(Authorization)}, they are not {@link #exact} and keep the virtual call.
+ */
+abstract class LeafAuthorization implements Authorization {
+
+  static final int ROLE = 0;
+  static final int PERMISSION = 1;
+  static final int WILDCARD_PERMISSION = 2;
+
+  final int kind;
+  // the role or the permission
+  final String value;
+  VariableAwareExpression resource;
+  // one of the implementations of this package, not a subclass
+  final boolean exact;
+
+  LeafAuthorization(int kind, String value) {
+    this.kind = kind;
+    this.value = Objects.requireNonNull(value);
+    this.exact = getClass() == RoleBasedAuthorizationImpl.class ||
+      getClass() == PermissionBasedAuthorizationImpl.class ||
+      getClass() == WildcardPermissionBasedAuthorizationImpl.class;
+  }
+
+  /**
+   * @return a copy of this authorization with the resource resolved against the given variables.
+   */
+  abstract LeafAuthorization resolve(MultiMap variables);
+
+  Authorization getResolvedAuthorization(AuthorizationContext context) {
+    if (resource == null || !resource.hasVariable()) {
+      return this;
+    }
+    return resolve(context.variables());
+  }
+
+  final String resourceValue() {
+    return resource != null ? resource.getValue() : null;
+  }
+
+  @Override
+  public boolean match(AuthorizationContext context) {
+    Objects.requireNonNull(context);
+
+    User user = context.user();
+    if (user != null) {
+      final Authorizations authorizations = user.authorizations();
+      if (resource != null && resource.hasVariable() && authorizations instanceof AuthorizationsImpl) {
+        // compare the resource template directly, avoids resolving a new authorization per match
+        final MultiMap variables = context.variables();
+        return ((AuthorizationsImpl) authorizations)
+          .verify(
+            // plain roles and permissions have no resource, they never match a resource
+            compact -> false,
+            authorization -> authorization instanceof LeafAuthorization && ((LeafAuthorization) authorization).exact ?
+              verify((LeafAuthorization) authorization, this, variables) :
+              authorization.verify(resolve(variables)));
+      }
+      return authorizations
+        .verify(getResolvedAuthorization(context));
+    }
+    return false;
+  }
+
+  /**
+   * Same as {@code granted.verify(required)}, without a virtual call when both are leaves.
+   */
+  static boolean verify(Authorization granted, Authorization required) {
+    if (granted instanceof LeafAuthorization && ((LeafAuthorization) granted).exact &&
+      required instanceof LeafAuthorization) {
+      return verify((LeafAuthorization) granted, (LeafAuthorization) required, null);
+    }
+    return granted.verify(required);
+  }
+
+  /**
+   * Same as {@code granted.verify(required)}. When {@code variables} is not {@code null}, the resource of
+   * {@code required} is a template matched against the granted resource instead of being resolved first.
+   */
+  static boolean verify(LeafAuthorization granted, LeafAuthorization required, MultiMap variables) {
+    switch (granted.kind) {
+      case ROLE:
+        return required.kind == ROLE &&
+          granted.value.equals(required.value) &&
+          resourceEquals(granted.resourceValue(), required, variables);
+      case PERMISSION:
+        // a permission verifies a wildcard permission with the exact same value
+        return required.kind != ROLE &&
+          granted.value.equals(required.value) &&
+          resourceEquals(granted.resourceValue(), required, variables);
+      case WILDCARD_PERMISSION:
+        final WildcardExpression wildcard = ((WildcardPermissionBasedAuthorizationImpl) granted).wildcardPermission;
+        final boolean implied;
+        switch (required.kind) {
+          case PERMISSION:
+            implied = wildcard.implies(required.value);
+            break;
+          case WILDCARD_PERMISSION:
+            implied = wildcard.implies(((WildcardPermissionBasedAuthorizationImpl) required).wildcardPermission);
+            break;
+          default:
+            return false;
+        }
+        if (implied) {
+          // a wildcard without resource applies to all resources
+          final String resource = granted.resourceValue();
+          return resource == null || resourceEquals(resource, required, variables);
+        }
+        return false;
+      default:
+        throw new IllegalStateException("Unknown kind: " + granted.kind);
+    }
+  }
+
+  private static boolean resourceEquals(String grantedResource, LeafAuthorization required, MultiMap variables) {
+    if (variables != null) {
+      return required.resource.matches(variables, grantedResource);
+    }
+    return Objects.equals(grantedResource, required.resourceValue());
+  }
+}
@@ -12,18 +12,15 @@
  ********************************************************************************/
 package io.vertx.ext.auth.authorization.impl;
 
-import io.vertx.ext.auth.User;
+import io.vertx.core.MultiMap;
 import io.vertx.ext.auth.authorization.*;
 
 import java.util.Objects;
 
-public class PermissionBasedAuthorizationImpl implements PermissionBasedAuthorization {
-
-  private final String permission;
-  private VariableAwareExpression resource;
+public class PermissionBasedAuthorizationImpl extends LeafAuthorization implements PermissionBasedAuthorization {
 
   public PermissionBasedAuthorizationImpl(String permission) {
-    this.permission = Objects.requireNonNull(permission);
+    super(PERMISSION, permission);
   }
 
   @Override
@@ -33,58 +30,44 @@ public class PermissionBasedAuthorizationImpl implements PermissionBasedAuthoriz
     if (!(obj instanceof PermissionBasedAuthorizationImpl))
       return false;
     PermissionBasedAuthorizationImpl other = (PermissionBasedAuthorizationImpl) obj;
-    return Objects.equals(permission, other.permission) && Objects.equals(resource, other.resource);
+    return Objects.equals(value, other.value) && Objects.equals(resource, other.resource);
   }
 
   @Override
   public String getPermission() {
-    return permission;
+    return value;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(permission, resource);
+    return Objects.hash(value, resource);
   }
 
   @Override
-  public boolean match(AuthorizationContext context) {
-    Objects.requireNonNull(context);
-
-    User user = context.user();
-    if (user != null) {
-      final Authorization resolvedAuthorization = getResolvedAuthorization(context);
-      return user.authorizations()
-        .verify(resolvedAuthorization);
-    }
-    return false;
-  }
-
-  private PermissionBasedAuthorization getResolvedAuthorization(AuthorizationContext context) {
-    if (resource == null || !resource.hasVariable()) {
-      return this;
-    }
-    return PermissionBasedAuthorization.create(this.permission).setResource(resource.resolve(context.variables()));
+  LeafAuthorization resolve(MultiMap variables) {
+    final PermissionBasedAuthorizationImpl resolved = new PermissionBasedAuthorizationImpl(value);
+    resolved.setResource(resource.resolve(variables));
+    return resolved;
   }
 
   @Override
   public boolean verify(Authorization otherAuthorization) {
     Objects.requireNonNull(otherAuthorization);
 
+    if (otherAuthorization instanceof LeafAuthorization) {
+      return verify(this, (LeafAuthorization) otherAuthorization, null);
+    }
+
+    // other implementations of the public interfaces
     if (otherAuthorization instanceof PermissionBasedAuthorization) {
       PermissionBasedAuthorization otherPermissionBasedAuthorization = (PermissionBasedAuthorization) otherAuthorization;
-      if (permission.equals(otherPermissionBasedAuthorization.getPermission())) {
-        if (getResource() == null) {
-          return otherPermissionBasedAuthorization.getResource() == null;
-        }
-        return getResource().equals(otherPermissionBasedAuthorization.getResource());
+      if (value.equals(otherPermissionBasedAuthorization.getPermission())) {
+        return Objects.equals(getResource(), otherPermissionBasedAuthorization.getResource());
       }
     } else if (otherAuthorization instanceof WildcardPermissionBasedAuthorization) {
       WildcardPermissionBasedAuthorization otherWildcardPermissionBasedAuthorization = (WildcardPermissionBasedAuthorization) otherAuthorization;
-      if (permission.equals(otherWildcardPermissionBasedAuthorization.getPermission())) {
-        if (getResource() == null) {
-          return otherWildcardPermissionBasedAuthorization.getResource() == null;
-        }
-        return getResource().equals(otherWildcardPermissionBasedAuthorization.getResource());
+      if (value.equals(otherWildcardPermissionBasedAuthorization.getPermission())) {
+        return Objects.equals(getResource(), otherWildcardPermissionBasedAuthorization.getResource());
       }
     }
     return false;
@@ -92,7 +75,7 @@ public class PermissionBasedAuthorizationImpl implements PermissionBasedAuthoriz
 
   @Override
   public String getResource() {
-    return resource != null ? resource.getValue() : null;
+    return resourceValue();
   }
 
   @Override
@@ -104,6 +87,6 @@ public class PermissionBasedAuthorizationImpl implements PermissionBasedAuthoriz
 
   @Override
   public String toString() {
-    return "PERMISSION[" + permission + "]";
+    return "PERMISSION[" + value + "]";
   }
 }
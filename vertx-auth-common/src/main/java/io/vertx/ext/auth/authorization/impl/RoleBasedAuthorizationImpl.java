@@ -12,20 +12,16 @@
  ********************************************************************************/
 package io.vertx.ext.auth.authorization.impl;
 
-import io.vertx.ext.auth.User;
+import io.vertx.core.MultiMap;
 import io.vertx.ext.auth.authorization.Authorization;
-import io.vertx.ext.auth.authorization.AuthorizationContext;
 import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
 
 import java.util.Objects;
 
-public class RoleBasedAuthorizationImpl implements RoleBasedAuthorization {
-
-  private final String role;
-  private VariableAwareExpression resource;
+public class RoleBasedAuthorizationImpl extends LeafAuthorization implements RoleBasedAuthorization {
 
   public RoleBasedAuthorizationImpl(String role) {
-    this.role = Objects.requireNonNull(role);
+    super(ROLE, role);
   }
 
   @Override
@@ -35,50 +31,39 @@ public class RoleBasedAuthorizationImpl implements RoleBasedAuthorization {
     if (!(obj instanceof RoleBasedAuthorizationImpl))
       return false;
     RoleBasedAuthorizationImpl other = (RoleBasedAuthorizationImpl) obj;
-    return Objects.equals(resource, other.resource) && Objects.equals(role, other.role);
+    return Objects.equals(resource, other.resource) && Objects.equals(value, other.value);
   }
 
   @Override
   public String getRole() {
-    return role;
+    return value;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(resource, role);
+    return Objects.hash(resource, value);
   }
 
   @Override
-  public boolean match(AuthorizationContext context) {
-    Objects.requireNonNull(context);
-
-    User user = context.user();
-    if (user != null) {
-      Authorization resolvedAuthorization = getResolvedAuthorization(context);
-      return user.authorizations()
-        .verify(resolvedAuthorization);
-    }
-    return false;
-  }
-
-  private RoleBasedAuthorization getResolvedAuthorization(AuthorizationContext context) {
-    if (resource == null || !resource.hasVariable()) {
-      return this;
-    }
-    return RoleBasedAuthorization.create(this.role).setResource(resource.resolve(context.variables()));
+  LeafAuthorization resolve(MultiMap variables) {
+    final RoleBasedAuthorizationImpl resolved = new RoleBasedAuthorizationImpl(value);
+    resolved.setResource(resource.resolve(variables));
+    return resolved;
   }
 
   @Override
   public boolean verify(Authorization otherAuthorization) {
     Objects.requireNonNull(otherAuthorization);
 
+    if (otherAuthorization instanceof LeafAuthorization) {
+      return verify(this, (LeafAuthorization) otherAuthorization, null);
+    }
+
+    // other implementations of the public interface
     if (otherAuthorization instanceof RoleBasedAuthorization) {
       RoleBasedAuthorization otherRoleBasedAuthorization = (RoleBasedAuthorization) otherAuthorization;
-      if (role.equals(otherRoleBasedAuthorization.getRole())) {
-        if (getResource() == null) {
-          return otherRoleBasedAuthorization.getResource() == null;
-        }
-        return getResource().equals(otherRoleBasedAuthorization.getResource());
+      if (value.equals(otherRoleBasedAuthorization.getRole())) {
+        return Objects.equals(getResource(), otherRoleBasedAuthorization.getResource());
       }
     }
     return false;
@@ -86,7 +71,7 @@ public class RoleBasedAuthorizationImpl implements RoleBasedAuthorization {
 
   @Override
   public String getResource() {
-    return resource != null ? resource.getValue() : null;
+    return resourceValue();
   }
 
   @Override
@@ -98,6 +83,6 @@ public class RoleBasedAuthorizationImpl implements RoleBasedAuthorization {
 
   @Override
   public String toString() {
-    return "ROLE[" + role + "]";
+    return "ROLE[" + value + "]";
   }
 }
@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.authorization.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authorization.*;
+
+import java.util.*;
+
+public class RoleHierarchyImpl implements RoleHierarchy {
+
+  /**
+   * The transitive closure of one kind of authorization (roles or permissions), per role and inverted.
+   */
+  private static final class Closure {
+
+    // per role, the bits of the authorizations it holds
+    final BitSet[] perRole;
+    // per bit, the roles holding it
+    final BitSet[] holders;
+    // per bit, the holders as ids of the roles dictionary, resolved on first use
+    final Holders[] holderIds;
+
+    Closure(BitSet[] perRole, int bits) {
+      this.perRole = perRole;
+      this.holders = new BitSet[bits];
+      for (int i = 0; i < bits; i++) {
+        holders[i] = new BitSet(perRole.length);
+      }
+      for (int role = 0; role < perRole.length; role++) {
+        final BitSet held = perRole[role];
+        for (int bit = held.nextSetBit(0); bit >= 0; bit = held.nextSetBit(bit + 1)) {
+          holders[bit].set(role);
+        }
+      }
+      this.holderIds = new Holders[bits];
+    }
+  }
+
+  /**
+   * The dictionary ids of the roles holding a bit. The graph does not intern its roles, a role not interned yet cannot
+   * be granted by a compact set, so it is skipped until the dictionary grows.
+   */
+  private static final class Holders {
+
+    final IntBitmap ids;
+    // the dictionary size the ids were resolved with, -1 when every holder has an id
+    final int resolvedAt;
+
+    Holders(IntBitmap ids, int resolvedAt) {
+      this.ids = ids;
+      this.resolvedAt = resolvedAt;
+    }
+  }
+
+  /**
+   * Immutable snapshot of the graph. Roles and permissions are mapped to dense indexes, and for each role the
+   * transitive closure is stored as bitsets, so checks are a map lookup followed by a bit test.
+   */
+  private static final class Graph {
+
+    final Map<String, Integer> roles;
+    final Map<String, Integer> permissions;
+    // per role, its name
+    final String[] names;
+    // per role, the inherited roles (including itself)
+    final Closure inheritedRoles;
+    // per role, the granted permissions (including the inherited ones)
+    final Closure grantedPermissions;
+
+    Graph(JsonObject json) {
+      final Map<String, Integer> roles = new HashMap<>();
+      final Map<String, Integer> permissions = new HashMap<>();
+      final List<int[]> parents = new ArrayList<>();
+      final List<int[]> direct = new ArrayList<>();
+
+      for (String role : json.fieldNames()) {
+        final Object value = json.getValue(role);
+        if (value != null && !(value instanceof JsonObject)) {
+          throw new IllegalArgumentException("Invalid role definition: " + role);
+        }
+        final JsonObject definition = value == null ? new JsonObject() : (JsonObject) value;
+        final int idx = index(roles, role);
+        while (parents.size() <= idx) {
+          parents.add(null);
+          direct.add(null);
+        }
+        parents.set(idx, indexes(roles, definition.getJsonArray("roles")));
+        direct.set(idx, indexes(permissions, definition.getJsonArray("permissions")));
+      }
+      // roles only referenced as parents have no definition
+      while (parents.size() < roles.size()) {
+        parents.add(null);
+        direct.add(null);
+      }
+
+      this.roles = roles;
+      this.permissions = permissions;
+      this.names = new String[roles.size()];
+      for (Map.Entry<String, Integer> kv : roles.entrySet()) {
+        names[kv.getValue()] = kv.getKey();
+      }
+      final BitSet[] inheritedRoles = new BitSet[roles.size()];
+      final BitSet[] grantedPermissions = new BitSet[roles.size()];
+
+      final Deque<Integer> stack = new ArrayDeque<>();
+      for (int i = 0; i < inheritedRoles.length; i++) {
+        final BitSet visited = new BitSet(roles.size());
+        final BitSet granted = new BitSet(permissions.size());
+        stack.push(i);
+        while (!stack.isEmpty()) {
+          final int current = stack.pop();
+          if (visited.get(current)) {
+            // cycles are allowed, the closure is the same for all roles in the cycle
+            continue;
+          }
+          visited.set(current);
+          final int[] grants = direct.get(current);
+          if (grants != null) {
+            for (int grant : grants) {
+              granted.set(grant);
+            }
+          }
+          final int[] inherits = parents.get(current);
+          if (inherits != null) {
+            for (int parent : inherits) {
+              stack.push(parent);
+            }
+          }
+        }
+        inheritedRoles[i] = visited;
+        grantedPermissions[i] = granted;
+      }
+      this.inheritedRoles = new Closure(inheritedRoles, roles.size());
+      this.grantedPermissions = new Closure(grantedPermissions, permissions.size());
+    }
+
+    private static int index(Map<String, Integer> dictionary, String key) {
+      return dictionary.computeIfAbsent(Objects.requireNonNull(key), k -> dictionary.size());
+    }
+
+    private static int[] indexes(Map<String, Integer> dictionary, JsonArray keys) {
+      if (keys == null) {
+        return null;
+      }
+      final int[] result = new int[keys.size()];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = index(dictionary, keys.getString(i));
+      }
+      return result;
+    }
+
+    /**
+     * @return the per role closure holding the kind of the given authorization or {@code null}.
+     */
+    Closure closure(Authorization authorization) {
+      if (authorization instanceof RoleBasedAuthorization) {
+        return inheritedRoles;
+      }
+      if (authorization instanceof PermissionBasedAuthorization) {
+        return grantedPermissions;
+      }
+      return null;
+    }
+
+    /**
+     * @return the bit index of the given authorization or {@code -1} when it cannot be inherited.
+     */
+    int bit(Authorization authorization) {
+      Integer idx = null;
+      if (authorization instanceof RoleBasedAuthorization) {
+        final RoleBasedAuthorization role = (RoleBasedAuthorization) authorization;
+        if (role.getResource() == null) {
+          idx = roles.get(role.getRole());
+        }
+      } else if (authorization instanceof PermissionBasedAuthorization) {
+        final PermissionBasedAuthorization permission = (PermissionBasedAuthorization) authorization;
+        if (permission.getResource() == null) {
+          idx = permissions.get(permission.getPermission());
+        }
+      }
+      return idx == null ? -1 : idx;
+    }
+
+    /**
+     * @return the dictionary ids of the roles holding the given bit, to intersect with the plain roles of a compact set.
+     */
+    IntBitmap holders(Closure closure, int bit) {
+      // read the size first, names interned meanwhile are resolved by the next call
+      final int size = AuthorizationDictionary.ROLES.size();
+      Holders holders = closure.holderIds[bit];
+      if (holders == null || (holders.resolvedAt != -1 && holders.resolvedAt != size)) {
+        final BitSet roles = closure.holders[bit];
+        final int[] ids = new int[roles.cardinality()];
+        int length = 0;
+        boolean complete = true;
+        for (int role = roles.nextSetBit(0); role >= 0; role = roles.nextSetBit(role + 1)) {
+          final int id = AuthorizationDictionary.ROLES.id(names[role]);
+          if (id == -1) {
+            complete = false;
+          } else {
+            ids[length++] = id;
+          }
+        }
+        holders = new Holders(IntBitmap.of(ids, length), complete ? -1 : size);
+        // racy but idempotent, the holders are immutable
+        closure.holderIds[bit] = holders;
+      }
+      return holders.ids;
+    }
+
+    boolean test(Closure closure, int bit, Authorization granted) {
+      if (granted instanceof RoleBasedAuthorization) {
+        final RoleBasedAuthorization role = (RoleBasedAuthorization) granted;
+        if (role.getResource() == null) {
+          final Integer idx = roles.get(role.getRole());
+          return idx != null && closure.perRole[idx].get(bit);
+        }
+      }
+      return false;
+    }
+  }
+
+  private volatile Graph graph;
+
+  public RoleHierarchyImpl(JsonObject graph) {
+    this.graph = new Graph(Objects.requireNonNull(graph));
+  }
+
+  @Override
+  public RoleHierarchy reload(JsonObject graph) {
+    // compute the closure before the swap
+    this.graph = new Graph(Objects.requireNonNull(graph));
+    return this;
+  }
+
+  @Override
+  public boolean verify(String role, Authorization authorization) {
+    Objects.requireNonNull(role);
+    Objects.requireNonNull(authorization);
+
+    final Graph graph = this.graph;
+    final Integer idx = graph.roles.get(role);
+    if (idx == null) {
+      return false;
+    }
+    final Closure closure = graph.closure(authorization);
+    final int bit = graph.bit(authorization);
+    return closure != null && bit != -1 && closure.perRole[idx].get(bit);
+  }
+
+  @Override
+  public Authorization authorization(Authorization authorization) {
+    return new HierarchyAuthorization(Objects.requireNonNull(authorization));
+  }
+
+  private final class HierarchyAuthorization implements Authorization {
+
+    private final Authorization authorization;
+
+    HierarchyAuthorization(Authorization authorization) {
+      this.authorization = authorization;
+    }
+
+    @Override
+    public boolean match(AuthorizationContext context) {
+      Objects.requireNonNull(context);
+
+      // direct grants
+      if (authorization.match(context)) {
+        return true;
+      }
+
+      final User user = context.user();
+      if (user != null) {
+        // always work with a single snapshot
+        final Graph graph = RoleHierarchyImpl.this.graph;
+        final Closure closure = graph.closure(authorization);
+        final int bit = graph.bit(authorization);
+        if (closure == null || bit == -1) {
+          return false;
+        }
+        final Authorizations authorizations = user.authorizations();
+        if (authorizations instanceof AuthorizationsImpl) {
+          final IntBitmap holders = graph.holders(closure, bit);
+          return ((AuthorizationsImpl) authorizations)
+            .verify(
+              compact -> holders.intersects(compact.roles()),
+              granted -> graph.test(closure, bit, granted));
+        }
+        final boolean[] match = new boolean[1];
+        authorizations.forEach((providerId, granted) -> match[0] |= graph.test(closure, bit, granted));
+        return match[0];
+      }
+      return false;
+    }
+
+    @Override
+    public boolean verify(Authorization otherAuthorization) {
+      return authorization.verify(otherAuthorization);
+    }
+
+    @Override
+    public String toString() {
+      return "HIERARCHY[" + authorization + "]";
+    }
+  }
+}
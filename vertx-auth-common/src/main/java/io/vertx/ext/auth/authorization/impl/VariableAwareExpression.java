@@ -17,31 +17,33 @@ import io.vertx.core.MultiMap;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.function.Function;
 
 public class VariableAwareExpression {
   private final String value;
-  private final transient Function<MultiMap, String>[] parts;
+  // literal parts, or the original "{name}" placeholder when the part is a variable
+  private final transient String[] parts;
+  // variable name for each part, null when the part is a literal
+  private final transient String[] variables;
   private transient boolean hasVariable = false;
 
-  @SuppressWarnings("unchecked")
   public VariableAwareExpression(String value) {
     this.value = Objects.requireNonNull(value).trim();
 
-    List<Function<MultiMap, String>> tmpParts = new ArrayList<>();
+    List<String> tmpParts = new ArrayList<>();
+    List<String> tmpVariables = new ArrayList<>();
     int currentPos = 0;
     while (currentPos != -1) {
       int openingCurlyBracePos = value.indexOf("{", currentPos);
       if (openingCurlyBracePos == -1) {
         if (currentPos < value.length()) {
-          String authorizationPart = value.substring(currentPos);
-          tmpParts.add(ctx -> authorizationPart);
+          tmpParts.add(value.substring(currentPos));
+          tmpVariables.add(null);
         }
         break;
       } else {
         if (openingCurlyBracePos > currentPos) {
-          String authorizationPart = value.substring(currentPos, openingCurlyBracePos);
-          tmpParts.add(ctx -> authorizationPart);
+          tmpParts.add(value.substring(currentPos, openingCurlyBracePos));
+          tmpVariables.add(null);
         }
         int closingCurlyBracePos = value.indexOf("}", currentPos + 1);
         if (closingCurlyBracePos == -1) {
@@ -49,25 +51,15 @@ public class VariableAwareExpression {
         } else if (closingCurlyBracePos - openingCurlyBracePos == 1) {
           throw new IllegalArgumentException("empty '{}' is not allowed");
         } else {
-          String part = value.substring(openingCurlyBracePos, closingCurlyBracePos + 1);
-          String variableName = value.substring(openingCurlyBracePos + 1, closingCurlyBracePos);
           hasVariable = true;
-          tmpParts.add(ctx -> {
-            // substitute parameter
-            String result = ctx.get(variableName);
-            if (result != null) {
-              return result;
-            }
-            return part;
-          });
+          tmpParts.add(value.substring(openingCurlyBracePos, closingCurlyBracePos + 1));
+          tmpVariables.add(value.substring(openingCurlyBracePos + 1, closingCurlyBracePos));
           currentPos = closingCurlyBracePos + 1;
         }
       }
     }
-    this.parts = new Function[tmpParts.size()];
-    for (int i = 0; i < tmpParts.size(); i++) {
-      this.parts[i] = tmpParts.get(i);
-    }
+    this.parts = tmpParts.toArray(new String[0]);
+    this.variables = tmpVariables.toArray(new String[0]);
   }
 
   @Override
@@ -102,11 +94,11 @@ public class VariableAwareExpression {
     }
 
     if (parts.length == 1) {
-      return parts[0].apply(context);
+      return part(0, context);
     } else if (parts.length > 1) {
       StringBuilder result = new StringBuilder();
-      for (Function<MultiMap, String> part : parts) {
-        result.append(part.apply(context));
+      for (int i = 0; i < parts.length; i++) {
+        result.append(part(i, context));
       }
       return result.toString();
     }
@@ -114,4 +106,45 @@ public class VariableAwareExpression {
     return "";
   }
 
+  /**
+   * Verifies that the expression, once resolved against the given context, is equal to the candidate. This is
+   * equivalent to {@code resolve(context).equals(candidate)}, however the candidate is compared segment by segment
+   * so no intermediate string is built.
+   *
+   * @param context the variables to substitute.
+   * @param candidate the string to compare to.
+   * @return {@code true} if the resolved expression is equal to the candidate.
+   */
+  public boolean matches(MultiMap context, String candidate) {
+    if (candidate == null) {
+      return false;
+    }
+    // shortcut if there is no variable
+    if (!hasVariable) {
+      return value.equals(candidate);
+    }
+
+    int offset = 0;
+    for (int i = 0; i < parts.length; i++) {
+      final String part = part(i, context);
+      if (!candidate.startsWith(part, offset)) {
+        return false;
+      }
+      offset += part.length();
+    }
+    return offset == candidate.length();
+  }
+
+  private String part(int i, MultiMap context) {
+    final String variable = variables[i];
+    if (variable != null) {
+      // substitute parameter
+      String result = context.get(variable);
+      if (result != null) {
+        return result;
+      }
+    }
+    return parts[i];
+  }
+
 }
@@ -12,22 +12,19 @@
  ********************************************************************************/
 package io.vertx.ext.auth.authorization.impl;
 
-import io.vertx.ext.auth.User;
+import io.vertx.core.MultiMap;
 import io.vertx.ext.auth.authorization.Authorization;
-import io.vertx.ext.auth.authorization.AuthorizationContext;
 import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
 import io.vertx.ext.auth.authorization.WildcardPermissionBasedAuthorization;
 
 import java.util.Objects;
 
-public class WildcardPermissionBasedAuthorizationImpl implements WildcardPermissionBasedAuthorization {
+public class WildcardPermissionBasedAuthorizationImpl extends LeafAuthorization implements WildcardPermissionBasedAuthorization {
 
-  private final String permission;
-  private VariableAwareExpression resource;
-  private final WildcardExpression wildcardPermission;
+  final WildcardExpression wildcardPermission;
 
   public WildcardPermissionBasedAuthorizationImpl(String permission) {
-    this.permission = Objects.requireNonNull(permission);
+    super(WILDCARD_PERMISSION, permission);
     this.wildcardPermission = new WildcardExpression(permission);
   }
 
@@ -38,43 +35,34 @@ public class WildcardPermissionBasedAuthorizationImpl implements WildcardPermiss
     if (!(obj instanceof WildcardPermissionBasedAuthorizationImpl))
       return false;
     WildcardPermissionBasedAuthorizationImpl other = (WildcardPermissionBasedAuthorizationImpl) obj;
-    return Objects.equals(permission, other.permission) && Objects.equals(resource, other.resource);
+    return Objects.equals(value, other.value) && Objects.equals(resource, other.resource);
   }
 
   @Override
   public String getPermission() {
-    return permission;
+    return value;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(permission, resource);
+    return Objects.hash(value, resource);
   }
 
   @Override
-  public boolean match(AuthorizationContext context) {
-    Objects.requireNonNull(context);
-
-    User user = context.user();
-    if (user != null) {
-      Authorization resolvedAuthorization = getResolvedAuthorization(context);
-      return user.authorizations()
-        .verify(resolvedAuthorization);
-    }
-    return false;
+  LeafAuthorization resolve(MultiMap variables) {
+    final WildcardPermissionBasedAuthorizationImpl resolved = new WildcardPermissionBasedAuthorizationImpl(value);
+    resolved.setResource(resource.resolve(variables));
+    return resolved;
   }
 
   @Override
   public boolean verify(Authorization otherAuthorization) {
-    if (otherAuthorization instanceof WildcardPermissionBasedAuthorizationImpl) {
-      WildcardPermissionBasedAuthorizationImpl otherWildcardPermission = (WildcardPermissionBasedAuthorizationImpl) otherAuthorization;
-      if (wildcardPermission.implies((otherWildcardPermission).wildcardPermission)) {
-        if (getResource() == null) {
-          return true;
-        }
-        return getResource().equals(otherWildcardPermission.getResource());
-      }
-    } else if (otherAuthorization instanceof PermissionBasedAuthorization) {
+    if (otherAuthorization instanceof LeafAuthorization) {
+      return verify(this, (LeafAuthorization) otherAuthorization, null);
+    }
+
+    // other implementations of the public interface
+    if (otherAuthorization instanceof PermissionBasedAuthorization) {
       PermissionBasedAuthorization otherPermission = (PermissionBasedAuthorization) otherAuthorization;
       if (wildcardPermission.implies(otherPermission.getPermission())) {
         if (getResource() == null) {
@@ -86,16 +74,9 @@ public class WildcardPermissionBasedAuthorizationImpl implements WildcardPermiss
     return false;
   }
 
-  private WildcardPermissionBasedAuthorization getResolvedAuthorization(AuthorizationContext context) {
-    if (resource == null || !resource.hasVariable()) {
-      return this;
-    }
-    return WildcardPermissionBasedAuthorization.create(this.permission).setResource(resource.resolve(context.variables()));
-  }
-
   @Override
   public String getResource() {
-    return resource != null ? resource.getValue() : null;
+    return resourceValue();
   }
 
   @Override
@@ -106,6 +87,6 @@ public class WildcardPermissionBasedAuthorizationImpl implements WildcardPermiss
 
   @Override
   public String toString() {
-    return "PERMISSION*[" + permission + "]";
+    return "PERMISSION*[" + value + "]";
   }
 }
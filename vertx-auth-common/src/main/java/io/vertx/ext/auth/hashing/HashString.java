@@ -17,9 +17,13 @@ package io.vertx.ext.auth.hashing;
 
 import io.vertx.codegen.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import static io.vertx.ext.auth.impl.Codec.base64Decode;
+
 /**
  * Utility class to encode/decode hashed strings to be stored on a persistent storage.
  * <p>
@@ -33,6 +37,8 @@ public final class HashString {
   private Map<String, String> params;
   private String salt;
   private String hash;
+  // decoded on first use
+  private volatile byte[] saltBytes;
 
   public HashString(String id, Map<String, String> params, String salt) {
     this.id = id;
@@ -46,53 +52,90 @@ public final class HashString {
   }
 
   public HashString(String encoded) {
-    String[] parts;
-
-    if (encoded.length() > 1 && encoded.charAt(0) != '$') {
-      // this is not a hash encoded in the common format, attempt to normalize
-      encoded = encoded.replaceAll("\\{", "\\$\\{");
-      encoded = encoded.replaceAll("\\}", "\\}\\$");
-      if (encoded.length() > 1 && encoded.charAt(0) != '$') {
-        encoded = "$$" + encoded;
-      }
-    }
+    final List<String> parts = split(encoded);
 
-    parts = encoded.split("\\$");
-
-    if (parts.length < 2) {
+    if (parts.size() < 2) {
       throw new IllegalStateException("Not enough segments: " + encoded);
     }
 
-    switch (parts.length) {
+    switch (parts.size()) {
       case 2:
-        id = parts[1];
+        id = parts.get(1);
         break;
       case 3:
-        id = parts[1];
-        hash = parts[2];
+        id = parts.get(1);
+        hash = parts.get(2);
         break;
       case 4:
-        id = parts[1];
-        salt = parts[2];
-        hash = parts[3];
+        id = parts.get(1);
+        salt = parts.get(2);
+        hash = parts.get(3);
         break;
       case 5:
         // fallback if there are more segments (just ignore)
       default:
-        id = parts[1];
+        id = parts.get(1);
         params = new HashMap<>();
-        for (String kv : parts[2].split(",")) {
-          int eq = kv.indexOf('=');
-          if (eq > 0) {
-            params.put(kv.substring(0, eq), kv.substring(eq + 1));
+        final String kvs = parts.get(2);
+        for (int start = 0; start < kvs.length(); ) {
+          int end = kvs.indexOf(',', start);
+          if (end == -1) {
+            end = kvs.length();
+          }
+          int eq = kvs.indexOf('=', start);
+          if (eq > start && eq < end) {
+            params.put(kvs.substring(start, eq), kvs.substring(eq + 1, end));
           }
+          start = end + 1;
         }
-        salt = parts[3];
-        hash = parts[4];
+        salt = parts.get(3);
+        hash = parts.get(4);
         break;
     }
   }
 
+  /**
+   * Splits an encoded hash on {@code $} in a single pass. A hash not in the common format is normalized first:
+   * {@code {id}hash} is read as {@code ${id}$hash} and anything else as {@code $$hash}. As with
+   * {@link String#split(String)} trailing empty segments are dropped.
+   */
+  private static List<String> split(String encoded) {
+    final List<String> parts = new ArrayList<>(5);
+    final int len = encoded.length();
+
+    final boolean normalize = len > 1 && encoded.charAt(0) != '$';
+    if (normalize && encoded.charAt(0) != '{') {
+      // "$$" prefix
+      parts.add("");
+      parts.add("");
+    }
+
+    int start = 0;
+    for (int i = 0; i < len; i++) {
+      final char c = encoded.charAt(i);
+      if (c == '$') {
+        parts.add(encoded.substring(start, i));
+        start = i + 1;
+      } else if (normalize && c == '{') {
+        // "{" is read as "${"
+        parts.add(encoded.substring(start, i));
+        start = i;
+      } else if (normalize && c == '}') {
+        // "}" is read as "}$"
+        parts.add(encoded.substring(start, i + 1));
+        start = i + 1;
+      }
+    }
+    parts.add(encoded.substring(start));
+
+    // drop the trailing empty segments
+    int size = parts.size();
+    while (size > 0 && parts.get(size - 1).isEmpty()) {
+      parts.remove(--size);
+    }
+    return parts;
+  }
+
   public String id() {
     return id;
   }
@@ -117,6 +160,22 @@ public final class HashString {
     return hash;
   }
 
+  /**
+   * Decodes the base64 salt once, parsed hash strings are reused across verifications.
+   *
+   * @return the decoded salt, shared by all the callers, it must not be modified.
+   */
+  public byte[] saltBytes() {
+    byte[] bytes = saltBytes;
+    if (bytes == null) {
+      if (salt == null) {
+        throw new IllegalStateException("hashString salt is null");
+      }
+      saltBytes = bytes = base64Decode(salt);
+    }
+    return bytes;
+  }
+
   public static String encode(HashingAlgorithm algorithm, Map<String, String> params, String salt, String hash) {
     StringBuilder sb = new StringBuilder();
 
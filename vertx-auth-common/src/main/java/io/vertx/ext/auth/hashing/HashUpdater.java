@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.hashing;
+
+import io.vertx.core.Future;
+
+/**
+ * Persists the new password hash of a user after it was upgraded to a {@link RehashPolicy}, e.g.
+ * {@code io.vertx.ext.auth.sqlclient.SqlUserUtil#hashUpdater(SqlClient)}.
+ */
+@FunctionalInterface
+public interface HashUpdater {
+
+  /**
+   * @param username the user who just logged in
+   * @param hash     the new hash to store in place of the current one
+   * @return a future notified once the hash is stored
+   */
+  Future<Void> update(String username, String hash);
+}
@@ -0,0 +1,441 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.hashing;
+
+import io.vertx.ext.auth.impl.Codec;
+import io.vertx.ext.auth.impl.HashingStrategyImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.LongSupplier;
+
+/**
+ * Benchmarks the hashing algorithms on the current machine to find the strongest parameters that still meet a
+ * latency and a throughput budget.
+ * <p>
+ * Each candidate is measured with {@link #setCores(int)} threads verifying passwords concurrently, as a login tier at
+ * full load would. A candidate is accepted when the 99th percentile of the verify latency is below
+ * {@link #setTargetLatency(long)} and the number of verifications per second is above
+ * {@link #setTargetThroughput(double)}. The cost parameter is increased until a candidate is rejected:
+ * <ul>
+ *   <li>{@code pbkdf2}: the iterations {@code it}</li>
+ *   <li>{@code argon2id}: the memory {@code m} in KiB, {@code t} and {@code p} are kept</li>
+ *   <li>{@code scrypt}: the log2 of the cost {@code ln}, {@code r} and {@code p} are kept</li>
+ *   <li>{@code bcrypt}: the log2 of the rounds {@code c}</li>
+ * </ul>
+ * Other algorithms have no cost parameter, they are only measured.
+ * <p>
+ * The 99th percentile is estimated from {@link #setSamples(int)} verifications per candidate, each result also
+ * reports a 95% confidence upper bound of it. With the default 300 samples the bound is the slowest verification,
+ * with less than 299 samples there is no bound.
+ * <p>
+ * Calibration blocks the calling thread for seconds, it must not run on an event loop. It can also be run from the
+ * command line:
+ *
+ * <pre>
+ * java -cp ... io.vertx.ext.auth.impl.HashingCalibrationMain --latency=250 --throughput=50 --cores=4 pbkdf2 argon2id
+ * </pre>
+ */
+public final class HashingCalibration {
+
+  /**
+   * The outcome of the calibration of an algorithm.
+   */
+  public static final class Result {
+
+    private final String id;
+    private final Map<String, String> params;
+    private final double p99;
+    private final double p99Upper;
+    private final double throughput;
+    private final boolean satisfied;
+
+    Result(String id, Map<String, String> params, double[] measure, boolean satisfied) {
+      this.id = id;
+      this.params = Collections.unmodifiableMap(params);
+      this.p99 = measure[0];
+      this.throughput = measure[1];
+      this.p99Upper = measure[2];
+      this.satisfied = satisfied;
+    }
+
+    /**
+     * @return the algorithm id.
+     */
+    public String id() {
+      return id;
+    }
+
+    /**
+     * @return the parameters to use with {@link HashingStrategy#hash(String, Map, String, String)}.
+     */
+    public Map<String, String> params() {
+      return params;
+    }
+
+    /**
+     * @return the measured 99th percentile of the verify latency in milliseconds.
+     */
+    public double p99() {
+      return p99;
+    }
+
+    /**
+     * @return the upper bound of the 95% confidence interval of the 99th percentile in milliseconds, or
+     * {@link Double#POSITIVE_INFINITY} when there are too few samples to bound it.
+     */
+    public double p99Upper() {
+      return p99Upper;
+    }
+
+    /**
+     * @return the measured verifications per second across all cores.
+     */
+    public double throughput() {
+      return throughput;
+    }
+
+    /**
+     * @return {@code false} when even the cheapest parameters do not meet the targets.
+     */
+    public boolean satisfied() {
+      return satisfied;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(Locale.ROOT, "%s %s p99=%.1fms (95%% confidence <= %.1fms) throughput=%.1f/s%s",
+        id, params, p99, p99Upper, throughput, satisfied ? "" : " (targets not met)");
+    }
+  }
+
+  /**
+   * The cost parameter of an algorithm.
+   */
+  private static final class Knob {
+
+    final String param;
+    // when true the parameter is a log2, the cost doubles with each increment
+    final boolean exponential;
+    final long min;
+    final long max;
+
+    Knob(String param, boolean exponential, long min, long max) {
+      this.param = param;
+      this.exponential = exponential;
+      this.min = min;
+      this.max = max;
+    }
+  }
+
+  private static final Map<String, Knob> KNOBS = new HashMap<>();
+
+  static {
+    KNOBS.put("pbkdf2", new Knob("it", false, 1000, 100_000_000));
+    // the largest memory costs the algorithms accept, 256 MiB
+    KNOBS.put("argon2id", new Knob("m", false, 1024, 256 * 1024));
+    KNOBS.put("scrypt", new Knob("ln", true, 10, 18));
+    KNOBS.put("bcrypt", new Knob("c", true, 4, 24));
+  }
+
+  // milliseconds
+  private static final long WARM_UP = 500;
+
+  // the confidence of the reported upper bound of the 99th percentile
+  private static final double CONFIDENCE = 0.95;
+
+  private static final String PASSWORD = "calibration-password";
+  private static final String SALT = Codec.base64Encode("calibration-salt".getBytes(StandardCharsets.UTF_8));
+
+  private final HashingStrategy strategy;
+  private final LongSupplier clock;
+
+  private long targetLatency = 250;
+  private double targetThroughput = 10;
+  private int cores = Runtime.getRuntime().availableProcessors();
+  private int samples = 300;
+
+  public HashingCalibration(HashingStrategy strategy) {
+    this(strategy, System::nanoTime);
+  }
+
+  /**
+   * @param strategy the strategy to calibrate
+   * @param clock    the time source of the measures, in nanoseconds, {@link System#nanoTime()} by default
+   */
+  public HashingCalibration(HashingStrategy strategy, LongSupplier clock) {
+    this.strategy = Objects.requireNonNull(strategy);
+    this.clock = Objects.requireNonNull(clock);
+  }
+
+  /**
+   * @param millis the maximum 99th percentile of the verify latency, in milliseconds.
+   * @return self
+   */
+  public HashingCalibration setTargetLatency(long millis) {
+    if (millis <= 0) {
+      throw new IllegalArgumentException("targetLatency must be > 0");
+    }
+    this.targetLatency = millis;
+    return this;
+  }
+
+  /**
+   * @param loginsPerSecond the minimum number of verifications per second across all cores.
+   * @return self
+   */
+  public HashingCalibration setTargetThroughput(double loginsPerSecond) {
+    if (loginsPerSecond <= 0) {
+      throw new IllegalArgumentException("targetThroughput must be > 0");
+    }
+    this.targetThroughput = loginsPerSecond;
+    return this;
+  }
+
+  /**
+   * @param cores the number of threads verifying concurrently, usually the size of the hashing worker pool.
+   * @return self
+   */
+  public HashingCalibration setCores(int cores) {
+    if (cores < 1) {
+      throw new IllegalArgumentException("cores must be > 0");
+    }
+    this.cores = cores;
+    return this;
+  }
+
+  /**
+   * @param samples the number of verifications per candidate, spread over the cores and rounded up to a multiple of
+   *                them, 300 by default.
+   * @return self
+   */
+  public HashingCalibration setSamples(int samples) {
+    if (samples < 1) {
+      throw new IllegalArgumentException("samples must be > 0");
+    }
+    this.samples = samples;
+    return this;
+  }
+
+  /**
+   * Calibrates all the algorithms of the strategy.
+   *
+   * @return the results, ordered by algorithm id.
+   */
+  public List<Result> calibrate() {
+    final Set<String> ids = strategy instanceof HashingStrategyImpl ?
+      new TreeSet<>(((HashingStrategyImpl) strategy).ids()) :
+      new TreeSet<>(KNOBS.keySet());
+
+    final List<Result> results = new ArrayList<>();
+    for (String id : ids) {
+      if (strategy.get(id) != null) {
+        results.add(calibrate(id, null));
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Calibrates a single algorithm.
+   *
+   * @param id     the algorithm id
+   * @param params the parameters to keep, the cost parameter is overridden, can be {@code null}
+   * @return the result.
+   */
+  public Result calibrate(String id, Map<String, String> params) {
+    if (strategy.get(id) == null) {
+      throw new IllegalArgumentException(id + " algorithm is not available.");
+    }
+
+    final Map<String, String> base = params == null ? new HashMap<>() : new HashMap<>(params);
+    final ExecutorService executor = Executors.newFixedThreadPool(cores);
+    try {
+      final Knob knob = KNOBS.get(id);
+      if (knob == null) {
+        // nothing to tune
+        final double[] measure = measure(executor, id, base.isEmpty() ? null : base);
+        return new Result(id, base, measure, meets(measure));
+      }
+
+      // let the JIT compile the hot loops before trusting any measure
+      warmUp(executor, id, with(base, knob, knob.min));
+
+      long good = -1;
+      double[] goodMeasure = null;
+      long bad = -1;
+      double[] badMeasure = null;
+
+      for (long value = knob.min; value <= knob.max; value = knob.exponential ? value + 1 : value * 2) {
+        if (!fitsInMemory(id, knob, value, base)) {
+          break;
+        }
+        final double[] measure = measure(executor, id, with(base, knob, value));
+        if (!meets(measure)) {
+          bad = value;
+          badMeasure = measure;
+          break;
+        }
+        good = value;
+        goodMeasure = measure;
+      }
+
+      if (good == -1) {
+        // even the cheapest parameters are too slow (or too large)
+        if (badMeasure == null) {
+          badMeasure = measure(executor, id, with(base, knob, knob.min));
+        }
+        return new Result(id, with(base, knob, knob.min), badMeasure, false);
+      }
+
+      if (!knob.exponential && bad != -1) {
+        // refine between the last good and the first bad value, up to 5%
+        while (bad - good > good / 20) {
+          final long value = good + (bad - good) / 2;
+          final double[] measure = measure(executor, id, with(base, knob, value));
+          if (meets(measure)) {
+            good = value;
+            goodMeasure = measure;
+          } else {
+            bad = value;
+          }
+        }
+      }
+
+      return new Result(id, with(base, knob, good), goodMeasure, true);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private boolean meets(double[] measure) {
+    return measure[0] <= targetLatency && measure[1] >= targetThroughput;
+  }
+
+  private static Map<String, String> with(Map<String, String> base, Knob knob, long value) {
+    final Map<String, String> params = new HashMap<>(base);
+    params.put(knob.param, Long.toString(value));
+    return params;
+  }
+
+  /**
+   * Memory hard candidates are skipped when all the threads would use more than half of the heap.
+   */
+  private boolean fitsInMemory(String id, Knob knob, long value, Map<String, String> base) {
+    final long bytes;
+    switch (id) {
+      case "argon2id":
+        bytes = value * 1024;
+        break;
+      case "scrypt":
+        bytes = 128L * Long.parseLong(base.getOrDefault("r", "8")) * (1L << value);
+        break;
+      default:
+        return true;
+    }
+    return bytes * cores <= Runtime.getRuntime().maxMemory() / 2;
+  }
+
+  private void warmUp(ExecutorService executor, String id, Map<String, String> params) {
+    final String hash = strategy.hash(id, params, SALT, PASSWORD);
+    final long deadline = clock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(WARM_UP);
+    final List<Callable<Void>> tasks = new ArrayList<>();
+    for (int t = 0; t < cores; t++) {
+      tasks.add(() -> {
+        do {
+          strategy.verify(hash, PASSWORD);
+        } while (clock.getAsLong() < deadline);
+        return null;
+      });
+    }
+    try {
+      executor.invokeAll(tasks);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @return the 99th percentile of the latency in milliseconds, the throughput in verifications per second and the
+   * upper bound of the 99th percentile in milliseconds.
+   */
+  private double[] measure(ExecutorService executor, String id, Map<String, String> params) {
+    final String hash = strategy.hash(id, params, SALT, PASSWORD);
+    // warm up, also allocates the per thread state
+    if (!strategy.verify(hash, PASSWORD)) {
+      throw new IllegalStateException(id + " failed to verify its own hash");
+    }
+
+    final int perCore = (samples + cores - 1) / cores;
+    final List<Callable<long[]>> tasks = new ArrayList<>();
+    for (int t = 0; t < cores; t++) {
+      tasks.add(() -> {
+        final long[] latencies = new long[perCore];
+        for (int i = 0; i < perCore; i++) {
+          final long start = clock.getAsLong();
+          strategy.verify(hash, PASSWORD);
+          latencies[i] = clock.getAsLong() - start;
+        }
+        return latencies;
+      });
+    }
+
+    final long start = clock.getAsLong();
+    final long[] latencies = new long[cores * perCore];
+    try {
+      int offset = 0;
+      for (Future<long[]> future : executor.invokeAll(tasks)) {
+        System.arraycopy(future.get(), 0, latencies, offset, perCore);
+        offset += perCore;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+    final long elapsed = clock.getAsLong() - start;
+
+    Arrays.sort(latencies);
+    final int idx = Math.max(0, (int) Math.ceil(latencies.length * 0.99) - 1);
+    final int upper = upperRank(latencies.length, 0.99, CONFIDENCE);
+    return new double[]{
+      latencies[idx] / 1e6,
+      latencies.length / (elapsed / 1e9),
+      upper == -1 ? Double.POSITIVE_INFINITY : latencies[upper] / 1e6};
+  }
+
+  /**
+   * Distribution free confidence bound of a quantile: the {@code k}-th smallest of {@code n} samples is above the
+   * {@code q} quantile unless at least {@code k} samples are below it, which has the probability
+   * {@code P(Binomial(n, q) >= k)}.
+   *
+   * @return the smallest index (0 based) of a sorted sample that bounds the quantile from above with the given
+   * confidence, or {@code -1} when there are too few samples.
+   */
+  static int upperRank(int n, double q, double confidence) {
+    // the binomial terms from i = n down, in log space so that large samples do not underflow
+    final double ratio = Math.log((1 - q) / q);
+    double logPmf = n * Math.log(q);
+    double tail = 0;
+    for (int i = n; i > 0; i--) {
+      tail += Math.exp(logPmf);
+      if (tail > 1 - confidence) {
+        // P(Binomial(n, q) >= i) is too large, the (i + 1)-th smallest sample is the bound
+        return i == n ? -1 : i;
+      }
+      logPmf += Math.log(i) - Math.log(n - i + 1) + ratio;
+    }
+    return 0;
+  }
+}
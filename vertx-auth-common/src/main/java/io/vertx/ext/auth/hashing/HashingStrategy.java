@@ -16,11 +16,15 @@
 package io.vertx.ext.auth.hashing;
 
 import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.codegen.annotations.Nullable;
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import io.vertx.ext.auth.impl.HashingStrategyImpl;
 
 import java.util.Map;
-import java.util.ServiceLoader;
+import java.util.Objects;
 
 /**
  * Hashing Strategy manager.
@@ -38,14 +42,21 @@ public interface HashingStrategy {
    * @return a Hashing Strategy capable of hashing using the available algorithms
    */
   static HashingStrategy load() {
-    final HashingStrategyImpl strategy = new HashingStrategyImpl();
-    ServiceLoader<HashingAlgorithm> serviceLoader = ServiceLoader.load(HashingAlgorithm.class);
-
-    for (HashingAlgorithm algorithm : serviceLoader) {
-      strategy.add(algorithm);
-    }
+    return new HashingStrategyImpl().load();
+  }
 
-    return strategy;
+  /**
+   * Factory method to load the algorithms from the system, the asynchronous operations run on a worker pool of
+   * the given Vert.x instance. The strategies with the same pool and queue sizes share the pool and its queue, the pool
+   * is closed with the Vert.x instance.
+   *
+   * @param vertx        the vertx instance
+   * @param poolSize     the maximum number of hashes computed in parallel
+   * @param maxQueueSize the maximum number of hashes waiting for a worker, above this limit operations are rejected
+   * @return a Hashing Strategy capable of hashing using the available algorithms
+   */
+  static HashingStrategy load(Vertx vertx, int poolSize, int maxQueueSize) {
+    return new HashingStrategyImpl(Objects.requireNonNull(vertx), poolSize, maxQueueSize).load();
   }
 
   /**
@@ -69,6 +80,61 @@ public interface HashingStrategy {
    */
   boolean verify(String hash, String password);
 
+  /**
+   * Hashes a password without blocking the caller. The hash is computed on a bounded worker pool, the pool of the
+   * Vert.x instance this strategy was loaded with or else the pool of the Vert.x instance of the calling context.
+   * Without any Vert.x instance the hash is computed on the calling thread.
+   * <p>
+   * When the pool queue is full the returned future is failed with a {@link java.util.concurrent.RejectedExecutionException}.
+   *
+   * @param id       the algorithm id
+   * @param params   the algorithm specific parameters
+   * @param salt     the given salt
+   * @param password the given password
+   * @return a future notified with the hashed string
+   */
+  default Future<String> hashAsync(String id, Map<String, String> params, String salt, String password) {
+    try {
+      return Future.succeededFuture(hash(id, params, salt, password));
+    } catch (RuntimeException e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  /**
+   * Same as {@link #verify(String, String)} without blocking the caller, the hash is computed as described in
+   * {@link #hashAsync(String, Map, String, String)}.
+   *
+   * @param hash     the hash to verify
+   * @param password the password to test against
+   * @return a future notified with the verification result
+   */
+  default Future<Boolean> verifyAsync(String hash, String password) {
+    try {
+      return Future.succeededFuture(verify(hash, password));
+    } catch (RuntimeException e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  /**
+   * Computes a new hash of a password that was just verified against a stored hash below the given policy. The new
+   * hash uses the algorithm and parameters of the policy with a fresh salt and is computed as described in
+   * {@link #hashAsync(String, Map, String, String)}.
+   *
+   * @param policy   the expected algorithm and parameters
+   * @param hash     the stored hash, already verified
+   * @param password the clear text password
+   * @return a future notified with the new hash, or with {@code null} when the stored hash follows the policy
+   */
+  @GenIgnore
+  default Future<@Nullable String> rehashAsync(RehashPolicy policy, String hash, String password) {
+    if (!policy.needsRehash(hash)) {
+      return Future.succeededFuture();
+    }
+    return hashAsync(policy.id(), policy.params().isEmpty() ? null : policy.params(), policy.newSalt(), password);
+  }
+
   /**
    * Get an algorithm interface by its Id
    *
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.hashing;
+
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static io.vertx.ext.auth.impl.Codec.base64Encode;
+
+/**
+ * The algorithm and parameters stored password hashes are expected to use. After a successful login, a hash that is
+ * below the policy is computed again from the clear text password, see
+ * {@link HashingStrategy#rehashAsync(RehashPolicy, String, String)}.
+ * <p>
+ * A stored hash is below the policy when:
+ * <ul>
+ *   <li>it was computed with another algorithm</li>
+ *   <li>a numeric parameter of the policy is greater than the stored one, e.g. more {@code pbkdf2} iterations</li>
+ *   <li>any other parameter of the policy is missing or differs from the stored one</li>
+ * </ul>
+ * Stronger stored parameters are never downgraded.
+ */
+public final class RehashPolicy {
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+  // bcrypt only accepts salts of this length
+  private static final int BCRYPT_SALT_LENGTH = 16;
+
+  private final String id;
+  private final Map<String, String> params;
+  private int saltLength;
+
+  /**
+   * @param id     the algorithm id of the new hashes
+   * @param params the algorithm parameters of the new hashes, can be {@code null}
+   */
+  public RehashPolicy(String id, Map<String, String> params) {
+    this.id = Objects.requireNonNull(id);
+    this.params = params == null ? Collections.emptyMap() : Collections.unmodifiableMap(new HashMap<>(params));
+    this.saltLength = "bcrypt".equals(id) ? BCRYPT_SALT_LENGTH : 32;
+  }
+
+  public String id() {
+    return id;
+  }
+
+  public Map<String, String> params() {
+    return params;
+  }
+
+  public int getSaltLength() {
+    return saltLength;
+  }
+
+  /**
+   * @param saltLength the length in bytes of the random salt of the new hashes, 32 by default. {@code bcrypt} only
+   *                   accepts 16, which is its default.
+   * @return self
+   */
+  public RehashPolicy setSaltLength(int saltLength) {
+    if (saltLength < 8) {
+      throw new IllegalArgumentException("saltLength must be >= 8");
+    }
+    if ("bcrypt".equals(id) && saltLength != BCRYPT_SALT_LENGTH) {
+      throw new IllegalArgumentException("bcrypt requires a " + BCRYPT_SALT_LENGTH + " byte salt");
+    }
+    this.saltLength = saltLength;
+    return this;
+  }
+
+  /**
+   * @param hash the stored hash
+   * @return {@code true} when the stored hash should be replaced by a hash following this policy.
+   */
+  public boolean needsRehash(String hash) {
+    if (hash == null) {
+      return false;
+    }
+
+    final HashString hashString;
+    try {
+      hashString = new HashString(hash);
+    } catch (RuntimeException e) {
+      // not a hash we could have verified
+      return false;
+    }
+
+    if (!id.equals(hashString.id())) {
+      return true;
+    }
+
+    for (Map.Entry<String, String> kv : params.entrySet()) {
+      final String stored = hashString.param(kv.getKey());
+      if (stored == null) {
+        // the algorithm default was used, it cannot be compared
+        return true;
+      }
+      if (!stored.equals(kv.getValue())) {
+        try {
+          if (Long.parseLong(stored) < Long.parseLong(kv.getValue())) {
+            return true;
+          }
+        } catch (NumberFormatException e) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return a new random salt, base64 encoded.
+   */
+  public String newSalt() {
+    final byte[] salt = new byte[saltLength];
+    RANDOM.nextBytes(salt);
+    return base64Encode(salt);
+  }
+}
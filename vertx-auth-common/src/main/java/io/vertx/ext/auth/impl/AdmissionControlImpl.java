@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.Future;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.AdmissionControl;
+import io.vertx.ext.auth.authentication.AdmissionControlOptions;
+import io.vertx.ext.auth.authentication.AdmissionRejectedException;
+import io.vertx.ext.auth.authentication.AuthenticationProvider;
+import io.vertx.ext.auth.authentication.Credentials;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class AdmissionControlImpl implements AdmissionControl {
+
+  private final AuthenticationProvider delegate;
+  private final int minLimit;
+  private final int maxLimit;
+  // 0 when the limit is fixed
+  private final long targetLatency;
+  private final double backoffRatio;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAdder rejected = new LongAdder();
+  // written under the instance lock
+  private volatile double limit;
+  // written under the instance lock, the start of the authentications that may decrease the limit again
+  private long lastDecrease = System.nanoTime();
+
+  public AdmissionControlImpl(AuthenticationProvider delegate, AdmissionControlOptions options) {
+    this.delegate = Objects.requireNonNull(delegate);
+    if (options.getMaxConcurrency() < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be > 0");
+    }
+    if (options.getMinConcurrency() < 1 || options.getMinConcurrency() > options.getMaxConcurrency()) {
+      throw new IllegalArgumentException("minConcurrency must be > 0 and <= maxConcurrency");
+    }
+    if (options.getTargetLatency() < 0) {
+      throw new IllegalArgumentException("targetLatency must be >= 0");
+    }
+    if (options.getBackoffRatio() <= 0 || options.getBackoffRatio() >= 1) {
+      throw new IllegalArgumentException("backoffRatio must be > 0 and < 1");
+    }
+    this.minLimit = options.getMinConcurrency();
+    this.maxLimit = options.getMaxConcurrency();
+    this.targetLatency = TimeUnit.MILLISECONDS.toNanos(options.getTargetLatency());
+    this.backoffRatio = options.getBackoffRatio();
+    this.limit = maxLimit;
+  }
+
+  @Override
+  public Future<User> authenticate(Credentials credentials) {
+    final int limit = limit();
+    int current;
+    do {
+      current = inFlight.get();
+      if (current >= limit) {
+        rejected.increment();
+        return Future.failedFuture(new AdmissionRejectedException("Too many authentications in flight"));
+      }
+    } while (!inFlight.compareAndSet(current, current + 1));
+
+    final int admitted = current + 1;
+    final long start = System.nanoTime();
+
+    Future<User> future;
+    try {
+      future = delegate.authenticate(credentials);
+    } catch (RuntimeException e) {
+      future = Future.failedFuture(e);
+    }
+
+    return future.andThen(ar -> {
+      inFlight.decrementAndGet();
+      if (targetLatency > 0) {
+        // a saturated hashing pool is as bad a signal as a slow authentication
+        final boolean dropped = ar.failed() && ar.cause() instanceof RejectedExecutionException;
+        final long latency = dropped ? Long.MAX_VALUE : System.nanoTime() - start;
+        // failures may end before the password is hashed (invalid credentials, unknown user), when fast they say
+        // nothing about the capacity, when slow they still do
+        if (ar.succeeded() || latency > targetLatency) {
+          sample(start, latency, admitted);
+        }
+      }
+    });
+  }
+
+  @Override
+  public Set<Class<? extends Credentials>> credentialTypes() {
+    return delegate.credentialTypes();
+  }
+
+  private synchronized void sample(long start, long latency, int admitted) {
+    final double limit = this.limit;
+    if (latency > targetLatency) {
+      // multiplicative decrease, once per round trip: the authentications admitted before the last decrease were
+      // slowed down by the same congestion and are not a new signal
+      if (start - lastDecrease >= 0) {
+        this.limit = Math.max(minLimit, limit * backoffRatio);
+        lastDecrease = System.nanoTime();
+      }
+    } else if (admitted * 2 >= limit) {
+      // additive increase, about +1 per limit worth of samples, only when the limit is being used
+      this.limit = Math.min(maxLimit, limit + 1 / limit);
+    }
+  }
+
+  @Override
+  public int inFlight() {
+    return inFlight.get();
+  }
+
+  @Override
+  public int limit() {
+    return (int) limit;
+  }
+
+  @Override
+  public long rejected() {
+    return rejected.sum();
+  }
+}
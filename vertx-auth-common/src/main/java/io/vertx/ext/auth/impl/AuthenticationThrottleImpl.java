@@ -0,0 +1,407 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.AdmissionRejectedException;
+import io.vertx.ext.auth.authentication.AuthenticationProvider;
+import io.vertx.ext.auth.authentication.AuthenticationThrottle;
+import io.vertx.ext.auth.authentication.AuthenticationThrottleOptions;
+import io.vertx.ext.auth.authentication.AuthenticationThrottledException;
+import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+public class AuthenticationThrottleImpl implements AuthenticationThrottle {
+
+  // power of 2
+  private static final int SHARDS = 16;
+
+  private final AuthenticationProvider delegate;
+  private final long window;
+  private final long lockoutDuration;
+  private final int freeFailures;
+  private final long initialDelay;
+  private final long maxDelay;
+  private final boolean ignoreUsernameCase;
+
+  private final Counters usernames;
+  private final Counters clients;
+
+  public AuthenticationThrottleImpl(AuthenticationProvider delegate, AuthenticationThrottleOptions options) {
+    this.delegate = Objects.requireNonNull(delegate);
+    if (options.getWindow() <= 0 || options.getLockoutDuration() < 0) {
+      throw new IllegalArgumentException("window must be > 0 and lockoutDuration >= 0");
+    }
+    if (options.getMaxUsernameFailures() < 1 || options.getMaxClientFailures() < 1) {
+      throw new IllegalArgumentException("maxUsernameFailures and maxClientFailures must be > 0");
+    }
+    if (options.getFreeFailures() < 0 || options.getInitialDelay() < 0 || options.getMaxDelay() < options.getInitialDelay()) {
+      throw new IllegalArgumentException("freeFailures and initialDelay must be >= 0, maxDelay >= initialDelay");
+    }
+    if (options.getMaxEntries() < SHARDS) {
+      throw new IllegalArgumentException("maxEntries must be >= " + SHARDS);
+    }
+    this.window = options.getWindow();
+    this.lockoutDuration = options.getLockoutDuration();
+    this.freeFailures = options.getFreeFailures();
+    this.initialDelay = options.getInitialDelay();
+    this.maxDelay = options.getMaxDelay();
+    this.ignoreUsernameCase = options.isIgnoreUsernameCase();
+    this.usernames = new Counters(options.getMaxUsernameFailures(), true, options.getMaxEntries());
+    this.clients = new Counters(options.getMaxClientFailures(), false, options.getMaxEntries());
+  }
+
+  @Override
+  public Future<User> authenticate(Credentials credentials, String clientKey) {
+    final String username = username(credentials);
+
+    final long now = System.currentTimeMillis();
+    long wait = clients.check(clientKey, now);
+    if (wait == 0) {
+      // the attempt is counted as in flight when allowed
+      wait = usernames.acquire(username, now);
+    }
+    if (wait > 0) {
+      return Future.failedFuture(new AuthenticationThrottledException("Too many failed authentication attempts", wait));
+    }
+
+    Future<User> future;
+    try {
+      future = delegate.authenticate(credentials);
+    } catch (RuntimeException e) {
+      future = Future.failedFuture(e);
+    }
+
+    return future.andThen(ar -> {
+      if (ar.succeeded()) {
+        usernames.reset(username);
+      } else if (isFailure(ar.cause())) {
+        final long time = System.currentTimeMillis();
+        usernames.fail(username, time);
+        clients.fail(clientKey, time);
+      } else {
+        usernames.release(username, System.currentTimeMillis());
+      }
+    });
+  }
+
+  @Override
+  public Set<Class<? extends Credentials>> credentialTypes() {
+    return delegate.credentialTypes();
+  }
+
+  /**
+   * Overload signals are not failed attempts, the credentials were not checked.
+   */
+  private static boolean isFailure(Throwable cause) {
+    return !(cause instanceof AuthenticationThrottledException) &&
+      !(cause instanceof AdmissionRejectedException) &&
+      !(cause instanceof RejectedExecutionException);
+  }
+
+  private String username(Credentials credentials) {
+    final String username = rawUsername(credentials);
+    return username != null && ignoreUsernameCase ? username.toLowerCase(Locale.ROOT) : username;
+  }
+
+  private static String rawUsername(Credentials credentials) {
+    if (credentials instanceof UsernamePasswordCredentials) {
+      return ((UsernamePasswordCredentials) credentials).getUsername();
+    }
+    if (credentials == null) {
+      return null;
+    }
+    final JsonObject json = credentials.toJson();
+    if (json == null) {
+      return null;
+    }
+    final Object username = json.getValue("username", json.getValue("identifier"));
+    return username instanceof String ? (String) username : null;
+  }
+
+  @Override
+  public int size() {
+    return usernames.size() + clients.size();
+  }
+
+  /**
+   * The failures of a key over a sliding window, approximated with the count of the current and of the previous
+   * fixed window.
+   */
+  private static final class Window {
+    long start;
+    int previous;
+    int current;
+    long lastFailure;
+    long lockedUntil;
+    // attempts allowed by check and not completed yet
+    int inFlight;
+  }
+
+  /**
+   * Lock striped counters, each shard is a bounded LRU map.
+   */
+  private final class Counters {
+
+    private final int maxFailures;
+    private final boolean delays;
+    private final Shard[] shards = new Shard[SHARDS];
+
+    Counters(int maxFailures, boolean delays, int maxEntries) {
+      this.maxFailures = maxFailures;
+      this.delays = delays;
+      for (int i = 0; i < SHARDS; i++) {
+        shards[i] = new Shard(maxEntries / SHARDS);
+      }
+    }
+
+    private Shard shard(String key) {
+      final int h = key.hashCode();
+      return shards[(h ^ (h >>> 16)) & (SHARDS - 1)];
+    }
+
+    /**
+     * @return the milliseconds to wait before an attempt is allowed.
+     */
+    long check(String key, long now) {
+      if (key == null) {
+        return 0;
+      }
+      final Shard shard = shard(key);
+      synchronized (shard) {
+        final Window w = shard.get(key, now);
+        return w == null ? 0 : wait(w, now);
+      }
+    }
+
+    /**
+     * Like {@link #check(String, long)}, an allowed attempt is also counted as in flight until it completes. An
+     * attempt is only allowed if it would still be allowed after all the attempts in flight failed, otherwise
+     * concurrent guesses would all pass before the first failure is counted.
+     *
+     * @return the milliseconds to wait before an attempt is allowed.
+     */
+    long acquire(String key, long now) {
+      if (key == null) {
+        return 0;
+      }
+      final Shard shard = shard(key);
+      synchronized (shard) {
+        final Window w = window(shard, key, now);
+        long wait = wait(w, now);
+        if (wait == 0 && w.inFlight > 0) {
+          // as if the attempts in flight failed
+          final int failures = failures(w, now) + w.inFlight;
+          if (failures > Math.min(freeFailures, maxFailures - 1)) {
+            wait = Math.max(1, delay(failures));
+          }
+        }
+        if (wait == 0) {
+          w.inFlight++;
+        }
+        return wait;
+      }
+    }
+
+    private long wait(Window w, long now) {
+      if (w.lockedUntil > now) {
+        return w.lockedUntil - now;
+      }
+      if (delays) {
+        final long notBefore = w.lastFailure + delay(failures(w, now));
+        if (notBefore > now) {
+          return notBefore - now;
+        }
+      }
+      return 0;
+    }
+
+    private Window window(Shard shard, String key, long now) {
+      Window w = shard.get(key, now);
+      if (w == null) {
+        shard.evictExpired(now);
+        w = new Window();
+        w.start = now;
+        shard.put(key, w);
+      }
+      return w;
+    }
+
+    void fail(String key, long now) {
+      if (key == null) {
+        return;
+      }
+      final Shard shard = shard(key);
+      synchronized (shard) {
+        final Window w = window(shard, key, now);
+        if (w.inFlight > 0) {
+          w.inFlight--;
+        }
+        roll(w, now);
+        w.current++;
+        w.lastFailure = now;
+        if (failures(w, now) >= maxFailures) {
+          w.lockedUntil = now + lockoutDuration;
+        }
+      }
+    }
+
+    void reset(String key) {
+      if (key == null) {
+        return;
+      }
+      final Shard shard = shard(key);
+      synchronized (shard) {
+        final Window w = shard.get(key);
+        if (w != null && w.inFlight > 1) {
+          // forget the failures, not the other attempts in flight
+          w.inFlight--;
+          w.previous = 0;
+          w.current = 0;
+          w.lastFailure = 0;
+        } else {
+          shard.remove(key);
+        }
+      }
+    }
+
+    /**
+     * The attempt completed without checking the credentials.
+     */
+    void release(String key, long now) {
+      if (key == null) {
+        return;
+      }
+      final Shard shard = shard(key);
+      synchronized (shard) {
+        final Window w = shard.get(key);
+        if (w != null && w.inFlight > 0) {
+          w.inFlight--;
+          if (expired(w, now)) {
+            shard.remove(key);
+          }
+        }
+      }
+    }
+
+    int size() {
+      int size = 0;
+      for (Shard shard : shards) {
+        synchronized (shard) {
+          size += shard.size();
+        }
+      }
+      return size;
+    }
+  }
+
+  private void roll(Window w, long now) {
+    final long elapsed = now - w.start;
+    if (elapsed >= 2 * window) {
+      w.previous = 0;
+      w.current = 0;
+      w.start = now;
+    } else if (elapsed >= window) {
+      w.previous = w.current;
+      w.current = 0;
+      w.start += window;
+    }
+  }
+
+  private int failures(Window w, long now) {
+    roll(w, now);
+    // the part of the previous window still within the sliding window
+    final double weight = (double) (window - (now - w.start)) / window;
+    return (int) Math.ceil(w.previous * weight) + w.current;
+  }
+
+  private long delay(int failures) {
+    if (failures <= freeFailures) {
+      return 0;
+    }
+    // doubles with each failure, without overflowing
+    final int doublings = Math.min(failures - freeFailures - 1, 62);
+    final long delay = initialDelay << doublings;
+    return delay < 0 || delay >>> doublings != initialDelay ? maxDelay : Math.min(maxDelay, delay);
+  }
+
+  private static boolean locked(Window w, long now) {
+    return w.lockedUntil > now;
+  }
+
+  private boolean expired(Window w, long now) {
+    // nothing left in the sliding window, not locked and no attempt in flight
+    return w.inFlight == 0 && w.lockedUntil <= now && now - w.lastFailure >= 2 * window;
+  }
+
+  private final class Shard extends LinkedHashMap<String, Window> {
+
+    private final int capacity;
+
+    Shard(int capacity) {
+      // access order, the eldest entry is the least recently seen
+      super(16, 0.75f, true);
+      this.capacity = capacity;
+    }
+
+    Window get(String key, long now) {
+      final Window w = get(key);
+      if (w != null && expired(w, now)) {
+        remove(key);
+        return null;
+      }
+      return w;
+    }
+
+    /**
+     * Time based eviction, the least recently seen entries come first.
+     */
+    void evictExpired(long now) {
+      final Iterator<Window> it = values().iterator();
+      while (it.hasNext() && expired(it.next(), now)) {
+        it.remove();
+      }
+    }
+
+    /**
+     * Size based eviction of the least recently seen entry that is not locked out, forgetting a locked entry would
+     * lift its lockout. The entry just added is never evicted, the shard rather grows until the lockouts end.
+     */
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+      if (size() <= capacity) {
+        return false;
+      }
+      final long now = System.currentTimeMillis();
+      if (!locked(eldest.getValue(), now)) {
+        return true;
+      }
+      final Iterator<Window> it = values().iterator();
+      for (int i = size() - 1; i > 0; i--) {
+        if (!locked(it.next(), now)) {
+          it.remove();
+          break;
+        }
+      }
+      return false;
+    }
+  }
+}
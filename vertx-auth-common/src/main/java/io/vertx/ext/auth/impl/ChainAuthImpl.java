@@ -16,6 +16,7 @@
 package io.vertx.ext.auth.impl;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.ext.auth.ChainAuth;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
@@ -23,23 +24,86 @@ import io.vertx.ext.auth.authentication.CredentialValidationException;
 import io.vertx.ext.auth.authentication.Credentials;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ChainAuthImpl implements ChainAuth {
 
   private final List<AuthenticationProvider> providers = new ArrayList<>();
+  // in milliseconds, 0 for none
+  private final List<Long> timeouts = new ArrayList<>();
   private final boolean all;
+  private final boolean parallel;
+  // credentials type -> indexes of the providers accepting it, rebuilt when a provider is added
+  private final ConcurrentMap<Class<?>, int[]> routes = new ConcurrentHashMap<>();
 
   public ChainAuthImpl(boolean all) {
+    this(all, false);
+  }
+
+  public ChainAuthImpl(boolean all, boolean parallel) {
     this.all = all;
+    this.parallel = parallel;
   }
 
   @Override
   public ChainAuth add(AuthenticationProvider other) {
+    return add(other, 0);
+  }
+
+  @Override
+  public ChainAuth add(AuthenticationProvider other, long timeout) {
+    if (timeout < 0) {
+      throw new IllegalArgumentException("timeout must be >= 0");
+    }
     providers.add(other);
+    timeouts.add(timeout);
+    routes.clear();
     return this;
   }
 
+  @Override
+  public Set<Class<? extends Credentials>> credentialTypes() {
+    final Set<Class<? extends Credentials>> types = new HashSet<>();
+    for (AuthenticationProvider provider : providers) {
+      final Set<Class<? extends Credentials>> accepted = provider.credentialTypes();
+      if (accepted.isEmpty()) {
+        // accepts anything
+        return Collections.emptySet();
+      }
+      types.addAll(accepted);
+    }
+    return types;
+  }
+
+  private int[] route(Class<?> type) {
+    return routes.computeIfAbsent(type, key -> {
+      final int[] route = new int[providers.size()];
+      int len = 0;
+      for (int i = 0; i < providers.size(); i++) {
+        final Set<Class<? extends Credentials>> accepted = providers.get(i).credentialTypes();
+        if (accepted.isEmpty()) {
+          route[len++] = i;
+          continue;
+        }
+        for (Class<? extends Credentials> candidate : accepted) {
+          if (candidate.isAssignableFrom(key)) {
+            route[len++] = i;
+            break;
+          }
+        }
+      }
+      return len == route.length ? route : Arrays.copyOf(route, len);
+    });
+  }
+
   @Override
   public Future<User> authenticate(Credentials credentials) {
     try {
@@ -50,14 +114,81 @@ public class ChainAuthImpl implements ChainAuth {
 
     if (providers.size() == 0) {
       return Future.failedFuture("No providers in the auth chain.");
+    }
+
+    // only the providers able to handle the credentials are called
+    final int[] route = route(credentials.getClass());
+    if (all && route.length < providers.size()) {
+      // skipping a provider would weaken ALL, fail as the provider would have
+      return Future.failedFuture(new CredentialValidationException("Invalid credentials type"));
+    }
+    if (route.length == 0) {
+      return Future.failedFuture("No more providers in the auth chain.");
+    }
+
+    if (parallel) {
+      return all ? authenticateAll(route, credentials) : race(route, credentials);
     } else {
-      return iterate(0, credentials, null);
+      return iterate(route, 0, credentials, null);
+    }
+  }
+
+  private Future<User> authenticate(final int idx, final Credentials credentials) {
+    Future<User> future;
+    try {
+      future = providers.get(idx).authenticate(credentials);
+    } catch (RuntimeException e) {
+      future = Future.failedFuture(e);
+    }
+    final long timeout = timeouts.get(idx);
+    return timeout > 0 ? future.timeout(timeout, TimeUnit.MILLISECONDS) : future;
+  }
+
+  /**
+   * ANY, the first success wins. Futures can't be cancelled, the late results are ignored.
+   */
+  private Future<User> race(final int[] route, final Credentials credentials) {
+    final Promise<User> promise = Promise.promise();
+    final AtomicInteger remaining = new AtomicInteger(route.length);
+
+    for (int idx : route) {
+      authenticate(idx, credentials)
+        .onComplete(ar -> {
+          if (ar.succeeded()) {
+            promise.tryComplete(ar.result());
+          } else if (remaining.decrementAndGet() == 0) {
+            // no more providers, means that we failed to find a provider capable of performing this operation
+            promise.tryFail("No more providers in the auth chain.");
+          }
+        });
     }
+
+    return promise.future();
+  }
+
+  /**
+   * ALL, the users are merged in the order of the providers regardless of the order of completion.
+   */
+  private Future<User> authenticateAll(final int[] route, final Credentials credentials) {
+    final List<Future<User>> futures = new ArrayList<>(route.length);
+    for (int idx : route) {
+      futures.add(authenticate(idx, credentials));
+    }
+
+    return Future.all(futures)
+      .map(results -> {
+        User user = null;
+        for (int i = 0; i < futures.size(); i++) {
+          final User next = results.resultAt(i);
+          user = user == null ? next : user.merge(next);
+        }
+        return user;
+      });
   }
 
-  private Future<User> iterate(final int idx, final Credentials credentials, final User previousUser) {
+  private Future<User> iterate(final int[] route, final int pos, final Credentials credentials, final User previousUser) {
     // stop condition
-    if (idx >= providers.size()) {
+    if (pos >= route.length) {
       if (!all) {
         // no more providers, means that we failed to find a provider capable of performing this operation
         return Future.failedFuture("No more providers in the auth chain.");
@@ -68,22 +199,21 @@ public class ChainAuthImpl implements ChainAuth {
     }
 
     // attempt to perform operation
-    return providers.get(idx)
-      .authenticate(credentials)
+    return authenticate(route[pos], credentials)
       .compose(user -> {
         if (!all) {
           // if ANY then a success completes
           return Future.succeededFuture(user);
         } else {
           // if ALL then a success check the next one
-          return iterate(idx + 1, credentials, previousUser == null ? user : previousUser.merge(user));
+          return iterate(route, pos + 1, credentials, previousUser == null ? user : previousUser.merge(user));
         }
       })
       .recover(err -> {
         // try again with next provider
         if (!all) {
           // try again with next provider
-          return iterate(idx + 1, credentials, null);
+          return iterate(route, pos + 1, credentials, null);
         } else {
           // short circuit when ALL is used a failure is enough to terminate
           // no more providers, means that we failed to find a provider capable of performing this operation
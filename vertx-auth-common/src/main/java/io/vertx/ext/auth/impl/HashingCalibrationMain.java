@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.impl;
+
+import io.vertx.ext.auth.hashing.HashingCalibration;
+import io.vertx.ext.auth.hashing.HashingStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line entry point of {@link HashingCalibration}, prints one line per calibrated algorithm.
+ *
+ * <pre>
+ * [--latency=millis] [--throughput=logins/s] [--cores=n] [--samples=n] [algorithm...]
+ * </pre>
+ */
+public final class HashingCalibrationMain {
+
+  private HashingCalibrationMain() {
+  }
+
+  public static void main(String[] args) {
+    final HashingCalibration calibration = new HashingCalibration(HashingStrategy.load());
+    final List<String> ids = new ArrayList<>();
+
+    for (String arg : args) {
+      if (arg.startsWith("--latency=")) {
+        calibration.setTargetLatency(Long.parseLong(arg.substring(10)));
+      } else if (arg.startsWith("--throughput=")) {
+        calibration.setTargetThroughput(Double.parseDouble(arg.substring(13)));
+      } else if (arg.startsWith("--cores=")) {
+        calibration.setCores(Integer.parseInt(arg.substring(8)));
+      } else if (arg.startsWith("--samples=")) {
+        calibration.setSamples(Integer.parseInt(arg.substring(10)));
+      } else if (arg.startsWith("--")) {
+        throw new IllegalArgumentException("Unknown option: " + arg +
+          ", usage: HashingCalibrationMain [--latency=millis] [--throughput=logins/s] [--cores=n] [--samples=n] [algorithm...]");
+      } else {
+        ids.add(arg);
+      }
+    }
+
+    if (ids.isEmpty()) {
+      for (HashingCalibration.Result result : calibration.calibrate()) {
+        System.out.println(result);
+      }
+    } else {
+      for (String id : ids) {
+        System.out.println(calibration.calibrate(id, null));
+      }
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.Closeable;
+import io.vertx.core.Completable;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.internal.VertxInternal;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The worker pool running the hashing operations of a Vert.x instance, along with the count of its running and
+ * queued operations. Strategies asking for the same pool and queue sizes share the pool, the queue bound applies to
+ * all of them. The pool is closed with the Vert.x instance.
+ */
+final class HashingPool implements Closeable {
+
+  private static final ConcurrentMap<Key, HashingPool> POOLS = new ConcurrentHashMap<>();
+
+  private final Key key;
+  private final WorkerExecutor executor;
+  // running and queued operations
+  private final AtomicInteger pending = new AtomicInteger();
+
+  static HashingPool get(Vertx vertx, int poolSize, int maxQueueSize) {
+    final Key key = new Key(vertx, poolSize, maxQueueSize);
+    final HashingPool pool = POOLS.get(key);
+    return pool != null ? pool : POOLS.computeIfAbsent(key, HashingPool::new);
+  }
+
+  private HashingPool(Key key) {
+    this.key = key;
+    // shared worker executors with the same name share their threads
+    final String name = HashingStrategyImpl.WORKER_POOL_NAME + "-" + key.poolSize + "-" + key.maxQueueSize;
+    if (key.vertx instanceof VertxInternal) {
+      final VertxInternal vertx = (VertxInternal) key.vertx;
+      // an executor created from a verticle would be closed when the verticle is undeployed
+      final ContextInternal context = vertx.createEventLoopContext();
+      final WorkerExecutor[] executor = new WorkerExecutor[1];
+      context.dispatch(() -> executor[0] = vertx.createSharedWorkerExecutor(name, key.poolSize));
+      this.executor = executor[0];
+      // ensure we get a clean exit
+      vertx.addCloseHook(this);
+    } else {
+      this.executor = key.vertx.createSharedWorkerExecutor(name, key.poolSize);
+    }
+  }
+
+  /**
+   * Runs the task, unless the pool has already {@code poolSize + maxQueueSize} running and queued operations.
+   */
+  <T> Future<T> execute(Callable<T> task) {
+    if (pending.incrementAndGet() > key.poolSize + key.maxQueueSize) {
+      pending.decrementAndGet();
+      return Future.failedFuture(new RejectedExecutionException("Too many pending hashing operations"));
+    }
+    // hashes are independent, they don't need to be ordered
+    return executor
+      .executeBlocking(task, false)
+      .andThen(ar -> pending.decrementAndGet());
+  }
+
+  @Override
+  public void close(Completable<Void> onClose) {
+    POOLS.remove(key, this);
+    executor.close().onComplete(onClose);
+  }
+
+  private static final class Key {
+
+    private final Vertx vertx;
+    private final int poolSize;
+    private final int maxQueueSize;
+
+    private Key(Vertx vertx, int poolSize, int maxQueueSize) {
+      this.vertx = vertx;
+      this.poolSize = poolSize;
+      this.maxQueueSize = maxQueueSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) o;
+      return vertx == other.vertx && poolSize == other.poolSize && maxQueueSize == other.maxQueueSize;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(vertx), poolSize, maxQueueSize);
+    }
+  }
+}
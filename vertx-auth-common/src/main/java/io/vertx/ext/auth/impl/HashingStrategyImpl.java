@@ -1,24 +1,90 @@
 package io.vertx.ext.auth.impl;
 
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import io.vertx.core.internal.logging.Logger;
 import io.vertx.core.internal.logging.LoggerFactory;
 import io.vertx.ext.auth.hashing.HashString;
 import io.vertx.ext.auth.hashing.HashingAlgorithm;
 import io.vertx.ext.auth.hashing.HashingStrategy;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class HashingStrategyImpl implements HashingStrategy {
 
   private static final Logger LOG = LoggerFactory.getLogger(HashingStrategyImpl.class);
 
+  /**
+   * The strategies of a Vert.x instance with the same pool size share a worker pool, named after this prefix and
+   * the pool size.
+   */
+  public static final String WORKER_POOL_NAME = "vertx-auth-hashing";
+  public static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+  public static final int DEFAULT_MAX_QUEUE_SIZE = 1024;
+  /**
+   * Maximum number of parsed stored hashes kept for the next verifications.
+   */
+  public static final int DEFAULT_CACHE_SIZE = 1024;
+
   private final Map<String, HashingAlgorithm> algorithms = new HashMap<>();
+  // the same users log in again and again, their stored hash doesn't need to be parsed again
+  // read without locking, a full cache evicts an entry not used since it was last skipped (second chance)
+  private final ConcurrentMap<String, Parsed> parsed = new ConcurrentHashMap<>();
+
+  // when null, the Vert.x instance of the calling context is used
+  private final Vertx vertx;
+  private final int poolSize;
+  private final int maxQueueSize;
+
+  public HashingStrategyImpl() {
+    this(null, DEFAULT_POOL_SIZE, DEFAULT_MAX_QUEUE_SIZE);
+  }
+
+  public HashingStrategyImpl(Vertx vertx, int poolSize, int maxQueueSize) {
+    if (poolSize < 1) {
+      throw new IllegalArgumentException("poolSize must be > 0");
+    }
+    if (maxQueueSize < 0) {
+      throw new IllegalArgumentException("maxQueueSize must be >= 0");
+    }
+    this.vertx = vertx;
+    this.poolSize = poolSize;
+    this.maxQueueSize = maxQueueSize;
+  }
+
+  /**
+   * Adds the algorithms provided by the system.
+   */
+  public HashingStrategyImpl load() {
+    ServiceLoader<HashingAlgorithm> serviceLoader = ServiceLoader.load(HashingAlgorithm.class);
+
+    for (HashingAlgorithm algorithm : serviceLoader) {
+      add(algorithm);
+    }
+
+    return this;
+  }
 
   public void add(HashingAlgorithm algorithm) {
     algorithms.put(algorithm.id(), algorithm);
   }
 
+  /**
+   * @return the ids of the available algorithms.
+   */
+  public Set<String> ids() {
+    return Collections.unmodifiableSet(algorithms.keySet());
+  }
+
   @Override
   public String hash(String id, Map<String, String> params, String salt, String password) {
     HashingAlgorithm algorithm = algorithms.get(id);
@@ -40,7 +106,7 @@ public class HashingStrategyImpl implements HashingStrategy {
       return false;
     }
 
-    final HashString hashString = new HashString(hash);
+    final HashString hashString = parse(hash);
 
     HashingAlgorithm algorithm = algorithms.get(hashString.id());
 
@@ -66,6 +132,70 @@ public class HashingStrategyImpl implements HashingStrategy {
     return diff == 0;
   }
 
+  private HashString parse(String hash) {
+    final Parsed cached = parsed.get(hash);
+    if (cached != null) {
+      if (!cached.used) {
+        cached.used = true;
+      }
+      return cached.hashString;
+    }
+    // a concurrent parse of the same hash is harmless
+    final HashString hashString = new HashString(hash);
+    if (parsed.putIfAbsent(hash, new Parsed(hashString)) == null && parsed.size() > DEFAULT_CACHE_SIZE) {
+      evict();
+    }
+    return hashString;
+  }
+
+  private void evict() {
+    // the second pass finds the entries skipped by the first one
+    for (int pass = 0; pass < 2; pass++) {
+      final Iterator<Parsed> it = parsed.values().iterator();
+      while (it.hasNext()) {
+        final Parsed entry = it.next();
+        if (entry.used) {
+          entry.used = false;
+        } else {
+          it.remove();
+          return;
+        }
+      }
+    }
+  }
+
+  @Override
+  public Future<String> hashAsync(String id, Map<String, String> params, String salt, String password) {
+    return offload(() -> hash(id, params, salt, password));
+  }
+
+  @Override
+  public Future<Boolean> verifyAsync(String hash, String password) {
+    // missing data, no need to offload
+    if (hash == null || password == null) {
+      return Future.succeededFuture(false);
+    }
+    return offload(() -> verify(hash, password));
+  }
+
+  private <T> Future<T> offload(Callable<T> task) {
+    Vertx vertx = this.vertx;
+    if (vertx == null) {
+      final Context context = Vertx.currentContext();
+      if (context == null) {
+        // not running on Vert.x, the caller is not an event loop
+        try {
+          return Future.succeededFuture(task.call());
+        } catch (Exception e) {
+          return Future.failedFuture(e);
+        }
+      }
+      vertx = context.owner();
+    }
+
+    return HashingPool.get(vertx, poolSize, maxQueueSize).execute(task);
+  }
+
   @Override
   public HashingAlgorithm get(String id) {
     return algorithms.get(id);
@@ -81,4 +211,15 @@ public class HashingStrategyImpl implements HashingStrategy {
     algorithms.put(id, algorithm);
     return this;
   }
+
+  private static final class Parsed {
+
+    private final HashString hashString;
+    // used since the last eviction pass, a benign race
+    private boolean used;
+
+    private Parsed(HashString hashString) {
+      this.hashString = hashString;
+    }
+  }
 }
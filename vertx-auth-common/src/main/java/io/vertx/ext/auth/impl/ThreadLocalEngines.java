@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.impl;
+
+import javax.crypto.SecretKeyFactory;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * JCA engines such as message digests and key factories are stateful, sharing one instance would need a lock that
+ * serializes all the logins. Each thread gets its own instance instead.
+ * <p>
+ * One instance is created eagerly, a missing algorithm fails when the thread local is created rather than on the
+ * first login.
+ */
+public final class ThreadLocalEngines {
+
+  private ThreadLocalEngines() {
+  }
+
+  public static ThreadLocal<MessageDigest> messageDigest(String algorithm) {
+    final ThreadLocal<MessageDigest> engine = ThreadLocal.withInitial(() -> newMessageDigest(algorithm));
+    engine.set(newMessageDigest(algorithm));
+    return engine;
+  }
+
+  public static ThreadLocal<SecretKeyFactory> secretKeyFactory(String algorithm) {
+    final ThreadLocal<SecretKeyFactory> engine = ThreadLocal.withInitial(() -> newSecretKeyFactory(algorithm));
+    engine.set(newSecretKeyFactory(algorithm));
+    return engine;
+  }
+
+  private static MessageDigest newMessageDigest(String algorithm) {
+    try {
+      return MessageDigest.getInstance(algorithm);
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(algorithm + " is not available", e);
+    }
+  }
+
+  private static SecretKeyFactory newSecretKeyFactory(String algorithm) {
+    try {
+      return SecretKeyFactory.getInstance(algorithm);
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(algorithm + " is not available", e);
+    }
+  }
+}
@@ -17,7 +17,12 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authorization.Authorization;
 import io.vertx.ext.auth.authorization.Authorizations;
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
 import io.vertx.ext.auth.authorization.impl.AuthorizationConverter;
+import io.vertx.ext.auth.authorization.impl.CompactAuthorizationSet;
+import io.vertx.ext.auth.authorization.impl.PermissionBasedAuthorizationImpl;
+import io.vertx.ext.auth.authorization.impl.RoleBasedAuthorizationImpl;
 
 import java.util.*;
 
@@ -26,8 +31,25 @@ public class UserConverter {
   private final static String FIELD_PRINCIPAL = "principal";
   private final static String FIELD_AUTHORIZATIONS = "authorizations";
   private final static String FIELD_ATTRIBUTES = "attributes";
+  // plain roles and permissions are grouped into a single entry per provider
+  private final static String TYPE_ROLES = "roles";
+  private final static String TYPE_PERMISSIONS = "permissions";
+  // opt-in, the grouped entries cannot be decoded by older versions
+  private final static boolean GROUP_AUTHORIZATIONS = Boolean.getBoolean("io.vertx.ext.auth.user.groupAuthorizations");
 
   public static JsonObject encode(User value) throws IllegalArgumentException {
+    return encode(value, GROUP_AUTHORIZATIONS);
+  }
+
+  /**
+   * Encodes a user, when {@code groupAuthorizations} is {@code true} the plain roles and permissions of each provider
+   * are written as a single {@code roles} and a single {@code permissions} entry, which keeps the payload small.
+   * <p>
+   * Versions before the grouped entries cannot decode them: in a cluster, or with persisted sessions, only enable it
+   * once all the nodes can decode it. {@link #encode(User)} groups them when the
+   * {@code io.vertx.ext.auth.user.groupAuthorizations} system property is {@code true}. Both formats are always decoded.
+   */
+  public static JsonObject encode(User value, boolean groupAuthorizations) throws IllegalArgumentException {
     Objects.requireNonNull(value);
 
     JsonObject json = new JsonObject();
@@ -35,6 +57,7 @@ public class UserConverter {
     Authorizations authorizations = value.authorizations();
     if (authorizations != null && !authorizations.isEmpty()) {
       JsonObject jsonAuthorizations = new JsonObject();
+      Map<String, JsonArray> groups = new HashMap<>();
       authorizations
         .forEach((providerId, authorization) -> {
           final JsonArray jsonAuthorizationByProvider;
@@ -44,7 +67,15 @@ public class UserConverter {
             jsonAuthorizationByProvider = new JsonArray();
             jsonAuthorizations.put(providerId, jsonAuthorizationByProvider);
           }
-          jsonAuthorizationByProvider.add(AuthorizationConverter.encode(authorization));
+          if (!groupAuthorizations) {
+            jsonAuthorizationByProvider.add(AuthorizationConverter.encode(authorization));
+          } else if (authorization.getClass() == PermissionBasedAuthorizationImpl.class && ((PermissionBasedAuthorization) authorization).getResource() == null) {
+            group(groups, jsonAuthorizationByProvider, providerId, TYPE_PERMISSIONS).add(((PermissionBasedAuthorization) authorization).getPermission());
+          } else if (authorization.getClass() == RoleBasedAuthorizationImpl.class && ((RoleBasedAuthorization) authorization).getResource() == null) {
+            group(groups, jsonAuthorizationByProvider, providerId, TYPE_ROLES).add(((RoleBasedAuthorization) authorization).getRole());
+          } else {
+            jsonAuthorizationByProvider.add(AuthorizationConverter.encode(authorization));
+          }
         });
       json.put(FIELD_AUTHORIZATIONS, jsonAuthorizations);
     }
@@ -70,10 +101,24 @@ public class UserConverter {
         } else {
           authorizations = new HashSet<>(jsonAuthorizationByProvider.size());
           for (int i = 0; i < jsonAuthorizationByProvider.size(); i++) {
-            authorizations.add(AuthorizationConverter.decode(jsonAuthorizationByProvider.getJsonObject(i)));
+            JsonObject jsonAuthorization = jsonAuthorizationByProvider.getJsonObject(i);
+            switch (jsonAuthorization.getString(AuthorizationConverter.FIELD_TYPE, "")) {
+              case TYPE_PERMISSIONS:
+                for (Object permission : jsonAuthorization.getJsonArray(TYPE_PERMISSIONS)) {
+                  authorizations.add(PermissionBasedAuthorization.create((String) permission));
+                }
+                break;
+              case TYPE_ROLES:
+                for (Object role : jsonAuthorization.getJsonArray(TYPE_ROLES)) {
+                  authorizations.add(RoleBasedAuthorization.create((String) role));
+                }
+                break;
+              default:
+                authorizations.add(AuthorizationConverter.decode(jsonAuthorization));
+            }
           }
         }
-        decodedAuthorizations.put(fieldName, authorizations);
+        decodedAuthorizations.put(fieldName, CompactAuthorizationSet.create(authorizations));
       }
       user.authorizations()
         .putAll(decodedAuthorizations);
@@ -85,4 +130,13 @@ public class UserConverter {
     return user;
   }
 
+  private static JsonArray group(Map<String, JsonArray> groups, JsonArray jsonAuthorizationByProvider, String providerId, String type) {
+    return groups.computeIfAbsent(type + ':' + providerId, key -> {
+      JsonArray values = new JsonArray();
+      jsonAuthorizationByProvider.add(new JsonObject()
+        .put(AuthorizationConverter.FIELD_TYPE, type)
+        .put(type, values));
+      return values;
+    });
+  }
 }
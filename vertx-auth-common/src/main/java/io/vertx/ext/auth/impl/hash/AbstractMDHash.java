@@ -18,10 +18,10 @@ package io.vertx.ext.auth.impl.hash;
 
 import io.vertx.ext.auth.hashing.HashString;
 import io.vertx.ext.auth.hashing.HashingAlgorithm;
+import io.vertx.ext.auth.impl.ThreadLocalEngines;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 
 import static io.vertx.ext.auth.impl.Codec.base64EncodeWithoutPadding;
 
@@ -32,19 +32,15 @@ import static io.vertx.ext.auth.impl.Codec.base64EncodeWithoutPadding;
  */
 public abstract class AbstractMDHash implements HashingAlgorithm {
 
-  private final MessageDigest md;
+  private final ThreadLocal<MessageDigest> md;
 
   AbstractMDHash(final String algorithm) {
-    try {
-      md = MessageDigest.getInstance(algorithm);
-    } catch (NoSuchAlgorithmException nsae) {
-      throw new RuntimeException(algorithm + " is not available", nsae);
-    }
+    md = ThreadLocalEngines.messageDigest(algorithm);
   }
 
   @Override
   public String hash(HashString hashString, String password) {
-    return base64EncodeWithoutPadding(md.digest(password.getBytes(StandardCharsets.UTF_8)));
+    return base64EncodeWithoutPadding(md.get().digest(password.getBytes(StandardCharsets.UTF_8)));
   }
 
 }
@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.impl.hash;
+
+import io.vertx.ext.auth.hashing.HashString;
+import io.vertx.ext.auth.hashing.HashingAlgorithm;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static io.vertx.ext.auth.impl.Codec.base64EncodeWithoutPadding;
+
+/**
+ * Implementation of the Argon2id (RFC 9106, version 1.3) hashing algorithm. Hashes are encoded as
+ * {@code $argon2id$m=<memory KiB>,t=<iterations>,p=<parallelism>$<salt>$<hash>}.
+ * <p>
+ * The lanes are computed one after the other on the calling thread, the parallelism parameter only defines the
+ * memory layout, concurrent logins already keep the hashing worker pool busy.
+ * <p>
+ * The parameters are read from the stored hashes, a corrupt or hostile hash could otherwise exhaust the heap or
+ * the worker pool: at most 256 MiB, 32 iterations and 16 lanes are accepted.
+ */
+public class Argon2id implements HashingAlgorithm {
+
+  private static final Set<String> DEFAULT_CONFIG = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList("m", "t", "p")));
+
+  // OWASP recommended minimum: 19 MiB, 2 iterations, 1 lane
+  private static final int DEFAULT_MEMORY = 19 * 1024;
+  private static final int DEFAULT_ITERATIONS = 2;
+  private static final int DEFAULT_PARALLELISM = 1;
+
+  private static final int MAX_MEMORY = 256 * 1024;
+  private static final int MAX_ITERATIONS = 32;
+  private static final int MAX_PARALLELISM = 16;
+
+  private static final int TAG_LENGTH = 32;
+  private static final int VERSION = 0x13;
+  private static final int TYPE = 2;
+  private static final int SYNC_POINTS = 4;
+  private static final int BLOCK_WORDS = 128;
+  private static final byte[] EMPTY = new byte[0];
+
+  private final int memory;
+  private final int iterations;
+  private final int parallelism;
+
+  public Argon2id() {
+    this(DEFAULT_MEMORY, DEFAULT_ITERATIONS, DEFAULT_PARALLELISM);
+  }
+
+  /**
+   * @param memory      default memory cost in KiB, used when a hash has no {@code m} parameter
+   * @param iterations  default number of passes, used when a hash has no {@code t} parameter
+   * @param parallelism default number of lanes, used when a hash has no {@code p} parameter
+   */
+  public Argon2id(int memory, int iterations, int parallelism) {
+    if (parallelism < 1 || parallelism > MAX_PARALLELISM || memory < 8 * parallelism || memory > MAX_MEMORY || iterations < 1 || iterations > MAX_ITERATIONS) {
+      throw new IllegalArgumentException("Invalid Argon2id parameters");
+    }
+    this.memory = memory;
+    this.iterations = iterations;
+    this.parallelism = parallelism;
+  }
+
+  @Override
+  public String id() {
+    return "argon2id";
+  }
+
+  @Override
+  public Set<String> params() {
+    return DEFAULT_CONFIG;
+  }
+
+  @Override
+  public String hash(HashString hashString, String password) {
+    final int p = Params.intParam(hashString, "p", parallelism, 1, MAX_PARALLELISM);
+    final int m = Params.intParam(hashString, "m", memory, 8 * p, MAX_MEMORY);
+    final int t = Params.intParam(hashString, "t", iterations, 1, MAX_ITERATIONS);
+
+    return base64EncodeWithoutPadding(
+      hash(password.getBytes(StandardCharsets.UTF_8), Params.salt(hashString), EMPTY, EMPTY, m, t, p, TAG_LENGTH));
+  }
+
+  static byte[] hash(byte[] password, byte[] salt, byte[] secret, byte[] associatedData, int memory, int iterations, int parallelism, int tagLength) {
+    final Blake2b h0 = new Blake2b(64)
+      .update(parallelism)
+      .update(tagLength)
+      .update(memory)
+      .update(iterations)
+      .update(VERSION)
+      .update(TYPE)
+      .update(password.length)
+      .update(password)
+      .update(salt.length)
+      .update(salt)
+      .update(secret.length)
+      .update(secret)
+      .update(associatedData.length)
+      .update(associatedData);
+    final byte[] seed = new byte[72];
+    h0.digest(seed, 0);
+
+    final Instance instance = new Instance(memory, iterations, parallelism);
+
+    // first two blocks of each lane
+    final byte[] block = new byte[1024];
+    for (int lane = 0; lane < parallelism; lane++) {
+      writeInt(seed, 68, lane);
+      for (int i = 0; i < 2; i++) {
+        writeInt(seed, 64, i);
+        variableHash(seed, block);
+        final long[] words = instance.blocks[lane * instance.laneLength + i];
+        for (int w = 0; w < BLOCK_WORDS; w++) {
+          words[w] = Blake2b.littleEndian(block, w << 3);
+        }
+      }
+    }
+
+    for (int pass = 0; pass < iterations; pass++) {
+      for (int slice = 0; slice < SYNC_POINTS; slice++) {
+        for (int lane = 0; lane < parallelism; lane++) {
+          instance.fillSegment(pass, lane, slice);
+        }
+      }
+    }
+
+    // xor of the last block of each lane
+    final long[] last = instance.blocks[instance.laneLength - 1].clone();
+    for (int lane = 1; lane < parallelism; lane++) {
+      final long[] words = instance.blocks[lane * instance.laneLength + instance.laneLength - 1];
+      for (int w = 0; w < BLOCK_WORDS; w++) {
+        last[w] ^= words[w];
+      }
+    }
+    for (int w = 0; w < BLOCK_WORDS; w++) {
+      for (int b = 0; b < 8; b++) {
+        block[(w << 3) + b] = (byte) (last[w] >>> (b << 3));
+      }
+    }
+    final byte[] tag = new byte[tagLength];
+    variableHash(block, tag);
+    return tag;
+  }
+
+  /**
+   * The variable length hash function H' of the specification.
+   */
+  private static void variableHash(byte[] input, byte[] out) {
+    if (out.length <= 64) {
+      new Blake2b(out.length).update(out.length).update(input).digest(out, 0);
+      return;
+    }
+    final byte[] v = new Blake2b(64).update(out.length).update(input).digest();
+    System.arraycopy(v, 0, out, 0, 32);
+    int offset = 32;
+    byte[] current = v;
+    while (out.length - offset > 64) {
+      current = new Blake2b(64).update(current).digest();
+      System.arraycopy(current, 0, out, offset, 32);
+      offset += 32;
+    }
+    new Blake2b(out.length - offset).update(current).digest(out, offset);
+  }
+
+  private static void writeInt(byte[] b, int offset, int value) {
+    b[offset] = (byte) value;
+    b[offset + 1] = (byte) (value >>> 8);
+    b[offset + 2] = (byte) (value >>> 16);
+    b[offset + 3] = (byte) (value >>> 24);
+  }
+
+  private static final class Instance {
+
+    final long[][] blocks;
+    final int lanes;
+    final int laneLength;
+    final int segmentLength;
+    final int passes;
+    final long[] address = new long[BLOCK_WORDS];
+    final long[] input = new long[BLOCK_WORDS];
+    final long[] zero = new long[BLOCK_WORDS];
+    final long[] r = new long[BLOCK_WORDS];
+    final long[] tmp = new long[BLOCK_WORDS];
+
+    Instance(int memory, int passes, int lanes) {
+      // memory is rounded down to a multiple of 4 blocks per lane
+      final int blockCount = SYNC_POINTS * lanes * (memory / (SYNC_POINTS * lanes));
+      this.blocks = new long[blockCount][BLOCK_WORDS];
+      this.lanes = lanes;
+      this.laneLength = blockCount / lanes;
+      this.segmentLength = laneLength / SYNC_POINTS;
+      this.passes = passes;
+    }
+
+    void fillSegment(int pass, int lane, int slice) {
+      // argon2id: data independent addressing for the first half of the first pass
+      final boolean dataIndependent = pass == 0 && slice < SYNC_POINTS / 2;
+
+      if (dataIndependent) {
+        Arrays.fill(input, 0);
+        input[0] = pass;
+        input[1] = lane;
+        input[2] = slice;
+        input[3] = blocks.length;
+        input[4] = passes;
+        input[5] = TYPE;
+      }
+
+      int start = 0;
+      if (pass == 0 && slice == 0) {
+        // the first two blocks are already computed
+        start = 2;
+        if (dataIndependent) {
+          nextAddresses();
+        }
+      }
+
+      int current = lane * laneLength + slice * segmentLength + start;
+      int previous = current % laneLength == 0 ? current + laneLength - 1 : current - 1;
+
+      for (int i = start; i < segmentLength; i++, current++, previous++) {
+        if (current % laneLength == 1) {
+          previous = current - 1;
+        }
+
+        final long pseudoRandom;
+        if (dataIndependent) {
+          if (i % BLOCK_WORDS == 0) {
+            nextAddresses();
+          }
+          pseudoRandom = address[i % BLOCK_WORDS];
+        } else {
+          pseudoRandom = blocks[previous][0];
+        }
+
+        int refLane = (int) ((pseudoRandom >>> 32) % lanes);
+        if (pass == 0 && slice == 0) {
+          refLane = lane;
+        }
+        final int refIndex = indexAlpha(pass, slice, i, pseudoRandom & 0xFFFFFFFFL, refLane == lane);
+        fillBlock(blocks[previous], blocks[refLane * laneLength + refIndex], blocks[current], pass != 0);
+      }
+    }
+
+    private int indexAlpha(int pass, int slice, int index, long pseudoRandom, boolean sameLane) {
+      final long area;
+      if (pass == 0) {
+        if (slice == 0) {
+          area = index - 1;
+        } else if (sameLane) {
+          area = (long) slice * segmentLength + index - 1;
+        } else {
+          area = (long) slice * segmentLength + (index == 0 ? -1 : 0);
+        }
+      } else {
+        if (sameLane) {
+          area = laneLength - segmentLength + index - 1;
+        } else {
+          area = laneLength - segmentLength + (index == 0 ? -1 : 0);
+        }
+      }
+
+      long relative = (pseudoRandom * pseudoRandom) >>> 32;
+      relative = area - 1 - ((area * relative) >>> 32);
+
+      final long startPosition = pass != 0 && slice != SYNC_POINTS - 1 ? (long) (slice + 1) * segmentLength : 0;
+      return (int) ((startPosition + relative) % laneLength);
+    }
+
+    private void nextAddresses() {
+      input[6]++;
+      fillBlock(zero, input, address, false);
+      fillBlock(zero, address, address, false);
+    }
+
+    private void fillBlock(long[] x, long[] y, long[] next, boolean withXor) {
+      for (int i = 0; i < BLOCK_WORDS; i++) {
+        r[i] = x[i] ^ y[i];
+      }
+      System.arraycopy(r, 0, tmp, 0, BLOCK_WORDS);
+      if (withXor) {
+        for (int i = 0; i < BLOCK_WORDS; i++) {
+          tmp[i] ^= next[i];
+        }
+      }
+      // rows
+      for (int i = 0; i < 8; i++) {
+        final int o = i << 4;
+        round(r, o, o + 1, o + 2, o + 3, o + 4, o + 5, o + 6, o + 7,
+          o + 8, o + 9, o + 10, o + 11, o + 12, o + 13, o + 14, o + 15);
+      }
+      // columns
+      for (int i = 0; i < 8; i++) {
+        final int o = i << 1;
+        round(r, o, o + 1, o + 16, o + 17, o + 32, o + 33, o + 48, o + 49,
+          o + 64, o + 65, o + 80, o + 81, o + 96, o + 97, o + 112, o + 113);
+      }
+      for (int i = 0; i < BLOCK_WORDS; i++) {
+        next[i] = tmp[i] ^ r[i];
+      }
+    }
+
+    private static void round(long[] v, int v0, int v1, int v2, int v3, int v4, int v5, int v6, int v7,
+                              int v8, int v9, int v10, int v11, int v12, int v13, int v14, int v15) {
+      g(v, v0, v4, v8, v12);
+      g(v, v1, v5, v9, v13);
+      g(v, v2, v6, v10, v14);
+      g(v, v3, v7, v11, v15);
+      g(v, v0, v5, v10, v15);
+      g(v, v1, v6, v11, v12);
+      g(v, v2, v7, v8, v13);
+      g(v, v3, v4, v9, v14);
+    }
+
+    private static void g(long[] v, int a, int b, int c, int d) {
+      v[a] = blaMka(v[a], v[b]);
+      v[d] = Long.rotateRight(v[d] ^ v[a], 32);
+      v[c] = blaMka(v[c], v[d]);
+      v[b] = Long.rotateRight(v[b] ^ v[c], 24);
+      v[a] = blaMka(v[a], v[b]);
+      v[d] = Long.rotateRight(v[d] ^ v[a], 16);
+      v[c] = blaMka(v[c], v[d]);
+      v[b] = Long.rotateRight(v[b] ^ v[c], 63);
+    }
+
+    private static long blaMka(long x, long y) {
+      return x + y + 2 * (x & 0xFFFFFFFFL) * (y & 0xFFFFFFFFL);
+    }
+  }
+}
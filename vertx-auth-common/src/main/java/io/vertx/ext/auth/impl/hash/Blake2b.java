@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.impl.hash;
+
+/**
+ * Unkeyed BLAKE2b (RFC 7693) as required by Argon2, the JDK does not provide it.
+ */
+final class Blake2b {
+
+  private static final long[] IV = {
+    0x6a09e667f3bcc908L, 0xbb67ae8584caa73bL, 0x3c6ef372fe94f82bL, 0xa54ff53a5f1d36f1L,
+    0x510e527fade682d1L, 0x9b05688c2b3e6c1fL, 0x1f83d9abfb41bd6bL, 0x5be0cd19137e2179L
+  };
+
+  private static final byte[][] SIGMA = {
+    {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15},
+    {14, 10, 4, 8, 9, 15, 13, 6, 1, 12, 0, 2, 11, 7, 5, 3},
+    {11, 8, 12, 0, 5, 2, 15, 13, 10, 14, 3, 6, 7, 1, 9, 4},
+    {7, 9, 3, 1, 13, 12, 11, 14, 2, 6, 5, 10, 4, 0, 15, 8},
+    {9, 0, 5, 7, 2, 4, 10, 15, 14, 1, 11, 12, 6, 8, 3, 13},
+    {2, 12, 6, 10, 0, 11, 8, 3, 4, 13, 7, 5, 15, 14, 1, 9},
+    {12, 5, 1, 15, 14, 13, 4, 10, 0, 7, 6, 3, 9, 2, 8, 11},
+    {13, 11, 7, 14, 12, 1, 3, 9, 5, 0, 15, 4, 8, 6, 2, 10},
+    {6, 15, 14, 9, 11, 3, 0, 8, 12, 2, 13, 7, 1, 4, 10, 5},
+    {10, 2, 8, 4, 7, 6, 1, 5, 15, 11, 9, 14, 3, 12, 13, 0},
+    {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15},
+    {14, 10, 4, 8, 9, 15, 13, 6, 1, 12, 0, 2, 11, 7, 5, 3}
+  };
+
+  private final long[] h = new long[8];
+  private final long[] v = new long[16];
+  private final long[] m = new long[16];
+  private final byte[] buffer = new byte[128];
+  private final int outputLength;
+  private int bufferLength;
+  private long counter;
+
+  Blake2b(int outputLength) {
+    if (outputLength < 1 || outputLength > 64) {
+      throw new IllegalArgumentException("Invalid output length: " + outputLength);
+    }
+    this.outputLength = outputLength;
+    System.arraycopy(IV, 0, h, 0, 8);
+    // parameter block: digest length, no key, fanout and depth of 1
+    h[0] ^= 0x01010000L | outputLength;
+  }
+
+  Blake2b update(int value) {
+    final byte[] le = {(byte) value, (byte) (value >>> 8), (byte) (value >>> 16), (byte) (value >>> 24)};
+    return update(le, 0, 4);
+  }
+
+  Blake2b update(byte[] input) {
+    return update(input, 0, input.length);
+  }
+
+  Blake2b update(byte[] input, int offset, int length) {
+    while (length > 0) {
+      if (bufferLength == 128) {
+        // the last block must be kept for the finalization
+        counter += 128;
+        compress(buffer, 0, false);
+        bufferLength = 0;
+      }
+      final int chunk = Math.min(length, 128 - bufferLength);
+      System.arraycopy(input, offset, buffer, bufferLength, chunk);
+      bufferLength += chunk;
+      offset += chunk;
+      length -= chunk;
+    }
+    return this;
+  }
+
+  byte[] digest() {
+    final byte[] out = new byte[outputLength];
+    digest(out, 0);
+    return out;
+  }
+
+  void digest(byte[] out, int offset) {
+    counter += bufferLength;
+    for (int i = bufferLength; i < 128; i++) {
+      buffer[i] = 0;
+    }
+    compress(buffer, 0, true);
+    for (int i = 0; i < outputLength; i++) {
+      out[offset + i] = (byte) (h[i >>> 3] >>> ((i & 7) << 3));
+    }
+  }
+
+  private void compress(byte[] block, int offset, boolean last) {
+    for (int i = 0; i < 16; i++) {
+      m[i] = littleEndian(block, offset + (i << 3));
+    }
+    System.arraycopy(h, 0, v, 0, 8);
+    System.arraycopy(IV, 0, v, 8, 8);
+    v[12] ^= counter;
+    if (last) {
+      v[14] = ~v[14];
+    }
+    for (byte[] s : SIGMA) {
+      g(0, 4, 8, 12, m[s[0]], m[s[1]]);
+      g(1, 5, 9, 13, m[s[2]], m[s[3]]);
+      g(2, 6, 10, 14, m[s[4]], m[s[5]]);
+      g(3, 7, 11, 15, m[s[6]], m[s[7]]);
+      g(0, 5, 10, 15, m[s[8]], m[s[9]]);
+      g(1, 6, 11, 12, m[s[10]], m[s[11]]);
+      g(2, 7, 8, 13, m[s[12]], m[s[13]]);
+      g(3, 4, 9, 14, m[s[14]], m[s[15]]);
+    }
+    for (int i = 0; i < 8; i++) {
+      h[i] ^= v[i] ^ v[i + 8];
+    }
+  }
+
+  private void g(int a, int b, int c, int d, long x, long y) {
+    v[a] += v[b] + x;
+    v[d] = Long.rotateRight(v[d] ^ v[a], 32);
+    v[c] += v[d];
+    v[b] = Long.rotateRight(v[b] ^ v[c], 24);
+    v[a] += v[b] + y;
+    v[d] = Long.rotateRight(v[d] ^ v[a], 16);
+    v[c] += v[d];
+    v[b] = Long.rotateRight(v[b] ^ v[c], 63);
+  }
+
+  static long littleEndian(byte[] b, int offset) {
+    return (b[offset] & 0xffL)
+      | (b[offset + 1] & 0xffL) << 8
+      | (b[offset + 2] & 0xffL) << 16
+      | (b[offset + 3] & 0xffL) << 24
+      | (b[offset + 4] & 0xffL) << 32
+      | (b[offset + 5] & 0xffL) << 40
+      | (b[offset + 6] & 0xffL) << 48
+      | (b[offset + 7] & 0xffL) << 56;
+  }
+}
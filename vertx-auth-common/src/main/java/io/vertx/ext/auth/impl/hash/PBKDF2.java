@@ -17,15 +17,14 @@ package io.vertx.ext.auth.impl.hash;
 
 import io.vertx.ext.auth.hashing.HashString;
 import io.vertx.ext.auth.hashing.HashingAlgorithm;
+import io.vertx.ext.auth.impl.ThreadLocalEngines;
 
 import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.PBEKeySpec;
-import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
 import java.util.Collections;
 import java.util.Set;
 
-import static io.vertx.ext.auth.impl.Codec.base64Decode;
 import static io.vertx.ext.auth.impl.Codec.base64EncodeWithoutPadding;
 
 /**
@@ -39,15 +38,7 @@ public class PBKDF2 implements HashingAlgorithm {
 
   private static final Set<String> DEFAULT_CONFIG = Collections.singleton("it");
 
-  private final SecretKeyFactory skf;
-
-  public PBKDF2() {
-    try {
-      skf = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA512");
-    } catch (NoSuchAlgorithmException nsae) {
-      throw new RuntimeException("PBKDF2 is not available", nsae);
-    }
-  }
+  private final ThreadLocal<SecretKeyFactory> skf = ThreadLocalEngines.secretKeyFactory("PBKDF2WithHmacSHA512");
 
   @Override
   public String id() {
@@ -78,7 +69,7 @@ public class PBKDF2 implements HashingAlgorithm {
       throw new RuntimeException("hashString salt is null");
     }
 
-    byte[] salt = base64Decode(hashString.salt());
+    byte[] salt = hashString.saltBytes();
 
     PBEKeySpec spec = new PBEKeySpec(
       password.toCharArray(),
@@ -87,7 +78,7 @@ public class PBKDF2 implements HashingAlgorithm {
       64 * 8);
 
     try {
-      return base64EncodeWithoutPadding(skf.generateSecret(spec).getEncoded());
+      return base64EncodeWithoutPadding(skf.get().generateSecret(spec).getEncoded());
     } catch (InvalidKeySpecException ikse) {
       throw new RuntimeException(ikse);
     }
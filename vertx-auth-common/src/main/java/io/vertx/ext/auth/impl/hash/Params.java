@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.impl.hash;
+
+import io.vertx.ext.auth.hashing.HashString;
+
+/**
+ * Parameter decoding shared by the key derivation algorithms.
+ */
+final class Params {
+
+  private Params() {
+  }
+
+  /**
+   * @return the int value of the given parameter, or the default value when the hash has no such parameter.
+   */
+  static int intParam(HashString hashString, String name, int defaultValue, int min, int max) {
+    final String value = hashString.param(name);
+    if (value == null) {
+      return defaultValue;
+    }
+    final int result;
+    try {
+      result = Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid " + hashString.id() + " parameter: " + name + "=" + value);
+    }
+    if (result < min || result > max) {
+      throw new IllegalArgumentException("Out of range " + hashString.id() + " parameter: " + name + "=" + value);
+    }
+    return result;
+  }
+
+  static byte[] salt(HashString hashString) {
+    if (hashString.salt() == null) {
+      throw new RuntimeException("hashString salt is null");
+    }
+    return hashString.saltBytes();
+  }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.impl.hash;
+
+import io.vertx.ext.auth.hashing.HashString;
+import io.vertx.ext.auth.hashing.HashingAlgorithm;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static io.vertx.ext.auth.impl.Codec.base64EncodeWithoutPadding;
+
+/**
+ * Implementation of the scrypt (RFC 7914) hashing algorithm. Hashes are encoded as
+ * {@code $scrypt$ln=<log2 N>,r=<block size>,p=<parallelism>$<salt>$<hash>}, the memory used is
+ * {@code 128 * r * 2^ln} bytes.
+ * <p>
+ * The parameters are read from the stored hashes, a corrupt or hostile hash could otherwise exhaust the heap or
+ * the worker pool: at most 256 MiB, a block size of 32 and a parallelism of 16 are accepted.
+ */
+public class Scrypt implements HashingAlgorithm {
+
+  private static final Set<String> DEFAULT_CONFIG = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList("ln", "r", "p")));
+
+  // 16 MiB
+  private static final int DEFAULT_LOG_N = 14;
+  private static final int DEFAULT_BLOCK_SIZE = 8;
+  private static final int DEFAULT_PARALLELISM = 1;
+
+  private static final long MAX_MEMORY = 256L * 1024 * 1024;
+  private static final int MAX_BLOCK_SIZE = 32;
+  private static final int MAX_PARALLELISM = 16;
+
+  private static final int KEY_LENGTH = 32;
+
+  private final int logN;
+  private final int blockSize;
+  private final int parallelism;
+
+  public Scrypt() {
+    this(DEFAULT_LOG_N, DEFAULT_BLOCK_SIZE, DEFAULT_PARALLELISM);
+  }
+
+  /**
+   * @param logN        default log2 of the CPU/memory cost, used when a hash has no {@code ln} parameter
+   * @param blockSize   default block size, used when a hash has no {@code r} parameter
+   * @param parallelism default parallelism, used when a hash has no {@code p} parameter
+   */
+  public Scrypt(int logN, int blockSize, int parallelism) {
+    if (logN < 1 || blockSize < 1 || blockSize > MAX_BLOCK_SIZE || parallelism < 1 || parallelism > MAX_PARALLELISM || 128L * blockSize * (1L << Math.min(logN, 62)) > MAX_MEMORY) {
+      throw new IllegalArgumentException("Invalid scrypt parameters");
+    }
+    this.logN = logN;
+    this.blockSize = blockSize;
+    this.parallelism = parallelism;
+  }
+
+  @Override
+  public String id() {
+    return "scrypt";
+  }
+
+  @Override
+  public Set<String> params() {
+    return DEFAULT_CONFIG;
+  }
+
+  @Override
+  public String hash(HashString hashString, String password) {
+    final int r = Params.intParam(hashString, "r", blockSize, 1, MAX_BLOCK_SIZE);
+    final int ln = Params.intParam(hashString, "ln", logN, 1, 30);
+    final int p = Params.intParam(hashString, "p", parallelism, 1, MAX_PARALLELISM);
+    if (128L * r * (1L << ln) > MAX_MEMORY) {
+      throw new IllegalArgumentException("Out of range scrypt parameters: ln=" + ln + ", r=" + r);
+    }
+
+    return base64EncodeWithoutPadding(
+      hash(password.getBytes(StandardCharsets.UTF_8), Params.salt(hashString), 1 << ln, r, p, KEY_LENGTH));
+  }
+
+  static byte[] hash(byte[] password, byte[] salt, int n, int r, int p, int keyLength) {
+    if (32L * r * n > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("scrypt memory cost is too large");
+    }
+    final int blockLength = 128 * r;
+    final byte[] b = pbkdf2(password, salt, p * blockLength);
+
+    final int[] x = new int[32 * r];
+    final int[] v = new int[32 * r * n];
+    final int[] y = new int[32 * r];
+    final int[] scratch = new int[16];
+    for (int i = 0; i < p; i++) {
+      roMix(b, i * blockLength, r, n, x, v, y, scratch);
+    }
+
+    return pbkdf2(password, b, keyLength);
+  }
+
+  private static void roMix(byte[] b, int offset, int r, int n, int[] x, int[] v, int[] y, int[] scratch) {
+    final int words = 32 * r;
+    for (int i = 0; i < words; i++) {
+      final int o = offset + (i << 2);
+      x[i] = (b[o] & 0xff) | (b[o + 1] & 0xff) << 8 | (b[o + 2] & 0xff) << 16 | (b[o + 3] & 0xff) << 24;
+    }
+    for (int i = 0; i < n; i++) {
+      System.arraycopy(x, 0, v, i * words, words);
+      blockMix(x, y, r, scratch);
+    }
+    for (int i = 0; i < n; i++) {
+      // integerify, n is a power of 2
+      final int j = x[(2 * r - 1) * 16] & (n - 1);
+      final int vo = j * words;
+      for (int k = 0; k < words; k++) {
+        x[k] ^= v[vo + k];
+      }
+      blockMix(x, y, r, scratch);
+    }
+    for (int i = 0; i < words; i++) {
+      final int o = offset + (i << 2);
+      b[o] = (byte) x[i];
+      b[o + 1] = (byte) (x[i] >>> 8);
+      b[o + 2] = (byte) (x[i] >>> 16);
+      b[o + 3] = (byte) (x[i] >>> 24);
+    }
+  }
+
+  private static void blockMix(int[] b, int[] y, int r, int[] x) {
+    System.arraycopy(b, (2 * r - 1) * 16, x, 0, 16);
+    for (int i = 0; i < 2 * r; i++) {
+      for (int k = 0; k < 16; k++) {
+        x[k] ^= b[i * 16 + k];
+      }
+      salsa20_8(x);
+      // even blocks first, then odd blocks
+      System.arraycopy(x, 0, y, ((i >> 1) + (i & 1) * r) * 16, 16);
+    }
+    System.arraycopy(y, 0, b, 0, 32 * r);
+  }
+
+  private static void salsa20_8(int[] b) {
+    int x0 = b[0], x1 = b[1], x2 = b[2], x3 = b[3], x4 = b[4], x5 = b[5], x6 = b[6], x7 = b[7];
+    int x8 = b[8], x9 = b[9], x10 = b[10], x11 = b[11], x12 = b[12], x13 = b[13], x14 = b[14], x15 = b[15];
+    for (int i = 0; i < 8; i += 2) {
+      // columns
+      x4 ^= Integer.rotateLeft(x0 + x12, 7);
+      x8 ^= Integer.rotateLeft(x4 + x0, 9);
+      x12 ^= Integer.rotateLeft(x8 + x4, 13);
+      x0 ^= Integer.rotateLeft(x12 + x8, 18);
+      x9 ^= Integer.rotateLeft(x5 + x1, 7);
+      x13 ^= Integer.rotateLeft(x9 + x5, 9);
+      x1 ^= Integer.rotateLeft(x13 + x9, 13);
+      x5 ^= Integer.rotateLeft(x1 + x13, 18);
+      x14 ^= Integer.rotateLeft(x10 + x6, 7);
+      x2 ^= Integer.rotateLeft(x14 + x10, 9);
+      x6 ^= Integer.rotateLeft(x2 + x14, 13);
+      x10 ^= Integer.rotateLeft(x6 + x2, 18);
+      x3 ^= Integer.rotateLeft(x15 + x11, 7);
+      x7 ^= Integer.rotateLeft(x3 + x15, 9);
+      x11 ^= Integer.rotateLeft(x7 + x3, 13);
+      x15 ^= Integer.rotateLeft(x11 + x7, 18);
+      // rows
+      x1 ^= Integer.rotateLeft(x0 + x3, 7);
+      x2 ^= Integer.rotateLeft(x1 + x0, 9);
+      x3 ^= Integer.rotateLeft(x2 + x1, 13);
+      x0 ^= Integer.rotateLeft(x3 + x2, 18);
+      x6 ^= Integer.rotateLeft(x5 + x4, 7);
+      x7 ^= Integer.rotateLeft(x6 + x5, 9);
+      x4 ^= Integer.rotateLeft(x7 + x6, 13);
+      x5 ^= Integer.rotateLeft(x4 + x7, 18);
+      x11 ^= Integer.rotateLeft(x10 + x9, 7);
+      x8 ^= Integer.rotateLeft(x11 + x10, 9);
+      x9 ^= Integer.rotateLeft(x8 + x11, 13);
+      x10 ^= Integer.rotateLeft(x9 + x8, 18);
+      x12 ^= Integer.rotateLeft(x15 + x14, 7);
+      x13 ^= Integer.rotateLeft(x12 + x15, 9);
+      x14 ^= Integer.rotateLeft(x13 + x12, 13);
+      x15 ^= Integer.rotateLeft(x14 + x13, 18);
+    }
+    b[0] += x0; b[1] += x1; b[2] += x2; b[3] += x3; b[4] += x4; b[5] += x5; b[6] += x6; b[7] += x7;
+    b[8] += x8; b[9] += x9; b[10] += x10; b[11] += x11; b[12] += x12; b[13] += x13; b[14] += x14; b[15] += x15;
+  }
+
+  /**
+   * PBKDF2-HMAC-SHA256 with a single iteration. HMAC is computed directly over {@link MessageDigest} as
+   * {@code javax.crypto.Mac} rejects empty passwords.
+   */
+  private static byte[] pbkdf2(byte[] password, byte[] salt, int length) {
+    final MessageDigest sha256;
+    try {
+      sha256 = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException nsae) {
+      throw new RuntimeException("SHA-256 is not available", nsae);
+    }
+
+    byte[] key = password;
+    if (key.length > 64) {
+      key = sha256.digest(key);
+    }
+    final byte[] inner = new byte[64];
+    final byte[] outer = new byte[64];
+    for (int i = 0; i < 64; i++) {
+      final byte k = i < key.length ? key[i] : 0;
+      inner[i] = (byte) (k ^ 0x36);
+      outer[i] = (byte) (k ^ 0x5c);
+    }
+
+    final byte[] out = new byte[length];
+    for (int block = 1, offset = 0; offset < length; block++, offset += 32) {
+      sha256.update(inner);
+      sha256.update(salt);
+      sha256.update(new byte[]{(byte) (block >>> 24), (byte) (block >>> 16), (byte) (block >>> 8), (byte) block});
+      final byte[] u = sha256.digest();
+      sha256.update(outer);
+      sha256.update(u);
+      final byte[] t = sha256.digest();
+      System.arraycopy(t, 0, out, offset, Math.min(32, length - offset));
+    }
+    return out;
+  }
+}
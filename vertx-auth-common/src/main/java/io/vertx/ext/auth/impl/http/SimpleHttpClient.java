@@ -43,7 +43,11 @@ public final class SimpleHttpClient {
   private final String userAgent;
 
   public SimpleHttpClient(Vertx vertx, String userAgent, HttpClientOptions options) {
-    this.client = vertx.createHttpClient(options);
+    this(vertx, userAgent, options, new PoolOptions());
+  }
+
+  public SimpleHttpClient(Vertx vertx, String userAgent, HttpClientOptions options, PoolOptions poolOptions) {
+    this.client = vertx.createHttpClient(options, poolOptions);
     this.userAgent = userAgent;
   }
 
@@ -19,7 +19,7 @@ import io.vertx.core.Vertx;
 
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Arrays;
 
 import static io.vertx.ext.auth.impl.Codec.base64UrlEncode;
 
@@ -27,27 +27,32 @@ import static io.vertx.ext.auth.impl.Codec.base64UrlEncode;
  * Wrapper around secure random that periodically seeds the PRNG with new entropy. To avoid entropy exhaustion
  * the entropy is only refreshed if the PRNG is used. This introduces a new variable which reduces the probability
  * of cracking the random number generator.
+ * <p>
+ * Small byte requests, such as challenges, nonces or state strings, are served from a pool of random bytes that is
+ * refilled in large blocks, the size of the pool is set with the {@code io.vertx.ext.auth.prng.pool.size} system
+ * property, {@code 0} disables it.
  *
  * @author Paulo Lopes
  */
 public class PRNG implements VertxContextPRNG {
 
-  private static final int DEFAULT_SEED_INTERVAL_MILLIS = 300000;
-  private static final int DEFAULT_SEED_BITS = 64;
+  private static final int DEFAULT_POOL_SIZE = 4096;
 
   private final SecureRandom random;
-  private final long seedID;
 
   private final Vertx vertx;
   // Track if the current seed has been used for random number generation
   private volatile boolean dirty = false;
 
+  // random bytes generated in advance, small requests are served from it
+  private final byte[] pool;
+  private int poolPos;
+
   public PRNG(Vertx vertx) {
     this.vertx = vertx;
 
     final String algorithm = System.getProperty("io.vertx.ext.auth.prng.algorithm");
-    final int seedInterval = Integer.getInteger("io.vertx.ext.auth.prng.seed.interval", DEFAULT_SEED_INTERVAL_MILLIS);
-    final int seedBits = Integer.getInteger("io.vertx.ext.auth.prng.seed.bits", DEFAULT_SEED_BITS);
+    final int poolSize = Integer.getInteger("io.vertx.ext.auth.prng.pool.size", DEFAULT_POOL_SIZE);
 
     if (algorithm != null) {
       // the user has made a conscious decision to not use the JVM defaults
@@ -67,46 +72,76 @@ public class PRNG implements VertxContextPRNG {
     // Make sure default seeding happens now to avoid calling setSeed() too early
     random.nextBytes(new byte[1]);
 
-    // seed internal and bits must be enabled
-    if (seedInterval > 0 && seedBits > 0) {
-      final AtomicBoolean seeding = new AtomicBoolean(false);
-      // Add a 64bit entropy every five minutes
-      // see: https://www.owasp.org/index.php/Session_Management_Cheat_Sheet#Session_ID_Entropy
-      seedID = vertx.setPeriodic(
-        seedInterval,
-        id -> {
-          if (dirty && seeding.compareAndSet(false, true)) {
-            vertx.<byte[]>executeBlocking(
-              () -> random.generateSeed(seedBits / 8),
-              false).onComplete(
-              generateSeed -> {
-                seeding.set(false);
-                dirty = false;
-                random.setSeed(generateSeed.result());
-              });
-          }
-        });
+    if (poolSize > 0) {
+      pool = new byte[poolSize];
+      // empty, filled on first use
+      poolPos = poolSize;
     } else {
-      seedID = -1;
+      pool = null;
     }
+
+    // a single timer seeds all the PRNGs of the vert.x instance
+    Reseeder.register(vertx, this);
+  }
+
+  boolean isDirty() {
+    return dirty;
   }
 
+  /**
+   * Seeds the PRNG with new entropy, this is a blocking operation.
+   */
+  void reseed(int seedBytes) {
+    final byte[] seed = random.generateSeed(seedBytes);
+    dirty = false;
+    random.setSeed(seed);
+    if (pool != null) {
+      synchronized (pool) {
+        // discard the bytes generated before the new seed
+        Arrays.fill(pool, (byte) 0);
+        poolPos = pool.length;
+      }
+    }
+  }
 
   @Override
   public void close() {
-    if (seedID != -1) {
-      vertx.cancelTimer(seedID);
-    }
+    Reseeder.unregister(vertx, this);
   }
 
   @Override
   public void nextBytes(byte[] bytes) {
     if (bytes != null) {
-      random.nextBytes(bytes);
+      if (pool != null && bytes.length <= pool.length >> 2) {
+        fromPool(bytes);
+      } else {
+        random.nextBytes(bytes);
+      }
       dirty = true;
     }
   }
 
+  /**
+   * Copies random bytes from the pool, refilling it in a single call when exhausted. The bytes handed out are erased
+   * from the pool.
+   */
+  private void fromPool(byte[] bytes) {
+    synchronized (pool) {
+      int off = 0;
+      while (off < bytes.length) {
+        if (poolPos == pool.length) {
+          random.nextBytes(pool);
+          poolPos = 0;
+        }
+        final int len = Math.min(bytes.length - off, pool.length - poolPos);
+        System.arraycopy(pool, poolPos, bytes, off, len);
+        Arrays.fill(pool, poolPos, poolPos + len, (byte) 0);
+        poolPos += len;
+        off += len;
+      }
+    }
+  }
+
   @Override
   public int nextInt() {
     try {
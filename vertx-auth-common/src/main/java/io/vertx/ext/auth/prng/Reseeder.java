@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.prng;
+
+import io.vertx.core.Closeable;
+import io.vertx.core.Completable;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.internal.VertxInternal;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Periodically seeds the PRNGs of a vert.x instance with new entropy. A single timer and a single blocking task are
+ * used per vert.x instance, regardless of the number of PRNGs.
+ * <p>
+ * The PRNGs are weakly referenced, a PRNG bound to a context is released with the context. The instance also owns the
+ * PRNG shared by the callers that cannot use a context.
+ */
+final class Reseeder implements Closeable {
+
+  private static final int DEFAULT_SEED_INTERVAL_MILLIS = 300000;
+  private static final int DEFAULT_SEED_BITS = 64;
+
+  private static final ConcurrentMap<Vertx, Reseeder> RESEEDERS = new ConcurrentHashMap<>();
+
+  private final Vertx vertx;
+  // the timer and the blocking task run on a context of their own, not owned by any deployment
+  private final ContextInternal context;
+  private final int seedBytes;
+  private final long timerId;
+  private final Queue<WeakReference<PRNG>> prngs = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean seeding = new AtomicBoolean(false);
+  private final AtomicReference<PRNG> shared = new AtomicReference<>();
+
+  private static Reseeder get(Vertx vertx) {
+    final Reseeder reseeder = RESEEDERS.get(vertx);
+    return reseeder != null ? reseeder : RESEEDERS.computeIfAbsent(vertx, Reseeder::new);
+  }
+
+  /**
+   * Adds the PRNG to the reseeding task of the vert.x instance.
+   */
+  static void register(Vertx vertx, PRNG prng) {
+    final Reseeder reseeder = get(vertx);
+    if (reseeder.timerId != -1) {
+      reseeder.prngs.add(new WeakReference<>(prng));
+    }
+  }
+
+  static void unregister(Vertx vertx, PRNG prng) {
+    final Reseeder reseeder = RESEEDERS.get(vertx);
+    if (reseeder != null) {
+      reseeder.prngs.removeIf(ref -> ref.get() == prng);
+    }
+  }
+
+  /**
+   * @return the PRNG stored in the context data, created on first use without locking the context.
+   */
+  static PRNG context(Context context, Object key) {
+    final PRNG candidate = new PRNG(context.owner());
+    final Object current;
+    if (context instanceof ContextInternal) {
+      current = ((ContextInternal) context).contextData().putIfAbsent(key, candidate);
+    } else {
+      // no atomic operation, the last one wins
+      context.put(key, candidate);
+      current = null;
+    }
+    if (current != null) {
+      // lost the race
+      candidate.close();
+      return (PRNG) current;
+    }
+    return candidate;
+  }
+
+  /**
+   * @return the PRNG of the vert.x instance, used when there is no context. It cannot be closed by its users.
+   */
+  static PRNG shared(Vertx vertx) {
+    final Reseeder reseeder = get(vertx);
+    final PRNG prng = reseeder.shared.get();
+    if (prng != null) {
+      return prng;
+    }
+    final PRNG candidate = new PRNG(vertx) {
+      @Override
+      public void close() {
+        // shared, lives as long as the vert.x instance
+      }
+    };
+    if (reseeder.shared.compareAndSet(null, candidate)) {
+      return candidate;
+    }
+    unregister(vertx, candidate);
+    return reseeder.shared.get();
+  }
+
+  private Reseeder(Vertx vertx) {
+    this.vertx = vertx;
+    // a timer set from a verticle would be cancelled when the verticle is undeployed
+    this.context = vertx instanceof VertxInternal ? ((VertxInternal) vertx).createEventLoopContext() : null;
+
+    final int seedInterval = Integer.getInteger("io.vertx.ext.auth.prng.seed.interval", DEFAULT_SEED_INTERVAL_MILLIS);
+    final int seedBits = Integer.getInteger("io.vertx.ext.auth.prng.seed.bits", DEFAULT_SEED_BITS);
+    this.seedBytes = seedBits / 8;
+
+    // seed internal and bits must be enabled
+    if (seedInterval > 0 && seedBytes > 0) {
+      // Add a 64bit entropy every five minutes
+      // see: https://www.owasp.org/index.php/Session_Management_Cheat_Sheet#Session_ID_Entropy
+      timerId = context != null ?
+        context.setPeriodic(seedInterval, id -> reseed()) :
+        vertx.setPeriodic(seedInterval, id -> reseed());
+    } else {
+      timerId = -1;
+    }
+    if (vertx instanceof VertxInternal) {
+      // ensure we get a clean exit
+      ((VertxInternal) vertx).addCloseHook(this);
+    }
+  }
+
+  private void reseed() {
+    if (!seeding.compareAndSet(false, true)) {
+      return;
+    }
+    // the entropy is only refreshed if the PRNG is used
+    final List<PRNG> dirty = new ArrayList<>();
+    final Iterator<WeakReference<PRNG>> it = prngs.iterator();
+    while (it.hasNext()) {
+      final PRNG prng = it.next().get();
+      if (prng == null) {
+        // released with its context
+        it.remove();
+      } else if (prng.isDirty()) {
+        dirty.add(prng);
+      }
+    }
+    if (dirty.isEmpty()) {
+      seeding.set(false);
+      return;
+    }
+    (context != null ? context : vertx.getOrCreateContext()).<Void>executeBlocking(() -> {
+        for (PRNG prng : dirty) {
+          prng.reseed(seedBytes);
+        }
+        return null;
+      }, false)
+      .onComplete(ar -> seeding.set(false));
+  }
+
+  @Override
+  public void close(Completable<Void> onClose) {
+    RESEEDERS.remove(vertx, this);
+    if (timerId != -1) {
+      vertx.cancelTimer(timerId);
+    }
+    prngs.clear();
+    onClose.succeed();
+  }
+}
@@ -43,7 +43,7 @@ public interface VertxContextPRNG {
    * current context (i.e.: not running on the eventloop) then a {@link java.lang.IllegalStateException} is thrown.
    * <p>
    * Note, if a context isn't allowed to be used, for example, exceptions are thrown on getting and putting data,
-   * the VertxContextPRNG falls back to instantiate a new instance of the PRNG per call.
+   * the VertxContextPRNG falls back to a PRNG shared by the vert.x instance.
    *
    * @return A secure non blocking random number generator.
    * @throws IllegalStateException when there is no {@link Context} instance available.
@@ -62,7 +62,7 @@ public interface VertxContextPRNG {
    * throw an exception.
    * <p>
    * Note, if a context isn't allowed to be used, for example, exceptions are thrown on getting and putting data,
-   * the VertxContextPRNG falls back to instantiate a new instance of the PRNG per call.
+   * the VertxContextPRNG falls back to a PRNG shared by the vert.x instance.
    *
    * @param context a Vert.x context.
    * @return A secure non blocking random number generator
@@ -78,19 +78,8 @@ public interface VertxContextPRNG {
       PRNG random = context.get(contextKey);
 
       if (random == null) {
-        synchronized (context) {
-          // attempt to reload to avoid double creation when we were
-          // waiting for the lock
-          random = context.get(contextKey);
-          if (random == null) {
-            // there was no PRNG in the context, create one
-            random = new PRNG(context.owner());
-            // need to make the random final
-            final PRNG rand = random;
-            // save to the context
-            context.put(contextKey, rand);
-          }
-        }
+        // there was no PRNG in the context, create one
+        random = Reseeder.context(context, contextKey);
       }
 
       return random;
@@ -98,7 +87,7 @@ public interface VertxContextPRNG {
       // Access to the current context is probably blocked
       Vertx vertx = context.owner();
       if (vertx != null) {
-        return new PRNG(vertx);
+        return Reseeder.shared(vertx);
       }
       // vert.x cannot be null
       throw new IllegalStateException("Not running in a Vert.x Context.");
@@ -108,10 +97,10 @@ public interface VertxContextPRNG {
   /**
    * Get or create a secure non blocking random number generator using the current vert.x instance. Since the context
    * might be different this method will attempt to use the current context first if available and then fall back to
-   * create a new instance of the PRNG.
+   * the PRNG shared by the vert.x instance.
    * <p>
    * Note, if a context isn't allowed to be used, for example, exceptions are thrown on getting and putting data,
-   * the VertxContextPRNG falls back to instantiate a new instance of the PRNG per call.
+   * the VertxContextPRNG falls back to a PRNG shared by the vert.x instance.
    *
    * @param vertx a Vert.x instance.
    * @return A secure non blocking random number generator.
@@ -123,12 +112,12 @@ public interface VertxContextPRNG {
     }
 
     Objects.requireNonNull(vertx, "vertx can not be null");
-    // we are not running on a vert.x context, fallback to create a new instance
-    return new PRNG(vertx);
+    // we are not running on a vert.x context, fallback to the instance shared by the vert.x instance
+    return Reseeder.shared(vertx);
   }
 
   /**
-   * stop seeding the PRNG
+   * stop seeding the PRNG, this has no effect on the PRNG shared by the vert.x instance.
    */
   void close();
 
@@ -33,7 +33,10 @@ module io.vertx.auth.common {
     io.vertx.ext.auth.impl.hash.SHA1,
     io.vertx.ext.auth.impl.hash.SHA256,
     io.vertx.ext.auth.impl.hash.SHA512,
-    io.vertx.ext.auth.impl.hash.PBKDF2;
+    io.vertx.ext.auth.impl.hash.PBKDF2,
+    io.vertx.ext.auth.impl.hash.Argon2id,
+    io.vertx.ext.auth.impl.hash.Scrypt,
+    io.vertx.ext.auth.impl.hash.BCrypt;
 
   exports io.vertx.ext.auth.impl to io.vertx.auth.htdigest, io.vertx.auth.htpasswd, io.vertx.auth.oauth2, io.vertx.auth.otp, io.vertx.auth.sqlclient, io.vertx.auth.webauthn, io.vertx.auth.webauthn4j;
   exports io.vertx.ext.auth.impl.jose to io.vertx.auth.jwt, io.vertx.auth.oauth2, io.vertx.auth.webauthn, io.vertx.auth.webauthn4j, io.vertx.tests;
@@ -0,0 +1,178 @@
+package io.vertx.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.AdmissionControl;
+import io.vertx.ext.auth.authentication.AdmissionControlOptions;
+import io.vertx.ext.auth.authentication.AdmissionRejectedException;
+import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+@RunWith(VertxUnitRunner.class)
+public class AdmissionControlTest {
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private final UsernamePasswordCredentials credentials = new UsernamePasswordCredentials("paulo", "secret");
+
+  @Test
+  public void testRejectOverLimit(TestContext should) {
+    final List<Promise<User>> pending = new ArrayList<>();
+    AdmissionControl auth = AdmissionControl.create(credentials -> {
+      Promise<User> promise = Promise.promise();
+      pending.add(promise);
+      return promise.future();
+    }, new AdmissionControlOptions().setMaxConcurrency(2));
+
+    Future<User> first = auth.authenticate(credentials);
+    Future<User> second = auth.authenticate(credentials);
+    should.assertEquals(2, auth.inFlight());
+
+    // over capacity, the delegate is not called
+    auth.authenticate(credentials)
+      .onComplete(should.asyncAssertFailure(err -> {
+        should.assertTrue(err instanceof AdmissionRejectedException);
+        should.assertEquals(2, pending.size());
+        should.assertEquals(1L, auth.rejected());
+      }));
+
+    pending.get(0).complete(User.fromName("paulo"));
+    should.assertTrue(first.succeeded());
+    should.assertEquals(1, auth.inFlight());
+
+    // room again
+    auth.authenticate(credentials);
+    should.assertEquals(3, pending.size());
+    should.assertEquals(2, auth.inFlight());
+
+    pending.get(1).fail("Invalid username/password");
+    should.assertTrue(second.failed());
+    should.assertFalse(second.cause() instanceof AdmissionRejectedException);
+    should.assertEquals(1, auth.inFlight());
+  }
+
+  @Test
+  public void testAdaptiveLimit(TestContext should) {
+    final Async test = should.async();
+    AdmissionControl auth = AdmissionControl.create(
+      credentials -> {
+        // slower than the target latency
+        Promise<User> promise = Promise.promise();
+        rule.vertx().setTimer(20, t -> promise.complete(User.fromName("paulo")));
+        return promise.future();
+      },
+      new AdmissionControlOptions()
+        .setMaxConcurrency(10)
+        .setMinConcurrency(2)
+        .setTargetLatency(5)
+        .setBackoffRatio(0.5));
+
+    should.assertEquals(10, auth.limit());
+    auth.authenticate(credentials)
+      .onComplete(should.asyncAssertSuccess(u1 -> {
+        should.assertEquals(5, auth.limit());
+        auth.authenticate(credentials)
+          .compose(u2 -> auth.authenticate(credentials))
+          .onComplete(should.asyncAssertSuccess(u3 -> {
+            // never below the minimum
+            should.assertEquals(2, auth.limit());
+            test.complete();
+          }));
+      }));
+  }
+
+  @Test
+  public void testAdaptiveLimitDecreasesOncePerRoundTrip(TestContext should) {
+    final Async test = should.async();
+    AdmissionControl auth = AdmissionControl.create(
+      credentials -> {
+        // slower than the target latency
+        Promise<User> promise = Promise.promise();
+        rule.vertx().setTimer(20, t -> promise.complete(User.fromName("paulo")));
+        return promise.future();
+      },
+      new AdmissionControlOptions()
+        .setMaxConcurrency(10)
+        .setMinConcurrency(1)
+        .setTargetLatency(5)
+        .setBackoffRatio(0.5));
+
+    final List<Future<User>> round = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      round.add(auth.authenticate(credentials));
+    }
+    Future.all(round)
+      .onComplete(should.asyncAssertSuccess(v -> {
+        // the same congestion seen by 5 authentications halves the limit once
+        should.assertEquals(5, auth.limit());
+        auth.authenticate(credentials)
+          .onComplete(should.asyncAssertSuccess(u -> {
+            // the next round trip halves it again
+            should.assertEquals(2, auth.limit());
+            test.complete();
+          }));
+      }));
+  }
+
+  @Test
+  public void testAdaptiveLimitGrows(TestContext should) {
+    final boolean[] saturated = {true};
+    AdmissionControl auth = AdmissionControl.create(
+      credentials -> saturated[0] ?
+        Future.failedFuture(new RejectedExecutionException("Too many pending hashing operations")) :
+        Future.succeededFuture(User.fromName("paulo")),
+      new AdmissionControlOptions()
+        .setMaxConcurrency(4)
+        .setTargetLatency(1000)
+        .setBackoffRatio(0.5));
+
+    // a saturated hashing pool shrinks the limit
+    auth.authenticate(credentials);
+    should.assertEquals(2, auth.limit());
+    auth.authenticate(credentials);
+    should.assertEquals(1, auth.limit());
+
+    // fast authentications at full use grow it back
+    saturated[0] = false;
+    for (int i = 0; i < 10; i++) {
+      auth.authenticate(credentials);
+    }
+    should.assertTrue(auth.limit() > 1);
+  }
+
+  @Test
+  public void testFastFailuresDoNotGrowLimit(TestContext should) {
+    final boolean[] saturated = {true};
+    AdmissionControl auth = AdmissionControl.create(
+      credentials -> saturated[0] ?
+        Future.failedFuture(new RejectedExecutionException("Too many pending hashing operations")) :
+        Future.failedFuture("Invalid username/password"),
+      new AdmissionControlOptions()
+        .setMaxConcurrency(4)
+        .setTargetLatency(1000)
+        .setBackoffRatio(0.5));
+
+    auth.authenticate(credentials);
+    auth.authenticate(credentials);
+    should.assertEquals(1, auth.limit());
+
+    // e.g. unknown users, rejected before any hashing
+    saturated[0] = false;
+    for (int i = 0; i < 10; i++) {
+      auth.authenticate(credentials);
+    }
+    should.assertEquals(1, auth.limit());
+  }
+}
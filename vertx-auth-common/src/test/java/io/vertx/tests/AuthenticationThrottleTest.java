@@ -0,0 +1,241 @@
+package io.vertx.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.ChainAuth;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.AuthenticationProvider;
+import io.vertx.ext.auth.authentication.AuthenticationThrottle;
+import io.vertx.ext.auth.authentication.AuthenticationThrottleOptions;
+import io.vertx.ext.auth.authentication.AuthenticationThrottledException;
+import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(VertxUnitRunner.class)
+public class AuthenticationThrottleTest {
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private final AtomicInteger calls = new AtomicInteger();
+
+  private final AuthenticationProvider provider = credentials -> {
+    calls.incrementAndGet();
+    UsernamePasswordCredentials authInfo = (UsernamePasswordCredentials) credentials;
+    if ("ok".equals(authInfo.getPassword())) {
+      return Future.succeededFuture(User.fromName(authInfo.getUsername()));
+    }
+    return Future.failedFuture("Invalid username/password");
+  };
+
+  private static UsernamePasswordCredentials credentials(String username, String password) {
+    return new UsernamePasswordCredentials(username, password);
+  }
+
+  private static boolean throttled(Future<User> future) {
+    return future.failed() && future.cause() instanceof AuthenticationThrottledException;
+  }
+
+  @Test
+  public void testProgressiveDelay(TestContext should) {
+    final Async test = should.async();
+    AuthenticationThrottle auth = AuthenticationThrottle.create(provider, new AuthenticationThrottleOptions()
+      .setFreeFailures(1)
+      .setInitialDelay(100)
+      .setMaxDelay(1000));
+
+    should.assertFalse(throttled(auth.authenticate(credentials("paulo", "bad"))));
+    // the first failure is free
+    should.assertFalse(throttled(auth.authenticate(credentials("paulo", "bad"))));
+    should.assertEquals(2, calls.get());
+
+    // the second one delays the next attempt, the provider is not called
+    Future<User> future = auth.authenticate(credentials("paulo", "ok"));
+    should.assertTrue(throttled(future));
+    long retryAfter = ((AuthenticationThrottledException) future.cause()).retryAfter();
+    should.assertTrue(retryAfter > 0 && retryAfter <= 100);
+    should.assertEquals(2, calls.get());
+
+    // other users are not affected
+    should.assertTrue(auth.authenticate(credentials("julien", "ok")).succeeded());
+
+    rule.vertx().setTimer(150, t -> {
+      auth.authenticate(credentials("paulo", "ok"))
+        .onComplete(should.asyncAssertSuccess(user -> {
+          // a success forgets the failures
+          should.assertFalse(throttled(auth.authenticate(credentials("paulo", "bad"))));
+          should.assertFalse(throttled(auth.authenticate(credentials("paulo", "bad"))));
+          test.complete();
+        }));
+    });
+  }
+
+  @Test
+  public void testConcurrentGuesses(TestContext should) {
+    final List<Promise<User>> pending = new ArrayList<>();
+    AuthenticationThrottle auth = AuthenticationThrottle.create(credentials -> {
+      calls.incrementAndGet();
+      final Promise<User> promise = Promise.promise();
+      pending.add(promise);
+      return promise.future();
+    }, new AuthenticationThrottleOptions()
+      .setFreeFailures(2)
+      .setInitialDelay(100));
+
+    // all sent before the first one fails
+    final List<Future<User>> attempts = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      attempts.add(auth.authenticate(credentials("paulo", "guess" + i)));
+    }
+    // only the free failures and one more attempt are in flight
+    should.assertEquals(3, calls.get());
+    should.assertTrue(throttled(attempts.get(3)));
+    should.assertTrue(((AuthenticationThrottledException) attempts.get(3).cause()).retryAfter() > 0);
+    // other users are not affected
+    auth.authenticate(credentials("julien", "guess"));
+    should.assertEquals(4, calls.get());
+
+    pending.get(0).fail("Invalid username/password");
+    // the other attempts in flight may still spend the free failures
+    should.assertTrue(throttled(auth.authenticate(credentials("paulo", "guess5"))));
+    pending.get(1).fail("Invalid username/password");
+    pending.get(2).fail("Invalid username/password");
+    // the free failures are spent, the next attempt waits
+    should.assertTrue(throttled(auth.authenticate(credentials("paulo", "guess6"))));
+    should.assertEquals(4, calls.get());
+  }
+
+  @Test
+  public void testUsernameLockout(TestContext should) {
+    AuthenticationThrottle auth = AuthenticationThrottle.create(provider, new AuthenticationThrottleOptions()
+      .setFreeFailures(10)
+      .setMaxUsernameFailures(3));
+
+    for (int i = 0; i < 3; i++) {
+      should.assertFalse(throttled(auth.authenticate(credentials("paulo", "bad"))));
+    }
+    // even the right password is rejected
+    Future<User> future = auth.authenticate(credentials("paulo", "ok"));
+    should.assertTrue(throttled(future));
+    should.assertTrue(((AuthenticationThrottledException) future.cause()).retryAfter() > 60_000);
+    should.assertEquals(3, calls.get());
+  }
+
+  @Test
+  public void testClientLockout(TestContext should) {
+    AuthenticationThrottle auth = AuthenticationThrottle.create(provider, new AuthenticationThrottleOptions()
+      .setMaxClientFailures(2));
+
+    // password spraying, one attempt per username
+    should.assertFalse(throttled(auth.authenticate(credentials("u1", "bad"), "10.0.0.1")));
+    should.assertFalse(throttled(auth.authenticate(credentials("u2", "bad"), "10.0.0.1")));
+    should.assertTrue(throttled(auth.authenticate(credentials("u3", "ok"), "10.0.0.1")));
+    // other clients are not affected
+    should.assertTrue(auth.authenticate(credentials("u3", "ok"), "10.0.0.2").succeeded());
+    should.assertEquals(3, calls.get());
+  }
+
+  @Test
+  public void testChainAndIdentifier(TestContext should) {
+    // OTP credentials expose an identifier rather than a username
+    final Credentials otp = new Credentials() {
+      @Override
+      public JsonObject toJson() {
+        return new JsonObject().put("identifier", "paulo").put("code", "123456");
+      }
+    };
+    AuthenticationThrottle auth = AuthenticationThrottle.create(
+      ChainAuth.any()
+        .add(credentials -> Future.failedFuture("Invalid code"))
+        .add(credentials -> Future.failedFuture("Invalid code")),
+      new AuthenticationThrottleOptions()
+        .setFreeFailures(10)
+        .setMaxUsernameFailures(2));
+
+    should.assertFalse(throttled(auth.authenticate(otp)));
+    should.assertFalse(throttled(auth.authenticate(otp)));
+    should.assertTrue(throttled(auth.authenticate(otp)));
+  }
+
+  @Test
+  public void testBoundedMemory(TestContext should) {
+    AuthenticationThrottle auth = AuthenticationThrottle.create(provider, new AuthenticationThrottleOptions()
+      .setMaxEntries(32));
+
+    for (int i = 0; i < 1000; i++) {
+      auth.authenticate(credentials("user" + i, "bad"));
+    }
+    should.assertTrue(auth.size() <= 32);
+  }
+
+  @Test
+  public void testLockedNotEvicted(TestContext should) {
+    AuthenticationThrottle auth = AuthenticationThrottle.create(provider, new AuthenticationThrottleOptions()
+      .setFreeFailures(10)
+      .setMaxUsernameFailures(2)
+      .setMaxEntries(16));
+
+    auth.authenticate(credentials("paulo", "bad"));
+    auth.authenticate(credentials("paulo", "bad"));
+    // flooding with other usernames does not lift the lockout
+    for (int i = 0; i < 1000; i++) {
+      auth.authenticate(credentials("user" + i, "bad"));
+    }
+    should.assertTrue(auth.size() <= 17);
+    should.assertTrue(throttled(auth.authenticate(credentials("paulo", "ok"))));
+  }
+
+  @Test
+  public void testUsernameCase(TestContext should) {
+    AuthenticationThrottle auth = AuthenticationThrottle.create(provider, new AuthenticationThrottleOptions()
+      .setFreeFailures(10)
+      .setMaxUsernameFailures(3));
+
+    should.assertFalse(throttled(auth.authenticate(credentials("paulo", "bad"))));
+    should.assertFalse(throttled(auth.authenticate(credentials("Paulo", "bad"))));
+    should.assertFalse(throttled(auth.authenticate(credentials("PAULO", "bad"))));
+    should.assertTrue(throttled(auth.authenticate(credentials("pAULO", "ok"))));
+
+    AuthenticationThrottle caseSensitive = AuthenticationThrottle.create(provider, new AuthenticationThrottleOptions()
+      .setFreeFailures(10)
+      .setMaxUsernameFailures(3)
+      .setIgnoreUsernameCase(false));
+
+    caseSensitive.authenticate(credentials("paulo", "bad"));
+    caseSensitive.authenticate(credentials("Paulo", "bad"));
+    caseSensitive.authenticate(credentials("PAULO", "bad"));
+    should.assertTrue(caseSensitive.authenticate(credentials("pAULO", "ok")).succeeded());
+  }
+
+  @Test
+  public void testExpiry(TestContext should) {
+    final Async test = should.async();
+    AuthenticationThrottle auth = AuthenticationThrottle.create(provider, new AuthenticationThrottleOptions()
+      .setWindow(50)
+      .setLockoutDuration(50)
+      .setFreeFailures(10)
+      .setMaxUsernameFailures(1));
+
+    auth.authenticate(credentials("paulo", "bad"));
+    should.assertTrue(throttled(auth.authenticate(credentials("paulo", "ok"))));
+    should.assertEquals(1, auth.size());
+
+    rule.vertx().setTimer(150, t -> {
+      should.assertTrue(auth.authenticate(credentials("paulo", "ok")).succeeded());
+      should.assertEquals(0, auth.size());
+      test.complete();
+    });
+  }
+}
@@ -1,11 +1,20 @@
 package io.vertx.tests;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.ChainAuth;
 import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.AdmissionControl;
+import io.vertx.ext.auth.authentication.AdmissionControlOptions;
+import io.vertx.ext.auth.authentication.AuthenticationProvider;
+import io.vertx.ext.auth.authentication.AuthenticationThrottle;
+import io.vertx.ext.auth.authentication.AuthenticationThrottleOptions;
+import io.vertx.ext.auth.authentication.CredentialValidationException;
+import io.vertx.ext.auth.authentication.Credentials;
 import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.RunTestOnContext;
@@ -14,6 +23,12 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
 @RunWith(VertxUnitRunner.class)
 public class ChainAuthTest {
 
@@ -234,4 +249,179 @@ public class ChainAuthTest {
         }
       });
   }
+
+  private Future<User> delayed(long delay, User user) {
+    Promise<User> promise = Promise.promise();
+    rule.vertx().setTimer(delay, t -> promise.complete(user));
+    return promise.future();
+  }
+
+  @Test
+  public void raceTestAny(TestContext should) {
+    final Async test = should.async();
+    ChainAuth auth = ChainAuth.any(true);
+
+    // a slow provider first doesn't delay the fast one
+    auth.add(credentials -> delayed(2000, createUser(new JsonObject().put("provider", 1))));
+    auth.add(credentials -> Future.failedFuture("some error/bad auth"));
+    auth.add(credentials -> delayed(10, createUser(new JsonObject().put("provider", 3))));
+
+    final long start = System.currentTimeMillis();
+    auth.authenticate(new TokenCredentials("xyz"))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals(3, user.principal().getInteger("provider"));
+        should.assertTrue(System.currentTimeMillis() - start < 2000);
+        test.complete();
+      }));
+  }
+
+  @Test
+  public void raceTestAnyAllFail(TestContext should) {
+    ChainAuth auth = ChainAuth.any(true);
+
+    auth.add(credentials -> Future.failedFuture("some error/bad auth"));
+    auth.add(credentials -> Future.failedFuture("some error/bad auth"));
+
+    auth.authenticate(new TokenCredentials("xyz"))
+      .onComplete(should.asyncAssertFailure(err -> should.assertEquals("No more providers in the auth chain.", err.getMessage())));
+  }
+
+  @Test
+  public void parallelTestAll(TestContext should) {
+    ChainAuth auth = ChainAuth.all(true);
+
+    // complete in the reverse order
+    auth.add(credentials -> delayed(60, User.create(new JsonObject().put("provider", 1), new JsonObject().put("attribute", "one"))));
+    auth.add(credentials -> delayed(30, User.create(new JsonObject().put("provider", 2), new JsonObject().put("attribute", "two"))));
+    auth.add(credentials -> delayed(1, User.create(new JsonObject().put("provider", 3), new JsonObject().put("attribute", "three"))));
+
+    auth.authenticate(new TokenCredentials("xyz"))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        // same as the sequential merge
+        should.assertEquals(3, user.principal().getInteger("provider"));
+        should.assertEquals(new JsonArray().add("one").add("two").add("three"), user.attributes().getValue("attribute"));
+      }));
+  }
+
+  @Test
+  public void parallelTestAllFail(TestContext should) {
+    ChainAuth auth = ChainAuth.all(true);
+
+    auth.add(credentials -> delayed(10, createUser(new JsonObject())));
+    auth.add(credentials -> Future.failedFuture("some error/bad auth"));
+
+    auth.authenticate(new TokenCredentials("xyz"))
+      .onComplete(should.asyncAssertFailure(err -> should.assertEquals("some error/bad auth", err.getMessage())));
+  }
+
+  @Test
+  public void timeoutTestAny(TestContext should) {
+    ChainAuth auth = ChainAuth.any();
+
+    // never completes
+    auth.add(credentials -> Promise.<User>promise().future(), 50);
+    auth.add(credentials -> Future.succeededFuture(createUser(new JsonObject().put("provider", 2))));
+
+    auth.authenticate(new TokenCredentials("xyz"))
+      .onComplete(should.asyncAssertSuccess(user -> should.assertEquals(2, user.principal().getInteger("provider"))));
+  }
+
+  @Test
+  public void timeoutTestAll(TestContext should) {
+    ChainAuth auth = ChainAuth.all(true);
+
+    auth.add(credentials -> Future.succeededFuture(createUser(new JsonObject())));
+    auth.add(credentials -> Promise.<User>promise().future(), 50);
+
+    auth.authenticate(new TokenCredentials("xyz"))
+      .onComplete(should.asyncAssertFailure(err -> should.assertTrue(err instanceof TimeoutException)));
+  }
+
+  private static AuthenticationProvider typed(Class<? extends Credentials> type, AuthenticationProvider provider) {
+    return new AuthenticationProvider() {
+      @Override
+      public Future<User> authenticate(Credentials credentials) {
+        return provider.authenticate(credentials);
+      }
+
+      @Override
+      public Set<Class<? extends Credentials>> credentialTypes() {
+        return Collections.singleton(type);
+      }
+    };
+  }
+
+  @Test
+  public void routeTestAny(TestContext should) {
+    ChainAuth auth = ChainAuth.any();
+
+    auth.add(typed(UsernamePasswordCredentials.class, credentials -> {
+      should.fail("incompatible provider called");
+      return Future.failedFuture("bad auth");
+    }));
+    auth.add(typed(TokenCredentials.class, credentials -> Future.succeededFuture(createUser(new JsonObject().put("provider", 2)))));
+
+    auth.authenticate(new TokenCredentials("xyz"))
+      .onComplete(should.asyncAssertSuccess(user -> should.assertEquals(2, user.principal().getInteger("provider"))));
+  }
+
+  @Test
+  public void routeTestAnyNoMatch(TestContext should) {
+    ChainAuth auth = ChainAuth.any(true);
+
+    auth.add(typed(UsernamePasswordCredentials.class, credentials -> {
+      should.fail("incompatible provider called");
+      return Future.failedFuture("bad auth");
+    }));
+
+    auth.authenticate(new TokenCredentials("xyz"))
+      .onComplete(should.asyncAssertFailure(err -> should.assertEquals("No more providers in the auth chain.", err.getMessage())));
+  }
+
+  @Test
+  public void routeTestAll(TestContext should) {
+    ChainAuth auth = ChainAuth.all();
+
+    auth.add(credentials -> Future.succeededFuture(createUser(new JsonObject())));
+    auth.add(typed(UsernamePasswordCredentials.class, credentials -> {
+      should.fail("incompatible provider called");
+      return Future.failedFuture("bad auth");
+    }));
+
+    // a provider can't be skipped
+    auth.authenticate(new TokenCredentials("xyz"))
+      .onComplete(should.asyncAssertFailure(err -> should.assertTrue(err instanceof CredentialValidationException)));
+  }
+
+  @Test
+  public void routeTestDecorated(TestContext should) {
+    ChainAuth auth = ChainAuth.any();
+
+    // the decorators accept the credentials of the provider they wrap
+    auth.add(AuthenticationThrottle.create(typed(UsernamePasswordCredentials.class, credentials -> {
+      should.fail("incompatible provider called");
+      return Future.failedFuture("bad auth");
+    }), new AuthenticationThrottleOptions()));
+    auth.add(AdmissionControl.create(typed(TokenCredentials.class, credentials -> Future.succeededFuture(createUser(new JsonObject().put("provider", 2)))), new AdmissionControlOptions()));
+
+    should.assertEquals(new HashSet<>(Arrays.asList(UsernamePasswordCredentials.class, TokenCredentials.class)), auth.credentialTypes());
+    auth.authenticate(new TokenCredentials("xyz"))
+      .onComplete(should.asyncAssertSuccess(user -> should.assertEquals(2, user.principal().getInteger("provider"))));
+  }
+
+  @Test
+  public void routeTestCredentialTypes(TestContext should) {
+    ChainAuth auth = ChainAuth.any();
+    should.assertTrue(auth.credentialTypes().isEmpty());
+
+    auth.add(typed(UsernamePasswordCredentials.class, credentials -> Future.failedFuture("bad auth")));
+    auth.add(typed(TokenCredentials.class, credentials -> Future.failedFuture("bad auth")));
+    should.assertEquals(new HashSet<>(Arrays.asList(UsernamePasswordCredentials.class, TokenCredentials.class)), auth.credentialTypes());
+
+    // nested chains route too, a provider accepting anything makes the chain accept anything
+    ChainAuth outer = ChainAuth.any().add(auth);
+    should.assertEquals(auth.credentialTypes(), outer.credentialTypes());
+    auth.add(credentials -> Future.failedFuture("bad auth"));
+    should.assertTrue(outer.credentialTypes().isEmpty());
+  }
 }
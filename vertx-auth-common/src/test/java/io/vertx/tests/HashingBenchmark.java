@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.tests;
+
+import io.vertx.ext.auth.hashing.HashingStrategy;
+import io.vertx.ext.auth.impl.Codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Multi threaded throughput of a single {@link HashingStrategy} shared by all threads, for 1 up to the number of
+ * available processors. With per thread digest engines the throughput should grow linearly with the threads. It is
+ * not run by the build, run the {@code main} method with the test classpath:
+ *
+ * <pre>
+ * java -cp ... io.vertx.tests.HashingBenchmark [algorithm] [seconds]
+ * </pre>
+ */
+public class HashingBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    final String id = args.length > 0 ? args[0] : "sha512";
+    final long duration = (args.length > 1 ? Long.parseLong(args[1]) : 2) * 1_000_000_000L;
+    final String salt = Codec.base64Encode("keyboard.cat".getBytes(StandardCharsets.UTF_8));
+    final HashingStrategy strategy = HashingStrategy.load();
+    final String hash = strategy.hash(id, null, salt, "SuperSecret$!");
+
+    double single = 0;
+    for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2) {
+      final LongAdder operations = new LongAdder();
+      final CountDownLatch latch = new CountDownLatch(threads);
+      final long deadline = System.nanoTime() + duration;
+      for (int t = 0; t < threads; t++) {
+        new Thread(() -> {
+          long count = 0;
+          while (System.nanoTime() < deadline) {
+            if (!strategy.verify(hash, "SuperSecret$!")) {
+              throw new AssertionError("Hash mismatch");
+            }
+            count++;
+          }
+          operations.add(count);
+          latch.countDown();
+        }).start();
+      }
+      latch.await();
+      final double throughput = operations.sum() / (duration / 1e9);
+      if (threads == 1) {
+        single = throughput;
+      }
+      System.out.printf("%s, %d threads: %.0f ops/s (x%.2f)%n", id, threads, throughput, throughput / single);
+    }
+  }
+}
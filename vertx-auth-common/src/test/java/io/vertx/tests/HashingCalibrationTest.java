@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.tests;
+
+import io.vertx.ext.auth.hashing.HashString;
+import io.vertx.ext.auth.hashing.HashingAlgorithm;
+import io.vertx.ext.auth.hashing.HashingCalibration;
+import io.vertx.ext.auth.hashing.HashingStrategy;
+import io.vertx.ext.auth.impl.HashingCalibrationMain;
+import io.vertx.ext.auth.impl.HashingStrategyImpl;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+import static org.junit.Assert.*;
+
+/**
+ * The algorithms are replaced by fakes that advance a fake clock by a cost derived from their parameters, the
+ * outcome of the search does not depend on the machine running the test.
+ */
+public class HashingCalibrationTest {
+
+  private final AtomicLong clock = new AtomicLong();
+
+  private HashingAlgorithm fake(String id, ToLongFunction<HashString> micros, String... params) {
+    return new HashingAlgorithm() {
+      @Override
+      public String id() {
+        return id;
+      }
+
+      @Override
+      public Set<String> params() {
+        return new LinkedHashSet<>(Arrays.asList(params));
+      }
+
+      @Override
+      public String hash(HashString hashString, String password) {
+        clock.addAndGet(TimeUnit.MICROSECONDS.toNanos(micros.applyAsLong(hashString)));
+        return password;
+      }
+    };
+  }
+
+  private static long param(HashString hashString, String name) {
+    return Long.parseLong(hashString.param(name));
+  }
+
+  private HashingCalibration calibration(HashingStrategy strategy) {
+    return new HashingCalibration(strategy, clock::get)
+      .setCores(1)
+      .setSamples(2);
+  }
+
+  @Test
+  public void testCalibratePBKDF2() {
+    HashingStrategy strategy = new HashingStrategyImpl()
+      // 1 ms per 1000 iterations
+      .put("pbkdf2", fake("pbkdf2", hashString -> param(hashString, "it"), "it"));
+
+    HashingCalibration.Result result = calibration(strategy)
+      .setTargetLatency(100)
+      .setTargetThroughput(1)
+      .calibrate("pbkdf2", null);
+
+    assertEquals("pbkdf2", result.id());
+    assertTrue(result.satisfied());
+    // doubled up to 64000, then refined between 64000 and 128000
+    assertEquals("100000", result.params().get("it"));
+    assertEquals(100, result.p99(), 0.001);
+    assertEquals(10, result.throughput(), 0.001);
+  }
+
+  @Test
+  public void testCalibrateThroughput() {
+    HashingStrategy strategy = new HashingStrategyImpl()
+      .put("bcrypt", fake("bcrypt", hashString -> 1000L << param(hashString, "c"), "c"));
+
+    HashingCalibration.Result result = calibration(strategy)
+      .setTargetLatency(1000)
+      // at most 50 ms per verification
+      .setTargetThroughput(20)
+      .calibrate("bcrypt", null);
+
+    assertTrue(result.satisfied());
+    // 2^5 ms, exponential knobs are not refined
+    assertEquals("5", result.params().get("c"));
+  }
+
+  @Test
+  public void testCalibrateKeepsParams() {
+    HashingStrategy strategy = new HashingStrategyImpl()
+      // 10 ms per MiB and pass
+      .put("argon2id", fake("argon2id", hashString -> 10 * param(hashString, "m") * param(hashString, "t"), "m", "t"));
+
+    HashingCalibration.Result result = calibration(strategy)
+      .setTargetLatency(100)
+      .setTargetThroughput(1)
+      .calibrate("argon2id", Collections.singletonMap("t", "1"));
+
+    assertTrue(result.satisfied());
+    assertEquals("1", result.params().get("t"));
+    final long m = Long.parseLong(result.params().get("m"));
+    assertTrue(m > 8192 && m <= 10000);
+  }
+
+  @Test
+  public void testUnreachableTargets() {
+    HashingStrategy strategy = new HashingStrategyImpl()
+      .put("pbkdf2", fake("pbkdf2", hashString -> param(hashString, "it"), "it"));
+
+    HashingCalibration.Result result = calibration(strategy)
+      .setTargetLatency(100)
+      .setTargetThroughput(2000)
+      .calibrate("pbkdf2", null);
+
+    assertFalse(result.satisfied());
+    // the cheapest parameters are returned
+    assertEquals("1000", result.params().get("it"));
+    assertEquals(1, result.p99(), 0.001);
+  }
+
+  @Test
+  public void testCalibrateAll() {
+    HashingStrategy strategy = new HashingStrategyImpl()
+      .put("sha512", fake("sha512", hashString -> 1000))
+      .put("pbkdf2", fake("pbkdf2", hashString -> param(hashString, "it"), "it"));
+
+    List<HashingCalibration.Result> results = calibration(strategy)
+      .setTargetLatency(5)
+      .setTargetThroughput(1)
+      .calibrate();
+
+    assertEquals(2, results.size());
+    // ordered by id
+    assertEquals("pbkdf2", results.get(0).id());
+    assertEquals("5000", results.get(0).params().get("it"));
+    assertEquals("sha512", results.get(1).id());
+    assertTrue(results.get(1).params().isEmpty());
+    assertTrue(results.get(1).satisfied());
+  }
+
+  @Test
+  public void testConfidence() {
+    final AtomicLong verifications = new AtomicLong();
+    HashingStrategy strategy = new HashingStrategyImpl()
+      // each verification is 1 ms slower than the previous one
+      .put("sha512", fake("sha512", hashString -> 1000 * verifications.incrementAndGet()));
+
+    HashingCalibration.Result result = calibration(strategy)
+      .setSamples(300)
+      .calibrate("sha512", null);
+    // the slowest of 300 verifications bounds the 99th percentile
+    assertEquals(result.p99() + 3, result.p99Upper(), 0.001);
+
+    result = calibration(strategy)
+      .calibrate("sha512", null);
+    // 2 samples say nothing about the 99th percentile
+    assertEquals(Double.POSITIVE_INFINITY, result.p99Upper(), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownOption() {
+    HashingCalibrationMain.main(new String[]{"--unknown"});
+  }
+}
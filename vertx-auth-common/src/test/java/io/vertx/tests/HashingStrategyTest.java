@@ -1,15 +1,33 @@
 package io.vertx.tests;
 
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.auth.hashing.HashString;
 import io.vertx.ext.auth.hashing.HashingStrategy;
+import io.vertx.ext.auth.hashing.RehashPolicy;
 import io.vertx.ext.auth.impl.Codec;
+import io.vertx.ext.auth.impl.HashingStrategyImpl;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.RunTestOnContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.Assert.*;
 
@@ -90,4 +108,417 @@ public class HashingStrategyTest {
     // should be valid
     assertTrue(strategy.verify(hash, "SuperSecret$!"));
   }
+
+  @Test
+  public void testVerifyAsync(TestContext should) {
+    final Async test = should.async();
+    HashingStrategy strategy = HashingStrategy.load();
+    String hash = strategy.hash("pbkdf2", null, salt, "SuperSecret$!");
+
+    rule.vertx().runOnContext(v -> {
+      final Thread eventLoop = Thread.currentThread();
+      strategy.verifyAsync(hash, "SuperSecret$!")
+        .onComplete(should.asyncAssertSuccess(valid -> {
+          should.assertTrue(valid);
+          // notified back on the calling context
+          should.assertEquals(eventLoop, Thread.currentThread());
+          strategy.verifyAsync(hash, "superSecret$!")
+            .onComplete(should.asyncAssertSuccess(invalid -> {
+              should.assertFalse(invalid);
+              test.complete();
+            }));
+        }));
+    });
+  }
+
+  @Test
+  public void testHashAsync(TestContext should) {
+    HashingStrategy strategy = HashingStrategy.load(rule.vertx(), 2, 16);
+    strategy.hashAsync("pbkdf2", null, salt, "SuperSecret$!")
+      .onComplete(should.asyncAssertSuccess(hash -> {
+        should.assertEquals(strategy.hash("pbkdf2", null, salt, "SuperSecret$!"), hash);
+        should.assertTrue(strategy.verify(hash, "SuperSecret$!"));
+      }));
+  }
+
+  @Test
+  public void testVerifyAsyncRejected(TestContext should) {
+    // a single worker and no queue
+    HashingStrategy strategy = HashingStrategy.load(rule.vertx(), 1, 0);
+    HashMap<String, String> params = new HashMap<>();
+    params.put("it", "200000");
+    String hash = strategy.hash("pbkdf2", params, salt, "SuperSecret$!");
+
+    strategy.verifyAsync(hash, "SuperSecret$!")
+      .onComplete(should.asyncAssertSuccess(should::assertTrue));
+    strategy.verifyAsync(hash, "SuperSecret$!")
+      .onComplete(should.asyncAssertFailure(err -> should.assertTrue(err instanceof RejectedExecutionException)));
+  }
+
+  @Test
+  public void testVerifyAsyncRejectedSharedPool(TestContext should) {
+    // both strategies share the single worker, the bound applies to both
+    HashingStrategy strategy = HashingStrategy.load(rule.vertx(), 1, 0);
+    HashingStrategy other = HashingStrategy.load(rule.vertx(), 1, 0);
+    HashMap<String, String> params = new HashMap<>();
+    params.put("it", "200000");
+    String hash = strategy.hash("pbkdf2", params, salt, "SuperSecret$!");
+
+    strategy.verifyAsync(hash, "SuperSecret$!")
+      .onComplete(should.asyncAssertSuccess(should::assertTrue));
+    other.verifyAsync(hash, "SuperSecret$!")
+      .onComplete(should.asyncAssertFailure(err -> should.assertTrue(err instanceof RejectedExecutionException)));
+  }
+
+  @Test
+  public void testVerifyAsyncOwnQueueBound(TestContext should) {
+    // a strategy with another queue size does not share the saturated pool
+    HashingStrategy strategy = HashingStrategy.load(rule.vertx(), 1, 0);
+    HashingStrategy other = HashingStrategy.load(rule.vertx(), 1, 1);
+    HashMap<String, String> params = new HashMap<>();
+    params.put("it", "200000");
+    String hash = strategy.hash("pbkdf2", params, salt, "SuperSecret$!");
+
+    strategy.verifyAsync(hash, "SuperSecret$!")
+      .onComplete(should.asyncAssertSuccess(should::assertTrue));
+    strategy.verifyAsync(hash, "SuperSecret$!")
+      .onComplete(should.asyncAssertFailure(err -> should.assertTrue(err instanceof RejectedExecutionException)));
+    other.verifyAsync(hash, "SuperSecret$!")
+      .onComplete(should.asyncAssertSuccess(should::assertTrue));
+  }
+
+  @Test
+  public void testPoolClosedWithVertx(TestContext should) throws Exception {
+    final Field field = Class.forName("io.vertx.ext.auth.impl.HashingPool").getDeclaredField("POOLS");
+    field.setAccessible(true);
+    final Map<?, ?> pools = (Map<?, ?>) field.get(null);
+    final int size = pools.size();
+
+    Vertx vertx = Vertx.vertx();
+    HashingStrategy strategy = HashingStrategy.load(vertx, 3, 0);
+    // not bound to a context of the closed instance
+    Promise<Boolean> verified = Promise.promise();
+    strategy.verifyAsync(strategy.hash("sha512", null, salt, "SuperSecret$!"), "SuperSecret$!")
+      .onComplete(verified);
+    verified.future()
+      .compose(valid -> {
+        should.assertTrue(valid);
+        should.assertEquals(size + 1, pools.size());
+        return vertx.close();
+      })
+      .onComplete(should.asyncAssertSuccess(v -> should.assertEquals(size, pools.size())));
+  }
+
+  @Test
+  public void testConcurrentHash() throws Exception {
+    HashingStrategy strategy = HashingStrategy.load();
+    final String[] ids = { "sha1", "sha256", "sha512", "pbkdf2" };
+    final String[] expected = new String[ids.length];
+    for (int i = 0; i < ids.length; i++) {
+      expected[i] = strategy.hash(ids[i], null, salt, "SuperSecret$!");
+    }
+
+    // the algorithm instances are shared by all threads
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Future<Boolean>> results = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        results.add(executor.submit(() -> {
+          for (int n = 0; n < 200; n++) {
+            final int i = n % ids.length;
+            if (!expected[i].equals(strategy.hash(ids[i], null, salt, "SuperSecret$!"))) {
+              return false;
+            }
+          }
+          return true;
+        }));
+      }
+      for (Future<Boolean> result : results) {
+        assertTrue(result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testHashArgon2id() {
+    HashingStrategy strategy = HashingStrategy.load();
+    assertNotNull(strategy.get("argon2id"));
+    final String salt = Codec.base64Encode("keyboard.cat.sal".getBytes(StandardCharsets.UTF_8));
+    HashMap<String, String> params = new HashMap<>();
+    params.put("m", "64");
+    params.put("t", "2");
+    params.put("p", "2");
+    String hash = strategy.hash("argon2id", params, salt, "SuperSecret$!");
+    assertEquals("$argon2id$m=64,t=2,p=2$a2V5Ym9hcmQuY2F0LnNhbA==$kqCP6RQsVmiW5CaEMwYZH8mUa46tk34LcST2sBQqE9w", hash);
+    // should be valid
+    assertTrue(strategy.verify(hash, "SuperSecret$!"));
+    // should be wrong
+    assertFalse(strategy.verify(hash, "superSecret$!"));
+    // the memory cost is part of the hash
+    params.put("m", "128");
+    assertNotEquals(hash, strategy.hash("argon2id", params, salt, "SuperSecret$!"));
+  }
+
+  @Test
+  public void testHashScrypt() {
+    HashingStrategy strategy = HashingStrategy.load();
+    assertNotNull(strategy.get("scrypt"));
+    final String salt = Codec.base64Encode("keyboard.cat.sal".getBytes(StandardCharsets.UTF_8));
+    HashMap<String, String> params = new HashMap<>();
+    params.put("ln", "4");
+    params.put("r", "8");
+    params.put("p", "1");
+    String hash = strategy.hash("scrypt", params, salt, "SuperSecret$!");
+    assertEquals("$scrypt$ln=4,r=8,p=1$a2V5Ym9hcmQuY2F0LnNhbA==$HxLi9tH0nCYozPRokU/vYNXSlGCdrD1WekCuXM88wMc", hash);
+    // should be valid
+    assertTrue(strategy.verify(hash, "SuperSecret$!"));
+    // should be wrong
+    assertFalse(strategy.verify(hash, "superSecret$!"));
+  }
+
+  @Test
+  public void testHostileCostParameters() {
+    HashingStrategy strategy = HashingStrategy.load();
+    final String salt = Codec.base64Encode("keyboard.cat.sal".getBytes(StandardCharsets.UTF_8));
+    // the stored parameters must not allocate gigabytes before the hash is compared
+    for (String hash : new String[] {
+      "$argon2id$m=2147483647,t=1,p=1$" + salt + "$kqCP6RQsVmiW5CaEMwYZH8mUa46tk34LcST2sBQqE9w",
+      "$argon2id$m=64,t=2147483647,p=1$" + salt + "$kqCP6RQsVmiW5CaEMwYZH8mUa46tk34LcST2sBQqE9w",
+      "$argon2id$m=1048576,t=1,p=65536$" + salt + "$kqCP6RQsVmiW5CaEMwYZH8mUa46tk34LcST2sBQqE9w",
+      "$scrypt$ln=30,r=8,p=1$" + salt + "$HxLi9tH0nCYozPRokU/vYNXSlGCdrD1WekCuXM88wMc",
+      "$scrypt$ln=4,r=65536,p=1$" + salt + "$HxLi9tH0nCYozPRokU/vYNXSlGCdrD1WekCuXM88wMc",
+      "$scrypt$ln=4,r=8,p=16777215$" + salt + "$HxLi9tH0nCYozPRokU/vYNXSlGCdrD1WekCuXM88wMc"
+    }) {
+      try {
+        strategy.verify(hash, "SuperSecret$!");
+        fail("should reject " + hash);
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void testHashBCrypt() {
+    HashingStrategy strategy = HashingStrategy.load();
+    assertNotNull(strategy.get("bcrypt"));
+    final String salt = Codec.base64Encode("keyboard.cat.sal".getBytes(StandardCharsets.UTF_8));
+    HashMap<String, String> params = new HashMap<>();
+    params.put("c", "4");
+    String hash = strategy.hash("bcrypt", params, salt, "SuperSecret$!");
+    assertEquals("$bcrypt$c=4$a2V5Ym9hcmQuY2F0LnNhbA==$51QZKwoM/uWggxtOkvqgUnNirq3hWJk", hash);
+    // should be valid
+    assertTrue(strategy.verify(hash, "SuperSecret$!"));
+    // should be wrong
+    assertFalse(strategy.verify(hash, "superSecret$!"));
+  }
+  /**
+   * Calls the package private raw function of an algorithm, the published vectors use inputs the encoded form
+   * cannot carry (secret, associated data, other key lengths).
+   */
+  private static byte[] raw(String algorithm, Class<?>[] types, Object... args) throws Exception {
+    final Method method = Class.forName("io.vertx.ext.auth.impl.hash." + algorithm).getDeclaredMethod("hash", types);
+    method.setAccessible(true);
+    return (byte[]) method.invoke(null, args);
+  }
+
+  private static byte[] filled(int length, int value) {
+    final byte[] bytes = new byte[length];
+    Arrays.fill(bytes, (byte) value);
+    return bytes;
+  }
+
+  @Test
+  public void testArgon2idKnownAnswer() throws Exception {
+    // RFC 9106, section 5.3
+    final byte[] tag = raw("Argon2id",
+      new Class<?>[]{byte[].class, byte[].class, byte[].class, byte[].class, int.class, int.class, int.class, int.class},
+      filled(32, 0x01), filled(16, 0x02), filled(8, 0x03), filled(12, 0x04), 32, 3, 4, 32);
+    assertArrayEquals(Codec.base16Decode("0d640df58d78766c08c037a34a8b53c9d01ef0452d75b65eb52520e96b01e659"), tag);
+  }
+
+  @Test
+  public void testScryptKnownAnswer() throws Exception {
+    // RFC 7914, section 12
+    final Class<?>[] types = {byte[].class, byte[].class, int.class, int.class, int.class, int.class};
+    assertArrayEquals(Codec.base16Decode(
+        "77d6576238657b203b19ca42c18a0497f16b4844e3074ae8dfdffa3fede21442" +
+        "fcd0069ded0948f8326a753a0fc81f17e8d3e0fb2e0d3628cf35e20c38d18906"),
+      raw("Scrypt", types, new byte[0], new byte[0], 16, 1, 1, 64));
+    assertArrayEquals(Codec.base16Decode(
+        "fdbabe1c9d3472007856e7190d01e9fe7c6ad7cbc8237830e77376634b373162" +
+        "2eaf30d92e22a3886ff109279d9830dac727afb94a83ee6d8360cbdfa2cc0640"),
+      raw("Scrypt", types, "password".getBytes(StandardCharsets.UTF_8), "NaCl".getBytes(StandardCharsets.UTF_8), 1024, 8, 16, 64));
+    assertArrayEquals(Codec.base16Decode(
+        "7023bdcb3afd7348461c06cd81fd38ebfda8fbba904f8e3ea9b543f6545da1f2" +
+        "d5432955613f0fcf62d49705242a9af9e61e85dc0d651e40dfcf017b45575887"),
+      raw("Scrypt", types, "pleaseletmein".getBytes(StandardCharsets.UTF_8), "SodiumChloride".getBytes(StandardCharsets.UTF_8), 16384, 8, 1, 64));
+  }
+
+  /**
+   * bcrypt hashes use their own base64 alphabet, the bit layout is the standard one.
+   */
+  private static String fromBCryptBase64(String bcrypt) {
+    final String from = "./ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    final String to = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+    final StringBuilder sb = new StringBuilder(bcrypt.length());
+    for (int i = 0; i < bcrypt.length(); i++) {
+      sb.append(to.charAt(from.indexOf(bcrypt.charAt(i))));
+    }
+    return sb.toString();
+  }
+
+  @Test
+  public void testBCryptKnownAnswer() {
+    // OpenBSD / jBCrypt test vectors, $2a$ and $2b$ only differ for passwords longer than 255 bytes
+    final String[][] vectors = {
+      {"", "$2a$06$DCq7YPn5Rq63x1Lad4cll.TV4S6ytwfsfvkgY8jIucDrjc8deX1s."},
+      {"a", "$2a$06$m0CrhHm10qJ3lXRY.5zDGO3rS2KdeeWLuGmsfGlMfOxih58VYVfxe"},
+      {"abc", "$2a$06$If6bvum7DFjUnE9p2uDeDu0YHzrHM6tf.iqN8.yx.jNN1ILEf7h0i"},
+      {"abcdefghijklmnopqrstuvwxyz", "$2a$06$.rCVZVOThsIa97pEDOxvGuRRgzG64bvtJ0938xuqzv18d3ZpQhstC"},
+      {"~!@#$%^&*()      ~!@#$%^&*()PNBFRD", "$2a$06$fPIsBO8qRqkjj273rfaOI.HtSV9jLDpTbZn782DC6/t7qT67P6FfO"}
+    };
+    HashingStrategy strategy = HashingStrategy.load();
+    HashMap<String, String> params = new HashMap<>();
+    params.put("c", "6");
+    for (String[] vector : vectors) {
+      final String salt = Codec.base64Encode(Codec.base64Decode(fromBCryptBase64(vector[1].substring(7, 29)) + "=="));
+      final String hash = "$bcrypt$c=6$" + salt + "$" + fromBCryptBase64(vector[1].substring(29));
+      assertEquals(hash, strategy.hash("bcrypt", params, salt, vector[0]));
+      assertTrue(strategy.verify(hash, vector[0]));
+    }
+  }
+
+
+  @Test
+  public void testVerifyAsyncArgon2id(TestContext should) {
+    HashingStrategy strategy = HashingStrategy.load(rule.vertx(), 2, 16);
+    final String salt = Codec.base64Encode("keyboard.cat.sal".getBytes(StandardCharsets.UTF_8));
+    String hash = strategy.hash("argon2id", null, salt, "SuperSecret$!");
+
+    strategy.verifyAsync(hash, "SuperSecret$!")
+      .onComplete(should.asyncAssertSuccess(should::assertTrue));
+    strategy.verifyAsync(hash, "superSecret$!")
+      .onComplete(should.asyncAssertSuccess(should::assertFalse));
+  }
+
+  @Test
+  public void testNeedsRehash() {
+    HashingStrategy strategy = HashingStrategy.load();
+    RehashPolicy policy = new RehashPolicy("pbkdf2", Collections.singletonMap("it", "20000"));
+
+    // another algorithm
+    assertTrue(policy.needsRehash(strategy.hash("sha512", null, salt, "SuperSecret$!")));
+    // the algorithm default
+    assertTrue(policy.needsRehash(strategy.hash("pbkdf2", null, salt, "SuperSecret$!")));
+    // weaker
+    assertTrue(policy.needsRehash(strategy.hash("pbkdf2", Collections.singletonMap("it", "10000"), salt, "SuperSecret$!")));
+    // same
+    assertFalse(policy.needsRehash(strategy.hash("pbkdf2", Collections.singletonMap("it", "20000"), salt, "SuperSecret$!")));
+    // stronger, never downgraded
+    assertFalse(policy.needsRehash(strategy.hash("pbkdf2", Collections.singletonMap("it", "30000"), salt, "SuperSecret$!")));
+    assertFalse(policy.needsRehash(null));
+  }
+
+  @Test
+  public void testRehashAsync(TestContext should) {
+    HashingStrategy strategy = HashingStrategy.load(rule.vertx(), 2, 16);
+    RehashPolicy policy = new RehashPolicy("pbkdf2", Collections.singletonMap("it", "20000"));
+    String hash = strategy.hash("sha512", null, salt, "SuperSecret$!");
+
+    strategy.rehashAsync(policy, hash, "SuperSecret$!")
+      .onComplete(should.asyncAssertSuccess(newHash -> {
+        should.assertTrue(newHash.startsWith("$pbkdf2$it=20000$"));
+        should.assertTrue(strategy.verify(newHash, "SuperSecret$!"));
+        // up to date, nothing to do
+        strategy.rehashAsync(policy, newHash, "SuperSecret$!")
+          .onComplete(should.asyncAssertSuccess(should::assertNull));
+      }));
+  }
+
+  @Test
+  public void testRehashAsyncBCrypt(TestContext should) {
+    HashingStrategy strategy = HashingStrategy.load(rule.vertx(), 2, 16);
+    RehashPolicy policy = new RehashPolicy("bcrypt", Collections.singletonMap("c", "4"));
+    String hash = strategy.hash("sha512", null, salt, "SuperSecret$!");
+
+    // the salt length follows the algorithm
+    assertEquals(16, policy.getSaltLength());
+    assertThrows(IllegalArgumentException.class, () -> policy.setSaltLength(32));
+
+    strategy.rehashAsync(policy, hash, "SuperSecret$!")
+      .onComplete(should.asyncAssertSuccess(newHash -> {
+        should.assertTrue(newHash.startsWith("$bcrypt$c=4$"));
+        should.assertTrue(strategy.verify(newHash, "SuperSecret$!"));
+      }));
+  }
+
+  @Test
+  public void testParseHashString() {
+    HashString hashString = new HashString("$pbkdf2$it=1000,x=a=b$c2FsdA==$aGFzaA");
+    assertEquals("pbkdf2", hashString.id());
+    assertEquals("1000", hashString.param("it"));
+    assertEquals("a=b", hashString.param("x"));
+    assertEquals("c2FsdA==", hashString.salt());
+    assertArrayEquals("salt".getBytes(StandardCharsets.UTF_8), hashString.saltBytes());
+    assertEquals("aGFzaA", hashString.hash());
+
+    // htpasswd formats
+    hashString = new HashString("{SHA}VBPuJHI7uixaa6LQGWx4s+5GKNE=");
+    assertEquals("{SHA}", hashString.id());
+    assertEquals("VBPuJHI7uixaa6LQGWx4s+5GKNE=", hashString.hash());
+
+    hashString = new HashString("0MJgtfTc6oYDE");
+    assertEquals("", hashString.id());
+    assertEquals("0MJgtfTc6oYDE", hashString.hash());
+
+    hashString = new HashString("$2y$05$QwbS8vp1A/yQ1AlQ8ySDOuzONdR3U6A.xATjBHno/.nvp8O55eVaG");
+    assertEquals("2y", hashString.id());
+    assertEquals("05", hashString.salt());
+    assertNull(hashString.params());
+
+    // trailing empty segments are ignored
+    hashString = new HashString("$sha512$$");
+    assertEquals("sha512", hashString.id());
+    assertNull(hashString.hash());
+
+    try {
+      new HashString("$$");
+      fail("Not enough segments");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testVerifyParsedOnce() throws Exception {
+    HashingStrategy strategy = HashingStrategy.load();
+    String hash = strategy.hash("pbkdf2", null, salt, "SuperSecret$!");
+    final Field field = strategy.getClass().getDeclaredField("parsed");
+    field.setAccessible(true);
+    final Map<?, ?> parsed = (Map<?, ?>) field.get(strategy);
+
+    assertTrue(strategy.verify(hash, "SuperSecret$!"));
+    final Object entry = parsed.get(hash);
+    assertNotNull(entry);
+    for (int i = 0; i < 3; i++) {
+      assertTrue(strategy.verify(hash, "SuperSecret$!"));
+      assertFalse(strategy.verify(hash, "superSecret$!"));
+    }
+    assertSame(entry, parsed.get(hash));
+
+    // many distinct hashes don't grow the cache without bounds
+    String inUse = strategy.hash("sha512", null, salt, "SuperSecret$!");
+    assertTrue(strategy.verify(inUse, "SuperSecret$!"));
+    final Object inUseEntry = parsed.get(inUse);
+    for (int i = 0; i < 2 * HashingStrategyImpl.DEFAULT_CACHE_SIZE; i++) {
+      assertFalse(strategy.verify("$sha512$" + i, "SuperSecret$!"));
+      // a hash used between two evictions is not evicted
+      assertTrue(strategy.verify(inUse, "SuperSecret$!"));
+    }
+    assertEquals(HashingStrategyImpl.DEFAULT_CACHE_SIZE, parsed.size());
+    assertSame(inUseEntry, parsed.get(inUse));
+  }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.tests;
+
+import io.vertx.core.MultiMap;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authorization.*;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class MatchAllTest {
+
+  @Test
+  public void testMatchAll() {
+    User user = User.fromName("paulo");
+    user.authorizations()
+      .put("roles", RoleBasedAuthorization.create("role1"))
+      .put("permissions",
+        PermissionBasedAuthorization.create("p1"),
+        PermissionBasedAuthorization.create("p2").setResource("doc:42"),
+        WildcardPermissionBasedAuthorization.create("doc:read"));
+
+    AuthorizationContext context = AuthorizationContext.create(user, MultiMap.caseInsensitiveMultiMap().add("id", "42"));
+
+    List<Authorization> authorizations = Arrays.asList(
+      RoleBasedAuthorization.create("role1"),
+      RoleBasedAuthorization.create("role2"),
+      PermissionBasedAuthorization.create("p1"),
+      PermissionBasedAuthorization.create("p2").setResource("doc:{id}"),
+      PermissionBasedAuthorization.create("p2").setResource("doc:{missing}"),
+      PermissionBasedAuthorization.create("doc:read"),
+      AndAuthorization.create()
+        .addAuthorization(RoleBasedAuthorization.create("role1"))
+        .addAuthorization(PermissionBasedAuthorization.create("p1")),
+      OrAuthorization.create()
+        .addAuthorization(RoleBasedAuthorization.create("role2"))
+        .addAuthorization(PermissionBasedAuthorization.create("p3")),
+      NotAuthorization.create(RoleBasedAuthorization.create("role2")),
+      // unknown type matched directly
+      (Authorization) new Authorization() {
+        @Override
+        public boolean match(AuthorizationContext context) {
+          return true;
+        }
+
+        @Override
+        public boolean verify(Authorization authorization) {
+          return false;
+        }
+      });
+
+    BitSet expected = new BitSet();
+    for (int i = 0; i < authorizations.size(); i++) {
+      if (authorizations.get(i).match(context)) {
+        expected.set(i);
+      }
+    }
+
+    BitSet result = Authorization.matchAll(context, authorizations);
+    assertEquals(expected, result);
+    assertEquals("{0, 2, 3, 5, 6, 8, 9}", result.toString());
+  }
+
+  @Test
+  public void testMatchAllWithoutAuthorizations() {
+    User user = User.fromName("paulo");
+    BitSet result = Authorization.matchAll(AuthorizationContext.create(user), Arrays.asList(
+      RoleBasedAuthorization.create("role1"),
+      NotAuthorization.create(RoleBasedAuthorization.create("role1"))));
+    assertEquals("{1}", result.toString());
+  }
+}
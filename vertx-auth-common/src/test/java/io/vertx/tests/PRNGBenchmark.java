@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.tests;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.ext.auth.prng.VertxContextPRNG;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput of {@code VertxContextPRNG.current(context).nextString(32)} on 1 up to the given number of event loops,
+ * with and without the entropy pool. It is not run by the build, run the {@code main} method with the test classpath:
+ *
+ * <pre>
+ * java -cp ... io.vertx.tests.PRNGBenchmark [event loops] [seconds]
+ * </pre>
+ */
+public class PRNGBenchmark {
+
+  private static final int BATCH = 10_000;
+
+  public static void main(String[] args) throws Exception {
+    final int eventLoops = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+    final long duration = (args.length > 1 ? Long.parseLong(args[1]) : 2) * 1_000_000_000L;
+
+    for (String poolSize : new String[]{"0", "4096"}) {
+      // read when the PRNG of a context is created
+      System.setProperty("io.vertx.ext.auth.prng.pool.size", poolSize);
+      double single = 0;
+      for (int loops = 1; loops <= eventLoops; loops *= 2) {
+        final Vertx vertx = Vertx.vertx(new VertxOptions().setEventLoopPoolSize(loops));
+        try {
+          final double throughput = run(vertx, loops, duration);
+          if (loops == 1) {
+            single = throughput;
+          }
+          System.out.printf("pool %s, %d event loops: %.0f ops/s (x%.2f)%n", poolSize, loops, throughput, throughput / single);
+        } finally {
+          vertx.close().await();
+        }
+      }
+    }
+  }
+
+  private static double run(Vertx vertx, int loops, long duration) throws InterruptedException {
+    final LongAdder operations = new LongAdder();
+    final CountDownLatch latch = new CountDownLatch(loops);
+    final long deadline = System.nanoTime() + duration;
+    for (int i = 0; i < loops; i++) {
+      final Context context = vertx.getOrCreateContext();
+      context.runOnContext(v -> batch(context, deadline, operations, latch));
+    }
+    latch.await();
+    return operations.sum() / (duration / 1e9);
+  }
+
+  /**
+   * Batches of operations, the event loop is not blocked for the whole run.
+   */
+  private static void batch(Context context, long deadline, LongAdder operations, CountDownLatch latch) {
+    for (int i = 0; i < BATCH; i++) {
+      if (VertxContextPRNG.current(context).nextString(32).length() != 43) {
+        throw new AssertionError("Unexpected length");
+      }
+    }
+    operations.add(BATCH);
+    if (System.nanoTime() < deadline) {
+      context.runOnContext(v -> batch(context, deadline, operations, latch));
+    } else {
+      latch.countDown();
+    }
+  }
+}
@@ -15,6 +15,7 @@ package io.vertx.tests;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServer;
 import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authorization.Authorization;
 import io.vertx.ext.auth.authorization.AuthorizationContext;
 import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
 import io.vertx.ext.auth.authorization.WildcardPermissionBasedAuthorization;
@@ -77,6 +78,37 @@ public class PermissionBasedAuthorizationTest {
     assertTrue(PermissionBasedAuthorization.create("p1.*").verify(WildcardPermissionBasedAuthorization.create("p1.*")));
   }
 
+  @Test
+  public void testVerifyOtherImplementation() {
+    // implementations of the public interface that are not the built-in ones are still verified
+    PermissionBasedAuthorization other = new PermissionBasedAuthorization() {
+      @Override
+      public String getPermission() {
+        return "p1";
+      }
+      @Override
+      public String getResource() {
+        return "r1";
+      }
+      @Override
+      public PermissionBasedAuthorization setResource(String resource) {
+        throw new UnsupportedOperationException();
+      }
+      @Override
+      public boolean match(AuthorizationContext context) {
+        return false;
+      }
+      @Override
+      public boolean verify(Authorization authorization) {
+        return false;
+      }
+    };
+    assertTrue(PermissionBasedAuthorization.create("p1").setResource("r1").verify(other));
+    assertFalse(PermissionBasedAuthorization.create("p1").verify(other));
+    assertTrue(WildcardPermissionBasedAuthorization.create("p1").verify(other));
+    assertFalse(WildcardPermissionBasedAuthorization.create("p1").setResource("r2").verify(other));
+  }
+
   @Test
   public void testMatch1(TestContext should) {
     final Async test = should.async();
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.tests;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
+import io.vertx.ext.auth.authorization.RoleHierarchy;
+import io.vertx.ext.auth.authorization.impl.AuthorizationDictionary;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RoleHierarchyTest {
+
+  private static final JsonObject GRAPH = new JsonObject()
+    .put("admin", new JsonObject()
+      .put("roles", new JsonArray().add("editor"))
+      .put("permissions", new JsonArray().add("users:manage")))
+    .put("editor", new JsonObject()
+      .put("roles", new JsonArray().add("viewer"))
+      .put("permissions", new JsonArray().add("doc:write")))
+    .put("viewer", new JsonObject()
+      .put("permissions", new JsonArray().add("doc:read")));
+
+  @Test
+  public void testVerify() {
+    RoleHierarchy hierarchy = RoleHierarchy.create(GRAPH);
+
+    assertTrue(hierarchy.verify("admin", RoleBasedAuthorization.create("admin")));
+    assertTrue(hierarchy.verify("admin", RoleBasedAuthorization.create("viewer")));
+    assertTrue(hierarchy.verify("admin", PermissionBasedAuthorization.create("doc:read")));
+    assertTrue(hierarchy.verify("editor", PermissionBasedAuthorization.create("doc:write")));
+    assertFalse(hierarchy.verify("editor", RoleBasedAuthorization.create("admin")));
+    assertFalse(hierarchy.verify("viewer", PermissionBasedAuthorization.create("doc:write")));
+    assertFalse(hierarchy.verify("viewer", PermissionBasedAuthorization.create("unknown")));
+    assertFalse(hierarchy.verify("unknown", PermissionBasedAuthorization.create("doc:read")));
+    // resources are not inherited
+    assertFalse(hierarchy.verify("admin", PermissionBasedAuthorization.create("doc:read").setResource("r1")));
+  }
+
+  @Test
+  public void testCycle() {
+    RoleHierarchy hierarchy = RoleHierarchy.create(new JsonObject()
+      .put("a", new JsonObject().put("roles", new JsonArray().add("b")).put("permissions", new JsonArray().add("p1")))
+      .put("b", new JsonObject().put("roles", new JsonArray().add("a")).put("permissions", new JsonArray().add("p2"))));
+
+    assertTrue(hierarchy.verify("a", PermissionBasedAuthorization.create("p2")));
+    assertTrue(hierarchy.verify("b", PermissionBasedAuthorization.create("p1")));
+  }
+
+  @Test
+  public void testMatch() {
+    RoleHierarchy hierarchy = RoleHierarchy.create(GRAPH);
+
+    User user = User.fromName("paulo");
+    user.authorizations().put("providerId", RoleBasedAuthorization.create("editor"));
+
+    assertTrue(hierarchy.authorization(PermissionBasedAuthorization.create("doc:read")).match(user));
+    assertTrue(hierarchy.authorization(RoleBasedAuthorization.create("editor")).match(user));
+    assertFalse(hierarchy.authorization(PermissionBasedAuthorization.create("users:manage")).match(user));
+    // the plain authorization is not aware of the hierarchy
+    assertFalse(PermissionBasedAuthorization.create("doc:read").match(user));
+  }
+
+  @Test
+  public void testReload() {
+    RoleHierarchy hierarchy = RoleHierarchy.create(GRAPH);
+    Authorization authorization = hierarchy.authorization(PermissionBasedAuthorization.create("doc:read"));
+
+    User user = User.fromName("paulo");
+    user.authorizations().put("providerId", RoleBasedAuthorization.create("admin"));
+
+    assertTrue(authorization.match(user));
+    hierarchy.reload(new JsonObject().put("admin", new JsonObject().put("permissions", new JsonArray().add("users:manage"))));
+    assertFalse(authorization.match(user));
+    assertTrue(hierarchy.authorization(PermissionBasedAuthorization.create("users:manage")).match(user));
+  }
+
+  @Test
+  public void testReloadDoesNotIntern() {
+    final String role = "hierarchy-only-" + System.nanoTime();
+    RoleHierarchy hierarchy = RoleHierarchy.create(new JsonObject()
+      .put(role, new JsonObject().put("permissions", new JsonArray().add("doc:read"))));
+    Authorization authorization = hierarchy.authorization(PermissionBasedAuthorization.create("doc:read"));
+
+    User user = User.fromName("paulo");
+    user.authorizations().put("providerId", RoleBasedAuthorization.create("viewer"));
+    assertFalse(authorization.match(user));
+    // roles are only interned when granted
+    assertEquals(-1, AuthorizationDictionary.ROLES.id(role));
+
+    // granted after the hierarchy was loaded
+    user.authorizations().put("providerId", RoleBasedAuthorization.create(role));
+    assertTrue(authorization.match(user));
+  }
+}
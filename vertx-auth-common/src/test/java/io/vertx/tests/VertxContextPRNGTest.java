@@ -1,17 +1,35 @@
 package io.vertx.tests;
 
+import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.ext.auth.prng.PRNG;
 import io.vertx.ext.auth.prng.VertxContextPRNG;
+import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.RunTestOnContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(VertxUnitRunner.class)
 public class VertxContextPRNGTest {
@@ -46,4 +64,192 @@ public class VertxContextPRNGTest {
     assertNotNull(VertxContextPRNG.current(context));
   }
 
+
+  @Test
+  public void testNextStringPooled() {
+    final PRNG random = new PRNG(rule.vertx());
+    try {
+      final Set<String> seen = new HashSet<>();
+      // crosses several pool refills
+      for (int i = 0; i < 1000; i++) {
+        final String value = random.nextString(32);
+        assertEquals(32, Base64.getUrlDecoder().decode(value).length);
+        assertTrue(seen.add(value));
+      }
+    } finally {
+      random.close();
+    }
+  }
+
+  @Test
+  public void testNextBytesLargerThanPool() {
+    final PRNG random = new PRNG(rule.vertx());
+    try {
+      final byte[] bytes = new byte[8192];
+      random.nextBytes(bytes);
+      boolean zero = true;
+      for (byte b : bytes) {
+        zero &= b == 0;
+      }
+      assertFalse(zero);
+    } finally {
+      random.close();
+    }
+  }
+
+  @Test
+  public void testConcurrentUse() throws Exception {
+    final PRNG random = new PRNG(rule.vertx());
+    try {
+      final Set<String> seen = ConcurrentHashMap.newKeySet();
+      final List<Thread> threads = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        threads.add(new Thread(() -> {
+          for (int i = 0; i < 2000; i++) {
+            assertTrue(seen.add(random.nextString(16)));
+          }
+        }));
+      }
+      threads.forEach(Thread::start);
+      for (Thread thread : threads) {
+        thread.join();
+      }
+      // no slice of the pool was handed out twice
+      assertEquals(8000, seen.size());
+    } finally {
+      random.close();
+    }
+  }
+
+  @Test
+  public void testSharedOffContext() throws Exception {
+    final Vertx vertx = rule.vertx();
+    final VertxContextPRNG[] prngs = new VertxContextPRNG[2];
+    // not on a vert.x thread
+    final Thread thread = new Thread(() -> {
+      prngs[0] = VertxContextPRNG.current(vertx);
+      // closing the shared instance has no effect
+      prngs[0].close();
+      prngs[1] = VertxContextPRNG.current(vertx);
+    });
+    thread.start();
+    thread.join();
+    assertNotNull(prngs[0]);
+    assertSame(prngs[0], prngs[1]);
+    assertEquals(32, Base64.getUrlDecoder().decode(prngs[1].nextString(32)).length);
+  }
+
+  @Test
+  public void testConcurrentCreation() throws Exception {
+    final Context context = rule.vertx().getOrCreateContext();
+    final Set<VertxContextPRNG> seen = ConcurrentHashMap.newKeySet();
+    final List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      threads.add(new Thread(() -> seen.add(VertxContextPRNG.current(context))));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    // a single PRNG per context
+    assertEquals(1, seen.size());
+    assertSame(seen.iterator().next(), VertxContextPRNG.current(context));
+  }
+
+  @Test
+  public void testReseedDiscardsPool(TestContext should) {
+    final Vertx vertx = Vertx.vertx();
+    final PRNG random = reseeding(() -> new PRNG(vertx));
+    // fills the pool, most of it is left
+    random.nextBytes(new byte[16]);
+    should.assertTrue(isDirty(random));
+    boolean pooled = false;
+    for (byte b : pool(random)) {
+      pooled |= b != 0;
+    }
+    should.assertTrue(pooled);
+
+    reseeded(vertx, random)
+      .eventually(() -> vertx.close())
+      .onComplete(should.asyncAssertSuccess(v -> {
+        for (byte b : pool(random)) {
+          should.assertEquals((byte) 0, b);
+        }
+        random.close();
+      }));
+  }
+
+  @Test
+  public void testReseedAfterUndeploy(TestContext should) {
+    final Vertx vertx = Vertx.vertx();
+    final PRNG[] random = new PRNG[1];
+    // not bound to a context of the vert.x instance closed at the end
+    final Promise<Void> test = Promise.promise();
+
+    // the first PRNG of the instance is used by a verticle
+    vertx.deployVerticle(new AbstractVerticle() {
+        @Override
+        public void start() {
+          reseeding(() -> VertxContextPRNG.current(vertx)).nextString(8);
+        }
+      })
+      .compose(vertx::undeploy)
+      .compose(v -> {
+        random[0] = new PRNG(vertx);
+        random[0].nextBytes(new byte[16]);
+        return reseeded(vertx, random[0]);
+      })
+      .onComplete(test);
+
+    test.future()
+      .eventually(() -> vertx.close())
+      .onComplete(should.asyncAssertSuccess(v -> random[0].close()));
+  }
+
+  /**
+   * Creates the first PRNG of a vert.x instance, the instance then reseeds its PRNGs every 100ms.
+   */
+  private static <T> T reseeding(Supplier<T> first) {
+    System.setProperty("io.vertx.ext.auth.prng.seed.interval", "100");
+    try {
+      return first.get();
+    } finally {
+      System.clearProperty("io.vertx.ext.auth.prng.seed.interval");
+    }
+  }
+
+  private static Future<Void> reseeded(Vertx vertx, PRNG random) {
+    final Promise<Void> promise = Promise.promise();
+    final long deadline = System.currentTimeMillis() + 5000;
+    vertx.setPeriodic(50, id -> {
+      if (!isDirty(random)) {
+        vertx.cancelTimer(id);
+        promise.complete();
+      } else if (System.currentTimeMillis() > deadline) {
+        vertx.cancelTimer(id);
+        promise.fail("not reseeded");
+      }
+    });
+    return promise.future();
+  }
+
+  private static boolean isDirty(PRNG random) {
+    try {
+      final Method isDirty = PRNG.class.getDeclaredMethod("isDirty");
+      isDirty.setAccessible(true);
+      return (boolean) isDirty.invoke(random);
+    } catch (ReflectiveOperationException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private static byte[] pool(PRNG random) {
+    try {
+      final Field pool = PRNG.class.getDeclaredField("pool");
+      pool.setAccessible(true);
+      return (byte[]) pool.get(random);
+    } catch (ReflectiveOperationException e) {
+      throw new AssertionError(e);
+    }
+  }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.tests.authorization.impl;
+
+import io.vertx.core.MultiMap;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authorization.*;
+import io.vertx.ext.auth.authorization.impl.AuthorizationContextImpl;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Micro benchmark of {@link Authorization#match(AuthorizationContext)} over users holding a mix of roles,
+ * permissions and wildcard permissions with resources, which are checked one by one against the required
+ * authorization. It is not run by the build, run the {@code main} method with the test classpath:
+ *
+ * <pre>
+ * java -cp ... io.vertx.tests.authorization.impl.AuthorizationVerifyBenchmark [iterations]
+ * </pre>
+ */
+public class AuthorizationVerifyBenchmark {
+
+  private static final int GRANTS = 64;
+
+  public static void main(String[] args) {
+    final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+    // resources keep the grants out of the compact bitmaps, so each of them is verified
+    final Set<Authorization> grants = new HashSet<>();
+    for (int i = 0; i < GRANTS; i++) {
+      switch (i % 3) {
+        case 0:
+          grants.add(RoleBasedAuthorization.create("role" + i).setResource("r" + i));
+          break;
+        case 1:
+          grants.add(PermissionBasedAuthorization.create("perm" + i).setResource("r" + i));
+          break;
+        default:
+          grants.add(WildcardPermissionBasedAuthorization.create("wild" + i + ":*").setResource("r" + i));
+          break;
+      }
+    }
+    final User user = User.fromName("bench");
+    user.authorizations().put("bench", grants);
+
+    final AuthorizationContext context = new AuthorizationContextImpl(user, MultiMap.caseInsensitiveMultiMap().add("id", "r64"));
+    final Authorization[] required = {
+      // misses, the whole set is walked
+      RoleBasedAuthorization.create("role0").setResource("other"),
+      PermissionBasedAuthorization.create("perm1").setResource("other"),
+      WildcardPermissionBasedAuthorization.create("wild2:read").setResource("other"),
+      PermissionBasedAuthorization.create("perm").setResource("{id}"),
+      // hits
+      WildcardPermissionBasedAuthorization.create("wild62:read").setResource("r62"),
+      PermissionBasedAuthorization.create("perm61").setResource("r61")
+    };
+
+    // warm up
+    run(context, required, iterations / 4);
+    for (int round = 0; round < 5; round++) {
+      final long start = System.nanoTime();
+      final int matches = run(context, required, iterations);
+      final long elapsed = System.nanoTime() - start;
+      System.out.printf("round %d: %.1f ns/match (%d matches)%n", round, (double) elapsed / ((long) iterations * required.length), matches);
+    }
+  }
+
+  private static int run(AuthorizationContext context, Authorization[] required, int iterations) {
+    int matches = 0;
+    for (int i = 0; i < iterations; i++) {
+      for (Authorization authorization : required) {
+        if (authorization.match(context)) {
+          matches++;
+        }
+      }
+    }
+    return matches;
+  }
+}
@@ -0,0 +1,158 @@
+package io.vertx.tests.authorization.impl;
+
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
+import io.vertx.ext.auth.authorization.WildcardPermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.impl.AuthorizationDictionary;
+import io.vertx.ext.auth.authorization.impl.AuthorizationsImpl;
+import io.vertx.ext.auth.authorization.impl.CompactAuthorizationSet;
+import io.vertx.ext.auth.authorization.impl.IntBitmap;
+import io.vertx.ext.auth.authorization.impl.RoleBasedAuthorizationImpl;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class CompactAuthorizationSetTest {
+
+  @Test
+  public void testBitmap() {
+    int[] values = new int[10000];
+    for (int i = 0; i < 5000; i++) {
+      // dense container
+      values[i] = i;
+      // sparse container
+      values[5000 + i] = 70000 + i * 3;
+    }
+    IntBitmap bitmap = IntBitmap.of(values, values.length);
+    assertEquals(10000, bitmap.size());
+    assertTrue(bitmap.contains(0));
+    assertTrue(bitmap.contains(4999));
+    assertFalse(bitmap.contains(5000));
+    assertTrue(bitmap.contains(70003));
+    assertFalse(bitmap.contains(70004));
+    assertFalse(bitmap.contains(-1));
+    assertEquals(10000, bitmap.toArray().length);
+  }
+
+  @Test
+  public void testBitmapDuplicates() {
+    IntBitmap bitmap = IntBitmap.of(new int[]{3, 1, 3, 2, 1}, 5);
+    assertEquals(3, bitmap.size());
+    assertArrayEquals(new int[]{1, 2, 3}, bitmap.toArray());
+  }
+
+  @Test
+  public void testBitmapIntersects() {
+    int[] values = new int[5000];
+    for (int i = 0; i < 5000; i++) {
+      // dense container
+      values[i] = i * 2;
+    }
+    IntBitmap dense = IntBitmap.of(values, values.length);
+    IntBitmap sparse = IntBitmap.of(new int[]{1, 3, 70000}, 3);
+    assertFalse(dense.intersects(sparse));
+    assertFalse(sparse.intersects(dense));
+    assertTrue(dense.intersects(IntBitmap.of(new int[]{3, 9998}, 2)));
+    assertTrue(IntBitmap.of(new int[]{9998}, 1).intersects(dense));
+    assertTrue(dense.intersects(dense));
+    assertTrue(sparse.intersects(IntBitmap.of(new int[]{2, 70000}, 2)));
+    assertFalse(sparse.intersects(IntBitmap.of(new int[]{2, 70001}, 2)));
+    assertFalse(sparse.intersects(IntBitmap.EMPTY));
+  }
+
+  @Test
+  public void testVerify() {
+    Set<Authorization> authorizations = new HashSet<>();
+    authorizations.add(RoleBasedAuthorization.create("role1"));
+    authorizations.add(PermissionBasedAuthorization.create("p1"));
+    authorizations.add(PermissionBasedAuthorization.create("p2").setResource("r1"));
+    authorizations.add(WildcardPermissionBasedAuthorization.create("doc:*"));
+
+    CompactAuthorizationSet set = CompactAuthorizationSet.create(authorizations);
+    assertEquals(1, set.roles().size());
+    assertEquals(1, set.permissions().size());
+    assertEquals(2, set.others().size());
+
+    assertTrue(set.verify(RoleBasedAuthorization.create("role1")));
+    assertFalse(set.verify(RoleBasedAuthorization.create("role1").setResource("r1")));
+    assertTrue(set.verify(PermissionBasedAuthorization.create("p1")));
+    assertTrue(set.verify(WildcardPermissionBasedAuthorization.create("p1")));
+    assertTrue(set.verify(PermissionBasedAuthorization.create("p2").setResource("r1")));
+    assertTrue(set.verify(PermissionBasedAuthorization.create("doc:read")));
+    assertFalse(set.verify(PermissionBasedAuthorization.create("p3")));
+  }
+
+  @Test
+  public void testSetContract() {
+    Set<Authorization> authorizations = new HashSet<>();
+    authorizations.add(RoleBasedAuthorization.create("role1"));
+    authorizations.add(PermissionBasedAuthorization.create("p1"));
+    authorizations.add(PermissionBasedAuthorization.create("p2").setResource("r1"));
+
+    CompactAuthorizationSet set = CompactAuthorizationSet.create(authorizations);
+    assertEquals(3, set.size());
+    assertTrue(set.contains(RoleBasedAuthorization.create("role1")));
+    assertTrue(set.contains(PermissionBasedAuthorization.create("p2").setResource("r1")));
+    assertFalse(set.contains(PermissionBasedAuthorization.create("p2")));
+    assertEquals(authorizations, set);
+    assertEquals(set, authorizations);
+    assertEquals(authorizations.hashCode(), set.hashCode());
+    assertEquals(authorizations, new HashSet<>(set));
+  }
+
+  @Test
+  public void testVerifyPredicates() {
+    Set<Authorization> granted = new HashSet<>();
+    granted.add(RoleBasedAuthorization.create("role1"));
+    granted.add(PermissionBasedAuthorization.create("p1"));
+    granted.add(PermissionBasedAuthorization.create("p2").setResource("r1"));
+    AuthorizationsImpl authorizations = new AuthorizationsImpl();
+    authorizations.put("providerId", granted);
+
+    // the plain role and permission are only seen as bits
+    List<Authorization> tested = new ArrayList<>();
+    assertFalse(authorizations.verify(compact -> false, authorization -> {
+      tested.add(authorization);
+      return false;
+    }));
+    assertEquals(1, tested.size());
+    assertEquals(PermissionBasedAuthorization.create("p2").setResource("r1"), tested.get(0));
+
+    int role1 = AuthorizationDictionary.ROLES.id("role1");
+    assertTrue(authorizations.verify(compact -> compact.roles().contains(role1), authorization -> false));
+  }
+
+  @Test
+  public void testSubclassVerify() {
+    // any role is verified by this role
+    Authorization superRole = new RoleBasedAuthorizationImpl("super") {
+      @Override
+      public boolean verify(Authorization authorization) {
+        return authorization instanceof RoleBasedAuthorization;
+      }
+    };
+    AuthorizationsImpl authorizations = new AuthorizationsImpl();
+    authorizations.put("providerId", superRole);
+    assertTrue(authorizations.verify(RoleBasedAuthorization.create("admin")));
+    assertFalse(authorizations.verify(PermissionBasedAuthorization.create("p1")));
+  }
+
+  @Test
+  public void testDictionaryBounded() {
+    AuthorizationDictionary dictionary = new AuthorizationDictionary(2);
+    assertEquals(0, dictionary.intern("a"));
+    assertEquals(1, dictionary.intern("b"));
+    // full, new names are not assigned an id
+    assertEquals(-1, dictionary.intern("c"));
+    assertEquals(-1, dictionary.id("c"));
+    // the known names are still resolved
+    assertEquals(1, dictionary.intern("b"));
+    assertEquals("a", dictionary.name(0));
+  }
+}
@@ -49,4 +49,31 @@ public class VariableAwareExpressionTest {
     String resolved = expression.resolve(MultiMap.caseInsensitiveMultiMap().add("bar", "foo"));
     assertEquals("part1foopart2,part3", resolved);
   }
+
+  @Test
+  public void testMatches() {
+    VariableAwareExpression expression = new VariableAwareExpression("doc:{id}:read");
+    MultiMap variables = MultiMap.caseInsensitiveMultiMap().add("id", "42");
+    assertTrue(expression.matches(variables, "doc:42:read"));
+    assertFalse(expression.matches(variables, "doc:43:read"));
+    assertFalse(expression.matches(variables, "doc:42:read:more"));
+    assertFalse(expression.matches(variables, "doc:42"));
+    assertFalse(expression.matches(variables, null));
+  }
+
+  @Test
+  public void testMatchesUnresolvedVariable() {
+    VariableAwareExpression expression = new VariableAwareExpression("doc:{id}");
+    MultiMap variables = MultiMap.caseInsensitiveMultiMap();
+    assertTrue(expression.matches(variables, "doc:{id}"));
+    assertFalse(expression.matches(variables, "doc:42"));
+  }
+
+  @Test
+  public void testMatchesWithoutVariable() {
+    VariableAwareExpression expression = new VariableAwareExpression("foo");
+    MultiMap variables = MultiMap.caseInsensitiveMultiMap().add("foo", "bar");
+    assertTrue(expression.matches(variables, "foo"));
+    assertFalse(expression.matches(variables, "bar"));
+  }
 }
@@ -1,6 +1,10 @@
 package io.vertx.tests.impl;
 
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
 import io.vertx.ext.auth.impl.UserConverter;
 import io.vertx.ext.auth.impl.UserImpl;
 import org.junit.Test;
@@ -16,4 +20,55 @@ public class UserConverterTest {
     assertFalse(json.containsKey("authorizations"));
     assertNull(json.getValue("attributes"));
   }
+
+  @Test
+  public void encode_groupsPlainAuthorizations() {
+    User user = User.fromName("paulo");
+    user.authorizations().put("providerId",
+      RoleBasedAuthorization.create("role1"),
+      PermissionBasedAuthorization.create("p1"),
+      PermissionBasedAuthorization.create("p2"),
+      PermissionBasedAuthorization.create("p3").setResource("r1"));
+
+    JsonObject json = UserConverter.encode(user, true);
+    JsonArray jsonAuthorizations = json.getJsonObject("authorizations").getJsonArray("providerId");
+    // roles, permissions and the permission with a resource
+    assertEquals(3, jsonAuthorizations.size());
+
+    User decoded = UserConverter.decode(json);
+    assertEquals(user, decoded);
+    assertTrue(PermissionBasedAuthorization.create("p2").match(decoded));
+    assertTrue(PermissionBasedAuthorization.create("p3").setResource("r1").match(decoded));
+  }
+
+  @Test
+  public void encode_ungroupedByDefault() {
+    User user = User.fromName("paulo");
+    user.authorizations().put("providerId",
+      RoleBasedAuthorization.create("role1"),
+      PermissionBasedAuthorization.create("p1"),
+      PermissionBasedAuthorization.create("p2"));
+
+    // the format older versions decode
+    JsonArray jsonAuthorizations = UserConverter.encode(user).getJsonObject("authorizations").getJsonArray("providerId");
+    assertEquals(3, jsonAuthorizations.size());
+    for (int i = 0; i < jsonAuthorizations.size(); i++) {
+      String type = jsonAuthorizations.getJsonObject(i).getString("type");
+      assertTrue("role".equals(type) || "permission".equals(type));
+    }
+  }
+
+  @Test
+  public void decode_ungroupedAuthorizations() {
+    JsonObject json = new JsonObject()
+      .put("principal", new JsonObject().put("username", "paulo"))
+      .put("authorizations", new JsonObject()
+        .put("providerId", new JsonArray()
+          .add(new JsonObject().put("type", "role").put("role", "role1"))
+          .add(new JsonObject().put("type", "permission").put("permission", "p1"))));
+
+    User decoded = UserConverter.decode(json);
+    assertTrue(RoleBasedAuthorization.create("role1").match(decoded));
+    assertTrue(PermissionBasedAuthorization.create("p1").match(decoded));
+  }
 }
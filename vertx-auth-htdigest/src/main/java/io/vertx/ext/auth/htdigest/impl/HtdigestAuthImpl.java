@@ -24,13 +24,14 @@ import io.vertx.ext.auth.authentication.CredentialValidationException;
 import io.vertx.ext.auth.authentication.Credentials;
 import io.vertx.ext.auth.htdigest.HtdigestAuth;
 import io.vertx.ext.auth.htdigest.HtdigestCredentials;
+import io.vertx.ext.auth.impl.ThreadLocalEngines;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import static io.vertx.ext.auth.impl.Codec.base16Encode;
 
@@ -41,7 +42,7 @@ import static io.vertx.ext.auth.impl.Codec.base16Encode;
  */
 public class HtdigestAuthImpl implements HtdigestAuth {
 
-  private static final MessageDigest MD5;
+  private static final ThreadLocal<MessageDigest> MD5 = ThreadLocalEngines.messageDigest("MD5");
 
   private static class Digest {
     final String username;
@@ -56,14 +57,6 @@ public class HtdigestAuthImpl implements HtdigestAuth {
     }
   }
 
-  static {
-    try {
-      MD5 = MessageDigest.getInstance("MD5");
-    } catch (NoSuchAlgorithmException e) {
-      throw new RuntimeException(e);
-    }
-  }
-
   private final Map<String, Digest> htdigest = new HashMap<>();
   private final String realm;
 
@@ -93,6 +86,11 @@ public class HtdigestAuthImpl implements HtdigestAuth {
     return realm;
   }
 
+  @Override
+  public Set<Class<? extends Credentials>> credentialTypes() {
+    return Collections.singleton(HtdigestCredentials.class);
+  }
+
   @Override
   public Future<User> authenticate(Credentials credentials) {
     final HtdigestCredentials authInfo;
@@ -155,9 +153,10 @@ public class HtdigestAuthImpl implements HtdigestAuth {
     }
   }
 
-  private static synchronized String md5(String payload) {
-    MD5.reset();
-    return base16Encode(MD5.digest(payload.getBytes(StandardCharsets.UTF_8)));
+  private static String md5(String payload) {
+    final MessageDigest md5 = MD5.get();
+    md5.reset();
+    return base16Encode(md5.digest(payload.getBytes(StandardCharsets.UTF_8)));
   }
 
   private static boolean isEqual(String digesta, String digestb) {
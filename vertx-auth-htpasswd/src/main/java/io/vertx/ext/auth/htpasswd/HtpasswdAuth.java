@@ -15,9 +15,13 @@
  */
 package io.vertx.ext.auth.htpasswd;
 
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Vertx;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
+import io.vertx.ext.auth.hashing.HashUpdater;
+import io.vertx.ext.auth.hashing.RehashPolicy;
 import io.vertx.ext.auth.htpasswd.impl.HtpasswdAuthImpl;
 
 /**
@@ -35,4 +39,18 @@ public interface HtpasswdAuth extends AuthenticationProvider {
   static HtpasswdAuth create(Vertx vertx, HtpasswdAuthOptions htpasswdAuthOptions) {
     return new HtpasswdAuthImpl(vertx, htpasswdAuthOptions);
   }
+
+  /**
+   * Upgrades the stored hashes on login. After a successful authentication, when the entry of the user is below the
+   * policy, a new hash is computed off the event loop and handed to the updater, which is expected to rewrite the
+   * htpasswd file. Once the updater succeeds the new hash replaces the entry loaded in memory. The authentication does
+   * not wait for the update and an update failure is only logged.
+   *
+   * @param policy  the expected algorithm and parameters
+   * @param updater stores the new hash
+   * @return self
+   */
+  @GenIgnore
+  @Fluent
+  HtpasswdAuth rehashPolicy(RehashPolicy policy, HashUpdater updater);
 }
@@ -17,7 +17,11 @@ package io.vertx.ext.auth.htpasswd.impl;
 
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.internal.logging.Logger;
+import io.vertx.core.internal.logging.LoggerFactory;
+import io.vertx.ext.auth.hashing.HashUpdater;
 import io.vertx.ext.auth.hashing.HashingStrategy;
+import io.vertx.ext.auth.hashing.RehashPolicy;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.CredentialValidationException;
 import io.vertx.ext.auth.authentication.Credentials;
@@ -27,8 +31,10 @@ import io.vertx.ext.auth.htpasswd.HtpasswdAuthOptions;
 import io.vertx.ext.auth.htpasswd.impl.hash.Plaintext;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -39,9 +45,15 @@ import java.util.regex.Pattern;
  */
 public class HtpasswdAuthImpl implements HtpasswdAuth {
 
+  private static final Logger LOG = LoggerFactory.getLogger(HtpasswdAuthImpl.class);
+
   private final HashingStrategy strategy = HashingStrategy.load();
 
-  private final Map<String, String> htUsers = new HashMap<>();
+  // entries are replaced after a rehash
+  private final Map<String, String> htUsers = new ConcurrentHashMap<>();
+
+  private volatile RehashPolicy rehashPolicy;
+  private volatile HashUpdater hashUpdater;
 
   public HtpasswdAuthImpl(Vertx vertx, HtpasswdAuthOptions options) {
     for (String line : vertx.fileSystem().readFileBlocking(options.getHtpasswdFile()).toString().split("\\r?\\n")) {
@@ -63,6 +75,11 @@ public class HtpasswdAuthImpl implements HtpasswdAuth {
     }
   }
 
+  @Override
+  public Set<Class<? extends Credentials>> credentialTypes() {
+    return Collections.singleton(UsernamePasswordCredentials.class);
+  }
+
   @Override
   public Future<User> authenticate(Credentials credential) {
 
@@ -78,17 +95,58 @@ public class HtpasswdAuthImpl implements HtpasswdAuth {
       return Future.failedFuture(e);
     }
 
-    if (!htUsers.containsKey(authInfo.getUsername())) {
+    final String hash = htUsers.get(authInfo.getUsername());
+    if (hash == null) {
       return Future.failedFuture("Unknown username.");
     }
 
-    if (strategy.verify(htUsers.get(authInfo.getUsername()), authInfo.getPassword())) {
-      User user = User.fromName(authInfo.getUsername());
-      // metadata "amr"
-      user.principal().put("amr", Collections.singletonList("pwd"));
-      return Future.succeededFuture(user);
-    } else {
-      return Future.failedFuture("Bad response");
+    // the hash is computed on a worker, not on the event loop
+    return strategy
+      .verifyAsync(hash, authInfo.getPassword())
+      .compose(valid -> {
+        if (valid) {
+          rehash(authInfo.getUsername(), hash, authInfo.getPassword());
+          User user = User.fromName(authInfo.getUsername());
+          // metadata "amr"
+          user.principal().put("amr", Collections.singletonList("pwd"));
+          return Future.succeededFuture(user);
+        } else {
+          return Future.failedFuture("Bad response");
+        }
+      });
+  }
+
+  @Override
+  public HtpasswdAuth rehashPolicy(RehashPolicy policy, HashUpdater updater) {
+    Objects.requireNonNull(policy);
+    // published by the policy write, rehash() reads the policy first
+    this.hashUpdater = Objects.requireNonNull(updater);
+    this.rehashPolicy = policy;
+    return this;
+  }
+
+  private void rehash(String username, String hash, String password) {
+    final RehashPolicy policy = rehashPolicy;
+    if (policy == null) {
+      return;
     }
+    final HashUpdater updater = hashUpdater;
+    // the login does not wait for the new hash to be stored
+    strategy
+      .rehashAsync(policy, hash, password)
+      .compose(newHash -> {
+        if (newHash == null) {
+          return Future.<Void>succeededFuture();
+        }
+        return updater
+          .update(username, newHash)
+          .andThen(ar -> {
+            if (ar.succeeded()) {
+              // unless the entry was replaced meanwhile
+              htUsers.replace(username, hash, newHash);
+            }
+          });
+      })
+      .onFailure(err -> LOG.warn("Failed to rehash the password of user: " + username, err));
   }
 }
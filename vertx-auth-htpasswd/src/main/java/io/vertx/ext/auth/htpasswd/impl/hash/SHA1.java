@@ -17,10 +17,10 @@ package io.vertx.ext.auth.htpasswd.impl.hash;
 
 import io.vertx.ext.auth.hashing.HashString;
 import io.vertx.ext.auth.hashing.HashingAlgorithm;
+import io.vertx.ext.auth.impl.ThreadLocalEngines;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 
 import static io.vertx.ext.auth.impl.Codec.base64Encode;
 
@@ -31,15 +31,7 @@ import static io.vertx.ext.auth.impl.Codec.base64Encode;
  */
 public class SHA1 implements HashingAlgorithm {
 
-  private final MessageDigest md;
-
-  public SHA1() {
-    try {
-      md = MessageDigest.getInstance("SHA1");
-    } catch (NoSuchAlgorithmException nsae) {
-      throw new RuntimeException("SHA1 is not available", nsae);
-    }
-  }
+  private final ThreadLocal<MessageDigest> md = ThreadLocalEngines.messageDigest("SHA1");
 
   @Override
   public String id() {
@@ -48,7 +40,7 @@ public class SHA1 implements HashingAlgorithm {
 
   @Override
   public String hash(HashString hashString, String password) {
-    return base64Encode(md.digest(password.getBytes(StandardCharsets.UTF_8)));
+    return base64Encode(md.get().digest(password.getBytes(StandardCharsets.UTF_8)));
   }
 
   @Override
@@ -17,6 +17,7 @@ module io.vertx.auth.htpasswd {
 
   requires transitive io.vertx.auth.common;
   requires org.apache.commons.codec;
+  requires io.vertx.core.logging;
 
   requires static io.vertx.codegen.api;
   requires static io.vertx.codegen.json;
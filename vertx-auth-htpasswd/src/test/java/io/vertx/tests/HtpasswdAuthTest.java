@@ -1,7 +1,10 @@
 package io.vertx.tests;
 
 import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.auth.hashing.RehashPolicy;
 import io.vertx.ext.auth.htpasswd.HtpasswdAuth;
 import io.vertx.ext.auth.htpasswd.HtpasswdAuthOptions;
 import io.vertx.ext.unit.Async;
@@ -14,6 +17,9 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * @author Neven Radovanović
  */
@@ -115,4 +121,33 @@ public class HtpasswdAuthTest {
         test.complete();
       });
   }
+
+  @Test
+  public void rehash(TestContext should) {
+    final Async test = should.async();
+    final AtomicInteger updates = new AtomicInteger();
+    final Promise<Void> updated = Promise.promise();
+    UsernamePasswordCredentials credentials = new UsernamePasswordCredentials("sha1", "myPassword");
+
+    HtpasswdAuth authProvider = HtpasswdAuth.create(rule.vertx())
+      .rehashPolicy(new RehashPolicy("pbkdf2", Collections.singletonMap("it", "1000")), (username, hash) -> {
+        should.assertEquals("sha1", username);
+        should.assertTrue(hash.startsWith("$pbkdf2$it=1000$"));
+        updates.incrementAndGet();
+        // let the provider replace its entry first
+        rule.vertx().runOnContext(v -> updated.complete());
+        return Future.succeededFuture();
+      });
+
+    authProvider
+      .authenticate(credentials)
+      .compose(user -> updated.future())
+      // the entry is now up to date
+      .compose(v -> authProvider.authenticate(credentials))
+      .onFailure(should::fail)
+      .onSuccess(user -> {
+        should.assertEquals(1, updates.get());
+        test.complete();
+      });
+  }
 }
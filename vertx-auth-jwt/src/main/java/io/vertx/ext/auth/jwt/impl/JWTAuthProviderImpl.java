@@ -45,6 +45,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 /**
  * @author Paulo Lopes
@@ -120,6 +121,11 @@ public class JWTAuthProviderImpl implements JWTAuth {
     }
   }
 
+  @Override
+  public Set<Class<? extends Credentials>> credentialTypes() {
+    return Collections.singleton(TokenCredentials.class);
+  }
+
   @Override
   public Future<User> authenticate(Credentials credentials) {
     final TokenCredentials authInfo;
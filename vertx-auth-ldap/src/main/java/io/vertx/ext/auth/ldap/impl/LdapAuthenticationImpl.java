@@ -29,6 +29,7 @@ import javax.naming.ldap.LdapContext;
 import java.util.Collections;
 import java.util.Hashtable;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * @author <a href="mail://stephane.bastian.dev@gmail.com">Stephane Bastian</a>
@@ -45,6 +46,11 @@ public class LdapAuthenticationImpl implements LdapAuthentication {
     this.authenticationOptions = Objects.requireNonNull(authenticationOptions);
   }
 
+  @Override
+  public Set<Class<? extends Credentials>> credentialTypes() {
+    return Collections.singleton(UsernamePasswordCredentials.class);
+  }
+
   @Override
   public Future<User> authenticate(Credentials credentials) {
     final UsernamePasswordCredentials authInfo;
@@ -102,6 +102,31 @@ public class OAuth2OptionsConverter {
             obj.setIntrospectionPath((String)member.getValue());
           }
           break;
+        case "introspectionCacheSize":
+          if (member.getValue() instanceof Number) {
+            obj.setIntrospectionCacheSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "introspectionCacheMaxAgeInSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setIntrospectionCacheMaxAgeInSeconds(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "introspectionCacheNegativeMaxAgeInSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setIntrospectionCacheNegativeMaxAgeInSeconds(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "refreshTokenReuseIntervalInSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setRefreshTokenReuseIntervalInSeconds(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "jwtAssertionMaxReuseInSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setJwtAssertionMaxReuseInSeconds(((Number)member.getValue()).longValue());
+          }
+          break;
         case "userInfoParameters":
           if (member.getValue() instanceof JsonObject) {
             obj.setUserInfoParameters(((JsonObject)member.getValue()).copy());
@@ -142,11 +167,26 @@ public class OAuth2OptionsConverter {
             obj.setHttpClientOptions(new io.vertx.core.http.HttpClientOptions((io.vertx.core.json.JsonObject)member.getValue()));
           }
           break;
+        case "httpClientPoolOptions":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setHttpClientPoolOptions(new io.vertx.core.http.PoolOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
+        case "warmUpConnections":
+          if (member.getValue() instanceof Boolean) {
+            obj.setWarmUpConnections((Boolean)member.getValue());
+          }
+          break;
         case "jwkMaxAgeInSeconds":
           if (member.getValue() instanceof Number) {
             obj.setJwkMaxAgeInSeconds(((Number)member.getValue()).longValue());
           }
           break;
+        case "jwkMinRefreshIntervalInSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setJwkMinRefreshIntervalInSeconds(((Number)member.getValue()).longValue());
+          }
+          break;
         case "jwks":
           if (member.getValue() instanceof JsonArray) {
             java.util.ArrayList<io.vertx.core.json.JsonObject> list =  new java.util.ArrayList<>();
@@ -217,6 +257,11 @@ public class OAuth2OptionsConverter {
     if (obj.getIntrospectionPath() != null) {
       json.put("introspectionPath", obj.getIntrospectionPath());
     }
+    json.put("introspectionCacheSize", obj.getIntrospectionCacheSize());
+    json.put("introspectionCacheMaxAgeInSeconds", obj.getIntrospectionCacheMaxAgeInSeconds());
+    json.put("introspectionCacheNegativeMaxAgeInSeconds", obj.getIntrospectionCacheNegativeMaxAgeInSeconds());
+    json.put("refreshTokenReuseIntervalInSeconds", obj.getRefreshTokenReuseIntervalInSeconds());
+    json.put("jwtAssertionMaxReuseInSeconds", obj.getJwtAssertionMaxReuseInSeconds());
     if (obj.getUserInfoParameters() != null) {
       json.put("userInfoParameters", obj.getUserInfoParameters());
     }
@@ -238,7 +283,12 @@ public class OAuth2OptionsConverter {
     if (obj.getHttpClientOptions() != null) {
       json.put("httpClientOptions", obj.getHttpClientOptions().toJson());
     }
+    if (obj.getHttpClientPoolOptions() != null) {
+      json.put("httpClientPoolOptions", obj.getHttpClientPoolOptions().toJson());
+    }
+    json.put("warmUpConnections", obj.isWarmUpConnections());
     json.put("jwkMaxAgeInSeconds", obj.getJwkMaxAgeInSeconds());
+    json.put("jwkMinRefreshIntervalInSeconds", obj.getJwkMinRefreshIntervalInSeconds());
     if (obj.getJwks() != null) {
       JsonArray array = new JsonArray();
       obj.getJwks().forEach(item -> array.add(item));
@@ -0,0 +1,45 @@
+package io.vertx.ext.auth.oauth2;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.oauth2.OAuth2TokenManagerOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.oauth2.OAuth2TokenManagerOptions} original class using Vert.x codegen.
+ */
+public class OAuth2TokenManagerOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, OAuth2TokenManagerOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "name":
+          if (member.getValue() instanceof String) {
+            obj.setName((String)member.getValue());
+          }
+          break;
+        case "refreshSkewInSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setRefreshSkewInSeconds(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "refreshJitterInSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setRefreshJitterInSeconds(((Number)member.getValue()).longValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(OAuth2TokenManagerOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(OAuth2TokenManagerOptions obj, java.util.Map<String, Object> json) {
+    if (obj.getName() != null) {
+      json.put("name", obj.getName());
+    }
+    json.put("refreshSkewInSeconds", obj.getRefreshSkewInSeconds());
+    json.put("refreshJitterInSeconds", obj.getRefreshJitterInSeconds());
+  }
+}
@@ -37,6 +37,11 @@ public class Oauth2CredentialsConverter {
             obj.setScopes(list);
           }
           break;
+        case "audience":
+          if (member.getValue() instanceof String) {
+            obj.setAudience((String)member.getValue());
+          }
+          break;
         case "jwt":
           if (member.getValue() instanceof JsonObject) {
             obj.setJwt(((JsonObject)member.getValue()).copy());
@@ -85,6 +90,9 @@ public class Oauth2CredentialsConverter {
       obj.getScopes().forEach(item -> array.add(item));
       json.put("scopes", array);
     }
+    if (obj.getAudience() != null) {
+      json.put("audience", obj.getAudience());
+    }
     if (obj.getJwt() != null) {
       json.put("jwt", obj.getJwt());
     }
@@ -17,6 +17,9 @@
 package examples;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.PoolOptions;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.User;
@@ -30,6 +33,8 @@ import io.vertx.ext.auth.oauth2.*;
 import io.vertx.ext.auth.oauth2.authorization.KeycloakAuthorization;
 import io.vertx.ext.auth.oauth2.providers.*;
 
+import java.util.Arrays;
+
 /**
  * @author <a href="mailto:plopes@redhat.com">Paulo Lopes</a>
  */
@@ -443,4 +448,37 @@ public class AuthOAuth2Examples {
       }
     });
   }
+
+  public void example27(Vertx vertx, OAuth2Auth oauth2) {
+    // the instances of a verticle share the tokens of "orders-client"
+    OAuth2TokenManager tokens = OAuth2TokenManager.create(
+      vertx,
+      oauth2,
+      new OAuth2TokenManagerOptions()
+        .setName("orders-client"));
+
+    tokens.token(Arrays.asList("orders:read"), "https://orders.example.com")
+      .onSuccess(user -> {
+        // cached until shortly before it expires
+        String accessToken = user.principal().getString("access_token");
+      });
+  }
+
+  public void example28(Vertx vertx) {
+    OAuth2Auth oauth2 = OAuth2Auth.create(vertx, new OAuth2Options()
+      .setClientId("YOUR_CLIENT_ID")
+      .setClientSecret("YOUR_CLIENT_SECRET")
+      .setSite("https://server:port")
+      .setHttpClientOptions(new HttpClientOptions()
+        .setSsl(true)
+        .setUseAlpn(true)
+        .setProtocolVersion(HttpVersion.HTTP_2)
+        .setHttp2MultiplexingLimit(100)
+        .setKeepAliveTimeout(120))
+      .setHttpClientPoolOptions(new PoolOptions()
+        .setHttp1MaxSize(16)
+        .setHttp2MaxSize(2))
+      // connect to the token, introspection and JWKs endpoints now
+      .setWarmUpConnections(true));
+  }
 }
@@ -58,6 +58,8 @@ public interface OAuth2Auth extends AuthenticationProvider {
   /**
    * Retrieve the public server JSON Web Key (JWK) required to verify the authenticity
    * of issued ID and access tokens.
+   * <p>
+   * Concurrent calls share the same fetch.
    *
    * @return Future result.
    */
@@ -170,6 +172,30 @@ public interface OAuth2Auth extends AuthenticationProvider {
     return endSessionURL(user, new JsonObject());
   }
 
+  /**
+   * Removes a token from the introspection cache, the next authentication of the token is introspected again. Revoked
+   * tokens are removed automatically.
+   *
+   * @param token the access token.
+   * @return fluent self
+   * @see OAuth2Options#setIntrospectionCacheSize(int)
+   */
+  @Fluent
+  default OAuth2Auth evict(String token) {
+    // no cache
+    return this;
+  }
+
+  /**
+   * The introspection cache metrics, {@code size}, {@code hits}, {@code misses} and {@code evictions}. Empty when the
+   * cache is disabled.
+   *
+   * @return the metrics.
+   */
+  default JsonObject introspectionCacheMetrics() {
+    return new JsonObject();
+  }
+
   /**
    * Releases any resources or timers used by this instance. Users are expected to call this method when the provider
    * isn't needed any more to return the used resources back to the platform.
@@ -21,6 +21,7 @@ import io.vertx.codegen.annotations.Fluent;
 import io.vertx.codegen.json.annotations.JsonGen;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.PoolOptions;
 import io.vertx.core.internal.logging.Logger;
 import io.vertx.core.internal.logging.LoggerFactory;
 import io.vertx.core.json.JsonObject;
@@ -54,6 +55,16 @@ public class OAuth2Options {
   private static final boolean VALIDATE_ISSUER = true;
   //seconds of JWK's default age (-1 means no rotation)
   private static final long JWK_DEFAULT_AGE = -1L;
+  //seconds between two JWKs refreshes on an unknown key id (-1 means no refresh)
+  private static final long JWK_MIN_REFRESH_INTERVAL = 30L;
+  // introspection cache, disabled by default
+  private static final int INTROSPECTION_CACHE_SIZE = 0;
+  private static final long INTROSPECTION_CACHE_MAX_AGE = 60L;
+  private static final long INTROSPECTION_CACHE_NEGATIVE_MAX_AGE = 5L;
+  // seconds a rotated refresh token is still answered with its replacement (0 means never)
+  private static final long REFRESH_TOKEN_REUSE_INTERVAL = 0L;
+  // seconds a signed jwt-bearer assertion is reused (0 means never)
+  private static final long JWT_ASSERTION_MAX_REUSE = 0L;
 
   private List<String> supportedGrantTypes;
   private String authorizationPath;
@@ -68,10 +79,17 @@ public class OAuth2Options {
   private JsonObject userInfoParams;
   // introspection RFC7662
   private String introspectionPath;
+  private int introspectionCacheSize;
+  private long introspectionCacheMaxAge;
+  private long introspectionCacheNegativeMaxAge;
+  private long refreshTokenReuseInterval;
+  private long jwtAssertionMaxReuse;
   // JWK path RFC7517
   private String jwkPath;
   //seconds of JWKs lifetime
   private long jwkMaxAge;
+  //seconds between two JWKs refreshes on an unknown key id
+  private long jwkMinRefreshInterval;
   // OpenID non standard
   private String tenant;
 
@@ -93,6 +111,8 @@ public class OAuth2Options {
   private JsonObject extraParams;
   // client config
   private HttpClientOptions httpClientOptions = new HttpClientOptions();
+  private PoolOptions httpClientPoolOptions;
+  private boolean warmUpConnections;
   private List<JsonObject> jwks;
 
   public String getSite() {
@@ -124,6 +144,11 @@ public class OAuth2Options {
     revocationPath = other.getRevocationPath();
     userInfoPath = other.getUserInfoPath();
     introspectionPath = other.getIntrospectionPath();
+    introspectionCacheSize = other.getIntrospectionCacheSize();
+    introspectionCacheMaxAge = other.getIntrospectionCacheMaxAgeInSeconds();
+    introspectionCacheNegativeMaxAge = other.getIntrospectionCacheNegativeMaxAgeInSeconds();
+    refreshTokenReuseInterval = other.getRefreshTokenReuseIntervalInSeconds();
+    jwtAssertionMaxReuse = other.getJwtAssertionMaxReuseInSeconds();
     scopeSeparator = other.getScopeSeparator();
     site = other.getSite();
     if (other.pubSecKeys == null) {
@@ -142,7 +167,10 @@ public class OAuth2Options {
     headers = other.headers == null ? null : other.headers.copy();
     jwkPath = other.getJwkPath();
     jwkMaxAge = other.getJwkMaxAgeInSeconds();
+    jwkMinRefreshInterval = other.getJwkMinRefreshIntervalInSeconds();
     httpClientOptions = other.httpClientOptions == null ? null : new HttpClientOptions(other.httpClientOptions);
+    httpClientPoolOptions = other.httpClientPoolOptions == null ? null : new PoolOptions(other.httpClientPoolOptions);
+    warmUpConnections = other.isWarmUpConnections();
     userAgent = other.getUserAgent();
     supportedGrantTypes = other.supportedGrantTypes == null ? null : new ArrayList<>(other.supportedGrantTypes);
     if (other.jwks == null) {
@@ -167,7 +195,13 @@ public class OAuth2Options {
     scopeSeparator = SCOPE_SEPARATOR;
     jwtOptions = new JWTOptions();
     jwkMaxAge = JWK_DEFAULT_AGE;
+    jwkMinRefreshInterval = JWK_MIN_REFRESH_INTERVAL;
     useBasicAuthorization = BASIC_AUTHORIZATION;
+    introspectionCacheSize = INTROSPECTION_CACHE_SIZE;
+    introspectionCacheMaxAge = INTROSPECTION_CACHE_MAX_AGE;
+    introspectionCacheNegativeMaxAge = INTROSPECTION_CACHE_NEGATIVE_MAX_AGE;
+    refreshTokenReuseInterval = REFRESH_TOKEN_REUSE_INTERVAL;
+    jwtAssertionMaxReuse = JWT_ASSERTION_MAX_REUSE;
   }
 
   /**
@@ -470,6 +504,89 @@ public class OAuth2Options {
     return this;
   }
 
+  public int getIntrospectionCacheSize() {
+    return introspectionCacheSize;
+  }
+
+  /**
+   * Set the maximum number of token introspection responses kept in memory, the least recently used are evicted
+   * first. Tokens are cached by their digest. Default is {@code 0}, the cache is disabled.
+   *
+   * @param introspectionCacheSize the maximum number of cached responses
+   * @return self
+   */
+  public OAuth2Options setIntrospectionCacheSize(int introspectionCacheSize) {
+    this.introspectionCacheSize = introspectionCacheSize;
+    return this;
+  }
+
+  public long getIntrospectionCacheMaxAgeInSeconds() {
+    return introspectionCacheMaxAge;
+  }
+
+  /**
+   * Set how long an active token introspection response is cached, it is never cached past the token {@code exp}.
+   * Default is {@code 60} seconds.
+   *
+   * @param introspectionCacheMaxAgeInSeconds the time to live in seconds
+   * @return self
+   */
+  public OAuth2Options setIntrospectionCacheMaxAgeInSeconds(long introspectionCacheMaxAgeInSeconds) {
+    this.introspectionCacheMaxAge = introspectionCacheMaxAgeInSeconds;
+    return this;
+  }
+
+  public long getIntrospectionCacheNegativeMaxAgeInSeconds() {
+    return introspectionCacheNegativeMaxAge;
+  }
+
+  /**
+   * Set how long an inactive ({@code "active": false}) token introspection response is cached. Default is {@code 5}
+   * seconds, {@code 0} disables the negative caching.
+   *
+   * @param introspectionCacheNegativeMaxAgeInSeconds the time to live in seconds
+   * @return self
+   */
+  public OAuth2Options setIntrospectionCacheNegativeMaxAgeInSeconds(long introspectionCacheNegativeMaxAgeInSeconds) {
+    this.introspectionCacheNegativeMaxAge = introspectionCacheNegativeMaxAgeInSeconds;
+    return this;
+  }
+
+  public long getRefreshTokenReuseIntervalInSeconds() {
+    return refreshTokenReuseInterval;
+  }
+
+  /**
+   * With rotating refresh tokens, a refresh token can only be used once. Concurrent refreshes with the same token
+   * always share one request, this interval also answers the refreshes arriving shortly after, with the rotated token,
+   * with the tokens they were replaced by instead of an {@code invalid_grant} error. Default is {@code 0}, disabled.
+   *
+   * @param refreshTokenReuseIntervalInSeconds the time in seconds
+   * @return self
+   */
+  public OAuth2Options setRefreshTokenReuseIntervalInSeconds(long refreshTokenReuseIntervalInSeconds) {
+    this.refreshTokenReuseInterval = refreshTokenReuseIntervalInSeconds;
+    return this;
+  }
+
+  public long getJwtAssertionMaxReuseInSeconds() {
+    return jwtAssertionMaxReuse;
+  }
+
+  /**
+   * Set how long the signed assertion of the JWT bearer flow ({@link OAuth2FlowType#AUTH_JWT}) is reused for the same
+   * claims, instead of signing one for every token request. The assertion is never reused past 90% of its
+   * {@link JWTOptions#getExpiresInSeconds() lifetime} and the next one is signed in the background before. Claims
+   * with a {@code jti} are never reused. Default is {@code 0}, every request is signed.
+   *
+   * @param jwtAssertionMaxReuseInSeconds the time in seconds
+   * @return self
+   */
+  public OAuth2Options setJwtAssertionMaxReuseInSeconds(long jwtAssertionMaxReuseInSeconds) {
+    this.jwtAssertionMaxReuse = jwtAssertionMaxReuseInSeconds;
+    return this;
+  }
+
   /**
    * Set the provider custom userInfo parameters to send when requesting them.
    *
@@ -610,6 +727,15 @@ public class OAuth2Options {
   }
 
   public void validate() throws IllegalStateException {
+    if (introspectionCacheSize < 0 || introspectionCacheMaxAge < 0 || introspectionCacheNegativeMaxAge < 0) {
+      throw new IllegalStateException("Introspection cache size and max ages must be >= 0");
+    }
+    if (refreshTokenReuseInterval < 0) {
+      throw new IllegalStateException("Refresh token reuse interval must be >= 0");
+    }
+    if (jwtAssertionMaxReuse < 0) {
+      throw new IllegalStateException("JWT assertion max reuse must be >= 0");
+    }
     List<String> supportedGrantTypes = getSupportedGrantTypes();
     if (supportedGrantTypes == null) {
       // we default to AUTH_CODE and IMPLICIT as defined in the OpenID Connect spec
@@ -672,6 +798,39 @@ public class OAuth2Options {
     return this;
   }
 
+  public PoolOptions getHttpClientPoolOptions() {
+    return httpClientPoolOptions;
+  }
+
+  /**
+   * Set the connection pool options of the HTTP client. The providers with the same site origin, HTTP client options
+   * and pool options share one HTTP client, so the pool is sized for all of them. Default is {@code null}, the vert.x
+   * pool defaults.
+   *
+   * @param httpClientPoolOptions the pool options
+   * @return self
+   */
+  public OAuth2Options setHttpClientPoolOptions(PoolOptions httpClientPoolOptions) {
+    this.httpClientPoolOptions = httpClientPoolOptions;
+    return this;
+  }
+
+  public boolean isWarmUpConnections() {
+    return warmUpConnections;
+  }
+
+  /**
+   * Set whether the provider opens the connections to the token, introspection and JWKs endpoints when created, with
+   * a {@code HEAD} request to each origin, instead of on the first request. Default is {@code false}.
+   *
+   * @param warmUpConnections {@code true} to open the connections when the provider is created
+   * @return self
+   */
+  public OAuth2Options setWarmUpConnections(boolean warmUpConnections) {
+    this.warmUpConnections = warmUpConnections;
+    return this;
+  }
+
   public long getJwkMaxAgeInSeconds() {
     return jwkMaxAge;
   }
@@ -685,6 +844,25 @@ public class OAuth2Options {
     this.jwkMaxAge = jwkMaxAgeInSeconds;
   }
 
+  public long getJwkMinRefreshIntervalInSeconds() {
+    return jwkMinRefreshInterval;
+  }
+
+  /**
+   * When a token is signed with an unknown key id and a {@link #setJwkPath(String) JWK path} is configured, the JWKs
+   * are fetched again and the token verified once more. At most one fetch is in flight, the tokens waiting for it are
+   * verified when it completes. The missing key handler is notified at most once per interval for a given key id, an
+   * explicit {@link OAuth2Auth#jWKSet()} always fetches the keys. Default is {@code 30} seconds, {@code -1} disables
+   * the refresh.
+   *
+   * @param jwkMinRefreshIntervalInSeconds the minimum time between two fetches
+   * @return self
+   */
+  public OAuth2Options setJwkMinRefreshIntervalInSeconds(long jwkMinRefreshIntervalInSeconds) {
+    this.jwkMinRefreshInterval = jwkMinRefreshIntervalInSeconds;
+    return this;
+  }
+
   public List<JsonObject> getJwks() {
     return jwks;
   }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.oauth2;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.oauth2.impl.OAuth2TokenManagerImpl;
+
+import java.util.List;
+
+/**
+ * Obtains client credentials tokens for service to service calls.
+ * <p>
+ * Tokens are cached per scopes and audience and refreshed in the background before they expire, callers get the
+ * cached token instead of a token request each time. Concurrent requests for the same token share one token request.
+ */
+@VertxGen
+public interface OAuth2TokenManager {
+
+  /**
+   * Create a token manager.
+   *
+   * @param vertx  the Vertx instance
+   * @param oauth2 the provider used to request the tokens
+   * @return the token manager
+   */
+  static OAuth2TokenManager create(Vertx vertx, OAuth2Auth oauth2) {
+    return create(vertx, oauth2, new OAuth2TokenManagerOptions());
+  }
+
+  /**
+   * Create a token manager.
+   *
+   * @param vertx   the Vertx instance
+   * @param oauth2  the provider used to request the tokens
+   * @param options the manager options
+   * @return the token manager
+   */
+  static OAuth2TokenManager create(Vertx vertx, OAuth2Auth oauth2, OAuth2TokenManagerOptions options) {
+    return new OAuth2TokenManagerImpl(vertx, oauth2, options);
+  }
+
+  /**
+   * Get a token without scopes or audience.
+   *
+   * @return future result with the user holding the token.
+   */
+  default Future<User> token() {
+    return token(null, null);
+  }
+
+  /**
+   * Get a token for the given scopes and audience, the cached one when it isn't expired.
+   *
+   * @param scopes   the requested scopes, can be {@code null}
+   * @param audience the requested audience, can be {@code null}
+   * @return future result with the user holding the token.
+   */
+  Future<User> token(@Nullable List<String> scopes, @Nullable String audience);
+
+  /**
+   * Stops the background refreshes. Shared tokens stay available to the other managers.
+   */
+  void close();
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.oauth2;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring an {@link OAuth2TokenManager}.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class OAuth2TokenManagerOptions {
+
+  // seconds before the token expiration when it is refreshed
+  private static final long REFRESH_SKEW = 30L;
+  // maximum random seconds added to the skew, spreads the refreshes
+  private static final long REFRESH_JITTER = 10L;
+
+  private String name;
+  private long refreshSkew;
+  private long refreshJitter;
+
+  public OAuth2TokenManagerOptions() {
+    refreshSkew = REFRESH_SKEW;
+    refreshJitter = REFRESH_JITTER;
+  }
+
+  public OAuth2TokenManagerOptions(JsonObject json) {
+    this();
+    OAuth2TokenManagerOptionsConverter.fromJson(json, this);
+  }
+
+  public OAuth2TokenManagerOptions(OAuth2TokenManagerOptions other) {
+    name = other.getName();
+    refreshSkew = other.getRefreshSkewInSeconds();
+    refreshJitter = other.getRefreshJitterInSeconds();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * The managers with the same name share their tokens through the vert.x local shared data, for example the instances
+   * of a verticle. Managers of different clients must use different names. When {@code null} (the default) the tokens
+   * are only cached by the manager.
+   *
+   * @param name the name of the shared token store
+   * @return self
+   */
+  public OAuth2TokenManagerOptions setName(String name) {
+    this.name = name;
+    return this;
+  }
+
+  public long getRefreshSkewInSeconds() {
+    return refreshSkew;
+  }
+
+  /**
+   * Tokens are refreshed in the background this long before they expire. Default is {@code 30} seconds.
+   *
+   * @param refreshSkewInSeconds the time before expiration
+   * @return self
+   */
+  public OAuth2TokenManagerOptions setRefreshSkewInSeconds(long refreshSkewInSeconds) {
+    this.refreshSkew = refreshSkewInSeconds;
+    return this;
+  }
+
+  public long getRefreshJitterInSeconds() {
+    return refreshJitter;
+  }
+
+  /**
+   * A random time up to this value is added to the refresh skew, so that tokens obtained together are not all
+   * refreshed at the same moment. Default is {@code 10} seconds.
+   *
+   * @param refreshJitterInSeconds the maximum jitter
+   * @return self
+   */
+  public OAuth2TokenManagerOptions setRefreshJitterInSeconds(long refreshJitterInSeconds) {
+    this.refreshJitter = refreshJitterInSeconds;
+    return this;
+  }
+
+  public JsonObject toJson() {
+    final JsonObject json = new JsonObject();
+    OAuth2TokenManagerOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  @Override
+  public String toString() {
+    return toJson().encode();
+  }
+}
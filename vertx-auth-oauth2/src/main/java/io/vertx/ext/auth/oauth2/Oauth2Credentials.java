@@ -47,6 +47,7 @@ public class Oauth2Credentials implements Credentials {
   private String username;
   // control state
   private List<String> scopes;
+  private String audience;
   private OAuth2FlowType flow;
 
   public Oauth2Credentials() {
@@ -100,6 +101,22 @@ public class Oauth2Credentials implements Credentials {
     return this;
   }
 
+  public String getAudience() {
+    return audience;
+  }
+
+  /**
+   * The audience (the API) the token is requested for, sent as the {@code audience} parameter of the client
+   * credentials grant.
+   *
+   * @param audience the target audience
+   * @return self
+   */
+  public Oauth2Credentials setAudience(String audience) {
+    this.audience = audience;
+    return this;
+  }
+
   public JsonObject getJwt() {
     return jwt;
   }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.oauth2.impl;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.internal.logging.Logger;
+import io.vertx.core.internal.logging.LoggerFactory;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.JWTOptions;
+import io.vertx.ext.auth.impl.jose.JWT;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Signed JWT assertions, reused for the same claims so that the private key operation isn't performed for every token
+ * request.
+ * <p>
+ * An assertion is reused at most {@code maxReuse} and never past 90% of its lifetime. At 75% of that time the next
+ * assertion is signed on a worker thread while the current one is still served. Claims with a {@code jti} are never
+ * reused, the identifier is meant to be unique and the server may reject a replay. When the claims set their own
+ * {@code exp}, the assertion is not reused past 90% of the time left before it, and it is not presigned: signing again
+ * would not extend it.
+ */
+final class AssertionCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AssertionCache.class);
+  private static final int SIZE = 64;
+
+  private static final class Signed {
+    final String assertion;
+    final long refreshAt;
+    final long validUntil;
+
+    Signed(String assertion, long refreshAt, long validUntil) {
+      this.assertion = assertion;
+      this.refreshAt = refreshAt;
+      this.validUntil = validUntil;
+    }
+  }
+
+  private final Vertx vertx;
+  private final Supplier<JWT> jwt;
+  private final JWTOptions options;
+  private final long lifetime;
+  private final Map<String, Signed> entries;
+  private final Set<String> signing = ConcurrentHashMap.newKeySet();
+
+  /**
+   * @param maxReuse the maximum time an assertion is reused, in milliseconds
+   */
+  AssertionCache(Vertx vertx, Supplier<JWT> jwt, JWTOptions options, long maxReuse) {
+    this.vertx = vertx;
+    this.jwt = jwt;
+    this.options = options;
+
+    long lifetime = maxReuse;
+    if (options.getExpiresInSeconds() > 0) {
+      final long expiresIn = options.getExpiresInSeconds() * 1000L;
+      // stop using it shortly before the exp
+      lifetime = Math.min(lifetime, expiresIn - Math.max(1000L, expiresIn / 10));
+    }
+    this.lifetime = lifetime;
+
+    // access order, the eldest entry is the least recently used
+    this.entries = new LinkedHashMap<String, Signed>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Signed> eldest) {
+        return size() > SIZE;
+      }
+    };
+  }
+
+  String sign(JsonObject claims) {
+    if (lifetime <= 0 || claims.containsKey("jti")) {
+      // single use
+      return jwt.get().sign(claims.copy(), options);
+    }
+
+    final String key = claims.encode();
+    final long now = System.currentTimeMillis();
+    final Signed signed;
+    synchronized (entries) {
+      signed = entries.get(key);
+    }
+
+    if (signed != null && signed.validUntil > now) {
+      if (signed.refreshAt <= now) {
+        // served while the next one is signed
+        presign(key, claims);
+      }
+      return signed.assertion;
+    }
+
+    final String assertion = jwt.get().sign(claims.copy(), options);
+    put(key, claims, assertion, now);
+    return assertion;
+  }
+
+  private void put(String key, JsonObject claims, String assertion, long signedAt) {
+    long refreshAt = signedAt + lifetime * 3 / 4;
+    long validUntil = signedAt + lifetime;
+    final Object exp = claims.getValue("exp");
+    // the expiresInSeconds option replaces the exp of the claims, the lifetime already accounts for it
+    if (exp instanceof Number && options.getExpiresInSeconds() <= 0) {
+      // exp is in seconds
+      final long expiresAt = ((Number) exp).longValue() * 1000;
+      validUntil = Math.min(validUntil, expiresAt - Math.max(1000L, (expiresAt - signedAt) / 10));
+      refreshAt = validUntil;
+    }
+    if (validUntil <= signedAt) {
+      return;
+    }
+    final Signed signed = new Signed(assertion, refreshAt, validUntil);
+    synchronized (entries) {
+      entries.put(key, signed);
+    }
+  }
+
+  private void presign(String key, JsonObject claims) {
+    if (!signing.add(key)) {
+      // already in progress
+      return;
+    }
+    final JsonObject copy = claims.copy();
+    vertx.<String>executeBlocking(() -> jwt.get().sign(copy, options), false)
+      .onComplete(ar -> {
+        signing.remove(key);
+        if (ar.succeeded()) {
+          put(key, copy, ar.result(), System.currentTimeMillis());
+        } else {
+          LOG.warn("Failed to sign the next assertion", ar.cause());
+        }
+      });
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.oauth2.impl;
+
+import io.vertx.core.json.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.vertx.ext.auth.impl.Codec.base64UrlEncode;
+
+/**
+ * A bounded LRU cache of token introspection responses. The tokens are never kept, entries are keyed by the SHA-256
+ * digest of the token.
+ * <p>
+ * Active responses live at most {@code maxAge} and never past the token {@code exp}, inactive responses live
+ * {@code negativeMaxAge}. The same structure keeps the token responses of recently rotated refresh tokens.
+ */
+class IntrospectionCache {
+
+  private static final class Cached {
+    final JsonObject json;
+    final long expiresAt;
+
+    Cached(JsonObject json, long expiresAt) {
+      this.json = json;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  private final long maxAge;
+  private final long negativeMaxAge;
+  private final Map<String, Cached> entries;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * @param size           the maximum number of entries
+   * @param maxAge         the time to live of active responses, in milliseconds
+   * @param negativeMaxAge the time to live of inactive responses, in milliseconds
+   */
+  IntrospectionCache(int size, long maxAge, long negativeMaxAge) {
+    this.maxAge = maxAge;
+    this.negativeMaxAge = negativeMaxAge;
+    // access order, the eldest entry is the least recently used
+    this.entries = new LinkedHashMap<String, Cached>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+        if (size() > size) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  static String digest(String token) {
+    try {
+      return base64UrlEncode(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * @return a copy of the cached response, or {@code null} when absent or expired.
+   */
+  JsonObject get(String token) {
+    final String key = digest(token);
+    final long now = System.currentTimeMillis();
+    synchronized (entries) {
+      final Cached entry = entries.get(key);
+      if (entry != null) {
+        if (entry.expiresAt > now) {
+          hits.increment();
+          return entry.json.copy();
+        }
+        entries.remove(key);
+      }
+    }
+    misses.increment();
+    return null;
+  }
+
+  void put(String token, JsonObject json) {
+    final long now = System.currentTimeMillis();
+    long expiresAt;
+    if (json.containsKey("active") && !json.getBoolean("active", false)) {
+      expiresAt = now + negativeMaxAge;
+    } else {
+      expiresAt = now + maxAge;
+      final Object exp = json.getValue("exp");
+      if (exp instanceof Number) {
+        // exp is in seconds
+        expiresAt = Math.min(expiresAt, ((Number) exp).longValue() * 1000);
+      }
+    }
+    if (expiresAt <= now) {
+      return;
+    }
+    final Cached entry = new Cached(json.copy(), expiresAt);
+    final String key = digest(token);
+    synchronized (entries) {
+      entries.put(key, entry);
+    }
+  }
+
+  void evict(String token) {
+    final String key = digest(token);
+    synchronized (entries) {
+      entries.remove(key);
+    }
+  }
+
+  /**
+   * Evicts the entry of the token and the entries whose response holds it, e.g. the rotation that issued a revoked
+   * access token.
+   */
+  void evictIssued(String token) {
+    final String key = digest(token);
+    synchronized (entries) {
+      entries.remove(key);
+      entries.values().removeIf(entry ->
+        token.equals(entry.json.getValue("access_token")) ||
+          token.equals(entry.json.getValue("refresh_token")) ||
+          token.equals(entry.json.getValue("id_token")));
+    }
+  }
+
+  JsonObject metrics() {
+    final int size;
+    synchronized (entries) {
+      size = entries.size();
+    }
+    return new JsonObject()
+      .put("size", size)
+      .put("hits", hits.sum())
+      .put("misses", misses.sum())
+      .put("evictions", evictions.sum());
+  }
+}
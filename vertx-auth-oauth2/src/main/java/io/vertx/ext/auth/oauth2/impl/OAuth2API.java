@@ -30,10 +30,15 @@ import io.vertx.ext.auth.oauth2.OAuth2AuthorizationURL;
 import io.vertx.ext.auth.oauth2.OAuth2Options;
 
 import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.security.SignatureException;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -47,26 +52,141 @@ public class OAuth2API {
 
   private static final Logger LOG = LoggerFactory.getLogger(OAuth2API.class);
   private static final Pattern MAX_AGE = Pattern.compile("max-age=\"?(\\d+)\"?");
+  private static final Pattern STALE_WHILE_REVALIDATE = Pattern.compile("stale-while-revalidate=\"?(\\d+)\"?");
+  private static final String SHARED_PREFIX = "__vertx.oauth2.";
 
   private final HttpClient client;
   private final OAuth2Options config;
 
   public OAuth2API(Vertx vertx, OAuth2Options config) {
     this.config = config;
-    this.client = vertx.createHttpClient(config.getHttpClientOptions());
+    this.client = vertx.createHttpClient(httpClientOptions(config), poolOptions(config));
+  }
+
+  /**
+   * The HTTP client options of a provider. Unless the options are already shared, the client is a vert.x shared
+   * client named after the site origin and the client and pool options: all the providers of that origin with the
+   * same options use one connection pool, which is closed with the last of them.
+   *
+   * @param config the provider config
+   * @return the options to create the client with
+   */
+  public static HttpClientOptions httpClientOptions(OAuth2Options config) {
+    final HttpClientOptions options = config.getHttpClientOptions() == null ?
+      new HttpClientOptions() :
+      new HttpClientOptions(config.getHttpClientOptions());
+
+    if (!options.isShared()) {
+      final String key = options.toJson().encode() + poolOptions(config).toJson().encode();
+      options
+        .setShared(true)
+        .setName(SHARED_PREFIX + origin(config.getSite()) + "." + IntrospectionCache.digest(key));
+    }
+    return options;
+  }
+
+  /**
+   * @param config the provider config
+   * @return the connection pool options of a provider
+   */
+  public static PoolOptions poolOptions(OAuth2Options config) {
+    return config.getHttpClientPoolOptions() == null ?
+      new PoolOptions() :
+      config.getHttpClientPoolOptions();
+  }
+
+  private static String origin(String url) {
+    if (url != null) {
+      try {
+        final URI uri = new URI(url);
+        if (uri.getScheme() != null && uri.getHost() != null) {
+          return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+        }
+      } catch (URISyntaxException e) {
+        // not a plain URL, e.g.: with placeholders
+      }
+    }
+    return url;
+  }
+
+  /**
+   * Opens the connections to the token, introspection and JWKs endpoints, one per origin, so that the first requests
+   * don't pay the connection and TLS handshake. The responses are not relevant, failures are only logged.
+   */
+  public void warmUp() {
+    final Set<String> origins = new HashSet<>();
+    for (String path : Arrays.asList(config.getTokenPath(), config.getIntrospectionPath(), config.getJwkPath())) {
+      if (path == null || path.length() == 0 || (path.charAt(0) == '/' && config.getSite() == null)) {
+        continue;
+      }
+      final String url = path.charAt(0) == '/' ? config.getSite() + path : path;
+      final String origin = origin(url);
+      if (origins.add(origin)) {
+        client.request(new RequestOptions().setMethod(HttpMethod.HEAD).setAbsoluteURI(url))
+          .compose(req -> req.send())
+          .compose(HttpClientResponse::end)
+          .onFailure(err -> LOG.debug("Failed to warm up the connection to " + origin, err));
+      }
+    }
+  }
+
+  /**
+   * Releases the HTTP client, the shared connection pool is closed when no provider uses it anymore.
+   */
+  public Future<Void> close() {
+    return client.close();
   }
 
   /**
    * Retrieve the public server JSON Web Key (JWK) required to verify the authenticity of issued ID and access tokens.
    */
   public Future<JsonObject> jwkSet() {
+    return jwkSet(null);
+  }
+
+  /**
+   * Retrieve the public server JSON Web Key (JWK) set, only if it changed since the given validators.
+   * <p>
+   * The {@code etag} and {@code lastModified} validators of the response are returned in the JSON. When the server
+   * replies {@code 304 Not Modified} the JSON has no {@code keys} and {@code notModified} is {@code true}.
+   *
+   * @param validators the validators of the previous response, can be {@code null}
+   */
+  public Future<JsonObject> jwkSet(JsonObject validators) {
     final JsonObject headers = new JsonObject();
     // specify preferred accepted content type, according to https://tools.ietf.org/html/rfc7517#section-8.5
     // there's a specific media type for this resource: application/jwk-set+json but we also allow plain application/json
     headers.put("Accept", "application/jwk-set+json, application/json");
 
+    if (validators != null) {
+      // conditional request, the set is only sent when it changed
+      if (validators.getString("etag") != null) {
+        headers.put("If-None-Match", validators.getString("etag"));
+      }
+      if (validators.getString("lastModified") != null) {
+        headers.put("If-Modified-Since", validators.getString("lastModified"));
+      }
+    }
+
     return fetch(HttpMethod.GET, config.getJwkPath(), headers, null)
       .compose(reply -> {
+        if (reply.statusCode() == 304) {
+          // the set we hold is still current, don't parse anything
+          final JsonObject json = new JsonObject()
+            .put("notModified", true);
+          cacheHeaders(reply, json);
+          if (validators != null) {
+            // a 304 may omit the validators
+            if (!json.containsKey("etag") && validators.getString("etag") != null) {
+              json.put("etag", validators.getString("etag"));
+            }
+            if (!json.containsKey("lastModified") && validators.getString("lastModified") != null) {
+              json.put("lastModified", validators.getString("lastModified"));
+            }
+          }
+          return Future.succeededFuture(json);
+        }
+
         if (reply.body() == null || reply.body().length() == 0) {
           return Future.failedFuture("No Body");
         }
@@ -87,24 +207,7 @@ public class OAuth2API {
           if (json.containsKey("error")) {
             return Future.failedFuture(extractErrorDescription(json));
           } else {
-            // process the cache headers as recommended by: https://openid.net/specs/openid-connect-core-1_0.html#RotateEncKeys
-            List<String> cacheControl = reply.headers().getAll(HttpHeaders.CACHE_CONTROL);
-            if (cacheControl != null) {
-              for (String header : cacheControl) {
-                // we need at least "max-age="
-                if (header.length() > 8) {
-                  Matcher match = MAX_AGE.matcher(header);
-                  if (match.find()) {
-                    try {
-                      json.put("maxAge", Long.valueOf(match.group(1)));
-                      break;
-                    } catch (RuntimeException e) {
-                      // ignore bad formed headers
-                    }
-                  }
-                }
-              }
-            }
+            cacheHeaders(reply, json);
             return Future.succeededFuture(json);
           }
         } catch (RuntimeException e) {
@@ -113,6 +216,45 @@ public class OAuth2API {
       });
   }
 
+  /**
+   * Process the cache headers as recommended by: https://openid.net/specs/openid-connect-core-1_0.html#RotateEncKeys
+   */
+  private static void cacheHeaders(SimpleHttpResponse reply, JsonObject json) {
+    List<String> cacheControl = reply.headers().getAll(HttpHeaders.CACHE_CONTROL);
+    if (cacheControl != null) {
+      for (String header : cacheControl) {
+        // we need at least "max-age="
+        if (header.length() > 8) {
+          Matcher match = MAX_AGE.matcher(header);
+          if (match.find() && !json.containsKey("maxAge")) {
+            try {
+              json.put("maxAge", Long.valueOf(match.group(1)));
+            } catch (RuntimeException e) {
+              // ignore bad formed headers
+            }
+          }
+          match = STALE_WHILE_REVALIDATE.matcher(header);
+          if (match.find() && !json.containsKey("staleWhileRevalidate")) {
+            try {
+              json.put("staleWhileRevalidate", Long.valueOf(match.group(1)));
+            } catch (RuntimeException e) {
+              // ignore bad formed headers
+            }
+          }
+        }
+      }
+    }
+    // validators for the next conditional request
+    final String etag = reply.getHeader(HttpHeaders.ETAG.toString());
+    if (etag != null) {
+      json.put("etag", etag);
+    }
+    final String lastModified = reply.getHeader(HttpHeaders.LAST_MODIFIED.toString());
+    if (lastModified != null) {
+      json.put("lastModified", lastModified);
+    }
+  }
+
   /**
    * The client sends the end-user's browser to this endpoint to request their authentication and consent. This endpoint is used in the code and implicit OAuth 2.0 flows which require end-user interaction.
    * <p>
@@ -506,7 +648,8 @@ public class OAuth2API {
           return res.body()
             .compose(body -> {
               final SimpleHttpResponse oauth2res = new SimpleHttpResponse(res.statusCode(), res.headers(), body);
-              if (res.statusCode() < 200 || res.statusCode() >= 300) {
+              // 304 is only sent on conditional requests, the caller handles it
+              if ((res.statusCode() < 200 || res.statusCode() >= 300) && res.statusCode() != 304) {
                 if (oauth2res.body() == null || oauth2res.body().length() == 0) {
                   return Future.failedFuture(res.statusMessage());
                 } else {
@@ -37,8 +37,11 @@ import io.vertx.ext.auth.oauth2.*;
 
 import java.security.SignatureException;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static java.lang.Math.max;
+import static java.lang.Math.min;
 
 /**
  * @author Paulo Lopes
@@ -46,28 +49,91 @@ import static java.lang.Math.max;
 public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
 
   private static final Logger LOG = LoggerFactory.getLogger(OAuth2AuthProviderImpl.class);
+  private static final String JWKS_REFRESH = "jwks";
+  private static final int ROTATED_TOKENS_SIZE = 1024;
+  private static final int MISSING_KEYS_SIZE = 1024;
 
   private final Vertx vertx;
   private final Context context;
 
   private final OAuth2Options config;
   private final OAuth2API api;
+  // null when disabled
+  private final IntrospectionCache introspectionCache;
+  // signed jwt-bearer assertions
+  private final AssertionCache assertions;
+  // recently rotated refresh tokens and the token responses that replaced them
+  private final IntrospectionCache rotatedTokens;
+  // coalesces the identical introspection, userInfo and refresh requests
+  private final SingleFlight<JsonObject> inFlight;
+  private final SingleFlight<Void> jwksRefresh;
 
   // avoid caching, as it may swap,
   // old references are still valid though
-  private volatile JWT jwt = new JWT();
+  private volatile JWT jwt;
   private volatile long updateTimerId = -1;
+  // last JWKs fetch, rate limits the refreshes on unknown key ids
+  private volatile long lastJwksFetch;
+  // validators of the last JWKs response, for conditional requests
+  private volatile JsonObject jwksValidators;
   private Handler<String> missingKeyHandler;
+  // last notification of each missing key id, most recent last
+  private final Map<String, Long> missingKeys = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+      return size() > MISSING_KEYS_SIZE;
+    }
+  };
 
   public OAuth2AuthProviderImpl(Vertx vertx, OAuth2Options config) {
     this.vertx = vertx;
     this.context = vertx.getOrCreateContext();
     this.config = config;
-    this.api = new OAuth2API(vertx, config);
+    this.inFlight = new SingleFlight<>(vertx);
+    this.jwksRefresh = new SingleFlight<>(vertx);
     // compute paths with variables, at this moment it is only relevant that
     // all variables are properly computed
     this.config.replaceVariables(true);
     this.config.validate();
+    // only once valid, the client holds a reference to a shared pool
+    this.api = new OAuth2API(vertx, config);
+
+    if (config.getIntrospectionCacheSize() > 0) {
+      this.introspectionCache = new IntrospectionCache(
+        config.getIntrospectionCacheSize(),
+        config.getIntrospectionCacheMaxAgeInSeconds() * 1000,
+        config.getIntrospectionCacheNegativeMaxAgeInSeconds() * 1000);
+    } else {
+      this.introspectionCache = null;
+    }
+
+    this.assertions = new AssertionCache(
+      vertx,
+      () -> jwt,
+      config.getJWTOptions(),
+      config.getJwtAssertionMaxReuseInSeconds() * 1000);
+
+    if (config.getRefreshTokenReuseIntervalInSeconds() > 0) {
+      this.rotatedTokens = new IntrospectionCache(
+        ROTATED_TOKENS_SIZE,
+        config.getRefreshTokenReuseIntervalInSeconds() * 1000,
+        0);
+    } else {
+      this.rotatedTokens = null;
+    }
+
+    this.jwt = configuredKeys();
+
+    if (config.isWarmUpConnections()) {
+      api.warmUp();
+    }
+  }
+
+  /**
+   * @return a new key store with the keys from the config.
+   */
+  private JWT configuredKeys() {
+    final JWT jwt = new JWT();
 
     if (config.getPubSecKeys() != null) {
       for (PubSecKeyOptions pubSecKey : config.getPubSecKeys()) {
@@ -92,6 +158,8 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
         }
       }
     }
+
+    return jwt;
   }
 
   @Override
@@ -107,6 +175,10 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
         ((VertxInternal) vertx).removeCloseHook(this);
         updateTimerId = -1;
       }
+      if (jwt != null) {
+        // release the shared HTTP client, once
+        api.close();
+      }
       // clear the JWT object reference too
       jwt = null;
     }
@@ -114,10 +186,21 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
 
   @Override
   public Future<Void> jWKSet() {
-    return api.jwkSet()
+    // concurrent callers share the same fetch
+    return jwksRefresh.execute(JWKS_REFRESH, this::fetchJwks);
+  }
+
+  private Future<Void> fetchJwks() {
+    lastJwksFetch = System.currentTimeMillis();
+    return api.jwkSet(jwksValidators)
       .compose(json -> {
         // enforce a lock to ensure state isn't corrupted
         synchronized (OAuth2AuthProviderImpl.this) {
+          if (jwt == null) {
+            // closed while fetching
+            return Future.succeededFuture();
+          }
+
           if (updateTimerId != -1) {
             // cancel any running timer to avoid multiple updates
             // it is not important if the timer isn't active anymore
@@ -126,20 +209,33 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
             // there's a timer already in progress
             vertx.cancelTimer(updateTimerId);
             ((VertxInternal) vertx).removeCloseHook(this);
+            updateTimerId = -1;
           }
 
-          JsonArray keys = json.getJsonArray("keys");
-          for (Object key : keys) {
-            try {
-              jwt.addJWK(new JWK((JsonObject) key));
-            } catch (Exception e) {
-              if (LOG.isDebugEnabled()) {
-                LOG.warn("Unsupported JWK", e);
+          if (!json.getBoolean("notModified", false)) {
+            // build a new store, retired keys are dropped
+            final JWT jwt = configuredKeys();
+            JsonArray keys = json.getJsonArray("keys");
+            for (Object key : keys) {
+              try {
+                jwt.addJWK(new JWK((JsonObject) key));
+              } catch (Exception e) {
+                if (LOG.isDebugEnabled()) {
+                  LOG.warn("Unsupported JWK", e);
+                }
               }
             }
+            // swap, tokens being verified keep using the previous store
+            this.jwt = jwt;
+          }
+
+          if (json.containsKey("etag") || json.containsKey("lastModified")) {
+            jwksValidators = new JsonObject()
+              .put("etag", json.getString("etag"))
+              .put("lastModified", json.getString("lastModified"));
+          } else {
+            jwksValidators = null;
           }
-          // swap
-          this.jwt = jwt;
 
           // ensure that leeway is never negative
           int leeway = max(0, config.getJWTOptions().getLeeway());
@@ -148,19 +244,49 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
           // salesforce (for example) sometimes disables the max-age as setting it to 0
           // for these cases we just cancel
           if (delay > 0) {
-            this.updateTimerId = vertx.setPeriodic(delay, t ->
-              jWKSet()
-                .onFailure(err -> LOG.warn("Failed to auto-update JWK Set", err)));
-            // ensure we get a clean exit
-            ((VertxInternal) vertx).addCloseHook(this);
-          } else {
-            updateTimerId = -1;
+            // the current keys can still be used this long after the refresh is due
+            final long stale = json.getLong("staleWhileRevalidate", 0L) * 1000;
+            scheduleJwkSet(delay, System.currentTimeMillis() + delay + stale);
           }
         }
         return Future.succeededFuture();
       });
   }
 
+  /**
+   * Schedules a background refresh of the JWKs, tokens are verified with the current keys meanwhile. When a refresh
+   * fails the current keys are kept, within the stale window the refresh is retried sooner.
+   */
+  private void scheduleJwkSet(long delay, long staleUntil) {
+    this.updateTimerId = vertx.setTimer(delay, t -> {
+      synchronized (OAuth2AuthProviderImpl.this) {
+        if (updateTimerId != t) {
+          return;
+        }
+        ((VertxInternal) vertx).removeCloseHook(this);
+        updateTimerId = -1;
+      }
+      jWKSet()
+        .onFailure(err -> {
+          synchronized (OAuth2AuthProviderImpl.this) {
+            if (jwt == null || updateTimerId != -1) {
+              return;
+            }
+            final long remaining = staleUntil - System.currentTimeMillis();
+            if (remaining > 0) {
+              LOG.warn("Failed to auto-update JWK Set, retrying", err);
+              scheduleJwkSet(min(delay, max(1000L, remaining / 2)), staleUntil);
+            } else {
+              LOG.warn("Failed to auto-update JWK Set, the keys are stale", err);
+              scheduleJwkSet(delay, staleUntil);
+            }
+          }
+        });
+    });
+    // ensure we get a clean exit
+    ((VertxInternal) vertx).addCloseHook(this);
+  }
+
   @Override
   public OAuth2Auth missingKeyHandler(Handler<String> handler) {
     this.missingKeyHandler = handler;
@@ -226,117 +352,7 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
         TokenCredentials tokenCredentials = (TokenCredentials) credentials;
         tokenCredentials.checkValid(null);
 
-        // this validation can be done in 2 different ways:
-        // 1) the token is a JWT and in this case if the provider is OpenId Compliant the token can be verified locally
-        // 2) the token is an opaque string, and we need to introspect it
-
-        // if the JWT library is working in unsecure mode, local validation is not to be trusted
-
-        final User user = createUser(new JsonObject().put("access_token", tokenCredentials.getToken()), false);
-
-        if (!user.principal().getBoolean("opaque", false)) {
-          if (user.attributes().containsKey("accessToken")) {
-            final JWTOptions jwtOptions = config.getJWTOptions();
-            // a valid JWT token should have the access token value decoded
-            // the token might be valid, but expired
-            if (!user.expired(jwtOptions.getLeeway())) {
-              // basic validation passed, the token is not expired
-              return Future.succeededFuture(user);
-            }
-          }
-        }
-
-        // the token is not in JWT format or this auth provider is not configured for secure JWTs
-        // in this case we must rely on token introspection in order to know more about its state
-        // attempt to create a token object from the given string representation
-
-        // Not all providers support this so we need to check if the call is possible
-        if (config.getIntrospectionPath() == null) {
-          // this provider doesn't allow introspection, this means we are not able to perform
-          // any authentication, unless the userinfo endpoint is available. In this case, we shall
-          // call that endpoint and the result should be handled as a decoded id_token
-
-          if (config.getUserInfoPath() == null) {
-            if (user.attributes().containsKey("missing-kid")) {
-              return Future.failedFuture(new NoSuchKeyIdException(user.attributes().getString("missing-kid")));
-            } else {
-              return Future.failedFuture("Can't authenticate access_token: Provider doesn't support token introspection or userinfo");
-            }
-          }
-
-          // perform the introspection
-          return api
-            .userInfo(tokenCredentials.getToken(), jwt)
-            .compose(json -> {
-              // RFC7662 dictates that there is a boolean active field (however tokeninfo implementations may not return this)
-              if (json.containsKey("active") && !json.getBoolean("active", false)) {
-                return Future.failedFuture("Inactive Token");
-              }
-
-              // attempt to create a user from the json object
-              final User newUser = createUser(
-                new JsonObject()
-                  .put("access_token", tokenCredentials.getToken()),
-                user.attributes().containsKey("missing-kid"));
-
-              // replace the user info with the user attributes
-              newUser.attributes().put("idToken", json);
-
-              // copy the userInfo basic properties to the root
-              copyProperties(json, user.attributes(), false, "sub", "name", "email", "picture");
-              // copy amr to the principal
-              copyProperties(json, user.principal(), true, "amr");
-
-              // final step, verify if the user is not expired
-              // this may happen if the user tokens have been issued for future use for example
-              if (newUser.expired(config.getJWTOptions().getLeeway())) {
-                return Future.failedFuture("User token is expired.");
-              } else {
-                // basic validation passed, the token is not expired
-                return Future.succeededFuture(newUser);
-              }
-            });
-        }
-
-        // perform the introspection
-        return api
-          .tokenIntrospection("access_token", tokenCredentials.getToken())
-          .compose(json -> {
-            // RFC7662 dictates that there is a boolean active field (however tokeninfo implementations may not return this)
-            if (json.containsKey("active") && !json.getBoolean("active", false)) {
-              return Future.failedFuture("Inactive Token");
-            }
-
-            // OPTIONALS
-
-            // validate client id
-            if (json.containsKey("client_id")) {
-              // response included a client id. Match against config client id
-              String clientId = config.getClientId();
-              if (clientId != null && !clientId.equals(json.getString("client_id"))) {
-                // Client identifier for the OAuth 2.0 client that requested this token.
-                LOG.info("Introspected client_id doesn't match configured client_id");
-                if (LOG.isDebugEnabled()) {
-                  LOG.debug(String.format("Introspected client_id: %s", clientId));
-                  LOG.debug(String.format("Configured client_id: %s", json.getString("client_id")));
-                }
-              }
-            }
-
-            // attempt to create a user from the json object
-            final User newUser = createUser(
-              json.put("access_token", tokenCredentials.getToken()),
-              user.attributes().containsKey("missing-kid"));
-
-            // final step, verify if the user is not expired
-            // this may happen if the user tokens have been issued for future use for example
-            if (newUser.expired(config.getJWTOptions().getLeeway())) {
-              return Future.failedFuture("User token is expired.");
-            } else {
-              // basic validation passed, the token is not expired
-              return Future.succeededFuture(newUser);
-            }
-          });
+        return authenticate(tokenCredentials, false);
       }
 
       // from this point, the only allowed subtype for credentials is OAuth2Credentials
@@ -385,11 +401,14 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
           if (oauth2Credentials.getScopes() != null) {
             params.put("scope", String.join(config.getScopeSeparator(), oauth2Credentials.getScopes()));
           }
+          if (oauth2Credentials.getAudience() != null) {
+            params.put("audience", oauth2Credentials.getAudience());
+          }
           break;
 
         case AUTH_JWT:
           params
-            .put("assertion", jwt.sign(oauth2Credentials.getJwt().copy(), config.getJWTOptions()));
+            .put("assertion", assertions.sign(oauth2Credentials.getJwt()));
 
           if (oauth2Credentials.getScopes() != null) {
             params.put("scope", String.join(config.getScopeSeparator(), oauth2Credentials.getScopes()));
@@ -431,6 +450,185 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
     }
   }
 
+  /**
+   * Stateless authentication of an access token.
+   *
+   * @param refreshed {@code true} when the JWKs were refreshed for this token
+   */
+  private Future<User> authenticate(TokenCredentials tokenCredentials, boolean refreshed) {
+    // this validation can be done in 2 different ways:
+    // 1) the token is a JWT and in this case if the provider is OpenId Compliant the token can be verified locally
+    // 2) the token is an opaque string, and we need to introspect it
+
+    // if the JWT library is working in unsecure mode, local validation is not to be trusted
+
+    // on an unknown key id, the JWKs are refreshed first and the token verified again
+    final boolean refreshable = !refreshed && jwkRefreshEnabled();
+    final User user = createUser(new JsonObject().put("access_token", tokenCredentials.getToken()), false, !refreshable);
+
+    if (refreshable && user.attributes().containsKey("missing-kid")) {
+      final Future<Void> refresh = refreshJwks();
+      if (refresh != null) {
+        // wait for the refresh, regardless of its outcome the token is verified once more
+        return refresh.transform(ar -> authenticate(tokenCredentials, true));
+      }
+      // too soon to refresh again
+      missingKey(user.attributes().getString("missing-kid"));
+    }
+
+    if (!user.principal().getBoolean("opaque", false)) {
+      if (user.attributes().containsKey("accessToken")) {
+        final JWTOptions jwtOptions = config.getJWTOptions();
+        // a valid JWT token should have the access token value decoded
+        // the token might be valid, but expired
+        if (!user.expired(jwtOptions.getLeeway())) {
+          // basic validation passed, the token is not expired
+          return Future.succeededFuture(user);
+        }
+      }
+    }
+
+    // the token is not in JWT format or this auth provider is not configured for secure JWTs
+    // in this case we must rely on token introspection in order to know more about its state
+    // attempt to create a token object from the given string representation
+
+    // Not all providers support this so we need to check if the call is possible
+    if (config.getIntrospectionPath() == null) {
+      // this provider doesn't allow introspection, this means we are not able to perform
+      // any authentication, unless the userinfo endpoint is available. In this case, we shall
+      // call that endpoint and the result should be handled as a decoded id_token
+
+      if (config.getUserInfoPath() == null) {
+        if (user.attributes().containsKey("missing-kid")) {
+          return Future.failedFuture(new NoSuchKeyIdException(user.attributes().getString("missing-kid")));
+        } else {
+          return Future.failedFuture("Can't authenticate access_token: Provider doesn't support token introspection or userinfo");
+        }
+      }
+
+      // perform the introspection
+      return fetchUserInfo(tokenCredentials.getToken())
+        .compose(json -> {
+          // RFC7662 dictates that there is a boolean active field (however tokeninfo implementations may not return this)
+          if (json.containsKey("active") && !json.getBoolean("active", false)) {
+            return Future.failedFuture("Inactive Token");
+          }
+
+          // attempt to create a user from the json object
+          final User newUser = createUser(
+            new JsonObject()
+              .put("access_token", tokenCredentials.getToken()),
+            user.attributes().containsKey("missing-kid"));
+
+          // replace the user info with the user attributes
+          newUser.attributes().put("idToken", json);
+
+          // copy the userInfo basic properties to the root
+          copyProperties(json, user.attributes(), false, "sub", "name", "email", "picture");
+          // copy amr to the principal
+          copyProperties(json, user.principal(), true, "amr");
+
+          // final step, verify if the user is not expired
+          // this may happen if the user tokens have been issued for future use for example
+          if (newUser.expired(config.getJWTOptions().getLeeway())) {
+            return Future.failedFuture("User token is expired.");
+          } else {
+            // basic validation passed, the token is not expired
+            return Future.succeededFuture(newUser);
+          }
+        });
+    }
+
+    // perform the introspection
+    return introspect(tokenCredentials.getToken())
+      .compose(json -> {
+        // RFC7662 dictates that there is a boolean active field (however tokeninfo implementations may not return this)
+        if (json.containsKey("active") && !json.getBoolean("active", false)) {
+          return Future.failedFuture("Inactive Token");
+        }
+
+        // OPTIONALS
+
+        // validate client id
+        if (json.containsKey("client_id")) {
+          // response included a client id. Match against config client id
+          String clientId = config.getClientId();
+          if (clientId != null && !clientId.equals(json.getString("client_id"))) {
+            // Client identifier for the OAuth 2.0 client that requested this token.
+            LOG.info("Introspected client_id doesn't match configured client_id");
+            if (LOG.isDebugEnabled()) {
+              LOG.debug(String.format("Introspected client_id: %s", clientId));
+              LOG.debug(String.format("Configured client_id: %s", json.getString("client_id")));
+            }
+          }
+        }
+
+        // attempt to create a user from the json object
+        final User newUser = createUser(
+          json.put("access_token", tokenCredentials.getToken()),
+          user.attributes().containsKey("missing-kid"));
+
+        // final step, verify if the user is not expired
+        // this may happen if the user tokens have been issued for future use for example
+        if (newUser.expired(config.getJWTOptions().getLeeway())) {
+          return Future.failedFuture("User token is expired.");
+        } else {
+          // basic validation passed, the token is not expired
+          return Future.succeededFuture(newUser);
+        }
+      });
+  }
+
+  /**
+   * Token introspection, the responses are cached when enabled. Concurrent introspections of the same token are
+   * coalesced in a single request.
+   */
+  private Future<JsonObject> introspect(String token) {
+    if (introspectionCache != null) {
+      final JsonObject cached = introspectionCache.get(token);
+      if (cached != null) {
+        return Future.succeededFuture(cached);
+      }
+    }
+
+    return inFlight
+      .execute("introspection:" + IntrospectionCache.digest(token), () ->
+        api.tokenIntrospection("access_token", token)
+          .andThen(ar -> {
+            if (ar.succeeded() && introspectionCache != null) {
+              introspectionCache.put(token, ar.result());
+            }
+          }))
+      // the response is shared, callers modify it
+      .map(JsonObject::copy);
+  }
+
+  /**
+   * User info, concurrent requests with the same token are coalesced in a single request.
+   */
+  private Future<JsonObject> fetchUserInfo(String token) {
+    if (token == null) {
+      return api.userInfo(null, jwt);
+    }
+    return inFlight
+      .execute("userInfo:" + IntrospectionCache.digest(token), () -> api.userInfo(token, jwt))
+      // the response is shared, callers modify it
+      .map(JsonObject::copy);
+  }
+
+  @Override
+  public OAuth2Auth evict(String token) {
+    if (introspectionCache != null && token != null) {
+      introspectionCache.evict(token);
+    }
+    return this;
+  }
+
+  @Override
+  public JsonObject introspectionCacheMetrics() {
+    return introspectionCache == null ? new JsonObject() : introspectionCache.metrics();
+  }
+
   @Override
   public String authorizeURL(OAuth2AuthorizationURL url) {
     return api.authorizeURL(url);
@@ -439,14 +637,36 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
   @Override
   public Future<User> refresh(User user) {
 
-    if (user.principal().getString("refresh_token") == null || user.principal().getString("refresh_token").isEmpty()) {
+    final String refreshToken = user.principal().getString("refresh_token");
+    if (refreshToken == null || refreshToken.isEmpty()) {
       return Future.failedFuture(new IllegalStateException("refresh_token is null or empty"));
     }
 
-    return api.token(
-        "refresh_token",
-        new JsonObject()
-          .put("refresh_token", user.principal().getString("refresh_token")))
+    final JsonObject rotated = rotatedTokens == null ? null : rotatedTokens.get(refreshToken);
+    final Future<JsonObject> tokens;
+
+    if (rotated != null) {
+      // the token was just rotated by another request of the same session
+      tokens = Future.succeededFuture(rotated);
+    } else {
+      // the concurrent refreshes of a session share one request, a rotating refresh token can only be used once
+      tokens = inFlight
+        .execute("refresh:" + IntrospectionCache.digest(refreshToken), () -> api.token(
+            "refresh_token",
+            new JsonObject()
+              .put("refresh_token", refreshToken))
+          .andThen(ar -> {
+            if (ar.succeeded() && rotatedTokens != null) {
+              final String newRefreshToken = ar.result().getString("refresh_token");
+              if (newRefreshToken != null && !newRefreshToken.equals(refreshToken)) {
+                rotatedTokens.put(refreshToken, ar.result());
+              }
+            }
+          }))
+        .map(JsonObject::copy);
+    }
+
+    return tokens
       .compose(json -> {
         // attempt to create a user from the json object
         final User newUser = createUser(
@@ -465,12 +685,20 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
 
   @Override
   public Future<Void> revoke(User user, String tokenType) {
-    return api.tokenRevocation(tokenType, user.principal().getString(tokenType));
+    final String token = user.principal().getString(tokenType);
+    return api.tokenRevocation(tokenType, token)
+      .andThen(ar -> {
+        evict(token);
+        if (rotatedTokens != null && token != null) {
+          // a late refresh of the session must not get the revoked tokens back
+          rotatedTokens.evictIssued(token);
+        }
+      });
   }
 
   @Override
   public Future<JsonObject> userInfo(User user) {
-    return api.userInfo(user.principal().getString("access_token"), jwt)
+    return fetchUserInfo(user.principal().getString("access_token"))
       .compose(json -> {
         // validation (the subject must match)
         String userSub = user.principal().getString("sub", user.attributes().getString("sub"));
@@ -504,10 +732,59 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
     return api.endSessionURL(user.principal().getString("id_token"), params);
   }
 
+  /**
+   * Notifies the missing key handler, at most once per {@link OAuth2Options#getJwkMinRefreshIntervalInSeconds()} for
+   * a given key id.
+   */
+  private void missingKey(String kid) {
+    final Handler<String> handler = missingKeyHandler;
+    if (handler == null) {
+      return;
+    }
+    final long interval = config.getJwkMinRefreshIntervalInSeconds() * 1000;
+    if (interval > 0) {
+      final long now = System.currentTimeMillis();
+      synchronized (missingKeys) {
+        final Long notified = missingKeys.get(kid);
+        if (notified != null && now - notified < interval) {
+          return;
+        }
+        missingKeys.put(kid, now);
+      }
+    }
+    context.runOnContext(v -> handler.handle(kid));
+  }
+
+  private boolean jwkRefreshEnabled() {
+    return config.getJwkPath() != null && config.getJwkMinRefreshIntervalInSeconds() >= 0;
+  }
+
+  /**
+   * Refreshes the JWKs after an unknown key id. Concurrent callers share the same refresh and refreshes are at least
+   * {@link OAuth2Options#getJwkMinRefreshIntervalInSeconds()} apart, so forged key ids cannot flood the provider.
+   *
+   * @return the refresh, or {@code null} when the last one is too recent.
+   */
+  private Future<Void> refreshJwks() {
+    final long interval = config.getJwkMinRefreshIntervalInSeconds() * 1000;
+    if (!jwksRefresh.inFlight(JWKS_REFRESH) && System.currentTimeMillis() - lastJwksFetch < interval) {
+      return null;
+    }
+    return jWKSet();
+  }
+
   /**
    * Create a User object with some initial validations related to JWT.
    */
   private User createUser(JsonObject json, boolean skipMissingKeyNotify) {
+    return createUser(json, skipMissingKeyNotify, true);
+  }
+
+  /**
+   * @param notifyMissingKey when {@code false} the missing key id is tagged but the missing key handler isn't called,
+   *                         the caller decides after a JWKs refresh
+   */
+  private User createUser(JsonObject json, boolean skipMissingKeyNotify, boolean notifyMissingKey) {
     // update the principal
     final User user = User.create(json);
     final long now = System.currentTimeMillis() / 1000;
@@ -573,8 +850,8 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
             // the JWT store has no knowledge about the key id on this token
             // if the user has specified a handler for this situation then it
             // shall be executed, otherwise just log as a typical validation
-            if (missingKeyHandler != null) {
-              context.runOnContext(v -> missingKeyHandler.handle(e.id()));
+            if (notifyMissingKey) {
+              missingKey(e.id());
             }
           }
         } catch (SignatureException | IllegalStateException e) {
@@ -604,8 +881,8 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
               // the JWT store has no knowledge about the key id on this token
               // if the user has specified a handler for this situation then it
               // shall be executed, otherwise just log as a typical validation
-              if (missingKeyHandler != null) {
-                context.runOnContext(v -> missingKeyHandler.handle(e.id()));
+              if (notifyMissingKey) {
+                missingKey(e.id());
               }
             }
           }
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.oauth2.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.internal.logging.Logger;
+import io.vertx.core.internal.logging.LoggerFactory;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.oauth2.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Client credentials tokens, cached per scopes and audience.
+ * <p>
+ * A cache entry holds the user principal and attributes, the expiration and the time of the next refresh, all in
+ * milliseconds. Named managers keep the entries in a local shared map and request the tokens under a local lock, so
+ * the managers of all the verticle instances share one token and one refresh.
+ */
+public class OAuth2TokenManagerImpl implements OAuth2TokenManager {
+
+  private static final Logger LOG = LoggerFactory.getLogger(OAuth2TokenManagerImpl.class);
+  private static final String SHARED_PREFIX = "__vertx.oauth2.tokens.";
+  private static final long LOCK_TIMEOUT = 10000L;
+
+  private final Vertx vertx;
+  private final OAuth2Auth oauth2;
+  private final OAuth2TokenManagerOptions options;
+  private final String name;
+  private final Map<String, JsonObject> tokens;
+  private final SingleFlight<JsonObject> inFlight;
+  // the background refreshes of this manager
+  private final Map<String, Long> timers = new ConcurrentHashMap<>();
+
+  private volatile boolean closed;
+
+  public OAuth2TokenManagerImpl(Vertx vertx, OAuth2Auth oauth2, OAuth2TokenManagerOptions options) {
+    this.vertx = vertx;
+    this.oauth2 = oauth2;
+    this.options = new OAuth2TokenManagerOptions(options);
+    this.inFlight = new SingleFlight<>(vertx);
+
+    if (options.getName() != null) {
+      this.name = SHARED_PREFIX + options.getName();
+      this.tokens = vertx.sharedData().getLocalMap(name);
+    } else {
+      this.name = null;
+      this.tokens = new ConcurrentHashMap<>();
+    }
+  }
+
+  @Override
+  public Future<User> token(List<String> scopes, String audience) {
+    final String key = key(scopes, audience);
+    final JsonObject entry = tokens.get(key);
+
+    if (entry != null && entry.getLong("expiresAt") > System.currentTimeMillis()) {
+      schedule(key, scopes, audience, entry);
+      return Future.succeededFuture(user(entry));
+    }
+
+    return fetch(key, scopes, audience)
+      .map(this::user);
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    for (Long timerId : timers.values()) {
+      vertx.cancelTimer(timerId);
+    }
+    timers.clear();
+  }
+
+  /**
+   * The scopes order isn't relevant.
+   */
+  private static String key(List<String> scopes, String audience) {
+    final List<String> sorted = scopes == null ? new ArrayList<>() : new ArrayList<>(scopes);
+    Collections.sort(sorted);
+    return String.join(" ", sorted) + "|" + (audience == null ? "" : audience);
+  }
+
+  private User user(JsonObject entry) {
+    return User.create(entry.getJsonObject("principal").copy(), entry.getJsonObject("attributes").copy());
+  }
+
+  private Future<JsonObject> fetch(String key, List<String> scopes, String audience) {
+    return inFlight
+      .execute(key, () -> {
+        if (name == null) {
+          return request(key, scopes, audience);
+        }
+        // another manager may hold the lock for the same token
+        return vertx.sharedData().withLocalLock(name + "." + key, LOCK_TIMEOUT, () -> {
+          final JsonObject entry = tokens.get(key);
+          if (entry != null && entry.getLong("refreshAt") > System.currentTimeMillis()) {
+            // refreshed while waiting for the lock
+            return Future.succeededFuture(entry);
+          }
+          return request(key, scopes, audience);
+        });
+      })
+      .onSuccess(entry -> schedule(key, scopes, audience, entry));
+  }
+
+  private Future<JsonObject> request(String key, List<String> scopes, String audience) {
+    final Oauth2Credentials credentials = new Oauth2Credentials()
+      .setFlow(OAuth2FlowType.CLIENT)
+      .setScopes(scopes)
+      .setAudience(audience);
+
+    return oauth2.authenticate(credentials)
+      .map(user -> {
+        final JsonObject entry = new JsonObject()
+          .put("principal", user.principal())
+          .put("attributes", user.attributes());
+
+        final Object exp = user.attributes().getValue("exp");
+        if (exp instanceof Number) {
+          final long now = System.currentTimeMillis();
+          final long expiresAt = ((Number) exp).longValue() * 1000;
+          long refreshAt = expiresAt - options.getRefreshSkewInSeconds() * 1000;
+          if (options.getRefreshJitterInSeconds() > 0) {
+            refreshAt -= ThreadLocalRandom.current().nextLong(options.getRefreshJitterInSeconds() * 1000);
+          }
+          if (refreshAt <= now) {
+            // short lived token
+            refreshAt = now + (expiresAt - now) / 2;
+          }
+          entry
+            .put("expiresAt", expiresAt)
+            .put("refreshAt", refreshAt);
+          tokens.put(key, entry);
+        }
+        // tokens without expiration are not cached
+        return entry;
+      });
+  }
+
+  /**
+   * Schedules the refresh of a cached token, once per token and manager.
+   */
+  private void schedule(String key, List<String> scopes, String audience, JsonObject entry) {
+    if (closed || !entry.containsKey("refreshAt") || timers.containsKey(key)) {
+      return;
+    }
+    final long delay = Math.max(1L, entry.getLong("refreshAt") - System.currentTimeMillis());
+    final long timerId = vertx.setTimer(delay, t -> {
+      timers.remove(key, t);
+      final JsonObject current = tokens.get(key);
+      if (current != null && current.getLong("refreshAt") > System.currentTimeMillis()) {
+        // already refreshed by another manager
+        schedule(key, scopes, audience, current);
+        return;
+      }
+      fetch(key, scopes, audience)
+        .onFailure(err -> LOG.warn("Failed to refresh the client credentials token", err));
+    });
+    if (timers.putIfAbsent(key, timerId) != null) {
+      vertx.cancelTimer(timerId);
+    }
+  }
+}
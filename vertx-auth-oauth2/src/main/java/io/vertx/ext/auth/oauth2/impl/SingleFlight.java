@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2011-2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.ext.auth.oauth2.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.internal.VertxInternal;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls: while a call for a key is in flight, the callers with the same key wait for
+ * its result instead of starting a new one.
+ * <p>
+ * The callers can be on different event loops, each caller is notified on its own context. Results are shared, mutable
+ * results must be copied by the callers.
+ */
+final class SingleFlight<T> {
+
+  private final VertxInternal vertx;
+  private final ConcurrentMap<Object, Future<T>> inFlight = new ConcurrentHashMap<>();
+
+  SingleFlight(Vertx vertx) {
+    this.vertx = (VertxInternal) vertx;
+  }
+
+  Future<T> execute(Object key, Supplier<Future<T>> call) {
+    final Promise<T> shared = Promise.promise();
+    Future<T> current = inFlight.putIfAbsent(key, shared.future());
+
+    if (current == null) {
+      // leader, performs the call
+      current = shared.future();
+      Future<T> future;
+      try {
+        future = call.get();
+      } catch (RuntimeException e) {
+        future = Future.failedFuture(e);
+      }
+      future.onComplete(ar -> {
+        // later callers start a new call
+        inFlight.remove(key, shared.future());
+        shared.handle(ar);
+      });
+    }
+
+    // notify on the caller context
+    final Promise<T> promise = vertx.promise();
+    current.onComplete(promise);
+    return promise.future();
+  }
+
+  boolean inFlight(Object key) {
+    return inFlight.containsKey(key);
+  }
+
+  int size() {
+    return inFlight.size();
+  }
+}
@@ -25,6 +25,7 @@ import io.vertx.ext.auth.JWTOptions;
 import io.vertx.ext.auth.impl.http.SimpleHttpClient;
 import io.vertx.ext.auth.oauth2.OAuth2Auth;
 import io.vertx.ext.auth.oauth2.OAuth2Options;
+import io.vertx.ext.auth.oauth2.impl.OAuth2API;
 
 /**
  * Simplified factory to create an {@link io.vertx.ext.auth.oauth2.OAuth2Auth} for OpenID Connect.
@@ -63,10 +64,12 @@ public interface OpenIDConnectAuth {
       issuer = issuer.substring(0, issuer.length() - oidc_discovery_path.length());
     }
 
+    // the shared client of the provider, the discovery connection is reused to fetch the keys
     final SimpleHttpClient httpClient = new SimpleHttpClient(
       vertx,
       config.getUserAgent(),
-      config.getHttpClientOptions());
+      OAuth2API.httpClientOptions(config),
+      OAuth2API.poolOptions(config));
 
     // the response follows the OpenID Connect provider metadata spec:
     // https://openid.net/specs/openid-connect-discovery-1_0.html#ProviderMetadata
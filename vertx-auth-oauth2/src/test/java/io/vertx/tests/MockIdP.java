@@ -0,0 +1,110 @@
+package io.vertx.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.JWTOptions;
+import io.vertx.ext.auth.jwt.JWTAuth;
+import io.vertx.ext.auth.jwt.JWTAuthOptions;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A slow identity provider, the responses are delayed so that the concurrent requests overlap. Each endpoint counts
+ * the requests it received.
+ */
+public class MockIdP {
+
+  public static final JsonObject KEY1 = new JsonObject()
+    .put("kty", "oct")
+    .put("k", "c2VjcmV0LWtleS1vbmUtZm9yLXRoZS1qd2tzLXJlZnJlc2gtdGVzdA")
+    .put("alg", "HS256")
+    .put("kid", "1");
+
+  public static final JsonObject KEY2 = new JsonObject()
+    .put("kty", "oct")
+    .put("k", "c2VjcmV0LWtleS10d28tZm9yLXRoZS1qd2tzLXJlZnJlc2gtdGVzdA")
+    .put("alg", "HS256")
+    .put("kid", "2");
+
+  private final Vertx vertx;
+  private final long delay;
+  private final Map<String, Function<HttpServerRequest, JsonObject>> endpoints = new HashMap<>();
+  private final Map<String, AtomicInteger> requests = new HashMap<>();
+  private HttpServer server;
+
+  public MockIdP(Vertx vertx, long delay) {
+    this.vertx = vertx;
+    this.delay = delay;
+  }
+
+  /**
+   * Signs a token for the subject {@code paulo} with the given key.
+   */
+  public static String token(Vertx vertx, JsonObject key) {
+    return JWTAuth.create(vertx, new JWTAuthOptions().addJwk(key))
+      .generateToken(new JsonObject().put("sub", "paulo"), new JWTOptions().setAlgorithm("HS256"));
+  }
+
+  public MockIdP get(String path, Function<HttpServerRequest, JsonObject> endpoint) {
+    return endpoint(HttpMethod.GET, path, endpoint);
+  }
+
+  /**
+   * The form attributes of the request are available to the endpoint.
+   */
+  public MockIdP post(String path, Function<HttpServerRequest, JsonObject> endpoint) {
+    return endpoint(HttpMethod.POST, path, endpoint);
+  }
+
+  private MockIdP endpoint(HttpMethod method, String path, Function<HttpServerRequest, JsonObject> endpoint) {
+    endpoints.put(method + " " + path, endpoint);
+    requests.put(path, new AtomicInteger());
+    return this;
+  }
+
+  public Future<Void> listen() {
+    server = vertx.createHttpServer().requestHandler(req -> {
+      final Function<HttpServerRequest, JsonObject> endpoint = endpoints.get(req.method() + " " + req.path());
+      if (endpoint == null) {
+        req.response().setStatusCode(400).end();
+        return;
+      }
+      requests.get(req.path()).incrementAndGet();
+      req.setExpectMultipart(req.method() == HttpMethod.POST);
+      req.end().onSuccess(v -> {
+        final JsonObject json = endpoint.apply(req);
+        if (json.containsKey("error")) {
+          // an OAuth2 error response
+          req.response()
+            .setStatusCode(400)
+            .putHeader("Content-Type", "application/json")
+            .end(json.encode());
+        } else {
+          vertx.setTimer(delay, t -> req.response()
+            .putHeader("Content-Type", "application/json")
+            .end(json.encode()));
+        }
+      });
+    });
+    return server.listen(0).mapEmpty();
+  }
+
+  public String site() {
+    return "http://localhost:" + server.actualPort();
+  }
+
+  public int requests(String path) {
+    return requests.get(path).get();
+  }
+
+  public Future<Void> close() {
+    return server.close();
+  }
+}
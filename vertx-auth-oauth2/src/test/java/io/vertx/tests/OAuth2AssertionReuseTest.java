@@ -0,0 +1,186 @@
+package io.vertx.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.JWTOptions;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.oauth2.OAuth2Auth;
+import io.vertx.ext.auth.oauth2.OAuth2FlowType;
+import io.vertx.ext.auth.oauth2.OAuth2Options;
+import io.vertx.ext.auth.oauth2.Oauth2Credentials;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(VertxUnitRunner.class)
+public class OAuth2AssertionReuseTest {
+
+  @Rule
+  public final RunTestOnContext rule = new RunTestOnContext();
+
+  private static final JsonObject jwk = new JsonObject()
+    .put("kty", "RSA")
+    .put("n", "0vx7agoebGcQSuuPiLJXZptN9nndrQmbXEps2aiAFbWhM78LhWx4cbbfAAtVT86zwu1RK7aPFFxuhDR1L6tSoc_BJECPebWKRXjBZCiFV4n3oknjhMstn64tZ_2W-5JsGY4Hc5n9yBXArwl93lqt7_RN5w6Cf0h4QyQ5v-65YGjQR0_FDW2QvzqY368QQMicAtaSqzs8KJZgnYb9c7d0zgdAZHzu6qMQvRL5hajrn1n91CbOpbISD08qNLyrdkt-bFTWhAI4vMQFh6WeZu0fM4lFd2NcRwr3XPksINHaQ-G_xBniIqbw0Ls1jF44-csFCur-kEgU8awapJzKnqDKgw")
+    .put("e", "AQAB")
+    .put("d", "X4cTteJY_gn4FYPsXB8rdXix5vwsg1FLN5E3EaG6RJoVH-HLLKD9M7dx5oo7GURknchnrRweUkC7hT5fJLM0WbFAKNLWY2vv7B6NqXSzUvxT0_YSfqijwp3RTzlBaCxWp4doFk5N2o8Gy_nHNKroADIkJ46pRUohsXywbReAdYaMwFs9tv8d_cPVY3i07a3t8MN6TNwm0dSawm9v47UiCl3Sk5ZiG7xojPLu4sbg1U2jx4IBTNBznbJSzFHK66jT8bgkuqsk0GjskDJk19Z4qwjwbsnn4j2WBii3RL-Us2lGVkY8fkFzme1z0HbIkfz0Y6mqnOYtqc0X4jfcKoAC8Q")
+    .put("p", "83i-7IvMGXoMXCskv73TKr8637FiO7Z27zv8oj6pbWUQyLPQBQxtPVnwD20R-60eTDmD2ujnMt5PoqMrm8RfmNhVWDtjjMmCMjOpSXicFHj7XOuVIYQyqVWlWEh6dN36GVZYk93N8Bc9vY41xy8B9RzzOGVQzXvNEvn7O0nVbfs")
+    .put("q", "3dfOR9cuYq-0S-mkFLzgItgMEfFzB2q3hWehMuG0oCuqnb3vobLyumqjVZQO1dIrdwgTnCdpYzBcOfW5r370AFXjiWft_NGEiovonizhKpo9VVS78TzFgxkIdrecRezsZ-1kYd_s1qDbxtkDEgfAITAG9LUnADun4vIcb6yelxk")
+    .put("dp", "G4sPXkc6Ya9y8oJW9_ILj4xuppu0lzi_H7VTkS8xj5SdX3coE0oimYwxIi2emTAue0UOa5dpgFGyBJ4c8tQ2VF402XRugKDTP8akYhFo5tAA77Qe_NmtuYZc3C3m3I24G2GvR5sSDxUyAN2zq8Lfn9EUms6rY3Ob8YeiKkTiBj0")
+    .put("dq", "s9lAH9fggBsoFR8Oac2R_E2gw282rT2kGOAhvIllETE1efrA6huUUvMfBcMpn8lqeW6vzznYY5SSQF7pMdC_agI3nG8Ibp1BUb0JUiraRNqUfLhcQb_d9GF4Dh7e74WbRsobRonujTYN1xCaP6TO61jvWrX-L18txXw494Q_cgk")
+    .put("qi", "GyM_p6JrXySiz1toFgKbWV-JdI3jQ4ypu9rbMWx3rQJBfmt0FoYzgUIZEVFEcOqwemRN81zoDAaa-Bk0KWNGDjJHZDdDmFhW3AN7lI-puxk_mHZGJ11rxyR8O55XLSe3SPmRfKwZI6yU24ZxvQKFYItdldUKGzO6Ia6zTKhAVRU")
+    .put("alg", "RS256")
+    .put("kid", "2011-04-29");
+
+  private final List<String> assertions = new ArrayList<>();
+  private HttpServer server;
+  private int port;
+
+  @Before
+  public void setUp(TestContext should) {
+    server = rule.vertx().createHttpServer().requestHandler(req -> {
+      if (req.method() == HttpMethod.POST && "/oauth/token".equals(req.path())) {
+        req.setExpectMultipart(true);
+        req.end().onSuccess(v -> {
+          should.assertEquals("urn:ietf:params:oauth:grant-type:jwt-bearer", req.getFormAttribute("grant_type"));
+          assertions.add(req.getFormAttribute("assertion"));
+          req.response()
+            .putHeader("Content-Type", "application/json")
+            .end(new JsonObject()
+              .put("access_token", "opaque")
+              .put("token_type", "Bearer")
+              .put("expires_in", 3600)
+              .encode());
+        });
+      } else {
+        req.response().setStatusCode(400).end();
+      }
+    });
+    server.listen(0).onComplete(should.asyncAssertSuccess(ready -> port = ready.actualPort()));
+  }
+
+  @After
+  public void tearDown(TestContext should) {
+    server.close().onComplete(should.asyncAssertSuccess());
+  }
+
+  private OAuth2Auth oauth2(long maxReuse, long expiresIn) {
+    return OAuth2Auth.create(rule.vertx(), new OAuth2Options()
+      .setClientId("client-id")
+      .setSite("http://localhost:" + port)
+      .addJwk(jwk)
+      .setJWTOptions(new JWTOptions()
+        .setAlgorithm("RS256")
+        .setExpiresInSeconds((int) expiresIn))
+      .setJwtAssertionMaxReuseInSeconds(maxReuse));
+  }
+
+  private static Future<User> token(OAuth2Auth oauth2, JsonObject claims) {
+    return oauth2.authenticate(new Oauth2Credentials()
+      .setFlow(OAuth2FlowType.AUTH_JWT)
+      .setJwt(claims));
+  }
+
+  /**
+   * The iat has a second resolution, wait for the next one.
+   */
+  private Future<Void> nextSecond() {
+    final Promise<Void> promise = Promise.promise();
+    rule.vertx().setTimer(1100, t -> promise.complete());
+    return promise.future();
+  }
+
+  @Test
+  public void signedEachTime(TestContext should) {
+    final OAuth2Auth oauth2 = oauth2(0, 60);
+    final JsonObject claims = new JsonObject().put("sub", "client-id");
+
+    token(oauth2, claims)
+      .compose(user -> nextSecond())
+      .compose(v -> token(oauth2, claims))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals(2, assertions.size());
+        should.assertNotEquals(assertions.get(0), assertions.get(1));
+      }));
+  }
+
+  @Test
+  public void reused(TestContext should) {
+    final OAuth2Auth oauth2 = oauth2(30, 60);
+    final JsonObject claims = new JsonObject().put("sub", "client-id");
+
+    token(oauth2, claims)
+      .compose(user -> nextSecond())
+      .compose(v -> token(oauth2, claims))
+      .compose(v -> token(oauth2, new JsonObject().put("sub", "other")))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals(3, assertions.size());
+        should.assertEquals(assertions.get(0), assertions.get(1));
+        // other claims, other assertion
+        should.assertNotEquals(assertions.get(1), assertions.get(2));
+      }));
+  }
+
+  @Test
+  public void notReusedPastClaimsExp(TestContext should) {
+    // the exp of the claims is kept as is
+    final OAuth2Auth oauth2 = oauth2(30, 0);
+    final JsonObject claims = new JsonObject()
+      .put("sub", "client-id")
+      .put("exp", System.currentTimeMillis() / 1000 + 2);
+
+    token(oauth2, claims)
+      .compose(user -> nextSecond())
+      .compose(v -> nextSecond())
+      .compose(v -> token(oauth2, claims))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals(2, assertions.size());
+        should.assertNotEquals(assertions.get(0), assertions.get(1));
+      }));
+  }
+
+  @Test
+  public void jtiNotReused(TestContext should) {
+    final OAuth2Auth oauth2 = oauth2(30, 60);
+    final JsonObject claims = new JsonObject().put("sub", "client-id").put("jti", "unique");
+
+    token(oauth2, claims)
+      .compose(user -> nextSecond())
+      .compose(v -> token(oauth2, claims))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals(2, assertions.size());
+        should.assertNotEquals(assertions.get(0), assertions.get(1));
+      }));
+  }
+
+  @Test
+  public void presignedBeforeExpiration(TestContext should) {
+    // reused 3 seconds at most (90% of 4), the next one is signed after 2.25 seconds
+    final OAuth2Auth oauth2 = oauth2(30, 4);
+    final JsonObject claims = new JsonObject().put("sub", "client-id");
+
+    token(oauth2, claims)
+      .compose(user -> nextSecond())
+      .compose(v -> nextSecond())
+      .compose(v -> token(oauth2, claims))
+      .compose(v -> nextSecond())
+      .compose(v -> token(oauth2, claims))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals(3, assertions.size());
+        // still served while the next one is signed
+        should.assertEquals(assertions.get(0), assertions.get(1));
+        // the next one was signed before the previous one expired
+        should.assertNotEquals(assertions.get(1), assertions.get(2));
+      }));
+  }
+}
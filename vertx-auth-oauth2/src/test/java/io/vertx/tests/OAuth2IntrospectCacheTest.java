@@ -0,0 +1,145 @@
+package io.vertx.tests;
+
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.oauth2.OAuth2Auth;
+import io.vertx.ext.auth.oauth2.OAuth2Options;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(VertxUnitRunner.class)
+public class OAuth2IntrospectCacheTest {
+
+  @Rule
+  public final RunTestOnContext rule = new RunTestOnContext();
+
+  private static final JsonObject fixtureActive = new JsonObject()
+    .put("active", true)
+    .put("scope", "scopeA scopeB")
+    .put("client_id", "client-id")
+    .put("username", "username")
+    .put("exp", 99999999999L);
+
+  private static final JsonObject fixtureInactive = new JsonObject()
+    .put("active", false);
+
+  private final AtomicInteger introspections = new AtomicInteger();
+  private OAuth2Auth oauth2;
+  private HttpServer server;
+  private JsonObject fixture;
+
+  @Before
+  public void setUp(TestContext should) {
+    final Async setup = should.async();
+
+    server = rule.vertx().createHttpServer().requestHandler(req -> {
+      if (req.method() == HttpMethod.POST && "/oauth/introspect".equals(req.path())) {
+        introspections.incrementAndGet();
+        req.body().onSuccess(buffer -> req.response().putHeader("Content-Type", "application/json").end(fixture.encode()));
+      } else if (req.method() == HttpMethod.POST && "/oauth/revoke".equals(req.path())) {
+        req.body().onSuccess(buffer -> req.response().putHeader("Content-Type", "application/json").end("{}"));
+      } else {
+        req.response().setStatusCode(400).end();
+      }
+    });
+    server.listen(0).onComplete(should.asyncAssertSuccess(ready -> {
+      oauth2 = OAuth2Auth.create(rule.vertx(), new OAuth2Options()
+        .setClientId("client-id")
+        .setClientSecret("client-secret")
+        .setSite("http://localhost:" + ready.actualPort())
+        .setIntrospectionPath("/oauth/introspect")
+        .setIntrospectionCacheSize(16));
+
+      setup.complete();
+    }));
+  }
+
+  @After
+  public void tearDown(TestContext should) {
+    server.close().onComplete(should.asyncAssertSuccess());
+  }
+
+  @Test
+  public void cachedIntrospection(TestContext should) {
+    fixture = fixtureActive;
+
+    oauth2.authenticate(new TokenCredentials("opaque-token"))
+      .compose(user -> oauth2.authenticate(new TokenCredentials("opaque-token")))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals(1, introspections.get());
+        should.assertEquals("username", user.principal().getString("username"));
+        should.assertEquals("opaque-token", user.principal().getString("access_token"));
+        final JsonObject metrics = oauth2.introspectionCacheMetrics();
+        should.assertEquals(1, metrics.getInteger("size"));
+        should.assertEquals(1L, metrics.getLong("hits"));
+        should.assertEquals(1L, metrics.getLong("misses"));
+      }));
+  }
+
+  @Test
+  public void cachedInactive(TestContext should) {
+    fixture = fixtureInactive;
+
+    oauth2.authenticate(new TokenCredentials("opaque-token"))
+      .recover(err -> {
+        should.assertEquals("Inactive Token", err.getMessage());
+        return oauth2.authenticate(new TokenCredentials("opaque-token"));
+      })
+      .onComplete(should.asyncAssertFailure(err -> {
+        should.assertEquals("Inactive Token", err.getMessage());
+        should.assertEquals(1, introspections.get());
+      }));
+  }
+
+  @Test
+  public void evict(TestContext should) {
+    fixture = fixtureActive;
+
+    oauth2.authenticate(new TokenCredentials("opaque-token"))
+      .compose(user -> {
+        oauth2.evict("opaque-token");
+        return oauth2.authenticate(new TokenCredentials("opaque-token"));
+      })
+      .onComplete(should.asyncAssertSuccess(user -> should.assertEquals(2, introspections.get())));
+  }
+
+  @Test
+  public void revokeEvicts(TestContext should) {
+    fixture = fixtureActive;
+
+    oauth2.authenticate(new TokenCredentials("opaque-token"))
+      .compose(user -> oauth2.revoke(user, "access_token"))
+      .compose(v -> {
+        should.assertEquals(0, oauth2.introspectionCacheMetrics().getInteger("size"));
+        fixture = fixtureInactive;
+        return oauth2.authenticate(new TokenCredentials("opaque-token"));
+      })
+      .onComplete(should.asyncAssertFailure(err -> {
+        should.assertEquals("Inactive Token", err.getMessage());
+        should.assertEquals(2, introspections.get());
+      }));
+  }
+
+  @Test
+  public void distinctTokens(TestContext should) {
+    fixture = fixtureActive;
+
+    oauth2.authenticate(new TokenCredentials("opaque-token-1"))
+      .compose(user -> oauth2.authenticate(new TokenCredentials("opaque-token-2")))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals(2, introspections.get());
+        should.assertEquals("opaque-token-2", user.principal().getString("access_token"));
+      }));
+  }
+}
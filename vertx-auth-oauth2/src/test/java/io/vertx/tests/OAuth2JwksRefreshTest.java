@@ -0,0 +1,180 @@
+package io.vertx.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.NoSuchKeyIdException;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.oauth2.OAuth2Auth;
+import io.vertx.ext.auth.oauth2.OAuth2Options;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.vertx.tests.MockIdP.KEY1;
+import static io.vertx.tests.MockIdP.KEY2;
+
+@RunWith(VertxUnitRunner.class)
+public class OAuth2JwksRefreshTest {
+
+  @Rule
+  public final RunTestOnContext rule = new RunTestOnContext();
+
+  private static final JsonObject key3 = new JsonObject()
+    .put("kty", "oct")
+    .put("k", "c2VjcmV0LWtleS10aHJlZS1mb3ItdGhlLWp3a3MtcmVmcmVzaC10ZXN0")
+    .put("alg", "HS256")
+    .put("kid", "3");
+
+  // the rotated key set, key 3 is never published
+  private static final JsonObject fixtureJwks = new JsonObject()
+    .put("keys", new JsonArray().add(KEY1).add(KEY2));
+
+  private MockIdP idp;
+
+  @Before
+  public void setUp(TestContext should) {
+    idp = new MockIdP(rule.vertx(), 200)
+      .get("/oauth/jwks", req -> fixtureJwks);
+    idp.listen().onComplete(should.asyncAssertSuccess());
+  }
+
+  @After
+  public void tearDown(TestContext should) {
+    idp.close().onComplete(should.asyncAssertSuccess());
+  }
+
+  private int fetches() {
+    return idp.requests("/oauth/jwks");
+  }
+
+  private OAuth2Auth create(long minRefreshInterval) {
+    // only the first key is known upfront
+    return OAuth2Auth.create(rule.vertx(), new OAuth2Options()
+      .setClientId("client-id")
+      .setClientSecret("client-secret")
+      .setSite(idp.site())
+      .setJwkPath("/oauth/jwks")
+      .addJwk(KEY1)
+      .setJwkMinRefreshIntervalInSeconds(minRefreshInterval));
+  }
+
+  private String token(JsonObject key) {
+    return MockIdP.token(rule.vertx(), key);
+  }
+
+  @Test
+  public void refreshOnUnknownKid(TestContext should) {
+    final OAuth2Auth oauth2 = create(30);
+    final String token = token(KEY2);
+
+    final List<Future<User>> futures = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      futures.add(oauth2.authenticate(new TokenCredentials(token)));
+    }
+
+    Future.all(futures)
+      .onComplete(should.asyncAssertSuccess(all -> {
+        should.assertEquals(1, fetches());
+        final User user = all.resultAt(0);
+        should.assertEquals("paulo", user.attributes().getString("sub"));
+      }));
+  }
+
+  @Test
+  public void refreshRateLimited(TestContext should) {
+    final Async missing = should.async();
+    final OAuth2Auth oauth2 = create(30);
+    oauth2.missingKeyHandler(kid -> {
+      should.assertEquals("HS256#3", kid);
+      missing.complete();
+    });
+
+    oauth2.authenticate(new TokenCredentials(token(KEY2)))
+      .compose(user -> oauth2.authenticate(new TokenCredentials(token(key3))))
+      .onComplete(should.asyncAssertFailure(err -> {
+        should.assertTrue(err instanceof NoSuchKeyIdException);
+        // the second unknown key id is within the interval
+        should.assertEquals(1, fetches());
+      }));
+  }
+
+  @Test
+  public void missingKeyNotifiedOnce(TestContext should) {
+    final Async test = should.async();
+    final AtomicInteger notified = new AtomicInteger();
+    final OAuth2Auth oauth2 = create(30);
+    oauth2.missingKeyHandler(kid -> notified.incrementAndGet());
+    final String token = token(key3);
+
+    oauth2.authenticate(new TokenCredentials(token(KEY2)))
+      .compose(user -> {
+        final List<Future<User>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+          futures.add(oauth2.authenticate(new TokenCredentials(token)));
+        }
+        return Future.join(futures);
+      })
+      .onComplete(should.asyncAssertFailure(err -> {
+        should.assertEquals(1, fetches());
+        // the handler runs on the context
+        rule.vertx().runOnContext(v -> {
+          should.assertEquals(1, notified.get());
+          test.complete();
+        });
+      }));
+  }
+
+  @Test
+  public void jWKSetSingleFlight(TestContext should) {
+    final OAuth2Auth oauth2 = create(30);
+
+    Future.all(oauth2.jWKSet(), oauth2.jWKSet(), oauth2.jWKSet())
+      .compose(all -> oauth2.jWKSet())
+      .compose(v -> oauth2.authenticate(new TokenCredentials(token(KEY2))))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        // shared by the concurrent calls, an explicit fetch isn't rate limited
+        should.assertEquals(2, fetches());
+        should.assertEquals("paulo", user.attributes().getString("sub"));
+      }));
+  }
+
+  @Test
+  public void refreshUnknownKeyOnce(TestContext should) {
+    final Async missing = should.async();
+    final OAuth2Auth oauth2 = create(0);
+    oauth2.missingKeyHandler(kid -> {
+      should.assertEquals("HS256#3", kid);
+      missing.complete();
+    });
+
+    oauth2.authenticate(new TokenCredentials(token(key3)))
+      .onComplete(should.asyncAssertFailure(err -> {
+        should.assertTrue(err instanceof NoSuchKeyIdException);
+        // refreshed once, the key is still unknown
+        should.assertEquals(1, fetches());
+      }));
+  }
+
+  @Test
+  public void refreshDisabled(TestContext should) {
+    final OAuth2Auth oauth2 = create(-1);
+
+    oauth2.authenticate(new TokenCredentials(token(KEY2)))
+      .onComplete(should.asyncAssertFailure(err -> {
+        should.assertTrue(err instanceof NoSuchKeyIdException);
+        should.assertEquals(0, fetches());
+      }));
+  }
+}
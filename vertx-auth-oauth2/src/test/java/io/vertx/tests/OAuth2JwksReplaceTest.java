@@ -0,0 +1,177 @@
+package io.vertx.tests;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.NoSuchKeyIdException;
+import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.oauth2.OAuth2Auth;
+import io.vertx.ext.auth.oauth2.OAuth2Options;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.vertx.tests.MockIdP.KEY1;
+import static io.vertx.tests.MockIdP.KEY2;
+
+@RunWith(VertxUnitRunner.class)
+public class OAuth2JwksReplaceTest {
+
+  @Rule
+  public final RunTestOnContext rule = new RunTestOnContext();
+
+  private final AtomicInteger fetches = new AtomicInteger();
+  private Handler<HttpServerRequest> requestHandler;
+  private OAuth2Auth oauth2;
+  private HttpServer server;
+
+  @Before
+  public void setUp(TestContext should) {
+    final Async setup = should.async();
+
+    server = rule.vertx().createHttpServer().requestHandler(req -> {
+      if (req.method() == HttpMethod.GET && "/oauth/jwks".equals(req.path())) {
+        fetches.incrementAndGet();
+        requestHandler.handle(req);
+      } else {
+        req.response().setStatusCode(400).end();
+      }
+    });
+    server.listen(0).onComplete(should.asyncAssertSuccess(ready -> {
+      oauth2 = OAuth2Auth.create(rule.vertx(), new OAuth2Options()
+        .setClientId("client-id")
+        .setClientSecret("client-secret")
+        .setSite("http://localhost:" + ready.actualPort())
+        .setJwkPath("/oauth/jwks")
+        // only the explicit loads fetch the keys
+        .setJwkMinRefreshIntervalInSeconds(-1));
+
+      setup.complete();
+    }));
+  }
+
+  @After
+  public void tearDown(TestContext should) {
+    server.close().onComplete(should.asyncAssertSuccess());
+  }
+
+  private String token(JsonObject key) {
+    return MockIdP.token(rule.vertx(), key);
+  }
+
+  private static JsonObject jwks(JsonObject... keys) {
+    final JsonArray array = new JsonArray();
+    for (JsonObject key : keys) {
+      array.add(key);
+    }
+    return new JsonObject().put("keys", array);
+  }
+
+  @Test
+  public void retiredKeysDropped(TestContext should) {
+    requestHandler = req -> req.response()
+      .putHeader("Content-Type", "application/json")
+      .end((fetches.get() == 1 ? jwks(KEY1, KEY2) : jwks(KEY2)).encode());
+
+    oauth2.jWKSet()
+      .compose(v -> oauth2.authenticate(new TokenCredentials(token(KEY1))))
+      .compose(user -> oauth2.jWKSet())
+      .compose(v -> oauth2.authenticate(new TokenCredentials(token(KEY2))))
+      .compose(user -> oauth2.authenticate(new TokenCredentials(token(KEY1))))
+      .onComplete(should.asyncAssertFailure(err -> {
+        // key 1 was retired by the server
+        should.assertTrue(err instanceof NoSuchKeyIdException);
+        should.assertEquals(2, fetches.get());
+      }));
+  }
+
+  @Test
+  public void notModifiedETag(TestContext should) {
+    requestHandler = req -> {
+      if ("\"v1\"".equals(req.getHeader("If-None-Match"))) {
+        req.response().setStatusCode(304).end();
+      } else {
+        should.assertEquals(1, fetches.get());
+        req.response()
+          .putHeader("Content-Type", "application/json")
+          .putHeader("ETag", "\"v1\"")
+          .end(jwks(KEY1).encode());
+      }
+    };
+
+    oauth2.jWKSet()
+      .compose(v -> oauth2.jWKSet())
+      .compose(v -> oauth2.jWKSet())
+      .compose(v -> oauth2.authenticate(new TokenCredentials(token(KEY1))))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        // the keys are kept on 304
+        should.assertEquals("paulo", user.attributes().getString("sub"));
+        should.assertEquals(3, fetches.get());
+      }));
+  }
+
+  @Test
+  public void notModifiedLastModified(TestContext should) {
+    final String lastModified = "Wed, 21 Oct 2015 07:28:00 GMT";
+    requestHandler = req -> {
+      if (lastModified.equals(req.getHeader("If-Modified-Since"))) {
+        req.response().setStatusCode(304).end();
+      } else {
+        should.assertEquals(1, fetches.get());
+        req.response()
+          .putHeader("Content-Type", "application/json")
+          .putHeader("Last-Modified", lastModified)
+          .end(jwks(KEY1).encode());
+      }
+    };
+
+    oauth2.jWKSet()
+      .compose(v -> oauth2.jWKSet())
+      .compose(v -> oauth2.authenticate(new TokenCredentials(token(KEY1))))
+      .onComplete(should.asyncAssertSuccess(user -> should.assertEquals(2, fetches.get())));
+  }
+
+  @Test
+  public void staleWhileRevalidate(TestContext should) {
+    final Async test = should.async();
+    final long start = System.currentTimeMillis();
+
+    requestHandler = req -> {
+      switch (fetches.get()) {
+        case 1:
+          req.response()
+            .putHeader("Content-Type", "application/json")
+            .putHeader("Cache-Control", "public, max-age=3, stale-while-revalidate=2")
+            .end(jwks(KEY1).encode());
+          break;
+        case 2:
+          // the background refresh fails, the stale keys are still used
+          req.response().setStatusCode(503).end();
+          oauth2.authenticate(new TokenCredentials(token(KEY1)))
+            .onComplete(should.asyncAssertSuccess());
+          break;
+        default:
+          // retried within the stale window, sooner than the max age
+          should.assertTrue(System.currentTimeMillis() - start < 5500);
+          req.response()
+            .putHeader("Content-Type", "application/json")
+            .end(jwks(KEY1).encode());
+          test.complete();
+      }
+    };
+
+    oauth2.jWKSet()
+      .onComplete(should.asyncAssertSuccess());
+  }
+}
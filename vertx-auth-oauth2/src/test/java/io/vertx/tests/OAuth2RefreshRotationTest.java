@@ -0,0 +1,141 @@
+package io.vertx.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.oauth2.OAuth2Auth;
+import io.vertx.ext.auth.oauth2.OAuth2Options;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(VertxUnitRunner.class)
+public class OAuth2RefreshRotationTest {
+
+  @Rule
+  public final RunTestOnContext rule = new RunTestOnContext();
+
+  // each refresh token can be used once
+  private final AtomicInteger generation = new AtomicInteger(1);
+  private MockIdP idp;
+
+  @Before
+  public void setUp(TestContext should) {
+    idp = new MockIdP(rule.vertx(), 200)
+      .post("/oauth/token", req -> {
+        final int current = generation.get();
+        if (!("rt-" + current).equals(req.getFormAttribute("refresh_token")) || !generation.compareAndSet(current, current + 1)) {
+          return new JsonObject().put("error", "invalid_grant");
+        }
+        return new JsonObject()
+          .put("access_token", "at-" + (current + 1))
+          .put("refresh_token", "rt-" + (current + 1))
+          .put("token_type", "Bearer")
+          .put("expires_in", 3600);
+      })
+      .post("/oauth/revoke", req -> new JsonObject());
+    idp.listen().onComplete(should.asyncAssertSuccess());
+  }
+
+  @After
+  public void tearDown(TestContext should) {
+    idp.close().onComplete(should.asyncAssertSuccess());
+  }
+
+  private OAuth2Auth oauth2(long reuseInterval) {
+    return OAuth2Auth.create(rule.vertx(), new OAuth2Options()
+      .setClientId("client-id")
+      .setClientSecret("client-secret")
+      .setSite(idp.site())
+      .setRefreshTokenReuseIntervalInSeconds(reuseInterval));
+  }
+
+  private static User session() {
+    return User.create(new JsonObject()
+      .put("access_token", "at-1")
+      .put("refresh_token", "rt-1"));
+  }
+
+  @Test
+  public void coalesceConcurrentRefresh(TestContext should) {
+    final OAuth2Auth oauth2 = oauth2(0);
+
+    final List<Future<User>> futures = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      futures.add(oauth2.refresh(session()));
+    }
+
+    Future.all(futures)
+      .onComplete(should.asyncAssertSuccess(all -> {
+        should.assertEquals(1, idp.requests("/oauth/token"));
+        for (int i = 0; i < 10; i++) {
+          final User user = all.resultAt(i);
+          should.assertEquals("rt-2", user.principal().getString("refresh_token"));
+        }
+        // each caller got its own principal
+        ((User) all.resultAt(0)).principal().put("access_token", "changed");
+        should.assertEquals("at-2", ((User) all.resultAt(1)).principal().getString("access_token"));
+      }));
+  }
+
+  @Test
+  public void lateRefreshFails(TestContext should) {
+    final OAuth2Auth oauth2 = oauth2(0);
+
+    oauth2.refresh(session())
+      .compose(user -> oauth2.refresh(session()))
+      .onComplete(should.asyncAssertFailure(err -> {
+        should.assertEquals("invalid_grant", err.getMessage());
+        should.assertEquals(2, idp.requests("/oauth/token"));
+      }));
+  }
+
+  @Test
+  public void lateRefreshReusesRotation(TestContext should) {
+    final OAuth2Auth oauth2 = oauth2(10);
+
+    oauth2.refresh(session())
+      .compose(user -> oauth2.refresh(session()))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals("rt-2", user.principal().getString("refresh_token"));
+        should.assertEquals("at-2", user.principal().getString("access_token"));
+        should.assertEquals(1, idp.requests("/oauth/token"));
+      }));
+  }
+
+  @Test
+  public void revokeForgetsRotation(TestContext should) {
+    final OAuth2Auth oauth2 = oauth2(10);
+
+    oauth2.refresh(session())
+      // the rotated access token is revoked, e.g. on logout
+      .compose(user -> oauth2.revoke(user, "access_token"))
+      .compose(v -> oauth2.refresh(session()))
+      .onComplete(should.asyncAssertFailure(err -> {
+        should.assertEquals("invalid_grant", err.getMessage());
+        should.assertEquals(2, idp.requests("/oauth/token"));
+        should.assertEquals(1, idp.requests("/oauth/revoke"));
+      }));
+  }
+
+  @Test
+  public void newTokenRefreshes(TestContext should) {
+    final OAuth2Auth oauth2 = oauth2(10);
+
+    oauth2.refresh(session())
+      .compose(oauth2::refresh)
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals("rt-3", user.principal().getString("refresh_token"));
+        should.assertEquals(2, idp.requests("/oauth/token"));
+      }));
+  }
+}
@@ -0,0 +1,154 @@
+package io.vertx.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.oauth2.OAuth2Auth;
+import io.vertx.ext.auth.oauth2.OAuth2FlowType;
+import io.vertx.ext.auth.oauth2.OAuth2Options;
+import io.vertx.ext.auth.oauth2.Oauth2Credentials;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@RunWith(VertxUnitRunner.class)
+public class OAuth2SharedHttpClientTest {
+
+  @Rule
+  public final RunTestOnContext rule = new RunTestOnContext();
+
+  private final AtomicInteger connections = new AtomicInteger();
+  private final AtomicInteger warmUps = new AtomicInteger();
+  private HttpServer server;
+  private int port;
+
+  @Before
+  public void setUp(TestContext should) {
+    server = rule.vertx().createHttpServer()
+      .connectionHandler(conn -> connections.incrementAndGet())
+      .requestHandler(req -> {
+        if (req.method() == HttpMethod.HEAD) {
+          warmUps.incrementAndGet();
+          req.response().setStatusCode(405).end();
+        } else if (req.method() == HttpMethod.POST && "/oauth/token".equals(req.path())) {
+          req.response()
+            .putHeader("Content-Type", "application/json")
+            .end(new JsonObject()
+              .put("access_token", "opaque")
+              .put("token_type", "Bearer")
+              .put("expires_in", 3600)
+              .encode());
+        } else {
+          req.response().setStatusCode(400).end();
+        }
+      });
+    server.listen(0).onComplete(should.asyncAssertSuccess(ready -> port = ready.actualPort()));
+  }
+
+  @After
+  public void tearDown(TestContext should) {
+    server.close().onComplete(should.asyncAssertSuccess());
+  }
+
+  private OAuth2Options options() {
+    return new OAuth2Options()
+      .setClientId("client-id")
+      .setClientSecret("client-secret")
+      .setSite("http://localhost:" + port);
+  }
+
+  private static Future<User> token(OAuth2Auth oauth2) {
+    return oauth2.authenticate(new Oauth2Credentials().setFlow(OAuth2FlowType.CLIENT));
+  }
+
+  /**
+   * Once the previous connection is back in the pool.
+   */
+  private <T> Future<T> later(Supplier<Future<T>> request) {
+    final Promise<T> promise = Promise.promise();
+    rule.vertx().setTimer(100, t -> request.get().onComplete(promise));
+    return promise.future();
+  }
+
+  @Test
+  public void sharedPool(TestContext should) {
+    // as if created by two verticle instances
+    final OAuth2Auth oauth2a = OAuth2Auth.create(rule.vertx(), options());
+    final OAuth2Auth oauth2b = OAuth2Auth.create(rule.vertx(), options());
+
+    token(oauth2a)
+      .compose(user -> later(() -> token(oauth2b)))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals(1, connections.get());
+        oauth2a.close();
+        oauth2b.close();
+      }));
+  }
+
+  @Test
+  public void distinctOptions(TestContext should) {
+    final OAuth2Auth oauth2a = OAuth2Auth.create(rule.vertx(), options());
+    final OAuth2Auth oauth2b = OAuth2Auth.create(rule.vertx(), options()
+      .setHttpClientOptions(new HttpClientOptions().setKeepAliveTimeout(30)));
+
+    token(oauth2a)
+      .compose(user -> later(() -> token(oauth2b)))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals(2, connections.get());
+        oauth2a.close();
+        oauth2b.close();
+      }));
+  }
+
+  @Test
+  public void closeReleasesReference(TestContext should) {
+    final OAuth2Auth oauth2a = OAuth2Auth.create(rule.vertx(), options());
+    final OAuth2Auth oauth2b = OAuth2Auth.create(rule.vertx(), options());
+
+    token(oauth2a)
+      .compose(user -> {
+        // twice, the reference is released once
+        oauth2a.close();
+        oauth2a.close();
+        return later(() -> token(oauth2b));
+      })
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals(1, connections.get());
+        oauth2b.close();
+      }));
+  }
+
+  @Test
+  public void warmUp(TestContext should) {
+    final Async test = should.async();
+    final OAuth2Auth oauth2 = OAuth2Auth.create(rule.vertx(), options()
+      .setIntrospectionPath("/oauth/introspect")
+      .setJwkPath("/oauth/jwks")
+      .setWarmUpConnections(true));
+
+    rule.vertx().setTimer(500, t -> {
+      // one origin, one connection
+      should.assertEquals(1, warmUps.get());
+      should.assertEquals(1, connections.get());
+      token(oauth2)
+        .onComplete(should.asyncAssertSuccess(user -> {
+          should.assertEquals(1, connections.get());
+          oauth2.close();
+          test.complete();
+        }));
+    });
+  }
+}
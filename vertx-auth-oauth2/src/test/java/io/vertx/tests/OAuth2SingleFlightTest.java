@@ -0,0 +1,137 @@
+package io.vertx.tests;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.oauth2.OAuth2Auth;
+import io.vertx.ext.auth.oauth2.OAuth2Options;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(VertxUnitRunner.class)
+public class OAuth2SingleFlightTest {
+
+  @Rule
+  public final RunTestOnContext rule = new RunTestOnContext();
+
+  private static final JsonObject fixtureIntrospect = new JsonObject()
+    .put("active", true)
+    .put("client_id", "client-id")
+    .put("username", "username")
+    .put("exp", 99999999999L);
+
+  private static final JsonObject fixtureUserInfo = new JsonObject()
+    .put("sub", "248289761001")
+    .put("name", "Jane Doe");
+
+  private OAuth2Auth oauth2;
+  private MockIdP idp;
+
+  @Before
+  public void setUp(TestContext should) {
+    final Async setup = should.async();
+
+    idp = new MockIdP(rule.vertx(), 200)
+      .post("/oauth/introspect", req -> fixtureIntrospect)
+      .get("/oauth/userinfo", req -> fixtureUserInfo);
+    idp.listen().onComplete(should.asyncAssertSuccess(ready -> {
+      oauth2 = OAuth2Auth.create(rule.vertx(), new OAuth2Options()
+        .setClientId("client-id")
+        .setClientSecret("client-secret")
+        .setSite(idp.site())
+        .setIntrospectionPath("/oauth/introspect")
+        .setUserInfoPath("/oauth/userinfo"));
+
+      setup.complete();
+    }));
+  }
+
+  @After
+  public void tearDown(TestContext should) {
+    idp.close().onComplete(should.asyncAssertSuccess());
+  }
+
+  @Test
+  public void coalesceIntrospection(TestContext should) {
+    final Async test = should.async(30);
+
+    for (int i = 0; i < 30; i++) {
+      oauth2.authenticate(new TokenCredentials("opaque-token"))
+        .onComplete(should.asyncAssertSuccess(user -> {
+          should.assertEquals(1, idp.requests("/oauth/introspect"));
+          should.assertEquals("opaque-token", user.principal().getString("access_token"));
+          test.countDown();
+        }));
+    }
+  }
+
+  @Test
+  public void coalesceAcrossEventLoops(TestContext should) {
+    final Async test = should.async(8);
+
+    for (int i = 0; i < 8; i++) {
+      final Context context = rule.vertx().getOrCreateContext();
+      context.runOnContext(v ->
+        oauth2.authenticate(new TokenCredentials("opaque-token"))
+          .onComplete(should.asyncAssertSuccess(user -> {
+            // each caller is notified on its own context
+            should.assertEquals(context, Vertx.currentContext());
+            should.assertEquals(1, idp.requests("/oauth/introspect"));
+            test.countDown();
+          })));
+    }
+  }
+
+  @Test
+  public void distinctTokensNotCoalesced(TestContext should) {
+    Future.all(
+        oauth2.authenticate(new TokenCredentials("opaque-token-1")),
+        oauth2.authenticate(new TokenCredentials("opaque-token-2")))
+      .onComplete(should.asyncAssertSuccess(all -> should.assertEquals(2, idp.requests("/oauth/introspect"))));
+  }
+
+  @Test
+  public void coalesceUserInfo(TestContext should) {
+    final List<Future<JsonObject>> futures = new ArrayList<>();
+    final List<User> users = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      final User user = User.create(new JsonObject().put("access_token", "opaque-token"));
+      users.add(user);
+      futures.add(oauth2.userInfo(user));
+    }
+
+    Future.all(futures)
+      .onComplete(should.asyncAssertSuccess(all -> {
+        should.assertEquals(1, idp.requests("/oauth/userinfo"));
+        // each user got its own copy of the response
+        for (User user : users) {
+          should.assertEquals("Jane Doe", user.attributes().getString("name"));
+        }
+        final JsonObject first = all.resultAt(0);
+        first.put("name", "changed");
+        should.assertEquals("Jane Doe", ((JsonObject) all.resultAt(1)).getString("name"));
+      }));
+  }
+
+  @Test
+  public void sequentialNotCoalesced(TestContext should) {
+    oauth2.authenticate(new TokenCredentials("opaque-token"))
+      .compose(user -> oauth2.authenticate(new TokenCredentials("opaque-token")))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals(2, idp.requests("/oauth/introspect"));
+      }));
+  }
+}
@@ -0,0 +1,148 @@
+package io.vertx.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.oauth2.OAuth2Auth;
+import io.vertx.ext.auth.oauth2.OAuth2Options;
+import io.vertx.ext.auth.oauth2.OAuth2TokenManager;
+import io.vertx.ext.auth.oauth2.OAuth2TokenManagerOptions;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@RunWith(VertxUnitRunner.class)
+public class OAuth2TokenManagerTest {
+
+  @Rule
+  public final RunTestOnContext rule = new RunTestOnContext();
+
+  private final List<JsonObject> forms = new ArrayList<>();
+  private MockIdP idp;
+  private long expiresIn = 3600;
+
+  @Before
+  public void setUp(TestContext should) {
+    idp = new MockIdP(rule.vertx(), 100)
+      .post("/oauth/token", req -> {
+        final JsonObject form = new JsonObject();
+        req.formAttributes().forEach(form::put);
+        forms.add(form);
+        return new JsonObject()
+          .put("access_token", "token-" + forms.size())
+          .put("token_type", "Bearer")
+          .put("expires_in", expiresIn);
+      });
+    idp.listen().onComplete(should.asyncAssertSuccess());
+  }
+
+  @After
+  public void tearDown(TestContext should) {
+    idp.close().onComplete(should.asyncAssertSuccess());
+  }
+
+  private OAuth2Auth oauth2() {
+    return OAuth2Auth.create(rule.vertx(), new OAuth2Options()
+      .setClientId("client-id")
+      .setClientSecret("client-secret")
+      .setSite(idp.site()));
+  }
+
+  @Test
+  public void cachedToken(TestContext should) {
+    final OAuth2TokenManager tokens = OAuth2TokenManager.create(rule.vertx(), oauth2());
+
+    tokens.token(Arrays.asList("read", "write"), "api")
+      .compose(user -> tokens.token(Arrays.asList("write", "read"), "api"))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        // the scopes order isn't relevant
+        should.assertEquals(1, idp.requests("/oauth/token"));
+        should.assertEquals("token-1", user.principal().getString("access_token"));
+        final JsonObject form = forms.get(0);
+        should.assertEquals("client_credentials", form.getString("grant_type"));
+        should.assertEquals("read write", form.getString("scope"));
+        should.assertEquals("api", form.getString("audience"));
+        tokens.close();
+      }));
+  }
+
+  @Test
+  public void coalesceRequests(TestContext should) {
+    final OAuth2TokenManager tokens = OAuth2TokenManager.create(rule.vertx(), oauth2());
+
+    final List<Future<User>> futures = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      futures.add(tokens.token());
+    }
+
+    Future.all(futures)
+      .onComplete(should.asyncAssertSuccess(all -> {
+        should.assertEquals(1, idp.requests("/oauth/token"));
+        tokens.close();
+      }));
+  }
+
+  @Test
+  public void distinctAudiences(TestContext should) {
+    final OAuth2TokenManager tokens = OAuth2TokenManager.create(rule.vertx(), oauth2());
+
+    tokens.token(null, "api-1")
+      .compose(user -> tokens.token(null, "api-2"))
+      .compose(user -> tokens.token(null, "api-1"))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals(2, idp.requests("/oauth/token"));
+        should.assertEquals("token-1", user.principal().getString("access_token"));
+        tokens.close();
+      }));
+  }
+
+  @Test
+  public void proactiveRefresh(TestContext should) {
+    final Async test = should.async();
+    expiresIn = 3;
+    final OAuth2TokenManager tokens = OAuth2TokenManager.create(rule.vertx(), oauth2(), new OAuth2TokenManagerOptions()
+      .setRefreshSkewInSeconds(1)
+      .setRefreshJitterInSeconds(0));
+
+    tokens.token()
+      .onComplete(should.asyncAssertSuccess(first -> {
+        should.assertEquals("token-1", first.principal().getString("access_token"));
+        // refreshed in the background before it expires
+        rule.vertx().setTimer(2200, t -> tokens.token()
+          .onComplete(should.asyncAssertSuccess(second -> {
+            should.assertEquals(2, idp.requests("/oauth/token"));
+            should.assertEquals("token-2", second.principal().getString("access_token"));
+            tokens.close();
+            test.complete();
+          })));
+      }));
+  }
+
+  @Test
+  public void sharedAcrossManagers(TestContext should) {
+    final OAuth2TokenManagerOptions options = new OAuth2TokenManagerOptions()
+      .setName("shared-client");
+    // as if created by two verticle instances
+    final OAuth2TokenManager tokens1 = OAuth2TokenManager.create(rule.vertx(), oauth2(), options);
+    final OAuth2TokenManager tokens2 = OAuth2TokenManager.create(rule.vertx(), oauth2(), options);
+
+    Future.all(tokens1.token(), tokens2.token())
+      .compose(all -> tokens2.token())
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals(1, idp.requests("/oauth/token"));
+        should.assertEquals("token-1", user.principal().getString("access_token"));
+        tokens1.close();
+        tokens2.close();
+      }));
+  }
+}
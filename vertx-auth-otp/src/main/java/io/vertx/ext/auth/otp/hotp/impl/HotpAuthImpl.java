@@ -29,6 +29,8 @@ import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
 import java.util.function.Function;
 
 public class HotpAuthImpl implements HotpAuth {
@@ -45,6 +47,11 @@ public class HotpAuthImpl implements HotpAuth {
     this.hotpAuthOptions = hotpAuthOptions;
   }
 
+  @Override
+  public Set<Class<? extends Credentials>> credentialTypes() {
+    return Collections.singleton(OtpCredentials.class);
+  }
+
   @Override
   public Future<User> authenticate(Credentials credentials) {
     final OtpCredentials authInfo;
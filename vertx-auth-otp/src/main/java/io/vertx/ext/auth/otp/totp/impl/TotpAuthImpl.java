@@ -30,6 +30,8 @@ import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
 import java.util.function.Function;
 
 public class TotpAuthImpl implements TotpAuth {
@@ -46,6 +48,11 @@ public class TotpAuthImpl implements TotpAuth {
     this.totpAuthOptions = totpAuthOptions;
   }
 
+  @Override
+  public Set<Class<? extends Credentials>> credentialTypes() {
+    return Collections.singleton(OtpCredentials.class);
+  }
+
   @Override
   public Future<User> authenticate(Credentials credentials) {
     final OtpCredentials authInfo;
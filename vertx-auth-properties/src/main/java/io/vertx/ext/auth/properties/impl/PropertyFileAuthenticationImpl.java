@@ -144,6 +144,11 @@ public class PropertyFileAuthenticationImpl implements PropertyFileAuthenticatio
     return Future.succeededFuture(users.get(username));
   }
 
+  @Override
+  public Set<Class<? extends Credentials>> credentialTypes() {
+    return Collections.singleton(UsernamePasswordCredentials.class);
+  }
+
   @Override
   public Future<io.vertx.ext.auth.User> authenticate(Credentials credentials) {
     final UsernamePasswordCredentials authInfo;
@@ -16,8 +16,12 @@
 
 package io.vertx.ext.auth.sqlclient;
 
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
+import io.vertx.ext.auth.hashing.HashUpdater;
+import io.vertx.ext.auth.hashing.RehashPolicy;
 import io.vertx.ext.auth.sqlclient.impl.SqlAuthenticationImpl;
 import io.vertx.sqlclient.SqlClient;
 
@@ -52,6 +56,20 @@ public interface SqlAuthentication extends AuthenticationProvider {
     return new SqlAuthenticationImpl(client, options);
   }
 
+  /**
+   * Upgrades the stored hashes on login. After a successful authentication, when the stored hash is below the policy,
+   * a new hash is computed off the event loop and handed to the updater, e.g.
+   * {@link SqlUserUtil#hashUpdater(SqlClient)}. The authentication does not wait for the update and an
+   * update failure is only logged.
+   *
+   * @param policy  the expected algorithm and parameters
+   * @param updater stores the new hash
+   * @return self
+   */
+  @GenIgnore
+  @Fluent
+  SqlAuthentication rehashPolicy(RehashPolicy policy, HashUpdater updater);
+
   /**
    * Hashes a password to be stored.
    * <p>
@@ -15,8 +15,11 @@
  */
 package io.vertx.ext.auth.sqlclient;
 
+import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Future;
+import io.vertx.ext.auth.hashing.HashUpdater;
+import io.vertx.ext.auth.sqlclient.impl.SqlHashUpdater;
 import io.vertx.ext.auth.sqlclient.impl.SqlUserUtilImpl;
 import io.vertx.sqlclient.SqlClient;
 
@@ -50,6 +53,30 @@ public interface SqlUserUtil {
     return new SqlUserUtilImpl(client, insertUserSQL, insertUserRoleSQL, insertRolePermissionSQL);
   }
 
+  /**
+   * Create an updater replacing the password hash of a user in a database, typically after a rehash on login, see
+   * {@link SqlAuthentication#rehashPolicy(io.vertx.ext.auth.hashing.RehashPolicy, HashUpdater)}.
+   *
+   * @param client the client with write rights to the database.
+   * @return the updater
+   */
+  @GenIgnore
+  static HashUpdater hashUpdater(SqlClient client) {
+    return new SqlHashUpdater(client);
+  }
+
+  /**
+   * Create an updater replacing the password hash of a user in a database with a custom query.
+   *
+   * @param client the client with write rights to the database.
+   * @param updateUserSQL the query replacing the password hash of a user, the parameters are the hash and the username
+   * @return the updater
+   */
+  @GenIgnore
+  static HashUpdater hashUpdater(SqlClient client, String updateUserSQL) {
+    return new SqlHashUpdater(client, updateUserSQL);
+  }
+
   /**
    * Insert a user into a database.
    *
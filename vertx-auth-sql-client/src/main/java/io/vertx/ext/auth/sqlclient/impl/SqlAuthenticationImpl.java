@@ -17,7 +17,11 @@
 package io.vertx.ext.auth.sqlclient.impl;
 
 import io.vertx.core.Future;
+import io.vertx.core.internal.logging.Logger;
+import io.vertx.core.internal.logging.LoggerFactory;
+import io.vertx.ext.auth.hashing.HashUpdater;
 import io.vertx.ext.auth.hashing.HashingStrategy;
+import io.vertx.ext.auth.hashing.RehashPolicy;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.CredentialValidationException;
 import io.vertx.ext.auth.authentication.Credentials;
@@ -31,21 +35,33 @@ import io.vertx.sqlclient.Tuple;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
 public class SqlAuthenticationImpl implements SqlAuthentication {
 
+  private static final Logger LOG = LoggerFactory.getLogger(SqlAuthenticationImpl.class);
+
   private final SqlClient client;
   private final SqlAuthenticationOptions options;
   private final HashingStrategy strategy = HashingStrategy.load();
 
+  // set after construction, read by the logins of any thread
+  private volatile RehashPolicy rehashPolicy;
+  private volatile HashUpdater hashUpdater;
+
   public SqlAuthenticationImpl(SqlClient client, SqlAuthenticationOptions options) {
     this.client = Objects.requireNonNull(client);
     this.options = Objects.requireNonNull(options);
   }
 
+  @Override
+  public Set<Class<? extends Credentials>> credentialTypes() {
+    return Collections.singleton(UsernamePasswordCredentials.class);
+  }
+
   @Override
   public Future<User> authenticate(Credentials credentials) {
     final UsernamePasswordCredentials authInfo;
@@ -73,14 +89,20 @@ public class SqlAuthenticationImpl implements SqlAuthentication {
           case 1: {
             Row row = rows.iterator().next();
             String hashedStoredPwd = row.getString(0);
-            if (strategy.verify(hashedStoredPwd, authInfo.getPassword())) {
-              User user = User.fromName(authInfo.getUsername());
-              // metadata "amr"
-              user.principal().put("amr", Collections.singletonList("pwd"));
-              return Future.succeededFuture(user);
-            } else {
-              return Future.failedFuture("Invalid username/password");
-            }
+            // the hash is computed on a worker, not on the event loop
+            return strategy
+              .verifyAsync(hashedStoredPwd, authInfo.getPassword())
+              .compose(valid -> {
+                if (valid) {
+                  rehash(authInfo.getUsername(), hashedStoredPwd, authInfo.getPassword());
+                  User user = User.fromName(authInfo.getUsername());
+                  // metadata "amr"
+                  user.principal().put("amr", Collections.singletonList("pwd"));
+                  return Future.succeededFuture(user);
+                } else {
+                  return Future.failedFuture("Invalid username/password");
+                }
+              });
           }
           default: {
             // More than one row returned!
@@ -90,6 +112,28 @@ public class SqlAuthenticationImpl implements SqlAuthentication {
       });
   }
 
+  @Override
+  public SqlAuthentication rehashPolicy(RehashPolicy policy, HashUpdater updater) {
+    Objects.requireNonNull(policy);
+    // the updater first, a login seeing the policy also sees its updater
+    this.hashUpdater = Objects.requireNonNull(updater);
+    this.rehashPolicy = policy;
+    return this;
+  }
+
+  private void rehash(String username, String hash, String password) {
+    final RehashPolicy policy = rehashPolicy;
+    if (policy == null) {
+      return;
+    }
+    final HashUpdater updater = hashUpdater;
+    // the login does not wait for the new hash to be stored
+    strategy
+      .rehashAsync(policy, hash, password)
+      .compose(newHash -> newHash == null ? Future.<Void>succeededFuture() : updater.update(username, newHash))
+      .onFailure(err -> LOG.warn("Failed to rehash the password of user: " + username, err));
+  }
+
   @Override
   public String hash(String id, Map<String, String> params, String salt, String password) {
     return strategy.hash(id, params, salt, password);
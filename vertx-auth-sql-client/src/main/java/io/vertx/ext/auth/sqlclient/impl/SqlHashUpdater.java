@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.sqlclient.impl;
+
+import io.vertx.core.Future;
+import io.vertx.ext.auth.hashing.HashUpdater;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.Tuple;
+
+public class SqlHashUpdater implements HashUpdater {
+
+  private static final String UPDATE_USER = "UPDATE user SET password = ? WHERE username = ?";
+
+  private final SqlClient client;
+  private final String updateUser;
+
+  public SqlHashUpdater(SqlClient client) {
+    this(client, UPDATE_USER);
+  }
+
+  public SqlHashUpdater(SqlClient client, String updateUser) {
+    this.client = client;
+    this.updateUser = updateUser;
+  }
+
+  @Override
+  public Future<Void> update(String username, String hash) {
+    if (username == null || hash == null) {
+      return Future.failedFuture("username or password hash are null");
+    }
+
+    return client
+      .preparedQuery(updateUser)
+      .execute(Tuple.of(hash, username))
+      .mapEmpty();
+  }
+}
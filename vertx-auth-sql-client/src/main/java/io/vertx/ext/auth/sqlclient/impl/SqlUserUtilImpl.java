@@ -59,12 +59,12 @@ public class SqlUserUtilImpl implements SqlUserUtil {
     final byte[] salt = new byte[32];
     random.nextBytes(salt);
 
-    return createHashedUser(
-      username,
-      strategy.hash("pbkdf2",
+    return strategy
+      .hashAsync("pbkdf2",
         null,
         base64Encode(salt),
-        password));
+        password)
+      .compose(hash -> createHashedUser(username, hash));
   }
 
   @Override
@@ -11,6 +11,7 @@
 module io.vertx.auth.sqlclient {
   requires transitive io.vertx.auth.common;
   requires transitive io.vertx.sql.client;
+  requires io.vertx.core.logging;
   requires static io.vertx.codegen.api;
   requires static io.vertx.codegen.json;
   requires static io.vertx.docgen;
@@ -1,5 +1,7 @@
 package io.vertx.tests;
 
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
 import io.vertx.ext.auth.authentication.Credentials;
@@ -7,8 +9,10 @@ import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
 import io.vertx.ext.auth.authorization.AuthorizationProvider;
 import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
 import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
+import io.vertx.ext.auth.hashing.RehashPolicy;
 import io.vertx.ext.auth.sqlclient.SqlAuthentication;
 import io.vertx.ext.auth.sqlclient.SqlAuthorization;
+import io.vertx.ext.auth.sqlclient.SqlUserUtil;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.RunTestOnContext;
@@ -17,6 +21,7 @@ import io.vertx.mysqlclient.MySQLBuilder;
 import io.vertx.mysqlclient.MySQLConnectOptions;
 import io.vertx.sqlclient.Pool;
 import io.vertx.sqlclient.PoolOptions;
+import io.vertx.sqlclient.Tuple;
 import org.junit.*;
 import org.junit.runner.RunWith;
 import org.testcontainers.containers.BindMode;
@@ -206,4 +211,51 @@ public class MySQLTest {
           });
       });
   }
+
+  @Test
+  public void testRehashOnLogin(TestContext should) {
+    final SqlUserUtil userUtil = SqlUserUtil.create(mysql,
+      "INSERT INTO users (username, password) VALUES (?, ?)",
+      "INSERT INTO users_roles (username, role) VALUES (?, ?)",
+      "INSERT INTO roles_perms (role, perm) VALUES (?, ?)");
+
+    final RehashPolicy policy = new RehashPolicy("argon2id", null);
+    final AuthenticationProvider authn = SqlAuthentication.create(mysql)
+      .rehashPolicy(policy, SqlUserUtil.hashUpdater(mysql, "UPDATE users SET password = ? WHERE username = ?"));
+    final Credentials authInfo = new UsernamePasswordCredentials("rehashed", "secret");
+
+    userUtil.createUser("rehashed", "secret")
+      .compose(v -> storedHash("rehashed"))
+      .compose(hash -> {
+        should.assertTrue(policy.needsRehash(hash));
+        return authn.authenticate(authInfo);
+      })
+      // the new hash is stored after the login completed
+      .compose(user -> rehashed("rehashed", policy, 50))
+      // and verifies the same password
+      .compose(v -> authn.authenticate(authInfo))
+      .onComplete(should.asyncAssertSuccess(user -> should.assertEquals("rehashed", user.principal().getString("username"))));
+  }
+
+  private Future<String> storedHash(String username) {
+    return mysql
+      .preparedQuery("SELECT password FROM users WHERE username = ?")
+      .execute(Tuple.of(username))
+      .map(rows -> rows.iterator().next().getString(0));
+  }
+
+  private Future<Void> rehashed(String username, RehashPolicy policy, int attempts) {
+    return storedHash(username)
+      .compose(hash -> {
+        if (!policy.needsRehash(hash)) {
+          return Future.succeededFuture();
+        }
+        if (attempts == 0) {
+          return Future.failedFuture("Not rehashed: " + hash);
+        }
+        final Promise<Void> promise = Promise.promise();
+        rule.vertx().setTimer(100, t -> rehashed(username, policy, attempts - 1).onComplete(promise));
+        return promise.future();
+      });
+  }
 }
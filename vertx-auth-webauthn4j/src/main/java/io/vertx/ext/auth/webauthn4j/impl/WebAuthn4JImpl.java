@@ -363,6 +363,11 @@ public class WebAuthn4JImpl implements WebAuthn4J {
       });
   }
 
+  @Override
+  public Set<Class<? extends Credentials>> credentialTypes() {
+    return Collections.singleton(WebAuthn4JCredentials.class);
+  }
+
   @Override
   public Future<User> authenticate(Credentials credentials) {
     try {